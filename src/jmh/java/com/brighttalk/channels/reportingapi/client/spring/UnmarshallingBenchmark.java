@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.oxm.Unmarshaller;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * JMH micro-benchmark of the unmarshalling of large collections of API resources from XML, using the
+ * {@link Unmarshaller} configured by {@link AppConfig}. This is the CPU and memory allocation hot path of the API
+ * client when retrieving large reports.
+ * <p>
+ * Each benchmarked response is generated from one of the canned API responses used by the functional tests, by
+ * replicating the first resource in the collection up to the required no. of elements.
+ * <p>
+ * Run using 'mvn -P benchmark test-compile exec:exec' or 'gradle jmh'. Both report throughput and, using JMH's GC
+ * profiler, the memory allocation rate (gc.alloc.rate.norm is the no. of bytes allocated per unmarshalled collection).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class UnmarshallingBenchmark {
+
+  /** Location of the canned API responses in the test classpath. */
+  private static final String CANNED_RESPONSE_PATH = "com/brighttalk/channels/reportingapi/client/spring/";
+
+  /** The collections of API resources that are benchmarked. */
+  public enum ResourceCollection {
+    /* @formatter:off */
+    WEBCAST_VIEWINGS("webcastViewing",
+        "SpringApiClientImplTest.getWebcastViewingsForWebcastWhenMultipleViewingsAndNextPage-response.xml"),
+    SUBSCRIBERS_WEBCAST_ACTIVITY("subscriberWebcastActivity",
+        "SpringApiClientImplTest.getChannelSubscribersWebcastActivityForWebcastWhenMultipleActivitiesWithNextPage-"
+            + "response.xml"),
+    SURVEY_RESPONSES("surveyResponse",
+        "SpringApiClientImplTest.getSurveyResponsesWhenMultipleResponsesWithMultipleQuestionsAndAnswersAndNextPage-"
+            + "response.xml");
+    /* @formatter:on */
+
+    private final String resourceElementName;
+    private final String cannedResponseFileName;
+
+    private ResourceCollection(String resourceElementName, String cannedResponseFileName) {
+      this.resourceElementName = resourceElementName;
+      this.cannedResponseFileName = cannedResponseFileName;
+    }
+  }
+
+  @Param
+  private ResourceCollection collection;
+
+  @Param({ "100", "1000", "10000" })
+  private int elementCount;
+
+  private AnnotationConfigApplicationContext applicationContext;
+  private Unmarshaller unmarshaller;
+  private byte[] response;
+
+  /**
+   * Creates the unmarshaller, and generates the response to be unmarshalled.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    this.applicationContext = new AnnotationConfigApplicationContext(AppConfig.class);
+    this.unmarshaller = this.applicationContext.getBean(Unmarshaller.class);
+    this.response = generateResponse(this.collection, this.elementCount);
+  }
+
+  /**
+   * Releases the resources created by {@link #setUp()}.
+   */
+  @TearDown
+  public void tearDown() {
+    this.applicationContext.close();
+  }
+
+  /**
+   * @return The unmarshalled collection, returned to avoid dead-code elimination.
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Benchmark
+  public Object unmarshal() throws Exception {
+    return this.unmarshaller.unmarshal(new StreamSource(new ByteArrayInputStream(this.response)));
+  }
+
+  /**
+   * Generates an API response containing a collection of a specified no. of resources, by replicating the first
+   * resource in the collection's canned response. The collection's links are retained.
+   */
+  private static byte[] generateResponse(ResourceCollection collection, int elementCount) throws Exception {
+    Document document;
+    try (InputStream cannedResponse = new ClassPathResource(CANNED_RESPONSE_PATH + collection.cannedResponseFileName)
+        .getInputStream()) {
+      document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(cannedResponse);
+    }
+    Element root = document.getDocumentElement();
+    NodeList resourceElements = document.getElementsByTagName(collection.resourceElementName);
+    Node resourceElement = resourceElements.item(0);
+    for (int i = resourceElements.getLength() - 1; i >= 0; i--) {
+      Node node = resourceElements.item(i);
+      if (node.getParentNode() == root) {
+        root.removeChild(node);
+      }
+    }
+    Node firstChild = root.getFirstChild();
+    for (int i = 0; i < elementCount; i++) {
+      root.insertBefore(resourceElement.cloneNode(true), firstChild);
+    }
+    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+    transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    transformer.transform(new DOMSource(document), new StreamResult(output));
+    return output.toByteArray();
+  }
+}
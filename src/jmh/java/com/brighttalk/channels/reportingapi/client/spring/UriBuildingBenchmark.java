@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.common.GetWebcastViewingsRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.RequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+
+/**
+ * JMH micro-benchmark of building the URI of an API request, comparing the expansion of an endpoint's precompiled URI
+ * template by {@link ApiServiceEndpoint} with the previous approach of building a URI template string, using a
+ * {@link UriComponentsBuilder}, which the {@code RestTemplate} then re-parsed and encoded to expand its variables.
+ * <p>
+ * Run using 'mvn -P benchmark test-compile exec:exec -Djmh.args="UriBuildingBenchmark -prof gc"'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class UriBuildingBenchmark {
+
+  private static final ApiEndpoint ENDPOINT = ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST;
+  private static final int CHANNEL_ID = 1234;
+  private static final int WEBCAST_ID = 5678;
+
+  private static final Date SINCE = new Date(1401613200000L);
+  private static final PageCriteria PAGE_CRITERIA = new PageCriteria(100);
+
+  private ApiServiceEndpoint apiServiceEndpoint;
+  private RequestParamsBuilder requestParams;
+  private Map<String, List<String>> requestParamsMap;
+
+  @Setup
+  public void setUp() {
+    this.apiServiceEndpoint = new ApiServiceEndpoint("https", "api.test.brighttalk.net", null);
+    this.requestParams = new GetWebcastViewingsRequestParamsBuilder(SINCE, WebcastStatus.RECORDED, PAGE_CRITERIA);
+    this.requestParamsMap = this.requestParams.asMap();
+  }
+
+  /**
+   * Benchmarks building the request URI by expanding the endpoint's precompiled URI template.
+   */
+  @Benchmark
+  public URI compiledUriTemplate() {
+    return this.apiServiceEndpoint.buildAbsoluteHttpUri(ENDPOINT, this.requestParams, CHANNEL_ID, WEBCAST_ID);
+  }
+
+  /**
+   * Benchmarks the whole of the per API call work of building a request URI - building the request parameters from
+   * the API client method's arguments, and then the URI. Run with '-prof gc' to report the bytes allocated per call.
+   */
+  @Benchmark
+  public URI requestParamsAndCompiledUriTemplate() {
+    RequestParamsBuilder requestParams =
+        new GetWebcastViewingsRequestParamsBuilder(SINCE, WebcastStatus.RECORDED, PAGE_CRITERIA);
+    return this.apiServiceEndpoint.buildAbsoluteHttpUri(ENDPOINT, requestParams, CHANNEL_ID, WEBCAST_ID);
+  }
+
+  /**
+   * Benchmarks building the request URI by building a URI template string and then parsing and expanding it, as
+   * previously done per API call.
+   */
+  @Benchmark
+  public URI uriComponentsBuilderAndUriTemplate() {
+    UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUri(this.apiServiceEndpoint.getBaseUri());
+    uriBuilder.path(ENDPOINT.getRelativeUriTemplate());
+    for (Map.Entry<String, List<String>> requestParam : this.requestParamsMap.entrySet()) {
+      for (String paramValue : requestParam.getValue()) {
+        uriBuilder.queryParam(requestParam.getKey(), paramValue);
+      }
+    }
+    String absResourceUrlTemplate = uriBuilder.build().toUriString();
+    return new UriTemplate(absResourceUrlTemplate).expand(CHANNEL_ID, WEBCAST_ID);
+  }
+}
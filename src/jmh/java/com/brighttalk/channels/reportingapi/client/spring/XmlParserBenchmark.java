@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.FileCopyUtils;
+
+import com.brighttalk.channels.reportingapi.client.ResourceHandler;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+
+/**
+ * JMH micro-benchmark comparing the XML parsers which can be used to read API responses, on the canned API responses
+ * used by the functional tests. Responses are read both in full, by the {@link PoolingJaxb2Marshaller} configured by
+ * {@link AppConfig}, and as a stream, by the {@link StreamingCollectionResponseExtractor}.
+ * <p>
+ * The 'parser' parameter is one of 'SAX' (the JVM's default SAX parser, used by the marshaller unless an
+ * XMLInputFactory is configured; streams are read using the JVM's default StAX implementation), 'STAX' (the JVM's
+ * default StAX implementation), or the class name of another StAX {@link javax.xml.stream.XMLInputFactory} on the
+ * classpath. For example, to compare Woodstox, add it to the test classpath and pass JMH the args
+ * 'XmlParserBenchmark -p parser=SAX,STAX,com.ctc.wstx.stax.WstxInputFactory'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class XmlParserBenchmark {
+
+  /** Location of the canned API responses in the test classpath. */
+  private static final String CANNED_RESPONSE_PATH = "com/brighttalk/channels/reportingapi/client/spring/";
+
+  /** The canned API responses that are benchmarked. */
+  public enum CannedResponse {
+    /* @formatter:off */
+    WEBCASTS("webcast", "SpringApiClientImplTest.getWebcastsForChannelWhenMultipleWebastsAndNextPage-response.xml"),
+    WEBCAST_VIEWINGS("webcastViewing",
+        "SpringApiClientImplTest.getWebcastViewingsForWebcastWhenMultipleViewingsAndNextPage-response.xml"),
+    CHANNEL_SUBSCRIBERS("channelSubscriber",
+        "SpringApiClientImplTest.getChannelSubscribersWhenMultipleCurrentAndPastSusbcribersWithNextPage-response.xml"),
+    SUBSCRIBERS_WEBCAST_ACTIVITY("subscriberWebcastActivity",
+        "SpringApiClientImplTest.getChannelSubscribersWebcastActivityForWebcastWhenMultipleActivitiesWithNextPage-"
+            + "response.xml"),
+    SURVEY_RESPONSES("surveyResponse",
+        "SpringApiClientImplTest.getSurveyResponsesWhenMultipleResponsesWithMultipleQuestionsAndAnswersAndNextPage-"
+            + "response.xml");
+    /* @formatter:on */
+
+    private final String resourceElementName;
+    private final String cannedResponseFileName;
+
+    private CannedResponse(String resourceElementName, String cannedResponseFileName) {
+      this.resourceElementName = resourceElementName;
+      this.cannedResponseFileName = cannedResponseFileName;
+    }
+  }
+
+  @Param
+  private CannedResponse response;
+
+  @Param({ "SAX", "STAX" })
+  private String parser;
+
+  private AnnotationConfigApplicationContext applicationContext;
+  private PoolingJaxb2Marshaller marshaller;
+  private StreamingCollectionResponseExtractor<Object> extractor;
+  private byte[] responseBody;
+
+  /**
+   * Configures the marshaller and streaming response extractor to use the parser, and reads the canned response.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    this.applicationContext = new AnnotationConfigApplicationContext(AppConfig.class);
+    this.marshaller = this.applicationContext.getBean(PoolingJaxb2Marshaller.class);
+    this.marshaller.setXmlInputFactory(null);
+    if (!"SAX".equals(this.parser)) {
+      this.marshaller.setXmlInputFactory(XmlInputFactories.create("STAX".equals(this.parser) ? null : this.parser));
+    }
+    this.extractor = new StreamingCollectionResponseExtractor<>(
+        this.marshaller.getXmlInputFactory() != null ? this.marshaller.getXmlInputFactory()
+            : XmlInputFactories.getDefault(), this.marshaller, this.response.resourceElementName, Object.class,
+        new ResourceHandler<Object>() {
+          @Override
+          public void handle(Object resource) {
+          }
+        });
+    try (InputStream cannedResponse = new ClassPathResource(CANNED_RESPONSE_PATH
+        + this.response.cannedResponseFileName).getInputStream()) {
+      this.responseBody = FileCopyUtils.copyToByteArray(cannedResponse);
+    }
+  }
+
+  /**
+   * Releases the resources created by {@link #setUp()}.
+   */
+  @TearDown
+  public void tearDown() {
+    this.applicationContext.close();
+  }
+
+  /**
+   * @return The unmarshalled collection, returned to avoid dead-code elimination.
+   */
+  @Benchmark
+  public Object unmarshal() {
+    return this.marshaller.unmarshal(new StreamSource(new ByteArrayInputStream(this.responseBody)));
+  }
+
+  /**
+   * @return The collection's links, returned to avoid dead-code elimination.
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Benchmark
+  public List<Link> stream() throws Exception {
+    return this.extractor.extractData(new MockClientHttpResponse(this.responseBody, HttpStatus.OK));
+  }
+}
@@ -0,0 +1,558 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.bind.ValidationEvent;
+import javax.xml.bind.ValidationEventHandler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.jaxb.CustomValidationEventHandler;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiCallPhase;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiCallSample;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiClientMetrics;
+import com.brighttalk.channels.reportingapi.client.metrics.HistogramSnapshot;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics.EndpointMetrics;
+import com.brighttalk.channels.reportingapi.client.simulator.ApiServiceSimulator;
+import com.brighttalk.channels.reportingapi.client.simulator.SyntheticDataConfig;
+import com.brighttalk.channels.reportingapi.client.simulator.SyntheticDataGenerator;
+import com.brighttalk.channels.reportingapi.client.spring.AppConfig;
+import com.brighttalk.channels.reportingapi.client.spring.SpringApiClientImpl;
+import com.brighttalk.channels.reportingapi.client.support.ApiClientPagers;
+import com.brighttalk.channels.reportingapi.client.support.ResourceCollectionPager;
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.io.Files;
+
+/**
+ * End-to-end load test of the Spring implementation of the API client, which measures the no. of API calls (pages)
+ * per second one instance of {@link SpringApiClientImpl}, built from {@link AppConfig}, can sustain at a given
+ * concurrency.
+ * <p>
+ * A configurable no. of worker threads page through collections of API resources, using the full RestTemplate and
+ * HTTP client stack, against an {@link ApiServiceSimulator} serving synthetic data, for a fixed duration following a
+ * warm-up period. On completion, a machine-readable (JSON) report of the config and results is written to stdout or a
+ * file. Results include throughput, the latency percentiles of each phase of an API call (reported by the client's
+ * {@link ApiClientMetrics}), error counts, and the GC time of the JVM, so that different client settings can be
+ * compared objectively.
+ * <p>
+ * JAXB validation events reported on unmarshalling the API responses are counted and included in the results. A run in
+ * which any occur is not a valid benchmark, as the client was measured on (partly) failing to bind the responses, so
+ * the runner exits with a non-zero status once the report has been written, unless --allowValidationEvents=true.
+ * <p>
+ * Options are supplied as arguments of the form --name=value. See {@link #main(String[])}. The API client is configured
+ * from its dev environment properties, which can be overridden using system properties of the same name, e.g.
+ * -DhttpClient.connectionPool.maxPerRoute=50. Overridden apiClient.* and httpClient.* properties are included in the
+ * report.
+ * <p>
+ * By default the simulator runs in the same JVM as the client, so its CPU and GC time are included in the results. To
+ * isolate the client, run the simulator in a separate JVM (--simulatorOnly=true --port=N) and target it from the load
+ * test (--apiServicePort=N).
+ * <p>
+ * Run using 'mvn -P loadtest test-compile exec:exec -Dloadtest.args="--threads=20 --durationSeconds=60"' or
+ * 'gradle loadTest -PloadTestArgs="..."'.
+ */
+public class LoadTestRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+  /** The prefixes of the names of the system properties which override the API client's config. */
+  private static final String[] CLIENT_PROPERTY_PREFIXES = { "apiClient.", "httpClient." };
+
+  // Options, with their defaults
+  private int threads = 10;
+  private int durationSeconds = 30;
+  private int warmupSeconds = 10;
+  private ApiEndpoint endpoint = ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_CHANNEL;
+  private Integer pageSize;
+  private int channels = 10;
+  private int webcastsPerChannel = 10;
+  private int resourcesPerCollection = 1000;
+  private int minLatencyMillis;
+  private int maxLatencyMillis;
+  private double errorRate;
+  private Integer apiServicePort;
+  private boolean simulatorOnly;
+  private int port;
+  private String output;
+  private boolean allowValidationEvents;
+
+  private final AtomicLong resourceCount = new AtomicLong();
+  private final ConcurrentMap<String, AtomicLong> failureCounts = new ConcurrentHashMap<>();
+  private final CountingValidationEventHandler validationEventHandler = new CountingValidationEventHandler();
+  private volatile boolean measuring;
+  private volatile boolean stopped;
+
+  /**
+   * Runs the load test.
+   * 
+   * @param args Options of the form --name=value. All are optional.
+   * <ul>
+   * <li>threads - The no. of worker threads, each of which makes one API call at a time. Default 10.</li>
+   * <li>durationSeconds - The duration of the measurement period. Default 30.</li>
+   * <li>warmupSeconds - The duration of the warm-up period, which precedes the measurement period. Default 10.</li>
+   * <li>endpoint - The {@link ApiEndpoint} called: GET_WEBCAST_VIEWINGS_FOR_CHANNEL (the default),
+   * GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL, GET_CHANNEL_SUBSCRIBERS, GET_WEBCASTS_FOR_CHANNEL or
+   * GET_SURVEY_RESPONSES.</li>
+   * <li>pageSize - The no. of resources requested per page. Defaults to the API's default page size.</li>
+   * <li>channels, webcastsPerChannel - The no. of channels, and webcasts per channel, in the synthetic data set.
+   * Workers page through the collections of each channel in turn. Default 10 and 10.</li>
+   * <li>resourcesPerCollection - The no. of resources in the collection of each channel (or each webcast of the
+   * channel, for webcast viewings). Default 1000.</li>
+   * <li>minLatencyMillis, maxLatencyMillis - The range of the latency added to each response by the simulator.
+   * Default 0.</li>
+   * <li>errorRate - The proportion of requests failed with a 503 error response by the simulator. Default 0.</li>
+   * <li>apiServicePort - The port of a simulator already running in another JVM on the local host, to target instead
+   * of starting one in this JVM.</li>
+   * <li>simulatorOnly - Set to true to only run the simulator, on the specified port, until the JVM is stopped.</li>
+   * <li>port - The port the simulator listens on. Defaults to an ephemeral port.</li>
+   * <li>output - The path of the file to write the report to. Defaults to stdout.</li>
+   * <li>allowValidationEvents - Set to true to exit with a zero status even if JAXB validation events occurred.</li>
+   * </ul>
+   * @throws Exception If the load test can't be run.
+   */
+  public static void main(String[] args) throws Exception {
+    LoadTestRunner runner = new LoadTestRunner();
+    runner.parseOptions(args);
+    if (runner.simulatorOnly) {
+      runner.startSimulator();
+      Thread.currentThread().join();
+    }
+    Map<String, Object> report = runner.run();
+    String json = toJson(report, "") + System.lineSeparator();
+    if (runner.output != null) {
+      Files.write(json, new File(runner.output), Charsets.UTF_8);
+      logger.info("Wrote load test report to [{}].", runner.output);
+    } else {
+      PrintStream out = System.out;
+      out.print(json);
+      out.flush();
+    }
+    long validationEvents = runner.validationEventHandler.getEventCount();
+    if (validationEvents > 0 && !runner.allowValidationEvents) {
+      logger.error("[{}] JAXB validation events occurred. Results are not a valid benchmark.", validationEvents);
+      System.exit(1);
+    }
+    System.exit(0);
+  }
+
+  private void parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int separatorIndex = arg.indexOf('=');
+      Preconditions.checkArgument(arg.startsWith("--") && separatorIndex > 2, "Invalid option [" + arg
+          + "]. Options must be of the form --name=value.");
+      options.put(arg.substring(2, separatorIndex), arg.substring(separatorIndex + 1));
+    }
+    this.threads = intOption(options, "threads", this.threads);
+    this.durationSeconds = intOption(options, "durationSeconds", this.durationSeconds);
+    this.warmupSeconds = intOption(options, "warmupSeconds", this.warmupSeconds);
+    if (options.containsKey("endpoint")) {
+      this.endpoint = ApiEndpoint.valueOf(options.remove("endpoint"));
+    }
+    this.pageSize = options.containsKey("pageSize") ? intOption(options, "pageSize", 0) : null;
+    this.channels = intOption(options, "channels", this.channels);
+    this.webcastsPerChannel = intOption(options, "webcastsPerChannel", this.webcastsPerChannel);
+    this.resourcesPerCollection = intOption(options, "resourcesPerCollection", this.resourcesPerCollection);
+    this.minLatencyMillis = intOption(options, "minLatencyMillis", this.minLatencyMillis);
+    this.maxLatencyMillis = intOption(options, "maxLatencyMillis", Math.max(this.maxLatencyMillis,
+        this.minLatencyMillis));
+    if (options.containsKey("errorRate")) {
+      this.errorRate = Double.parseDouble(options.remove("errorRate"));
+    }
+    this.apiServicePort = options.containsKey("apiServicePort") ? intOption(options, "apiServicePort", 0) : null;
+    this.simulatorOnly = Boolean.parseBoolean(options.remove("simulatorOnly"));
+    this.port = intOption(options, "port", this.port);
+    this.output = options.remove("output");
+    this.allowValidationEvents = Boolean.parseBoolean(options.remove("allowValidationEvents"));
+    Preconditions.checkArgument(options.isEmpty(), "Unknown options " + options.keySet() + ".");
+    Preconditions.checkArgument(this.threads > 0, "threads must be greater than zero.");
+    Preconditions.checkArgument(this.durationSeconds > 0, "durationSeconds must be greater than zero.");
+  }
+
+  private ApiServiceSimulator startSimulator() throws IOException {
+    SyntheticDataConfig dataConfig = new SyntheticDataConfig();
+    dataConfig.setChannels(this.channels);
+    dataConfig.setWebcastsPerChannel(this.webcastsPerChannel);
+    dataConfig.setViewingsPerWebcast(this.resourcesPerCollection);
+    dataConfig.setSubscribersPerChannel(this.resourcesPerCollection);
+    dataConfig.setSubscriberWebcastActivitiesPerWebcast(this.resourcesPerCollection / this.webcastsPerChannel);
+    dataConfig.setSurveyResponsesPerSurvey(this.resourcesPerCollection);
+    ApiServiceSimulator simulator =
+        new ApiServiceSimulator(new SyntheticDataGenerator(dataConfig), "localhost", this.port);
+    simulator.setLatencyMillis(this.minLatencyMillis, this.maxLatencyMillis);
+    simulator.setErrorRate(this.errorRate);
+    simulator.start();
+    return simulator;
+  }
+
+  private Map<String, Object> run() throws Exception {
+    ApiServiceSimulator simulator = this.apiServicePort == null ? this.startSimulator() : null;
+    int targetPort = simulator != null ? simulator.getPort() : this.apiServicePort;
+    AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    try {
+      Map<String, Object> apiServiceProperties = new HashMap<>();
+      apiServiceProperties.put("apiService.protocol", "http");
+      apiServiceProperties.put("apiService.hostName", "localhost");
+      apiServiceProperties.put("apiService.port", targetPort);
+      context.getEnvironment().getPropertySources().addFirst(
+          new MapPropertySource("loadTestApiService", apiServiceProperties));
+      context.register(LoadTestAppConfig.class);
+      context.getBeanFactory().registerSingleton("loadTestValidationEventHandler", this.validationEventHandler);
+      context.refresh();
+      SpringApiClientImpl apiClient = context.getBean(SpringApiClientImpl.class);
+      MeasurementPeriodMetrics metrics = new MeasurementPeriodMetrics();
+      apiClient.setMetrics(metrics);
+      return this.runWorkers(apiClient, metrics);
+    } finally {
+      context.close();
+      if (simulator != null) {
+        simulator.stop();
+      }
+    }
+  }
+
+  private Map<String, Object> runWorkers(final ApiClient apiClient, MeasurementPeriodMetrics metrics)
+      throws InterruptedException {
+    final CountDownLatch workersStopped = new CountDownLatch(this.threads);
+    for (int i = 0; i < this.threads; i++) {
+      final int workerIndex = i;
+      Thread worker = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            LoadTestRunner.this.work(apiClient, workerIndex);
+          } finally {
+            workersStopped.countDown();
+          }
+        }
+      }, "load-test-worker-" + i);
+      worker.setDaemon(true);
+      worker.start();
+    }
+    logger.info("Warming up for [{}] seconds with [{}] threads.", this.warmupSeconds, this.threads);
+    TimeUnit.SECONDS.sleep(this.warmupSeconds);
+
+    logger.info("Measuring for [{}] seconds.", this.durationSeconds);
+    InMemoryApiClientMetrics measuredMetrics = new InMemoryApiClientMetrics();
+    GcStats startGcStats = new GcStats();
+    long startNanos = System.nanoTime();
+    metrics.delegate = measuredMetrics;
+    this.measuring = true;
+    TimeUnit.SECONDS.sleep(this.durationSeconds);
+    this.measuring = false;
+    metrics.delegate = ApiClientMetrics.NO_OP;
+    long elapsedNanos = System.nanoTime() - startNanos;
+    GcStats endGcStats = new GcStats();
+
+    this.stopped = true;
+    workersStopped.await();
+    return this.createReport(measuredMetrics.getEndpointMetrics(this.endpoint), elapsedNanos, startGcStats,
+        endGcStats);
+  }
+
+  /**
+   * Pages through the collection of resources of each channel in turn, until stopped, starting from a different
+   * channel in each worker.
+   */
+  private void work(ApiClient apiClient, int workerIndex) {
+    int channelId = workerIndex % this.channels + 1;
+    while (!this.stopped) {
+      try {
+        Iterator<?> resources = this.createPager(apiClient, channelId).iterator();
+        while (!this.stopped && resources.hasNext()) {
+          resources.next();
+          if (this.measuring) {
+            this.resourceCount.incrementAndGet();
+          }
+        }
+      } catch (RuntimeException e) {
+        if (this.measuring) {
+          String failure = e.getClass().getSimpleName();
+          this.failureCounts.putIfAbsent(failure, new AtomicLong());
+          this.failureCounts.get(failure).incrementAndGet();
+        }
+        logger.debug("API call failed.", e);
+      }
+      channelId = channelId % this.channels + 1;
+    }
+  }
+
+  private ResourceCollectionPager<?, ?> createPager(ApiClient apiClient, int channelId) {
+    switch (this.endpoint) {
+      case GET_WEBCAST_VIEWINGS_FOR_CHANNEL:
+        return ApiClientPagers.webcastViewingsForChannel(apiClient, channelId, null, null, this.pageSize);
+      case GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL:
+        return ApiClientPagers.subscribersWebcastActivityForChannel(apiClient, channelId, null, null, this.pageSize);
+      case GET_CHANNEL_SUBSCRIBERS:
+        return ApiClientPagers.channelSubscribers(apiClient, channelId, null, null, null, this.pageSize);
+      case GET_WEBCASTS_FOR_CHANNEL:
+        return ApiClientPagers.webcastsForChannel(apiClient, channelId, null, this.pageSize);
+      case GET_SURVEY_RESPONSES:
+        // Channel N has survey N
+        return ApiClientPagers.surveyResponses(apiClient, channelId, null, this.pageSize);
+      default:
+        throw new IllegalArgumentException("Unsupported load test endpoint [" + this.endpoint + "].");
+    }
+  }
+
+  private Map<String, Object> createReport(EndpointMetrics endpointMetrics, long elapsedNanos, GcStats startGcStats,
+      GcStats endGcStats) {
+    double elapsedSeconds = elapsedNanos / 1e9;
+    Map<String, Object> config = new LinkedHashMap<>();
+    config.put("threads", this.threads);
+    config.put("durationSeconds", this.durationSeconds);
+    config.put("warmupSeconds", this.warmupSeconds);
+    config.put("endpoint", this.endpoint.getMethodName());
+    config.put("pageSize", this.pageSize);
+    config.put("channels", this.channels);
+    config.put("webcastsPerChannel", this.webcastsPerChannel);
+    config.put("resourcesPerCollection", this.resourcesPerCollection);
+    config.put("simulatorInProcess", this.apiServicePort == null);
+    config.put("minLatencyMillis", this.minLatencyMillis);
+    config.put("maxLatencyMillis", this.maxLatencyMillis);
+    config.put("errorRate", this.errorRate);
+    config.put("clientProperties", clientPropertyOverrides());
+
+    Map<String, Object> results = new LinkedHashMap<>();
+    long requests = endpointMetrics != null ? endpointMetrics.getRequestCount() : 0;
+    long resources = this.resourceCount.get();
+    results.put("elapsedSeconds", elapsedSeconds);
+    results.put("requests", requests);
+    results.put("requestsPerSecond", requests / elapsedSeconds);
+    results.put("resources", resources);
+    results.put("resourcesPerSecond", resources / elapsedSeconds);
+    results.put("errors", endpointMetrics != null ? endpointMetrics.getErrorCount() : 0);
+    results.put("errorCountsByStatus", endpointMetrics != null ? endpointMetrics.getErrorCountsByStatus()
+        : new TreeMap<Integer, Long>());
+    Map<String, Object> failures = new TreeMap<>();
+    for (Map.Entry<String, AtomicLong> failureCount : this.failureCounts.entrySet()) {
+      failures.put(failureCount.getKey(), failureCount.getValue().get());
+    }
+    results.put("failedCollections", failures);
+    results.put("validationEvents", this.validationEventHandler.getEventCount());
+    Map<String, Object> latencies = new LinkedHashMap<>();
+    for (ApiCallPhase phase : ApiCallPhase.values()) {
+      latencies.put(phase.name(), toMap(endpointMetrics != null ? endpointMetrics.getLatencyMicros(phase)
+          : HistogramSnapshot.EMPTY));
+    }
+    results.put("latencyMicros", latencies);
+    results.put("responseBytes", toMap(endpointMetrics != null ? endpointMetrics.getResponseBytes()
+        : HistogramSnapshot.EMPTY));
+    Map<String, Object> gc = new LinkedHashMap<>();
+    long gcTimeMillis = endGcStats.timeMillis - startGcStats.timeMillis;
+    gc.put("collections", endGcStats.collections - startGcStats.collections);
+    gc.put("timeMillis", gcTimeMillis);
+    gc.put("timePercent", gcTimeMillis / (elapsedSeconds * 10));
+    results.put("gc", gc);
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("config", config);
+    report.put("results", results);
+    return report;
+  }
+
+  private static Map<String, Object> clientPropertyOverrides() {
+    Map<String, Object> overrides = new TreeMap<>();
+    for (String name : System.getProperties().stringPropertyNames()) {
+      for (String prefix : CLIENT_PROPERTY_PREFIXES) {
+        if (name.startsWith(prefix)) {
+          overrides.put(name, System.getProperty(name));
+        }
+      }
+    }
+    return overrides;
+  }
+
+  private static Map<String, Object> toMap(HistogramSnapshot snapshot) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("count", snapshot.getCount());
+    map.put("mean", snapshot.getMean());
+    map.put("p50", snapshot.getP50());
+    map.put("p90", snapshot.getP90());
+    map.put("p99", snapshot.getP99());
+    map.put("p999", snapshot.getP999());
+    map.put("max", snapshot.getMax());
+    return map;
+  }
+
+  /**
+   * Serialises a report, made up of nested maps, strings, numbers and booleans, to JSON.
+   */
+  private static String toJson(Object value, String indent) {
+    if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      if (map.isEmpty()) {
+        return "{}";
+      }
+      List<String> members = new ArrayList<>();
+      String memberIndent = indent + "  ";
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        members.add(memberIndent + toJson(String.valueOf(entry.getKey()), memberIndent) + ": "
+            + toJson(entry.getValue(), memberIndent));
+      }
+      StringBuilder json = new StringBuilder("{").append(System.lineSeparator());
+      for (int i = 0; i < members.size(); i++) {
+        json.append(members.get(i)).append(i < members.size() - 1 ? "," : "").append(System.lineSeparator());
+      }
+      return json.append(indent).append('}').toString();
+    } else if (value instanceof Double) {
+      double number = (Double) value;
+      return Double.isNaN(number) || Double.isInfinite(number) ? "null" : String.format(Locale.ROOT, "%.3f", number);
+    } else if (value instanceof Number || value instanceof Boolean || value == null) {
+      return String.valueOf(value);
+    } else {
+      return toJsonString(value.toString());
+    }
+  }
+
+  /**
+   * Serialises a string to a JSON string literal, escaping quotes, backslashes and control characters.
+   */
+  private static String toJsonString(String value) {
+    StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          json.append("\\\"");
+          break;
+        case '\\':
+          json.append("\\\\");
+          break;
+        case '\n':
+          json.append("\\n");
+          break;
+        case '\r':
+          json.append("\\r");
+          break;
+        case '\t':
+          json.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+      }
+    }
+    return json.append('"').toString();
+  }
+
+  private static int intOption(Map<String, String> options, String name, int defaultValue) {
+    String value = options.remove(name);
+    try {
+      return value != null ? Integer.parseInt(value) : defaultValue;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + name + " [" + value + "].", e);
+    }
+  }
+
+  /**
+   * An {@link ApiClientMetrics} which only records API calls made during the measurement period, by delegating to a
+   * different instance during the warm-up and measurement periods.
+   */
+  private static final class MeasurementPeriodMetrics implements ApiClientMetrics {
+    private volatile ApiClientMetrics delegate = ApiClientMetrics.NO_OP;
+
+    @Override
+    public void recordApiCall(ApiCallSample sample) {
+      this.delegate.recordApiCall(sample);
+    }
+  }
+
+  /**
+   * Extension of the {@link AppConfig} whose marshaller reports JAXB validation events to the load test's
+   * {@link CountingValidationEventHandler}.
+   */
+  @Configuration
+  static class LoadTestAppConfig extends AppConfig {
+    @Autowired
+    private CountingValidationEventHandler validationEventHandler;
+
+    @Override
+    @Bean
+    public Jaxb2Marshaller marshaller() {
+      Jaxb2Marshaller marshaller = super.marshaller();
+      marshaller.setValidationEventHandler(this.validationEventHandler);
+      return marshaller;
+    }
+  }
+
+  /**
+   * A {@link ValidationEventHandler} which counts the validation events it handles, over the whole run, before
+   * delegating their handling to a (lenient) {@link CustomValidationEventHandler}.
+   */
+  private static final class CountingValidationEventHandler implements ValidationEventHandler {
+    private final ValidationEventHandler delegate = new CustomValidationEventHandler();
+    private final AtomicLong eventCount = new AtomicLong();
+
+    @Override
+    public boolean handleEvent(ValidationEvent event) {
+      this.eventCount.incrementAndGet();
+      return this.delegate.handleEvent(event);
+    }
+
+    private long getEventCount() {
+      return this.eventCount.get();
+    }
+  }
+
+  /**
+   * The cumulative no. of collections, and time spent collecting, of all the JVM's garbage collectors.
+   */
+  private static final class GcStats {
+    private long collections;
+    private long timeMillis;
+
+    private GcStats() {
+      for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+        this.collections += Math.max(collector.getCollectionCount(), 0);
+        this.timeMillis += Math.max(collector.getCollectionTime(), 0);
+      }
+    }
+  }
+}
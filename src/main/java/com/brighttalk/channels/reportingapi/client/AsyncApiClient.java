@@ -0,0 +1,197 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client;
+
+import java.util.Date;
+
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveysResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * An asynchronous client for accessing the BrightTALK channel owner reporting API (version 1.x).
+ * <p>
+ * Mirrors each of the methods of the (blocking) {@link ApiClient}, but returns as soon as the API call has been
+ * initiated, without waiting for the API response. The result of the API call is instead provided by the returned
+ * {@link ListenableFuture}. Implementations are expected to use non-blocking I/O, so that a small no. of threads can
+ * support many concurrent API calls.
+ * <p>
+ * An error which occurs on making the API call, e.g. an {@link ApiErrorResponseException} reporting an API error
+ * response, fails the returned future with the same exception as would be thrown by the equivalent {@link ApiClient}
+ * method. The exception is reported by {@link ListenableFuture#get()} as the cause of an
+ * {@link java.util.concurrent.ExecutionException}. Callbacks registered with the future (e.g. using
+ * {@link com.google.common.util.concurrent.Futures#addCallback}) may be executed by one of the HTTP client's I/O
+ * threads, and should therefore not block.
+ * <p>
+ * Cancelling a returned future aborts the API call, if it's still in progress.
+ * 
+ * @see ApiClient
+ */
+public interface AsyncApiClient {
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getMyChannels(PageCriteria)}.
+   * 
+   * @param pageCriteria See {@link ApiClient#getMyChannels}.
+   * @return A {@link ListenableFuture} for the {@link ChannelsResource}.
+   */
+  ListenableFuture<ChannelsResource> getMyChannels(PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getUserChannels(int, PageCriteria)}.
+   * 
+   * @param userId See {@link ApiClient#getUserChannels}.
+   * @param pageCriteria See {@link ApiClient#getUserChannels}.
+   * @return A {@link ListenableFuture} for the {@link ChannelsResource}.
+   */
+  ListenableFuture<ChannelsResource> getUserChannels(int userId, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getChannelSubscribers(int, Boolean, Date, Date, PageCriteria)}.
+   * 
+   * @param channelId See {@link ApiClient#getChannelSubscribers}.
+   * @param subscribed See {@link ApiClient#getChannelSubscribers}.
+   * @param subscribedSince See {@link ApiClient#getChannelSubscribers}.
+   * @param unsubscribedSince See {@link ApiClient#getChannelSubscribers}.
+   * @param pageCriteria See {@link ApiClient#getChannelSubscribers}.
+   * @return A {@link ListenableFuture} for the {@link ChannelSubscribersResource}.
+   */
+  ListenableFuture<ChannelSubscribersResource> getChannelSubscribers(int channelId, Boolean subscribed,
+      Date subscribedSince, Date unsubscribedSince, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of
+   * {@link ApiClient#getSubscribersWebcastActivityForChannel(int, Date, Boolean, PageCriteria)}.
+   * 
+   * @param channelId See {@link ApiClient#getSubscribersWebcastActivityForChannel}.
+   * @param since See {@link ApiClient#getSubscribersWebcastActivityForChannel}.
+   * @param expandChannelSurveyResponse See {@link ApiClient#getSubscribersWebcastActivityForChannel}.
+   * @param pageCriteria See {@link ApiClient#getSubscribersWebcastActivityForChannel}.
+   * @return A {@link ListenableFuture} for the {@link SubscribersWebcastActivityResource}.
+   */
+  ListenableFuture<SubscribersWebcastActivityResource> getSubscribersWebcastActivityForChannel(int channelId,
+      Date since, Boolean expandChannelSurveyResponse, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of
+   * {@link ApiClient#getSubscribersWebcastActivityForWebcast(int, int, Date, Boolean, PageCriteria)}.
+   * 
+   * @param channelId See {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   * @param webcastId See {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   * @param since See {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   * @param expandChannelSurveyResponse See {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   * @param pageCriteria See {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   * @return A {@link ListenableFuture} for the {@link SubscribersWebcastActivityResource}.
+   */
+  ListenableFuture<SubscribersWebcastActivityResource> getSubscribersWebcastActivityForWebcast(int channelId,
+      int webcastId, Date since, Boolean expandChannelSurveyResponse, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getSurveysForChannel(int)}.
+   * 
+   * @param channelId See {@link ApiClient#getSurveysForChannel}.
+   * @return A {@link ListenableFuture} for the {@link SurveysResource}.
+   */
+  ListenableFuture<SurveysResource> getSurveysForChannel(int channelId);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getSurvey(int)}.
+   * 
+   * @param surveyId See {@link ApiClient#getSurvey}.
+   * @return A {@link ListenableFuture} for the {@link SurveyResource}.
+   */
+  ListenableFuture<SurveyResource> getSurvey(int surveyId);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getSurveyResponses(int, Date, PageCriteria)}.
+   * 
+   * @param surveyId See {@link ApiClient#getSurveyResponses}.
+   * @param since See {@link ApiClient#getSurveyResponses}.
+   * @param pageCriteria See {@link ApiClient#getSurveyResponses}.
+   * @return A {@link ListenableFuture} for the {@link SurveyResponsesResource}.
+   */
+  ListenableFuture<SurveyResponsesResource> getSurveyResponses(int surveyId, Date since, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getWebcastsForChannel(int, Date, PageCriteria)}.
+   * 
+   * @param channelId See {@link ApiClient#getWebcastsForChannel}.
+   * @param since See {@link ApiClient#getWebcastsForChannel}.
+   * @param pageCriteria See {@link ApiClient#getWebcastsForChannel}.
+   * @return A {@link ListenableFuture} for the {@link WebcastsResource}.
+   */
+  ListenableFuture<WebcastsResource> getWebcastsForChannel(int channelId, Date since, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getWebcast(int, int)}.
+   * 
+   * @param channelId See {@link ApiClient#getWebcast}.
+   * @param webcastId See {@link ApiClient#getWebcast}.
+   * @return A {@link ListenableFuture} for the {@link WebcastResource}.
+   */
+  ListenableFuture<WebcastResource> getWebcast(int channelId, int webcastId);
+
+  /**
+   * Asynchronous equivalent of
+   * {@link ApiClient#getWebcastRegistrationsForWebcast(int, int, Date, Boolean, PageCriteria)}.
+   * 
+   * @param channelId See {@link ApiClient#getWebcastRegistrationsForWebcast}.
+   * @param webcastId See {@link ApiClient#getWebcastRegistrationsForWebcast}.
+   * @param since See {@link ApiClient#getWebcastRegistrationsForWebcast}.
+   * @param viewed See {@link ApiClient#getWebcastRegistrationsForWebcast}.
+   * @param pageCriteria See {@link ApiClient#getWebcastRegistrationsForWebcast}.
+   * @return A {@link ListenableFuture} for the {@link WebcastRegistrationsResource}.
+   */
+  ListenableFuture<WebcastRegistrationsResource> getWebcastRegistrationsForWebcast(int channelId, int webcastId,
+      Date since, Boolean viewed, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of {@link ApiClient#getWebcastViewingsForChannel(int, Date, WebcastStatus, PageCriteria)}.
+   * 
+   * @param channelId See {@link ApiClient#getWebcastViewingsForChannel}.
+   * @param since See {@link ApiClient#getWebcastViewingsForChannel}.
+   * @param webcastStatus See {@link ApiClient#getWebcastViewingsForChannel}.
+   * @param pageCriteria See {@link ApiClient#getWebcastViewingsForChannel}.
+   * @return A {@link ListenableFuture} for the {@link WebcastViewingsResource}.
+   * @throws IllegalArgumentException If {@code webcastStatus} is not one of the status supported by this API.
+   */
+  ListenableFuture<WebcastViewingsResource> getWebcastViewingsForChannel(int channelId, Date since,
+      WebcastStatus webcastStatus, PageCriteria pageCriteria);
+
+  /**
+   * Asynchronous equivalent of
+   * {@link ApiClient#getWebcastViewingsForWebcast(int, int, Date, WebcastStatus, PageCriteria)}.
+   * 
+   * @param channelId See {@link ApiClient#getWebcastViewingsForWebcast}.
+   * @param webcastId See {@link ApiClient#getWebcastViewingsForWebcast}.
+   * @param since See {@link ApiClient#getWebcastViewingsForWebcast}.
+   * @param webcastStatus See {@link ApiClient#getWebcastViewingsForWebcast}.
+   * @param pageCriteria See {@link ApiClient#getWebcastViewingsForWebcast}.
+   * @return A {@link ListenableFuture} for the {@link WebcastViewingsResource}.
+   * @throws IllegalArgumentException If {@code webcastStatus} is not one of the status supported by this API.
+   */
+  ListenableFuture<WebcastViewingsResource> getWebcastViewingsForWebcast(int channelId, int webcastId, Date since,
+      WebcastStatus webcastStatus, PageCriteria pageCriteria);
+}
\ No newline at end of file
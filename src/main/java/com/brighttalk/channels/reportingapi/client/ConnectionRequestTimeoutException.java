@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client;
+
+/**
+ * Class of non-checked (runtime) exception thrown to report that an API call was not made because no HTTP connection
+ * to the API service became available from the HTTP client's connection pool within the configured time (the
+ * 'connection request timeout').
+ * <p>
+ * Indicates the client is saturated - the max no. of concurrent API calls are already in progress. Unlike other
+ * errors, the API service has not been contacted, so callers can safely treat it as a signal to shed load or back
+ * off, rather than queuing further API calls.
+ */
+public class ConnectionRequestTimeoutException extends ApiClientException {
+
+  /**
+   * @param message The internal, technical diagnostic message providing supplementary information about the context in
+   * which the exception occurred.
+   * @param cause The causal exception.
+   */
+  public ConnectionRequestTimeoutException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -29,6 +29,7 @@ import com.google.common.base.Preconditions;
 public class PageCriteria {
   private final Integer pageSize;
   private final Link nextPageLink;
+  private final String nextPageCursor;
 
   /**
    * Creates page criteria for a request for the first page of resources.
@@ -64,15 +65,17 @@ public class PageCriteria {
    */
   public PageCriteria(Integer pageSize, Link nextPageLink) {
     Preconditions.checkArgument(pageSize == null || pageSize > 0, "pageSize must be null or greater than zero.");
+    String nextPageCursor = null;
     if (nextPageLink != null) {
       try {
-        NextPageUrl.parse(nextPageLink.getHref());
+        nextPageCursor = NextPageUrl.parse(nextPageLink.getHref()).getCursor();
       } catch (IllegalArgumentException e) {
         throw new IllegalArgumentException("nextPageLink href is not a valid next page URL [" + nextPageLink + "].", e);
       }
     }
     this.pageSize = pageSize;
     this.nextPageLink = nextPageLink;
+    this.nextPageCursor = nextPageCursor;
   }
 
   public final Integer getPageSize() {
@@ -85,6 +88,15 @@ public class PageCriteria {
         new Link(this.nextPageLink.getHref(), this.nextPageLink.getRel(), this.nextPageLink.getTitle()) : null;
   }
 
+  /**
+   * @return The page cursor contained in the {@link #getNextPageLink() next page link}, or null if this criteria is for
+   * a first page of resources. The cursor is parsed once, when the next page link is validated on construction, so
+   * that building the request for the next page doesn't need to parse the link's URL again.
+   */
+  public final String getNextPageCursor() {
+    return this.nextPageCursor;
+  }
+
   @Override
   public String toString() {
     /* @formatter:off */
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client;
+
+/**
+ * Class of non-checked (runtime) exception thrown to report that an API call was not made because the client's
+ * configured rate limit for the API credentials in use was reached, and no permit to make the call became available
+ * within the configured max wait time.
+ * <p>
+ * The API service has not been contacted, so the API call can be safely retried later.
+ */
+public class RateLimitExceededException extends ApiClientException {
+
+  /**
+   * @param message The internal, technical diagnostic message providing supplementary information about the context in
+   * which the exception occurred.
+   */
+  public RateLimitExceededException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client;
+
+/**
+ * A callback which is handed each API resource contained in a collection as soon as it has been read from the API
+ * response, by a {@link StreamingApiClient}.
+ * 
+ * @param <E> The type of API resource handled.
+ * @see StreamingApiClient
+ */
+public interface ResourceHandler<E> {
+
+  /**
+   * Handles an API resource read from a collection.
+   * <p>
+   * Called on the thread which made the API call, in the order in which the resources appear in the collection. The
+   * response continues to be read once this method returns. Any runtime exception thrown by this method aborts the
+   * API call and is propagated to the caller.
+   * 
+   * @param resource The API resource.
+   */
+  void handle(E resource);
+}
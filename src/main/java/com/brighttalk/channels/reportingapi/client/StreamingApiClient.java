@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client;
+
+import java.util.Date;
+import java.util.List;
+
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.SubscriberWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+
+/**
+ * An extension of the {@link ApiClient} which supports streaming the resources contained in the largest collections
+ * returned by the API, rather than returning a whole page of resources at once.
+ * <p>
+ * Each resource is handed to a supplied {@link ResourceHandler} as soon as it has been read from the API response,
+ * without the need to first build the object graph for the whole page. This reduces the peak memory used per API call
+ * and the time taken to process the first resource, especially when large page sizes are used. The links belonging to
+ * the collection as a whole, including the 'next' page link, are returned once the whole response has been read.
+ * <p>
+ * The parameters of each method are identical to those of the equivalent method of the {@link ApiClient}.
+ */
+public interface StreamingApiClient extends ApiClient {
+
+  /**
+   * Streams the list of current and/or past subscribers to a channel owned by an API user.
+   * 
+   * @param channelId The ID of the channel.
+   * @param subscribed See {@link ApiClient#getChannelSubscribers}.
+   * @param subscribedSince See {@link ApiClient#getChannelSubscribers}.
+   * @param unsubscribedSince See {@link ApiClient#getChannelSubscribers}.
+   * @param pageCriteria Optional {@link PageCriteria page criteria}.
+   * @param handler The {@link ResourceHandler} to hand each {@link ChannelSubscriberResource} to.
+   * @return The list of {@link Link} belonging to the collection, including the next page link if there is one.
+   * @throws ApiClientException If an error occurs on making the API call.
+   * @see ApiClient#getChannelSubscribers(int, Boolean, Date, Date, PageCriteria)
+   */
+  List<Link> streamChannelSubscribers(int channelId, Boolean subscribed, Date subscribedSince,
+      Date unsubscribedSince, PageCriteria pageCriteria, ResourceHandler<ChannelSubscriberResource> handler)
+      throws ApiClientException;
+
+  /**
+   * Streams a summary (aggregation) of per subscriber activity for all webcasts in one of the channel owner's channels.
+   * 
+   * @param channelId The ID of the channel.
+   * @param since See {@link ApiClient#getSubscribersWebcastActivityForChannel}.
+   * @param expandChannelSurveyResponse See {@link ApiClient#getSubscribersWebcastActivityForChannel}.
+   * @param pageCriteria Optional {@link PageCriteria page criteria}.
+   * @param handler The {@link ResourceHandler} to hand each {@link SubscriberWebcastActivityResource} to.
+   * @return The list of {@link Link} belonging to the collection, including the next page link if there is one.
+   * @throws ApiClientException If an error occurs on making the API call.
+   * @see ApiClient#getSubscribersWebcastActivityForChannel(int, Date, Boolean, PageCriteria)
+   */
+  List<Link> streamSubscribersWebcastActivityForChannel(int channelId, Date since,
+      Boolean expandChannelSurveyResponse, PageCriteria pageCriteria,
+      ResourceHandler<SubscriberWebcastActivityResource> handler) throws ApiClientException;
+
+  /**
+   * Streams a summary (aggregation) of per subscriber activity for a specific webcast in one of the channel owner's
+   * channels.
+   * 
+   * @param channelId The ID of the channel.
+   * @param webcastId The ID of the webcast.
+   * @param since See {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   * @param expandChannelSurveyResponse See {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   * @param pageCriteria Optional {@link PageCriteria page criteria}.
+   * @param handler The {@link ResourceHandler} to hand each {@link SubscriberWebcastActivityResource} to.
+   * @return The list of {@link Link} belonging to the collection, including the next page link if there is one.
+   * @throws ApiClientException If an error occurs on making the API call.
+   * @see ApiClient#getSubscribersWebcastActivityForWebcast(int, int, Date, Boolean, PageCriteria)
+   */
+  List<Link> streamSubscribersWebcastActivityForWebcast(int channelId, int webcastId, Date since,
+      Boolean expandChannelSurveyResponse, PageCriteria pageCriteria,
+      ResourceHandler<SubscriberWebcastActivityResource> handler) throws ApiClientException;
+
+  /**
+   * Streams the viewings that have taken place for all webcasts in a channel owned by the current user.
+   * 
+   * @param channelId The ID of the channel.
+   * @param since See {@link ApiClient#getWebcastViewingsForChannel}.
+   * @param webcastStatus See {@link ApiClient#getWebcastViewingsForChannel}.
+   * @param pageCriteria Optional {@link PageCriteria page criteria}.
+   * @param handler The {@link ResourceHandler} to hand each {@link WebcastViewingResource} to.
+   * @return The list of {@link Link} belonging to the collection, including the next page link if there is one.
+   * @throws IllegalArgumentException If {@code webcastStatus} is not one of the status supported by this API.
+   * @throws ApiClientException If an error occurs on making the API call.
+   * @see ApiClient#getWebcastViewingsForChannel(int, Date, WebcastStatus, PageCriteria)
+   */
+  List<Link> streamWebcastViewingsForChannel(int channelId, Date since, WebcastStatus webcastStatus,
+      PageCriteria pageCriteria, ResourceHandler<WebcastViewingResource> handler) throws ApiClientException;
+
+  /**
+   * Streams the viewings that have taken place for an identified webcast in a channel owned by the current user.
+   * 
+   * @param channelId The ID of the channel.
+   * @param webcastId The ID of the webcast.
+   * @param since See {@link ApiClient#getWebcastViewingsForWebcast}.
+   * @param webcastStatus See {@link ApiClient#getWebcastViewingsForWebcast}.
+   * @param pageCriteria Optional {@link PageCriteria page criteria}.
+   * @param handler The {@link ResourceHandler} to hand each {@link WebcastViewingResource} to.
+   * @return The list of {@link Link} belonging to the collection, including the next page link if there is one.
+   * @throws IllegalArgumentException If {@code webcastStatus} is not one of the status supported by this API.
+   * @throws ApiClientException If an error occurs on making the API call.
+   * @see ApiClient#getWebcastViewingsForWebcast(int, int, Date, WebcastStatus, PageCriteria)
+   */
+  List<Link> streamWebcastViewingsForWebcast(int channelId, int webcastId, Date since, WebcastStatus webcastStatus,
+      PageCriteria pageCriteria, ResourceHandler<WebcastViewingResource> handler) throws ApiClientException;
+}
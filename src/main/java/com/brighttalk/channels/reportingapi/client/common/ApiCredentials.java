@@ -15,6 +15,7 @@
  */
 package com.brighttalk.channels.reportingapi.client.common;
 
+import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 
@@ -34,7 +35,7 @@ public class ApiCredentials {
    */
   public ApiCredentials(int key, String secret) {
     Preconditions.checkArgument(key > 0, "API key must be a positive integer.");
-    Preconditions.checkArgument(Strings.isNullOrEmpty(secret), "API secret must be a non-empty string.");
+    Preconditions.checkArgument(!Strings.isNullOrEmpty(secret), "API secret must be a non-empty string.");
     this.key = key;
     this.secret = secret;
   }
@@ -45,5 +46,36 @@ public class ApiCredentials {
 
   public final String getSecret() {
     return this.secret;
-  }       
-}
\ No newline at end of file
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ApiCredentials)) {
+      return false;
+    }
+    ApiCredentials that = (ApiCredentials) obj;
+    return this.key == that.key && this.secret.equals(that.secret);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(this.key, this.secret);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation excludes the secret, so the credentials can be safely logged.
+   */
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("key", this.key)
+      .toString();
+    /* @formatter:on */
+  }
+}
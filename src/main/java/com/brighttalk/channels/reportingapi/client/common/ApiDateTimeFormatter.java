@@ -15,11 +15,7 @@
  */
 package com.brighttalk.channels.reportingapi.client.common;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.TimeZone;
 
 import com.google.common.base.Preconditions;
 
@@ -30,6 +26,11 @@ import com.google.common.base.Preconditions;
  * simplified subset of the ISO 8601 standard. See patterns {@link #API_DATE_TIME_PATTERN} and
  * {@link #API_DATE_ONLY_PATTERN}.
  * <p>
+ * As both formats are fixed width, with no time zone offset, they're formatted and parsed directly, field by field,
+ * using integer arithmetic on the proleptic Gregorian calendar, rather than using a {@link java.text.DateFormat}. This
+ * avoids allocating any objects other than the result, and the need for a (per thread) DateFormat, as dates are among
+ * the most frequently occurring values in the APIs' responses.
+ * <p>
  * Thread-safe.
  * 
  * @author Neil Brown
@@ -50,7 +51,9 @@ public final class ApiDateTimeFormatter {
    * An example date printed using this format: {@code 2014-04-29T23:00:30Z}.
    */
   protected static final String API_DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss'Z'";
-  private static final int API_DATE_TIME_PATTERN_LITERAL_QUOTE_COUNT = 4;
+
+  /** The length of a date/time formatted using the {@link #API_DATE_TIME_PATTERN}, e.g. "2014-04-29T23:00:30Z". */
+  public static final int API_DATE_TIME_LENGTH = 20;
 
   /**
    * String pattern used to format and parse dates only (no times) exchanged with from the reporting APIs.
@@ -62,31 +65,17 @@ public final class ApiDateTimeFormatter {
    */
   protected static final String API_DATE_ONLY_PATTERN = "yyyy-MM-dd";
 
-  /**
-   * Thread-safe {@link DateFormat} for efficient formatting and parsing combined date and times using the
-   * {@link API_DATE_TIME_PATTERN}, implemented as a ThreadLocal variable.
-   */
-  private static ThreadLocal<DateFormat> threadLocalDateTimeFormat = new ThreadLocal<DateFormat>() {
-    @Override
-    protected DateFormat initialValue() {
-      DateFormat df = new SimpleDateFormat(API_DATE_TIME_PATTERN);
-      df.setTimeZone(TimeZone.getTimeZone("UTC"));
-      return df;
-    }
-  };
+  /** The length of a date formatted using the {@link #API_DATE_ONLY_PATTERN}, e.g. "2014-04-29". */
+  public static final int API_DATE_ONLY_LENGTH = 10;
 
-  /**
-   * Thread-safe {@link DateFormat} for efficient formatting and parsing dates (only) using the
-   * {@link API_DATE_ONLY_PATTERN}, implemented as a ThreadLocal variable.
-   */
-  private static ThreadLocal<DateFormat> threadLocalDateOnlyFormat = new ThreadLocal<DateFormat>() {
-    @Override
-    protected DateFormat initialValue() {
-      DateFormat df = new SimpleDateFormat(API_DATE_ONLY_PATTERN);
-      df.setTimeZone(TimeZone.getTimeZone("UTC"));
-      return df;
-    }
-  };
+  private static final long MILLIS_PER_SECOND = 1000L;
+  private static final long MILLIS_PER_DAY = 24L * 60 * 60 * MILLIS_PER_SECOND;
+  private static final int MAX_YEAR = 9999;
+
+  /** The no. of days in a 400 year cycle of the Gregorian calendar. */
+  private static final int DAYS_PER_ERA = 146097;
+  /** The no. of days from 0000-03-01 (the start of an era, counting years from March) to 1970-01-01. */
+  private static final int DAYS_0000_03_01_TO_EPOCH = 719468;
 
   /**
    * Formats a supplied Java {@link java.util.Date}, assumed to be in the UTC time zone, in the ISO 8601 date/time
@@ -97,9 +86,31 @@ public final class ApiDateTimeFormatter {
    */
   public String formatAsDateTime(Date date) {
     Preconditions.checkNotNull(date);
-    return threadLocalDateTimeFormat.get().format(date);
+    return formatAsDateTime(date.getTime());
   }
-  
+
+  /**
+   * Formats a supplied instant, as a no. of milliseconds since the epoch, in the ISO 8601 date/time format expected by
+   * the reporting APIs. Milliseconds are truncated.
+   * 
+   * @param epochMillis The no. of milliseconds since 1970-01-01T00:00:00Z.
+   * @return The formatted date/time string.
+   */
+  public String formatAsDateTime(long epochMillis) {
+    char[] buf = new char[API_DATE_TIME_LENGTH];
+    long epochDay = floorDiv(epochMillis, MILLIS_PER_DAY);
+    int secondOfDay = (int) ((epochMillis - epochDay * MILLIS_PER_DAY) / MILLIS_PER_SECOND);
+    writeDate(buf, epochDay);
+    buf[10] = 'T';
+    writeTwoDigits(buf, 11, secondOfDay / 3600);
+    buf[13] = ':';
+    writeTwoDigits(buf, 14, secondOfDay / 60 % 60);
+    buf[16] = ':';
+    writeTwoDigits(buf, 17, secondOfDay % 60);
+    buf[19] = 'Z';
+    return new String(buf);
+  }
+
   /**
    * Formats a supplied Java {@link java.util.Date}, assumed to be in the UTC time zone, in the ISO 8601 date only 
    * format expected by the reporting APIs.
@@ -109,7 +120,9 @@ public final class ApiDateTimeFormatter {
    */
   public String formatAsDateOnly(Date date) {
     Preconditions.checkNotNull(date);
-    return threadLocalDateOnlyFormat.get().format(date);    
+    char[] buf = new char[API_DATE_ONLY_LENGTH];
+    writeDate(buf, floorDiv(date.getTime(), MILLIS_PER_DAY));
+    return new String(buf);
   }
 
   /**
@@ -118,23 +131,135 @@ public final class ApiDateTimeFormatter {
    * 
    * @param value The date/time string to parse.
    * @return The {@link Date} parsed from the string.
+   * @throws IllegalArgumentException If the supplied string is not a valid date/time or date in the API's format.
    */
   public Date parse(String value) {
+    return new Date(this.parseAsEpochMillis(value));
+  }
+
+  /**
+   * Parses a supplied string in the ISO 8601 date/time or date only format used by the reporting APIs and returns the
+   * resulting instant, as a no. of milliseconds since the epoch. A date only string is parsed as the start of the day.
+   * 
+   * @param value The date/time string to parse.
+   * @return The no. of milliseconds since 1970-01-01T00:00:00Z.
+   * @throws IllegalArgumentException If the supplied string is not a valid date/time or date in the API's format.
+   */
+  public long parseAsEpochMillis(String value) {
     Preconditions.checkNotNull(value);
-    if (value.length() == API_DATE_TIME_PATTERN.length() - API_DATE_TIME_PATTERN_LITERAL_QUOTE_COUNT) {
-      try {             
-        return threadLocalDateTimeFormat.get().parse(value);
-      } catch (ParseException e) {
-        throw new IllegalArgumentException("Failed to parse value as API date/time [" + value + "].", e);
-      }        
-    } else if (value.length() == API_DATE_ONLY_PATTERN.length()) {
-      try {
-        return threadLocalDateOnlyFormat.get().parse(value);
-      } catch (ParseException e) {
-        throw new IllegalArgumentException("Failed to parse value as API date [" + value + "].", e);
+    if (value.length() == API_DATE_TIME_LENGTH) {
+      if (value.charAt(10) != 'T' || value.charAt(13) != ':' || value.charAt(16) != ':' || value.charAt(19) != 'Z') {
+        throw new IllegalArgumentException("Failed to parse value as API date/time [" + value + "].");
       }
+      int hour = parseField(value, 11, 2, 0, 23, "date/time");
+      int minute = parseField(value, 14, 2, 0, 59, "date/time");
+      int second = parseField(value, 17, 2, 0, 59, "date/time");
+      return parseDate(value, "date/time") * MILLIS_PER_DAY + (hour * 3600 + minute * 60 + second) * MILLIS_PER_SECOND;
+    } else if (value.length() == API_DATE_ONLY_LENGTH) {
+      return parseDate(value, "date") * MILLIS_PER_DAY;
     } else {
       throw new IllegalArgumentException("Failed to parse value as API date/time string [" + value + "].");
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Parses the date component ("yyyy-MM-dd") at the start of a supplied string.
+   * 
+   * @return The no. of days since 1970-01-01.
+   */
+  private static long parseDate(String value, String formatName) {
+    if (value.charAt(4) != '-' || value.charAt(7) != '-') {
+      throw new IllegalArgumentException("Failed to parse value as API " + formatName + " [" + value + "].");
+    }
+    int year = parseField(value, 0, 4, 0, MAX_YEAR, formatName);
+    int month = parseField(value, 5, 2, 1, 12, formatName);
+    int day = parseField(value, 8, 2, 1, lengthOfMonth(year, month), formatName);
+    return toEpochDay(year, month, day);
+  }
+
+  /**
+   * Parses a fixed width field of decimal digits in a supplied string, and checks it's in range.
+   */
+  private static int parseField(String value, int offset, int width, int min, int max, String formatName) {
+    int field = 0;
+    for (int i = offset; i < offset + width; i++) {
+      int digit = value.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IllegalArgumentException("Failed to parse value as API " + formatName + " [" + value + "].");
+      }
+      field = field * 10 + digit;
+    }
+    if (field < min || field > max) {
+      throw new IllegalArgumentException("Failed to parse value as API " + formatName + " [" + value
+          + "]. Field out of range.");
+    }
+    return field;
+  }
+
+  /**
+   * Writes the date ("yyyy-MM-dd") of a supplied day, to the start of a supplied buffer.
+   * 
+   * @param epochDay The no. of days since 1970-01-01.
+   * @throws IllegalArgumentException If the year of the day can't be represented using 4 digits.
+   */
+  private static void writeDate(char[] buf, long epochDay) {
+    // Convert the day to a year, month and day of month, using a calendar whose years start in March, so that the leap
+    // day is the last day of the year. See http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+    long shiftedDay = epochDay + DAYS_0000_03_01_TO_EPOCH;
+    long era = floorDiv(shiftedDay, DAYS_PER_ERA);
+    int dayOfEra = (int) (shiftedDay - era * DAYS_PER_ERA);
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (5 * dayOfYear + 2) / 153;
+    int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+    Preconditions.checkArgument(year >= 0 && year <= MAX_YEAR, "Year [%s] can't be formatted as an API date.", year);
+    writeTwoDigits(buf, 0, (int) year / 100);
+    writeTwoDigits(buf, 2, (int) year % 100);
+    buf[4] = '-';
+    writeTwoDigits(buf, 5, month);
+    buf[7] = '-';
+    writeTwoDigits(buf, 8, day);
+  }
+
+  private static void writeTwoDigits(char[] buf, int offset, int value) {
+    buf[offset] = (char) ('0' + value / 10);
+    buf[offset + 1] = (char) ('0' + value % 10);
+  }
+
+  /**
+   * @return The no. of days since 1970-01-01 of a supplied (valid) date. The inverse of {@link #writeDate}.
+   */
+  private static long toEpochDay(int year, int month, int day) {
+    int shiftedYear = month <= 2 ? year - 1 : year;
+    int era = (shiftedYear >= 0 ? shiftedYear : shiftedYear - 399) / 400;
+    int yearOfEra = shiftedYear - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_0000_03_01_TO_EPOCH;
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  /**
+   * @return The largest value less than or equal to the algebraic quotient (rounds towards negative infinity, unlike
+   * the / operator). Equivalent to Java 8's Math.floorDiv().
+   */
+  private static long floorDiv(long dividend, long divisor) {
+    long quotient = dividend / divisor;
+    return (dividend % divisor != 0 && (dividend < 0) != (divisor < 0)) ? quotient - 1 : quotient;
+  }
+}
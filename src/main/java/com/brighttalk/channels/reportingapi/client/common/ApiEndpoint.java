@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveysResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+
+/**
+ * Enumeration of the API endpoints (resource URLs) called by each of the methods of the
+ * {@link com.brighttalk.channels.reportingapi.client.ApiClient}.
+ * <p>
+ * Supports identifying the API client method for which an HTTP request is being made from its URL path, e.g. to
+ * apply per method configuration. (The streaming and asynchronous variants of an API client method call the same
+ * endpoint as the method itself).
+ * <p>
+ * Each endpoint's URI template is compiled once, on class initialisation, for use in building the URI of each request.
+ */
+public enum ApiEndpoint {
+
+  /* @formatter:off */
+  GET_MY_CHANNELS("getMyChannels", ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE),
+  GET_USER_CHANNELS("getUserChannels", ChannelsResource.USER_CHANNELS_RELATIVE_URI_TEMPLATE),
+  GET_CHANNEL_SUBSCRIBERS("getChannelSubscribers", ChannelSubscribersResource.RELATIVE_URI_TEMPLATE),
+  GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL("getSubscribersWebcastActivityForChannel",
+      SubscribersWebcastActivityResource.FOR_CHANNEL_RELATIVE_URI_TEMPLATE),
+  GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_WEBCAST("getSubscribersWebcastActivityForWebcast",
+      SubscribersWebcastActivityResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE),
+  GET_SURVEYS_FOR_CHANNEL("getSurveysForChannel", SurveysResource.FOR_CHANNELS_RELATIVE_URI_TEMPLATE),
+  GET_SURVEY("getSurvey", SurveyResource.RELATIVE_URI_TEMPLATE),
+  GET_SURVEY_RESPONSES("getSurveyResponses", SurveyResponsesResource.RELATIVE_URI_TEMPLATE),
+  GET_WEBCASTS_FOR_CHANNEL("getWebcastsForChannel", WebcastsResource.RELATIVE_URI_TEMPLATE),
+  GET_WEBCAST("getWebcast", WebcastResource.RELATIVE_URI_TEMPLATE),
+  GET_WEBCAST_REGISTRATIONS_FOR_WEBCAST("getWebcastRegistrationsForWebcast",
+      WebcastRegistrationsResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE),
+  GET_WEBCAST_VIEWINGS_FOR_CHANNEL("getWebcastViewingsForChannel",
+      WebcastViewingsResource.FOR_CHANNEL_RELATIVE_URI_TEMPLATE),
+  GET_WEBCAST_VIEWINGS_FOR_WEBCAST("getWebcastViewingsForWebcast",
+      WebcastViewingsResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE);
+  /* @formatter:on */
+
+  private final String methodName;
+  private final String relativeUriTemplate;
+  private final CompiledUriTemplate uriTemplate;
+  private final Pattern pathPattern;
+
+  private ApiEndpoint(String methodName, String relativeUriTemplate) {
+    this.methodName = methodName;
+    this.relativeUriTemplate = relativeUriTemplate;
+    this.uriTemplate = CompiledUriTemplate.compile(relativeUriTemplate);
+    this.pathPattern = compilePathPattern(relativeUriTemplate);
+  }
+
+  /**
+   * @return The name of the {@link com.brighttalk.channels.reportingapi.client.ApiClient} method which calls this
+   * endpoint, e.g. "getWebcastViewingsForChannel".
+   */
+  public String getMethodName() {
+    return this.methodName;
+  }
+
+  /**
+   * @return The URI template string for the relative URL of this endpoint.
+   */
+  public String getRelativeUriTemplate() {
+    return this.relativeUriTemplate;
+  }
+
+  /**
+   * @return The {@link CompiledUriTemplate} for the relative URL of this endpoint, used to build request URIs.
+   */
+  public CompiledUriTemplate getUriTemplate() {
+    return this.uriTemplate;
+  }
+
+  /**
+   * @param path The path component of a request URL, e.g. "/v1/channel/1/webcast_viewings". Any template variables
+   * must have been expanded.
+   * @return True if the supplied path is that of this endpoint.
+   */
+  public boolean matchesPath(String path) {
+    return path != null && this.pathPattern.matcher(path).matches();
+  }
+
+  /**
+   * Identifies the endpoint whose URL has a supplied path.
+   * 
+   * @param path The path component of a request URL, e.g. "/v1/channel/1/webcast_viewings".
+   * @return The {@link ApiEndpoint} with the supplied path, or null if the path is not that of a known endpoint.
+   */
+  public static ApiEndpoint forPath(String path) {
+    for (ApiEndpoint endpoint : values()) {
+      if (endpoint.matchesPath(path)) {
+        return endpoint;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Compiles a regex which matches the path of a URI template once its variables have been expanded. Each variable
+   * matches a single, non-empty path segment. (Called from the constructor, so can't use a static field for the
+   * variable regex, which wouldn't yet have been initialised).
+   */
+  private static Pattern compilePathPattern(String relativeUriTemplate) {
+    StringBuilder regex = new StringBuilder();
+    int literalStart = 0;
+    Matcher matcher = Pattern.compile("\\{[^/}]+\\}").matcher(relativeUriTemplate);
+    while (matcher.find()) {
+      regex.append(Pattern.quote(relativeUriTemplate.substring(literalStart, matcher.start()))).append("[^/]+");
+      literalStart = matcher.end();
+    }
+    regex.append(Pattern.quote(relativeUriTemplate.substring(literalStart)));
+    return Pattern.compile(regex.toString());
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.RateLimitExceededException;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+/**
+ * Limits the rate at which API calls are made, per set of {@link ApiCredentials}, to avoid exceeding the rate at which
+ * the API service allows each API user to make calls. Calls made in excess of the API service's rate limit are
+ * rejected (HTTP 429 Too Many Requests), wasting a round trip.
+ * <p>
+ * Each set of API credentials is allocated its own token bucket, which permits API calls to be made at a configured,
+ * sustained rate, plus an initial burst. A caller which requests a permit when none is available waits until one
+ * becomes available, for up to a configured max time, or fails fast if that time is zero.
+ * <p>
+ * A single instance should be shared by all the API clients using the same API credentials. This class is thread-safe.
+ */
+public class ApiRateLimiter {
+
+  private static final Logger logger = LoggerFactory.getLogger(ApiRateLimiter.class);
+
+  private final double permitsPerSecond;
+  private final int burstSize;
+  private final long maxWaitMillis;
+  private final Ticker ticker;
+  private final ConcurrentMap<ApiCredentials, TokenBucket> tokenBuckets = new ConcurrentHashMap<>();
+
+  /**
+   * @param permitsPerSecond The sustained rate at which API calls are permitted, per set of API credentials. Must be
+   * greater than zero.
+   * @param burstSize The max no. of API calls which are permitted in a burst, after a period of inactivity. Must be
+   * greater than zero.
+   * @param maxWaitMillis The max time (millis) a caller waits for a permit to make an API call. Zero to fail fast.
+   */
+  public ApiRateLimiter(double permitsPerSecond, int burstSize, long maxWaitMillis) {
+    this(permitsPerSecond, burstSize, maxWaitMillis, Ticker.systemTicker());
+  }
+
+  /**
+   * @param permitsPerSecond See {@link #ApiRateLimiter(double, int, long)}.
+   * @param burstSize See {@link #ApiRateLimiter(double, int, long)}.
+   * @param maxWaitMillis See {@link #ApiRateLimiter(double, int, long)}.
+   * @param ticker The {@link Ticker} used to measure elapsed time.
+   */
+  ApiRateLimiter(double permitsPerSecond, int burstSize, long maxWaitMillis, Ticker ticker) {
+    Preconditions.checkArgument(permitsPerSecond > 0, "permitsPerSecond must be greater than zero.");
+    Preconditions.checkArgument(burstSize > 0, "burstSize must be greater than zero.");
+    Preconditions.checkArgument(maxWaitMillis >= 0, "maxWaitMillis must not be negative.");
+    this.permitsPerSecond = permitsPerSecond;
+    this.burstSize = burstSize;
+    this.maxWaitMillis = maxWaitMillis;
+    this.ticker = Preconditions.checkNotNull(ticker, "ticker must not be null.");
+  }
+
+  /**
+   * Acquires a permit to make an API call using a supplied set of API credentials, waiting for one to become available
+   * if necessary.
+   * 
+   * @param credentials The {@link ApiCredentials} the API call will be made with.
+   * @throws RateLimitExceededException If no permit became available within the configured max wait time.
+   * @throws ApiClientException If the thread is interrupted waiting for a permit.
+   */
+  public void acquire(ApiCredentials credentials) throws RateLimitExceededException, ApiClientException {
+    Preconditions.checkNotNull(credentials, "credentials must not be null.");
+    long waitNanos = this.getTokenBucket(credentials).reserve(TimeUnit.MILLISECONDS.toNanos(this.maxWaitMillis));
+    if (waitNanos < 0) {
+      throw new RateLimitExceededException("Rate limit of [" + this.permitsPerSecond + "] API calls per second "
+          + "exceeded for " + credentials + ". No permit available within [" + this.maxWaitMillis + "] millis.");
+    }
+    if (waitNanos > 0) {
+      logger.debug("Waiting [{}] nanos for permit to make API call for {}.", waitNanos, credentials);
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ApiClientException("Interrupted waiting for permit to make API call.", e);
+      }
+    }
+  }
+
+  public final double getPermitsPerSecond() {
+    return this.permitsPerSecond;
+  }
+
+  public final int getBurstSize() {
+    return this.burstSize;
+  }
+
+  public final long getMaxWaitMillis() {
+    return this.maxWaitMillis;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("permitsPerSecond", this.permitsPerSecond)
+      .add("burstSize", this.burstSize)
+      .add("maxWaitMillis", this.maxWaitMillis)
+      .toString();
+    /* @formatter:on */
+  }
+
+  private TokenBucket getTokenBucket(ApiCredentials credentials) {
+    TokenBucket tokenBucket = this.tokenBuckets.get(credentials);
+    if (tokenBucket == null) {
+      TokenBucket newTokenBucket = new TokenBucket(this.permitsPerSecond, this.burstSize, this.ticker);
+      tokenBucket = this.tokenBuckets.putIfAbsent(credentials, newTokenBucket);
+      if (tokenBucket == null) {
+        tokenBucket = newTokenBucket;
+      }
+    }
+    return tokenBucket;
+  }
+}
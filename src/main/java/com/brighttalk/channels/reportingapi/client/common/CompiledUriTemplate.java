@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A URI template, e.g. "/v1/channel/{channelId}/webcast/{webcastId}", which has been parsed ('compiled') once, up
+ * front, for repeated use in building request URIs.
+ * <p>
+ * Expanding the template writes the base URI, the literal parts of the template, the encoded template variable values
+ * and the encoded query parameters in a single pass, to one buffer. This avoids the overhead of building a URI
+ * template string on each API call, that then has to be re-parsed and encoded to expand its variables.
+ * <p>
+ * Template variable values are encoded as a URI path segment. Query parameter names and values are encoded as per
+ * RFC 3986, with the addition that '+' is percent-encoded as some servers decode it as a space. Characters outside the
+ * allowed set are percent-encoded from their UTF-8 representation.
+ * <p>
+ * Immutable and thread safe.
+ */
+public final class CompiledUriTemplate {
+
+  /** Compiled regex matching a URI template variable placeholder, e.g. "{channelId}". */
+  private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{([^/}]+)\\}");
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  /** Lookup table of the (ASCII) characters that needn't be encoded in a URI path segment. */
+  private static final boolean[] PATH_SEGMENT_ALLOWED = allowedChars("!$&'()*+,;=:@");
+
+  /** Lookup table of the (ASCII) characters that needn't be encoded in a query parameter name or value. */
+  private static final boolean[] QUERY_PARAM_ALLOWED = allowedChars("!$'()*,;:@/?");
+
+  private final String template;
+  /** The literal parts of the template, between and around each variable. One more than the no. of variables. */
+  private final String[] literals;
+  private final List<String> variableNames;
+
+  private CompiledUriTemplate(String template, String[] literals, List<String> variableNames) {
+    this.template = template;
+    this.literals = literals;
+    this.variableNames = variableNames;
+  }
+
+  /**
+   * Compiles a URI template.
+   * 
+   * @param template The URI template, containing zero or more variable placeholders, e.g. "{channelId}". The literal
+   * parts of the template must be a valid (already encoded) relative or absolute URI path.
+   * @return The {@link CompiledUriTemplate}.
+   */
+  public static CompiledUriTemplate compile(String template) {
+    Preconditions.checkNotNull(template, "template must not be null.");
+    List<String> literals = new ArrayList<>();
+    ImmutableList.Builder<String> variableNames = ImmutableList.builder();
+    int literalStart = 0;
+    Matcher matcher = VARIABLE_PATTERN.matcher(template);
+    while (matcher.find()) {
+      literals.add(template.substring(literalStart, matcher.start()));
+      variableNames.add(matcher.group(1));
+      literalStart = matcher.end();
+    }
+    literals.add(template.substring(literalStart));
+    return new CompiledUriTemplate(template, literals.toArray(new String[literals.size()]), variableNames.build());
+  }
+
+  /**
+   * @return The names of the template's variables, in the order they occur in the template.
+   */
+  public List<String> getVariableNames() {
+    return this.variableNames;
+  }
+
+  /**
+   * Builds an absolute URI by appending this (relative) template, with its variables expanded, and an optional set of
+   * request parameters, to a base URI.
+   * 
+   * @param baseUri The base URI, e.g. "https://api.brighttalk.com:443". Must be a valid, encoded URI with no trailing
+   * slash.
+   * @param requestParams Optional request parameters, appended to the URI's query string in the order they're written
+   * by the builder. Can be null.
+   * @param variableValues The values of the template's variables, in the order the variables occur in the template.
+   * Converted to strings using their {@code toString()} method.
+   * @return The built {@link URI}.
+   * @throws IllegalArgumentException If the no. of variable values doesn't match the no. of variables.
+   */
+  public URI expand(String baseUri, RequestParamsBuilder requestParams, Object... variableValues) {
+    Preconditions.checkArgument(variableValues.length == this.variableNames.size(),
+        "URI template [%s] requires [%s] variable values, not [%s].", this.template, this.variableNames.size(),
+        variableValues.length);
+    StringBuilder uri = new StringBuilder(baseUri.length() + this.template.length() + 128);
+    uri.append(baseUri).append(this.literals[0]);
+    for (int i = 0; i < variableValues.length; i++) {
+      Preconditions.checkArgument(variableValues[i] != null, "Value of URI template variable [%s] must not be null.",
+          this.variableNames.get(i));
+      appendEncoded(uri, variableValues[i].toString(), PATH_SEGMENT_ALLOWED);
+      uri.append(this.literals[i + 1]);
+    }
+    if (requestParams != null) {
+      requestParams.writeTo(new QueryStringWriter(uri));
+    }
+    return URI.create(uri.toString());
+  }
+
+  /**
+   * @return The (uncompiled) URI template.
+   */
+  @Override
+  public String toString() {
+    return this.template;
+  }
+
+  /**
+   * Appends a supplied string to a URI being built, percent-encoding any characters which aren't allowed. Strings that
+   * need no encoding, the common case, are appended as is.
+   */
+  static void appendEncoded(StringBuilder uri, String value, boolean[] allowed) {
+    int length = value.length();
+    int i = 0;
+    while (i < length && isAllowed(value.charAt(i), allowed)) {
+      i++;
+    }
+    if (i == length) {
+      uri.append(value);
+      return;
+    }
+    uri.append(value, 0, i);
+    for (byte b : value.substring(i).getBytes(UTF_8)) {
+      if (b >= 0 && allowed[b]) {
+        uri.append((char) b);
+      } else {
+        uri.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+      }
+    }
+  }
+
+  private static boolean isAllowed(char c, boolean[] allowed) {
+    return c < allowed.length && allowed[c];
+  }
+
+  /**
+   * @return A lookup table of the RFC 3986 unreserved characters, plus the supplied additional characters.
+   */
+  private static boolean[] allowedChars(String additionalChars) {
+    boolean[] allowed = new boolean[128];
+    for (char c = 'a'; c <= 'z'; c++) {
+      allowed[c] = true;
+    }
+    for (char c = 'A'; c <= 'Z'; c++) {
+      allowed[c] = true;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      allowed[c] = true;
+    }
+    for (char c : "-._~".toCharArray()) {
+      allowed[c] = true;
+    }
+    for (char c : additionalChars.toCharArray()) {
+      allowed[c] = true;
+    }
+    return allowed;
+  }
+
+  /**
+   * A {@link RequestParamsBuilder.ParamWriter} which appends each request parameter, encoded, to the query string of a
+   * URI being built.
+   */
+  private static final class QueryStringWriter implements RequestParamsBuilder.ParamWriter {
+    private final StringBuilder uri;
+    private char separator = '?';
+
+    QueryStringWriter(StringBuilder uri) {
+      this.uri = uri;
+    }
+
+    @Override
+    public void write(String name, String value) {
+      this.uri.append(this.separator);
+      appendEncoded(this.uri, name, QUERY_PARAM_ALLOWED);
+      this.uri.append('=');
+      appendEncoded(this.uri, value, QUERY_PARAM_ALLOWED);
+      this.separator = '&';
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.ConnectionRequestTimeoutException;
+import com.brighttalk.channels.reportingapi.client.HttpErrorResponseException;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A {@link RetryPolicy} which retries API calls that failed due to a transient error, up to a max no. of attempts,
+ * waiting an exponentially increasing, randomised ('jittered') time between attempts.
+ * <p>
+ * The following errors are considered transient, and are retried -
+ * <ul>
+ * <li>HTTP error responses 429 Too Many Requests, 502 Bad Gateway, 503 Service Unavailable and 504 Gateway
+ * Timeout.</li>
+ * <li>I/O errors, e.g. a connection being refused or reset, or a socket (read) timeout.</li>
+ * </ul>
+ * A {@link ConnectionRequestTimeoutException} is not retried, as it indicates the client is already saturated.
+ * <p>
+ * The delay before each retry is chosen at random between zero and an upper bound which doubles on each failed attempt,
+ * starting at a base delay, and capped at a max delay ('full jitter'). Randomising the delay spreads the retries of
+ * concurrent callers, rather than them all retrying in lock step and overloading a recovering API service.
+ * <p>
+ * If an error response includes a Retry-After header, the delay it specifies is used instead. If that delay exceeds the
+ * max delay the API call is not retried.
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExponentialBackoffRetryPolicy.class);
+
+  /** HTTP status codes of error responses that are considered transient. */
+  private static final Set<Integer> RETRYABLE_STATUS_CODES = ImmutableSet.of(429, 502, 503, 504);
+
+  private static final String RETRY_AFTER_HEADER_NAME = "Retry-After";
+
+  /** Format of an HTTP-date, as used in a Retry-After header, as specified by RFC 7231. */
+  private static final String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+  private final int maxAttempts;
+  private final long baseDelayMillis;
+  private final long maxDelayMillis;
+  private final Random random;
+
+  /**
+   * @param maxAttempts The max no. of attempts to make an API call, including the first. Must be greater than zero. A
+   * value of 1 disables retries.
+   * @param baseDelayMillis The upper bound of the delay (millis) before the first retry. Must not be negative.
+   * @param maxDelayMillis The max delay (millis) before any retry. Must be greater than or equal to the base delay.
+   */
+  public ExponentialBackoffRetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+    this(maxAttempts, baseDelayMillis, maxDelayMillis, new Random());
+  }
+
+  /**
+   * @param maxAttempts See {@link #ExponentialBackoffRetryPolicy(int, long, long)}.
+   * @param baseDelayMillis See {@link #ExponentialBackoffRetryPolicy(int, long, long)}.
+   * @param maxDelayMillis See {@link #ExponentialBackoffRetryPolicy(int, long, long)}.
+   * @param random The source of randomness used to jitter the delays.
+   */
+  ExponentialBackoffRetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, Random random) {
+    Preconditions.checkArgument(maxAttempts > 0, "maxAttempts must be greater than zero.");
+    Preconditions.checkArgument(baseDelayMillis >= 0, "baseDelayMillis must not be negative.");
+    Preconditions.checkArgument(maxDelayMillis >= baseDelayMillis,
+        "maxDelayMillis must be greater than or equal to baseDelayMillis.");
+    this.maxAttempts = maxAttempts;
+    this.baseDelayMillis = baseDelayMillis;
+    this.maxDelayMillis = maxDelayMillis;
+    this.random = Preconditions.checkNotNull(random, "random must not be null.");
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getRetryDelayMillis(int failedAttempts, RuntimeException failure) {
+    if (failedAttempts >= this.maxAttempts || !this.isRetryable(failure)) {
+      return NO_RETRY;
+    }
+    Long retryAfterMillis = getRetryAfterMillis(failure);
+    if (retryAfterMillis != null) {
+      if (retryAfterMillis > this.maxDelayMillis) {
+        logger.debug("Not retrying. Retry-After of [{}] millis exceeds max delay of [{}] millis.", retryAfterMillis,
+            this.maxDelayMillis);
+        return NO_RETRY;
+      }
+      return retryAfterMillis;
+    }
+    double delayUpperBound = Math.min(this.maxDelayMillis, this.baseDelayMillis * Math.pow(2, failedAttempts - 1));
+    return (long) (this.random.nextDouble() * delayUpperBound);
+  }
+
+  /**
+   * Decides whether a supplied exception reports a transient error, and hence whether the failed API call is worth
+   * retrying. Can be overridden in subclasses.
+   * 
+   * @param failure The exception an API call failed with.
+   * @return True if the error is transient.
+   */
+  protected boolean isRetryable(RuntimeException failure) {
+    if (failure instanceof ConnectionRequestTimeoutException) {
+      return false;
+    }
+    if (failure instanceof HttpErrorResponseException) {
+      return RETRYABLE_STATUS_CODES.contains(((HttpErrorResponseException) failure).getStatusCode());
+    }
+    for (Throwable cause : Throwables.getCausalChain(failure)) {
+      if (cause instanceof IOException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public final int getMaxAttempts() {
+    return this.maxAttempts;
+  }
+
+  public final long getBaseDelayMillis() {
+    return this.baseDelayMillis;
+  }
+
+  public final long getMaxDelayMillis() {
+    return this.maxDelayMillis;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("maxAttempts", this.maxAttempts)
+      .add("baseDelayMillis", this.baseDelayMillis)
+      .add("maxDelayMillis", this.maxDelayMillis)
+      .toString();
+    /* @formatter:on */
+  }
+
+  /**
+   * Reads the delay specified by the Retry-After header of an HTTP error response, if there is one. The header value
+   * may be either a no. of seconds, or an HTTP-date.
+   * 
+   * @param failure The exception an API call failed with.
+   * @return The delay in millis, or null if the exception isn't for an HTTP error response, or the response doesn't
+   * contain a valid Retry-After header.
+   */
+  private static Long getRetryAfterMillis(RuntimeException failure) {
+    if (!(failure instanceof HttpErrorResponseException)) {
+      return null;
+    }
+    String retryAfter = getHeaderValue(((HttpErrorResponseException) failure).getResponseHeaders(),
+        RETRY_AFTER_HEADER_NAME);
+    if (retryAfter == null) {
+      return null;
+    }
+    try {
+      return Math.max(0, Long.parseLong(retryAfter) * 1000);
+    } catch (NumberFormatException e) {
+      // Not a no. of seconds. Try parsing as an HTTP-date.
+    }
+    SimpleDateFormat dateFormat = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US);
+    dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+    try {
+      return Math.max(0, dateFormat.parse(retryAfter).getTime() - System.currentTimeMillis());
+    } catch (ParseException e) {
+      logger.debug("Ignoring invalid Retry-After header [{}].", retryAfter);
+      return null;
+    }
+  }
+
+  /**
+   * @return The first value of the named header, or null if not present. Header names are matched ignoring case.
+   */
+  private static String getHeaderValue(Map<String, List<String>> headers, String headerName) {
+    if (headers == null) {
+      return null;
+    }
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (headerName.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+        return header.getValue().get(0).trim();
+      }
+    }
+    return null;
+  }
+}
@@ -16,20 +16,16 @@
 package com.brighttalk.channels.reportingapi.client.common;
 
 import java.util.Date;
-import java.util.List;
-import java.util.Map;
 
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimaps;
 
 /**
- * Builds a map representation of the request parameters supported by the Get Channel Subscribers API from supplied
- * values. Also defines the set of named request parameters supported by the API.
+ * Builds the request parameters supported by the Get Channel Subscribers API from supplied values. Also defines the set
+ * of named request parameters supported by the API.
  * 
  * @author Neil Brown
  */
-public class GetChannelSubscribersRequestParamsBuilder {
+public class GetChannelSubscribersRequestParamsBuilder extends RequestParamsBuilder {
 
   /* CHECKSTYLE:OFF */
   enum ParamName {
@@ -47,12 +43,10 @@ public class GetChannelSubscribersRequestParamsBuilder {
   }
   /* CHECKSTYLE:ON */
 
-  // Multimap API uses flattened collection of key/value pairs, with multiple entries for multiple values with same key
-  // Multimap.asMap() is subsequently used to convert this to a Map<String, Collection<String>> representation.
-  // Use LinkedListMultimap to get reliable (insert) order for keys as well as values  
-  private LinkedListMultimap<String, String> params = LinkedListMultimap.create();
-
-  private ApiDateTimeFormatter dateFormat = new ApiDateTimeFormatter();
+  private final Boolean subscribed;
+  private final Date subscribedSince;
+  private final Date unsubscribedSince;
+  private final PageCriteria pageCriteria;
 
   /**
    * Builds the request parameters using the data from the supplied parameters.
@@ -69,28 +63,24 @@ public class GetChannelSubscribersRequestParamsBuilder {
    */
   public GetChannelSubscribersRequestParamsBuilder(Boolean subscribed, Date subscribedSince, Date unsubscribedSince,
       PageCriteria pageCriteria) {
-    if (subscribed != null) {
-      this.params.put(ParamName.SUBSCRIBED.getName(), subscribed.toString());
-    }
-    if (subscribedSince != null) {
-      this.params.put(ParamName.SUBSCRIBED_SINCE.getName(), this.dateFormat.formatAsDateTime(subscribedSince));
+    this.subscribed = subscribed;
+    this.subscribedSince = subscribedSince;
+    this.unsubscribedSince = unsubscribedSince;
+    this.pageCriteria = pageCriteria;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void writeTo(ParamWriter writer) {
+    if (this.subscribed != null) {
+      writer.write(ParamName.SUBSCRIBED.getName(), this.subscribed.toString());
     }
-    if (unsubscribedSince != null) {
-      this.params.put(ParamName.UNSUBSCRIBED_SINCE.getName(), this.dateFormat.formatAsDateTime(unsubscribedSince));
+    if (this.subscribedSince != null) {
+      writer.write(ParamName.SUBSCRIBED_SINCE.getName(), DATE_FORMAT.formatAsDateTime(this.subscribedSince));
     }
-    if (pageCriteria != null) {
-      Map<String, List<String>> pagingParams = new PagingRequestParamsBuilder(pageCriteria).asMap();
-      for (String paramName : pagingParams.keySet()) {
-        this.params.putAll(paramName, pagingParams.get(paramName));
-      }
+    if (this.unsubscribedSince != null) {
+      writer.write(ParamName.UNSUBSCRIBED_SINCE.getName(), DATE_FORMAT.formatAsDateTime(this.unsubscribedSince));
     }
+    PagingRequestParamsBuilder.writePagingParams(this.pageCriteria, writer);
   }
-
-  /**
-   * @return A {@code Map<String, List<String>>} representation of thee request parameter names and their values.
-   */
-  public Map<String, List<String>> asMap() {
-    // Multimap's asMap() methods convert
-    return Multimaps.asMap(this.params);
-  }
-}
\ No newline at end of file
+}
@@ -16,20 +16,16 @@
 package com.brighttalk.channels.reportingapi.client.common;
 
 import java.util.Date;
-import java.util.List;
-import java.util.Map;
 
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimaps;
 
 /**
- * Builds a map representation of the request parameters supported by the Get Subscribers Webcast Activity APIs from 
- * supplied values. Also defines the set of named request parameters supported by the API.
+ * Builds the request parameters supported by the Get Subscribers Webcast Activity APIs from supplied values. Also
+ * defines the set of named request parameters supported by the API.
  * 
  * @author Neil Brown
  */
-public class GetSubscribersWebcastActivityRequestParamsBuilder {
+public class GetSubscribersWebcastActivityRequestParamsBuilder extends RequestParamsBuilder {
 
   /* CHECKSTYLE:OFF */
   enum ParamName {
@@ -50,12 +46,9 @@ public class GetSubscribersWebcastActivityRequestParamsBuilder {
 
   /* CHECKSTYLE:ON */
 
-  // Multimap API uses flattened collection of key/value pairs, with multiple entries for multiple values with same key
-  // Multimap.asMap() is subsequently used to convert this to a Map<String, Collection<String>> representation.
-  // Use LinkedListMultimap to get reliable (insert) order for keys as well as values
-  private LinkedListMultimap<String, String> params = LinkedListMultimap.create();
-
-  private ApiDateTimeFormatter dateFormat = new ApiDateTimeFormatter();
+  private final Date since;
+  private final Boolean expandChannelSurveyResponse;
+  private final PageCriteria pageCriteria;
 
   /**
    * Builds the request parameters using the data from the supplied parameters.
@@ -68,25 +61,20 @@ public class GetSubscribersWebcastActivityRequestParamsBuilder {
    */
   public GetSubscribersWebcastActivityRequestParamsBuilder(Date since, Boolean expandChannelSurveyResponse,
       PageCriteria pageCriteria) {
-    if (since != null) {
-      this.params.put(ParamName.SINCE.getName(), this.dateFormat.formatAsDateTime(since));
-    }
-    if (expandChannelSurveyResponse != null) {
-      this.params.put(ParamName.EXPAND.getName(), EXPAND_CHANNEL_SURVEY_RESPONSE);
-    }    
-    if (pageCriteria != null) {
-      Map<String, List<String>> pagingParams = new PagingRequestParamsBuilder(pageCriteria).asMap();
-      for (String paramName : pagingParams.keySet()) {
-        this.params.putAll(paramName, pagingParams.get(paramName));
-      }
-    }
+    this.since = since;
+    this.expandChannelSurveyResponse = expandChannelSurveyResponse;
+    this.pageCriteria = pageCriteria;
   }
 
-  /**
-   * @return A {@code Map<String, List<String>>} representation of thee request parameter names and their values.
-   */
-  public Map<String, List<String>> asMap() {
-    // Multimap's asMap() methods convert
-    return Multimaps.asMap(this.params);
+  /** {@inheritDoc} */
+  @Override
+  public void writeTo(ParamWriter writer) {
+    if (this.since != null) {
+      writer.write(ParamName.SINCE.getName(), DATE_FORMAT.formatAsDateTime(this.since));
+    }
+    if (this.expandChannelSurveyResponse != null) {
+      writer.write(ParamName.EXPAND.getName(), EXPAND_CHANNEL_SURVEY_RESPONSE);
+    }
+    PagingRequestParamsBuilder.writePagingParams(this.pageCriteria, writer);
   }
-}
\ No newline at end of file
+}
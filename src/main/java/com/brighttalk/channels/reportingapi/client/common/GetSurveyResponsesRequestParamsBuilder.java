@@ -16,21 +16,17 @@
 package com.brighttalk.channels.reportingapi.client.common;
 
 import java.util.Date;
-import java.util.List;
-import java.util.Map;
 
 import com.brighttalk.channels.reportingapi.client.ApiClient;
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimaps;
 
 /**
- * Builds a map representation of the request parameters supported by the {@link ApiClient#getSurveyResponses Get Survey
- * Responses API} from supplied values. Also defines the set of named request parameters supported by the API.
+ * Builds the request parameters supported by the {@link ApiClient#getSurveyResponses Get Survey Responses API} from
+ * supplied values. Also defines the set of named request parameters supported by the API.
  * 
  * @author Neil Brown
  */
-public class GetSurveyResponsesRequestParamsBuilder {
+public class GetSurveyResponsesRequestParamsBuilder extends RequestParamsBuilder {
 
   /* CHECKSTYLE:OFF */
   enum ParamName {
@@ -49,12 +45,8 @@ public class GetSurveyResponsesRequestParamsBuilder {
 
   /* CHECKSTYLE:ON */
 
-  // Multimap API uses flattened collection of key/value pairs, with multiple entries for multiple values with same key
-  // Multimap.asMap() is subsequently used to convert this to a Map<String, Collection<String>> representation.
-  // Use LinkedListMultimap to get reliable (insert) order for keys as well as values
-  private LinkedListMultimap<String, String> params = LinkedListMultimap.create();
-
-  private ApiDateTimeFormatter dateFormat = new ApiDateTimeFormatter();
+  private final Date since;
+  private final PageCriteria pageCriteria;
 
   /**
    * Builds the request parameters using the data from the supplied parameters.
@@ -64,22 +56,16 @@ public class GetSurveyResponsesRequestParamsBuilder {
    * @param pageCriteria Optional {@link PageCriteria page criteria}.
    */
   public GetSurveyResponsesRequestParamsBuilder(Date since, PageCriteria pageCriteria) {
-    if (since != null) {
-      this.params.put(ParamName.SINCE.getName(), this.dateFormat.formatAsDateTime(since));
-    }
-    if (pageCriteria != null) {
-      Map<String, List<String>> pagingParams = new PagingRequestParamsBuilder(pageCriteria).asMap();
-      for (String paramName : pagingParams.keySet()) {
-        this.params.putAll(paramName, pagingParams.get(paramName));
-      }
-    }
+    this.since = since;
+    this.pageCriteria = pageCriteria;
   }
 
-  /**
-   * @return A {@code Map<String, List<String>>} representation of the request parameter names and their values.
-   */
-  public Map<String, List<String>> asMap() {
-    // Multimap's asMap() methods convert
-    return Multimaps.asMap(this.params);
+  /** {@inheritDoc} */
+  @Override
+  public void writeTo(ParamWriter writer) {
+    if (this.since != null) {
+      writer.write(ParamName.SINCE.getName(), DATE_FORMAT.formatAsDateTime(this.since));
+    }
+    PagingRequestParamsBuilder.writePagingParams(this.pageCriteria, writer);
   }
-}
\ No newline at end of file
+}
@@ -16,20 +16,16 @@
 package com.brighttalk.channels.reportingapi.client.common;
 
 import java.util.Date;
-import java.util.List;
-import java.util.Map;
 
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimaps;
 
 /**
- * Builds a map representation of the request parameters supported by the Get Webcast Registrations APIs from supplied
- * values. Also defines the set of named request parameters supported by those APIs.
+ * Builds the request parameters supported by the Get Webcast Registrations APIs from supplied values. Also defines the
+ * set of named request parameters supported by those APIs.
  * 
  * @author Neil Brown
  */
-public class GetWebcastRegistrationsRequestParamsBuilder {
+public class GetWebcastRegistrationsRequestParamsBuilder extends RequestParamsBuilder {
 
   /* CHECKSTYLE:OFF */
   enum ParamName {
@@ -50,12 +46,9 @@ public class GetWebcastRegistrationsRequestParamsBuilder {
 
   /* CHECKSTYLE:ON */
 
-  // Multimap API uses flattened collection of key/value pairs, with multiple entries for multiple values with same key
-  // Multimap.asMap() is subsequently used to convert this to a Map<String, Collection<String>> representation.
-  // Use LinkedListMultimap to get reliable (insert) order for keys as well as values
-  private LinkedListMultimap<String, String> params = LinkedListMultimap.create();
-
-  private ApiDateTimeFormatter dateFormat = new ApiDateTimeFormatter();
+  private final Date since;
+  private final Boolean viewed;
+  private final PageCriteria pageCriteria;
 
   /**
    * Builds the request parameters using the data from the supplied parameters.
@@ -67,25 +60,20 @@ public class GetWebcastRegistrationsRequestParamsBuilder {
    * @param pageCriteria Optional {@link PageCriteria page criteria}. 
    */
   public GetWebcastRegistrationsRequestParamsBuilder(Date since, Boolean viewed, PageCriteria pageCriteria) {
-    if (since != null) {
-      this.params.put(ParamName.SINCE.getName(), this.dateFormat.formatAsDateTime(since));
-    }
-    if (viewed != null) {
-      this.params.put(ParamName.VIEWED.getName(), viewed.toString());
-    }    
-    if (pageCriteria != null) {
-      Map<String, List<String>> pagingParams = new PagingRequestParamsBuilder(pageCriteria).asMap();
-      for (String paramName : pagingParams.keySet()) {
-        this.params.putAll(paramName, pagingParams.get(paramName));
-      }
-    }
+    this.since = since;
+    this.viewed = viewed;
+    this.pageCriteria = pageCriteria;
   }
 
-  /**
-   * @return A {@code Map<String, List<String>>} representation of the request parameter names and their values.
-   */
-  public Map<String, List<String>> asMap() {
-    // Multimap's asMap() methods convert
-    return Multimaps.asMap(this.params);
+  /** {@inheritDoc} */
+  @Override
+  public void writeTo(ParamWriter writer) {
+    if (this.since != null) {
+      writer.write(ParamName.SINCE.getName(), DATE_FORMAT.formatAsDateTime(this.since));
+    }
+    if (this.viewed != null) {
+      writer.write(ParamName.VIEWED.getName(), this.viewed.toString());
+    }
+    PagingRequestParamsBuilder.writePagingParams(this.pageCriteria, writer);
   }
-}
\ No newline at end of file
+}
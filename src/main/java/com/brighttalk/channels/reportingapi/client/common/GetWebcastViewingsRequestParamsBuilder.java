@@ -17,21 +17,17 @@ package com.brighttalk.channels.reportingapi.client.common;
 
 import java.util.Date;
 import java.util.EnumSet;
-import java.util.List;
-import java.util.Map;
 
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
 import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimaps;
 
 /**
- * Builds a map representation of the request parameters supported by the Get Webcast Viewings APIs from supplied
- * values. Also defines the set of named request parameters supported by those APIs.
+ * Builds the request parameters supported by the Get Webcast Viewings APIs from supplied values. Also defines the set
+ * of named request parameters supported by those APIs.
  * 
  * @author Neil Brown
  */
-public class GetWebcastViewingsRequestParamsBuilder {
+public class GetWebcastViewingsRequestParamsBuilder extends RequestParamsBuilder {
 
   /* CHECKSTYLE:OFF */
   enum ParamName {
@@ -55,12 +51,9 @@ public class GetWebcastViewingsRequestParamsBuilder {
 
   /* CHECKSTYLE:ON */
 
-  // Multimap API uses flattened collection of key/value pairs, with multiple entries for multiple values with same key
-  // Multimap.asMap() is subsequently used to convert this to a Map<String, Collection<String>> representation.
-  // Use LinkedListMultimap to get reliable (insert) order for keys as well as values
-  private LinkedListMultimap<String, String> params = LinkedListMultimap.create();
-
-  private ApiDateTimeFormatter dateFormat = new ApiDateTimeFormatter();
+  private final Date since;
+  private final WebcastStatus webcastStatus;
+  private final PageCriteria pageCriteria;
 
   /**
    * Builds the request parameters using the data from the supplied parameters.
@@ -73,30 +66,24 @@ public class GetWebcastViewingsRequestParamsBuilder {
    * @throws IllegalArgumentException If {@code webcastStatus} is not one of the status supported by this API.
    */
   public GetWebcastViewingsRequestParamsBuilder(Date since, WebcastStatus webcastStatus, PageCriteria pageCriteria) {
-    if (since != null) {
-      this.params.put(ParamName.SINCE.getName(), this.dateFormat.formatAsDateTime(since));
-    }
-    if (webcastStatus != null) {
-      if (VIEWING_WEBCAST_STATUS.contains(webcastStatus)) {
-        this.params.put(ParamName.WEBCAST_STATUS.getName(), webcastStatus.toString());
-      } else {
-        throw new IllegalArgumentException("Invalid webcast status [" + webcastStatus
-            + "]. Webcast status must be one of " + VIEWING_WEBCAST_STATUS + ".");
-      }
-    }
-    if (pageCriteria != null) {
-      Map<String, List<String>> pagingParams = new PagingRequestParamsBuilder(pageCriteria).asMap();
-      for (String paramName : pagingParams.keySet()) {
-        this.params.putAll(paramName, pagingParams.get(paramName));
-      }
+    if (webcastStatus != null && !VIEWING_WEBCAST_STATUS.contains(webcastStatus)) {
+      throw new IllegalArgumentException("Invalid webcast status [" + webcastStatus
+          + "]. Webcast status must be one of " + VIEWING_WEBCAST_STATUS + ".");
     }
+    this.since = since;
+    this.webcastStatus = webcastStatus;
+    this.pageCriteria = pageCriteria;
   }
 
-  /**
-   * @return A {@code Map<String, List<String>>} representation of the request parameter names and their values.
-   */
-  public Map<String, List<String>> asMap() {
-    // Multimap's asMap() methods convert
-    return Multimaps.asMap(this.params);
+  /** {@inheritDoc} */
+  @Override
+  public void writeTo(ParamWriter writer) {
+    if (this.since != null) {
+      writer.write(ParamName.SINCE.getName(), DATE_FORMAT.formatAsDateTime(this.since));
+    }
+    if (this.webcastStatus != null) {
+      writer.write(ParamName.WEBCAST_STATUS.getName(), this.webcastStatus.toString());
+    }
+    PagingRequestParamsBuilder.writePagingParams(this.pageCriteria, writer);
   }
-}
\ No newline at end of file
+}
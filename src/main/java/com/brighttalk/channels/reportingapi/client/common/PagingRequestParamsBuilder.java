@@ -15,20 +15,15 @@
  */
 package com.brighttalk.channels.reportingapi.client.common;
 
-import java.util.List;
-import java.util.Map;
-
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimaps;
 
 /**
- * Builds a map representation of the request parameters used to support paging of collection of API resources across
- * API calls from supplied paging data. Also defines the set of named request parameters supporting paging.
+ * Builds the request parameters used to support paging of collection of API resources across API calls from supplied
+ * paging data. Also defines the set of named request parameters supporting paging.
  * 
  * @author Neil Brown
  */
-public class PagingRequestParamsBuilder {
+public class PagingRequestParamsBuilder extends RequestParamsBuilder {
 
   /**
    * Enumeration of request parameter names used to support aspects of paging through collection of API resources.
@@ -49,10 +44,7 @@ public class PagingRequestParamsBuilder {
     }
   }
 
-  // Multimap API uses flattened collection of key/value pairs, with multiple entries for multiple values with same key
-  // Multimap.asMap() is subsequently used to convert this to a Map<String, Collection<String>> representation.
-  // Use LinkedListMultimap to get reliable (insert) order for keys as well as values
-  private LinkedListMultimap<String, String> params = LinkedListMultimap.create();
+  private final PageCriteria pageCriteria;
 
   /**
    * Builds the request parameters from the paging data contained in the supplied {@link PageCriteria} object.
@@ -60,23 +52,31 @@ public class PagingRequestParamsBuilder {
    * @param pageCriteria A {@link PageCriteria} object containing the paging data. Can be null.
    */
   public PagingRequestParamsBuilder(PageCriteria pageCriteria) {
+    this.pageCriteria = pageCriteria;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void writeTo(ParamWriter writer) {
+    writePagingParams(this.pageCriteria, writer);
+  }
+
+  /**
+   * Writes the request parameters for the paging data contained in a supplied {@link PageCriteria} object. Shared with
+   * the builders of the request parameters of the paged APIs, which also support paging.
+   * 
+   * @param pageCriteria A {@link PageCriteria} object containing the paging data. Can be null.
+   * @param writer The {@link ParamWriter} to write the request parameters to.
+   */
+  static void writePagingParams(PageCriteria pageCriteria, ParamWriter writer) {
     if (pageCriteria == null) {
       return;
     }
-    if (pageCriteria.getNextPageLink() != null) {
-      NextPageUrl nextPageUrl = NextPageUrl.parse(pageCriteria.getNextPageLink().getHref());
-      this.params.put(ParamName.CURSOR.getName(), nextPageUrl.getCursor());
+    if (pageCriteria.getNextPageCursor() != null) {
+      writer.write(ParamName.CURSOR.getName(), pageCriteria.getNextPageCursor());
     }
     if (pageCriteria.getPageSize() != null) {
-      this.params.put(ParamName.PAGE_SIZE.getName(), pageCriteria.getPageSize().toString());
-    }    
-  }
-
-  /**
-   * @return A {@code Map<String, List<String>>} representation of thee request parameter names and their values.
-   */
-  public Map<String, List<String>> asMap() {
-    // Multimap's asMap() methods convert
-    return Multimaps.asMap(this.params);
+      writer.write(ParamName.PAGE_SIZE.getName(), pageCriteria.getPageSize().toString());
+    }
   }
-}
\ No newline at end of file
+}
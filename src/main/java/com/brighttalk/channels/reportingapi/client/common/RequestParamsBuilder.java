@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimaps;
+
+/**
+ * Base class for the builders of the request parameters supported by the APIs.
+ * <p>
+ * A builder holds the typed (and validated) values of the request parameters it was constructed with. The parameters
+ * are only converted to strings when the request is built, when they're written, in order, straight to the query
+ * string of the request URI by {@link #writeTo(ParamWriter)}. This avoids allocating an intermediate collection of
+ * request parameters per API call.
+ */
+public abstract class RequestParamsBuilder {
+
+  /** Shared (thread-safe) formatter for date/time request parameters. */
+  static final ApiDateTimeFormatter DATE_FORMAT = new ApiDateTimeFormatter();
+
+  /**
+   * Receives the name and value of each of a builder's request parameters in turn.
+   */
+  public interface ParamWriter {
+    /**
+     * @param name The name of the request parameter.
+     * @param value The value of the request parameter, unencoded. Never null.
+     */
+    void write(String name, String value);
+  }
+
+  /**
+   * Writes each of the request parameters which have a value to a supplied {@link ParamWriter}, in the order they're to
+   * appear in the request.
+   * 
+   * @param writer The {@link ParamWriter}.
+   */
+  public abstract void writeTo(ParamWriter writer);
+
+  /**
+   * @return A {@code Map<String, List<String>>} representation of the request parameter names and their values. Built
+   * on each call, for callers that need the parameters as a collection.
+   */
+  public Map<String, List<String>> asMap() {
+    // Use LinkedListMultimap to get reliable (insert) order for keys as well as values
+    final LinkedListMultimap<String, String> params = LinkedListMultimap.create();
+    this.writeTo(new ParamWriter() {
+      @Override
+      public void write(String name, String value) {
+        params.put(name, value);
+      }
+    });
+    return Multimaps.asMap(params);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+/**
+ * A policy which decides whether, and when, a failed API call should be retried.
+ * <p>
+ * All the API's methods are idempotent (HTTP GET) so they can be safely retried. Retrying an API call which failed due
+ * to a transient error (e.g. the API service being temporarily unavailable, or a dropped connection) avoids a
+ * long-running sequence of API calls, such as paging through a large collection of resources, being aborted.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface RetryPolicy {
+
+  /** Value returned by {@link #getRetryDelayMillis(int, RuntimeException)} to signal not to retry the API call. */
+  long NO_RETRY = -1;
+
+  /** A {@link RetryPolicy} which never retries an API call. */
+  RetryPolicy NEVER = new RetryPolicy() {
+    @Override
+    public long getRetryDelayMillis(int failedAttempts, RuntimeException failure) {
+      return NO_RETRY;
+    }
+
+    @Override
+    public String toString() {
+      return "RetryPolicy.NEVER";
+    }
+  };
+
+  /**
+   * Decides whether an API call should be retried after it has failed.
+   * 
+   * @param failedAttempts The no. of attempts to make the API call which have failed so far, including the one which
+   * failed with the supplied exception. Greater than zero.
+   * @param failure The exception the last attempt failed with.
+   * @return The time in milliseconds to wait before retrying the API call, or {@link #NO_RETRY} if it should not be
+   * retried, in which case the supplied exception is thrown to the caller.
+   */
+  long getRetryDelayMillis(int failedAttempts, RuntimeException failure);
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+/**
+ * A token bucket, used to limit the rate at which operations are performed.
+ * <p>
+ * The bucket holds up to a max no. of permits (the burst size), and is refilled at a constant (sustained) rate. It
+ * starts full. A permit can be reserved ahead of it being available - reserving a permit from an empty bucket puts the
+ * bucket into deficit, and the caller is told how long to wait before the permit becomes available. Subsequent callers
+ * wait in turn behind any earlier reservations.
+ * <p>
+ * This class is thread-safe.
+ */
+final class TokenBucket {
+
+  private final double permitsPerNano;
+  private final double burstSize;
+  private final Ticker ticker;
+
+  /** Guarded by this. Negative if permits have been reserved ahead of being available. */
+  private double availablePermits;
+  /** Guarded by this. */
+  private long lastRefillNanos;
+
+  /**
+   * @param permitsPerSecond The rate at which the bucket is refilled. Must be greater than zero.
+   * @param burstSize The max no. of permits the bucket holds. Must be greater than zero.
+   * @param ticker The {@link Ticker} used to measure elapsed time.
+   */
+  TokenBucket(double permitsPerSecond, int burstSize, Ticker ticker) {
+    Preconditions.checkArgument(permitsPerSecond > 0, "permitsPerSecond must be greater than zero.");
+    Preconditions.checkArgument(burstSize > 0, "burstSize must be greater than zero.");
+    this.permitsPerNano = permitsPerSecond / 1e9;
+    this.burstSize = burstSize;
+    this.ticker = ticker;
+    this.availablePermits = burstSize;
+    this.lastRefillNanos = ticker.read();
+  }
+
+  /**
+   * Reserves a permit, if one will become available within a supplied max wait time.
+   * 
+   * @param maxWaitNanos The max time (nanos) the caller is prepared to wait for a permit.
+   * @return The time (nanos) the caller must wait before using the reserved permit, zero if it's available now, or -1
+   * if no permit was reserved because one won't become available within the max wait time.
+   */
+  synchronized long reserve(long maxWaitNanos) {
+    this.refill();
+    long waitNanos = this.availablePermits >= 1 ? 0 : (long) Math.ceil((1 - this.availablePermits)
+        / this.permitsPerNano);
+    if (waitNanos > maxWaitNanos) {
+      return -1;
+    }
+    this.availablePermits -= 1;
+    return waitNanos;
+  }
+
+  /**
+   * Adds the permits accrued since the bucket was last refilled, up to the burst size. Must be called holding the lock.
+   */
+  private void refill() {
+    long nowNanos = this.ticker.read();
+    this.availablePermits = Math.min(this.burstSize, this.availablePermits + (nowNanos - this.lastRefillNanos)
+        * this.permitsPerNano);
+    this.lastRefillNanos = nowNanos;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.http.client;
+
+import java.io.IOException;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * An {@link HttpRequestExecutor} which records in the request's {@link HttpContext} the time at which the connection
+ * used to send the request became ready, i.e. once it had been leased from the pool, and if necessary established.
+ * <p>
+ * The HttpClient's connection manager is not passed the request's context when a connection is leased, only when a
+ * new connection is established. The executor is the first component to which both the request's context and its ready
+ * connection are passed, so is used to mark the end of the connect phase of each request, including for requests which
+ * reuse a pooled connection.
+ * 
+ * @see #CONNECTION_READY_NANOS_ATTRIBUTE
+ */
+public class ConnectionTimingHttpRequestExecutor extends HttpRequestExecutor {
+
+  /**
+   * The name of the {@link HttpContext} attribute holding the value of {@link System#nanoTime()}, as a {@link Long},
+   * at which the connection used to send the request became ready.
+   */
+  public static final String CONNECTION_READY_NANOS_ATTRIBUTE = ConnectionTimingHttpRequestExecutor.class.getName()
+      + ".connectionReadyNanos";
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation additionally records the time at which the connection became ready in the context.
+   */
+  @Override
+  public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context) throws IOException,
+      HttpException {
+    if (context != null) {
+      context.setAttribute(CONNECTION_READY_NANOS_ATTRIBUTE, System.nanoTime());
+    }
+    return super.execute(request, conn, context);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.http.client;
+
+import java.util.Map;
+
+import org.apache.http.pool.PoolStats;
+
+import com.brighttalk.channels.reportingapi.client.metrics.HistogramSnapshot;
+
+/**
+ * The management interface of the MBean registered by {@link JmxConnectionPoolMetrics}, exposing the live statistics
+ * and connection lifecycle metrics of an {@link InstrumentedHttpClientConnectionManager HTTP connection pool} as
+ * read-only attributes. Times are in microseconds.
+ */
+public interface HttpClientConnectionPoolMXBean {
+
+  /**
+   * @return The no. of connections currently leased from the pool, i.e. in use by a request.
+   */
+  int getLeasedConnections();
+
+  /**
+   * @return The no. of idle connections currently available in the pool.
+   */
+  int getAvailableConnections();
+
+  /**
+   * @return The no. of requests currently waiting for a connection to become available. A non-zero value indicates
+   * the pool is too small for the no. of concurrent requests.
+   */
+  int getPendingConnectionRequests();
+
+  /**
+   * @return The max no. of connections in the pool, in total.
+   */
+  int getMaxTotalConnections();
+
+  /**
+   * @return The leased, available, pending and max no. of connections of each route (target host), keyed by route.
+   */
+  Map<String, PoolStats> getRouteStats();
+
+  /**
+   * @return The no. of connections leased from the pool.
+   */
+  long getConnectionLeases();
+
+  /**
+   * @return The no. of connections leased from the pool which were already open.
+   */
+  long getConnectionsReused();
+
+  /**
+   * @return The no. of connections which have been created (opened).
+   */
+  long getConnectionsCreated();
+
+  /**
+   * @return The no. of connections which have been closed.
+   */
+  long getConnectionsClosed();
+
+  /**
+   * @return The time taken to lease a connection from the pool, including waiting for one to become available.
+   */
+  HistogramSnapshot getLeaseTimeMicros();
+
+  /**
+   * @return The time taken to establish a new connection, including resolving the host name and the TLS handshake.
+   */
+  HistogramSnapshot getConnectTimeMicros();
+
+  /**
+   * @return The time taken to perform the TLS handshake of a new connection.
+   */
+  HistogramSnapshot getTlsHandshakeTimeMicros();
+}
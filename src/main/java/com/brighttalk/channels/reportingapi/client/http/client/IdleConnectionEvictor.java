@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.http.client;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Periodically evicts expired connections, and connections which have been idle for longer than a configured time,
+ * from the pool of an {@link HttpClientConnectionManager}, using a single background (daemon) thread.
+ * <p>
+ * A pooled connection that has been closed by the server, or by an intermediary, while idle isn't detected by the
+ * client until it's next used. Evicting idle connections ahead of their server-side timeout avoids such failures, and
+ * releases the resources held by unused connections. (HttpClient 4.3 has no built-in support for doing so).
+ * <p>
+ * Must be {@link #start() started} before use and {@link #shutdown() shutdown} when no longer required.
+ */
+public class IdleConnectionEvictor {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdleConnectionEvictor.class);
+
+  private final HttpClientConnectionManager connectionManager;
+  private final long maxIdleTimeMillis;
+  private final long evictionIntervalMillis;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * @param connectionManager The {@link HttpClientConnectionManager} whose connections should be evicted.
+   * @param maxIdleTimeMillis The time, in milliseconds, after which an idle connection is evicted. Must be positive.
+   * @param evictionIntervalMillis The interval, in milliseconds, at which connections are checked for eviction. Must
+   * be positive.
+   */
+  public IdleConnectionEvictor(HttpClientConnectionManager connectionManager, long maxIdleTimeMillis,
+      long evictionIntervalMillis) {
+    this.connectionManager = Preconditions.checkNotNull(connectionManager, "connectionManager must not be null.");
+    Preconditions.checkArgument(maxIdleTimeMillis > 0, "maxIdleTimeMillis must be positive, not [%s].",
+        maxIdleTimeMillis);
+    this.maxIdleTimeMillis = maxIdleTimeMillis;
+    Preconditions.checkArgument(evictionIntervalMillis > 0, "evictionIntervalMillis must be positive, not [%s].",
+        evictionIntervalMillis);
+    this.evictionIntervalMillis = evictionIntervalMillis;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("http-client-idle-connection-evictor-%d").build());
+  }
+
+  /**
+   * Starts periodically evicting connections.
+   */
+  public void start() {
+    logger.debug("Starting {}.", this);
+    this.scheduler.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        IdleConnectionEvictor.this.evictConnections();
+      }
+    }, this.evictionIntervalMillis, this.evictionIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops evicting connections, and terminates the background thread.
+   */
+  public void shutdown() {
+    logger.debug("Shutting down {}.", this);
+    this.scheduler.shutdownNow();
+  }
+
+  /**
+   * Evicts expired connections and connections which have been idle for longer than the configured time. Package
+   * protected to support testing.
+   */
+  void evictConnections() {
+    try {
+      this.connectionManager.closeExpiredConnections();
+      this.connectionManager.closeIdleConnections(this.maxIdleTimeMillis, TimeUnit.MILLISECONDS);
+    } catch (RuntimeException e) {
+      // Catch and log, as an uncaught exception would cancel all subsequent evictions
+      logger.warn("Error evicting idle connections.", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("maxIdleTimeMillis", this.maxIdleTimeMillis)
+      .add("evictionIntervalMillis", this.evictionIntervalMillis)
+      .toString();
+    /* @formatter:on */
+  }
+}
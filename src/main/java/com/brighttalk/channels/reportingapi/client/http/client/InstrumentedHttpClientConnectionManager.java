@@ -0,0 +1,303 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.http.client;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLContexts;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+
+import com.brighttalk.channels.reportingapi.client.metrics.Histogram;
+import com.brighttalk.channels.reportingapi.client.metrics.HistogramSnapshot;
+
+/**
+ * A {@link PoolingHttpClientConnectionManager} which records metrics of the lifecycle of its connections, to support
+ * tuning the size of the pool, and diagnosing whether requests are waiting for a connection, for connections to be
+ * established, or for the server.
+ * <p>
+ * In addition to the live statistics of the pool (leased, available and pending connections) provided by
+ * {@link #getTotalStats()}, and {@link #getStats(HttpRoute)} for each of the {@link #getRoutes() routes} it has
+ * served, the following are recorded:
+ * <ul>
+ * <li>The no. of connections leased from the pool, and how many of those reused an already open connection.</li>
+ * <li>The no. of connections created (opened) and closed.</li>
+ * <li>The time taken to lease a connection, to establish (connect) a new connection, including resolving the host
+ * name and any TLS handshake, and to perform the TLS handshake alone, in microseconds.</li>
+ * </ul>
+ * Connections are created using the same socket factories (plain and TLS with the default SSL context and host name
+ * verifier) as the default {@link PoolingHttpClientConnectionManager}, instrumented to observe the TLS handshake and
+ * the closing of each connection.
+ * <p>
+ * Thread-safe.
+ * 
+ * @see JmxConnectionPoolMetrics
+ */
+public class InstrumentedHttpClientConnectionManager extends PoolingHttpClientConnectionManager {
+
+  /** The highest time (microseconds) which is distinguished in the histograms of connection times. */
+  private static final long HIGHEST_TRACKABLE_TIME_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+  private final Set<HttpRoute> routes = Collections.newSetFromMap(new ConcurrentHashMap<HttpRoute, Boolean>());
+  private final AtomicLong connectionLeases = new AtomicLong();
+  private final AtomicLong connectionsReused = new AtomicLong();
+  private final AtomicLong connectionsCreated = new AtomicLong();
+  private final AtomicLong connectionsClosed;
+  private final Histogram leaseTimeMicros = new Histogram(HIGHEST_TRACKABLE_TIME_MICROS);
+  private final Histogram connectTimeMicros = new Histogram(HIGHEST_TRACKABLE_TIME_MICROS);
+  private final Histogram tlsHandshakeTimeMicros;
+
+  /**
+   * @param timeToLive The max lifetime of a pooled connection, after which it's not reused. A value of zero or less
+   * indicates connections never expire.
+   * @param timeUnit The {@link TimeUnit} of {@code timeToLive}.
+   */
+  public InstrumentedHttpClientConnectionManager(long timeToLive, TimeUnit timeUnit) {
+    this(new AtomicLong(), new Histogram(HIGHEST_TRACKABLE_TIME_MICROS), timeToLive, timeUnit);
+  }
+
+  private InstrumentedHttpClientConnectionManager(AtomicLong connectionsClosed, Histogram tlsHandshakeTimeMicros,
+      long timeToLive, TimeUnit timeUnit) {
+    super(createSocketFactoryRegistry(connectionsClosed, tlsHandshakeTimeMicros), null, null, null, timeToLive,
+        timeUnit);
+    this.connectionsClosed = connectionsClosed;
+    this.tlsHandshakeTimeMicros = tlsHandshakeTimeMicros;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation additionally records the time taken to lease the connection, and whether it was reused.
+   */
+  @Override
+  public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+    this.routes.add(route);
+    final ConnectionRequest connectionRequest = super.requestConnection(route, state);
+    return new ConnectionRequest() {
+      @Override
+      public HttpClientConnection get(long timeout, TimeUnit timeUnit) throws InterruptedException,
+          ExecutionException, ConnectionPoolTimeoutException {
+        long startNanos = System.nanoTime();
+        HttpClientConnection connection = connectionRequest.get(timeout, timeUnit);
+        InstrumentedHttpClientConnectionManager.this.connectionLeased(connection, System.nanoTime() - startNanos);
+        return connection;
+      }
+
+      @Override
+      public boolean cancel() {
+        return connectionRequest.cancel();
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation additionally records the creation of the connection, and the time taken to establish it.
+   */
+  @Override
+  public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout, HttpContext context)
+      throws IOException {
+    long startNanos = System.nanoTime();
+    super.connect(managedConn, route, connectTimeout, context);
+    this.connectTimeMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    this.connectionsCreated.incrementAndGet();
+  }
+
+  /**
+   * @return The routes (target hosts) for which connections have been requested from the pool.
+   */
+  public Set<HttpRoute> getRoutes() {
+    return Collections.unmodifiableSet(this.routes);
+  }
+
+  /**
+   * @return The current {@link PoolStats} of each of the {@link #getRoutes() routes} served by the pool, keyed by
+   * route, in order.
+   */
+  public Map<String, PoolStats> getRouteStats() {
+    Map<String, PoolStats> routeStats = new TreeMap<>();
+    for (HttpRoute route : this.routes) {
+      routeStats.put(route.toString(), this.getStats(route));
+    }
+    return routeStats;
+  }
+
+  /**
+   * @return The no. of connections leased from the pool.
+   */
+  public long getConnectionLeases() {
+    return this.connectionLeases.get();
+  }
+
+  /**
+   * @return The no. of connections leased from the pool which were already open, i.e. were reused rather than having
+   * to be established.
+   */
+  public long getConnectionsReused() {
+    return this.connectionsReused.get();
+  }
+
+  /**
+   * @return The no. of connections which have been created (opened).
+   */
+  public long getConnectionsCreated() {
+    return this.connectionsCreated.get();
+  }
+
+  /**
+   * @return The no. of connections which have been closed, e.g. on expiry, eviction, or an I/O error.
+   */
+  public long getConnectionsClosed() {
+    return this.connectionsClosed.get();
+  }
+
+  /**
+   * @return A {@link HistogramSnapshot} of the time taken to lease a connection from the pool, in microseconds,
+   * including any time spent waiting for a connection to become available.
+   */
+  public HistogramSnapshot getLeaseTimeMicros() {
+    return this.leaseTimeMicros.snapshot();
+  }
+
+  /**
+   * @return A {@link HistogramSnapshot} of the time taken to establish a new connection, in microseconds, including
+   * resolving the host name and any TLS handshake.
+   */
+  public HistogramSnapshot getConnectTimeMicros() {
+    return this.connectTimeMicros.snapshot();
+  }
+
+  /**
+   * @return A {@link HistogramSnapshot} of the time taken to perform the TLS handshake of a new connection, in
+   * microseconds.
+   */
+  public HistogramSnapshot getTlsHandshakeTimeMicros() {
+    return this.tlsHandshakeTimeMicros.snapshot();
+  }
+
+  private void connectionLeased(HttpClientConnection connection, long leaseNanos) {
+    this.leaseTimeMicros.record(TimeUnit.NANOSECONDS.toMicros(leaseNanos));
+    this.connectionLeases.incrementAndGet();
+    if (connection.isOpen()) {
+      this.connectionsReused.incrementAndGet();
+    }
+  }
+
+  private static Registry<ConnectionSocketFactory> createSocketFactoryRegistry(AtomicLong connectionsClosed,
+      Histogram tlsHandshakeTimeMicros) {
+    /* @formatter:off */
+    return RegistryBuilder.<ConnectionSocketFactory> create()
+        .register("http", new InstrumentedPlainConnectionSocketFactory(connectionsClosed))
+        .register("https", new InstrumentedSSLConnectionSocketFactory(SSLContexts.createDefault(), connectionsClosed,
+            tlsHandshakeTimeMicros))
+        .build();
+    /* @formatter:on */
+  }
+
+  /**
+   * A {@link PlainConnectionSocketFactory} whose sockets count when they're closed.
+   */
+  private static final class InstrumentedPlainConnectionSocketFactory extends PlainConnectionSocketFactory {
+    private final AtomicLong connectionsClosed;
+
+    private InstrumentedPlainConnectionSocketFactory(AtomicLong connectionsClosed) {
+      this.connectionsClosed = connectionsClosed;
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) {
+      return new ClosureCountingSocket(this.connectionsClosed);
+    }
+  }
+
+  /**
+   * An {@link SSLConnectionSocketFactory} whose sockets count when they're closed, and which records the time taken
+   * to perform the TLS handshake of each connection.
+   */
+  private static final class InstrumentedSSLConnectionSocketFactory extends SSLConnectionSocketFactory {
+    private final AtomicLong connectionsClosed;
+    private final Histogram tlsHandshakeTimeMicros;
+
+    private InstrumentedSSLConnectionSocketFactory(SSLContext sslContext, AtomicLong connectionsClosed,
+        Histogram tlsHandshakeTimeMicros) {
+      super(sslContext, SSLConnectionSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER);
+      this.connectionsClosed = connectionsClosed;
+      this.tlsHandshakeTimeMicros = tlsHandshakeTimeMicros;
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) {
+      return new ClosureCountingSocket(this.connectionsClosed);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invoked to layer TLS over the connected plain socket, including performing the handshake.
+     */
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+        throws IOException {
+      long startNanos = System.nanoTime();
+      Socket layeredSocket = super.createLayeredSocket(socket, target, port, context);
+      this.tlsHandshakeTimeMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+      return layeredSocket;
+    }
+  }
+
+  /**
+   * A {@link Socket} which counts when it's closed, if it was connected. The sockets of TLS connections are layered
+   * over this socket, and close it when they're closed.
+   */
+  private static final class ClosureCountingSocket extends Socket {
+    private final AtomicLong connectionsClosed;
+
+    private ClosureCountingSocket(AtomicLong connectionsClosed) {
+      this.connectionsClosed = connectionsClosed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      boolean wasOpen = this.isConnected() && !this.isClosed();
+      super.close();
+      if (wasOpen) {
+        this.connectionsClosed.incrementAndGet();
+      }
+    }
+  }
+}
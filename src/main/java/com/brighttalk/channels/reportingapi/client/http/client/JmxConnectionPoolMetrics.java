@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.http.client;
+
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.metrics.HistogramSnapshot;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Publishes the live statistics and connection lifecycle metrics of an {@link InstrumentedHttpClientConnectionManager
+ * HTTP connection pool} via JMX, to support sizing the pool based on its observed usage, e.g. using JConsole or a JMX
+ * based monitoring agent.
+ * <p>
+ * An {@link HttpClientConnectionPoolMXBean MXBean} is registered with an object name of the form
+ * {@code <domain>:type=HttpClientConnectionPool}.
+ * <p>
+ * Must be {@link #register() registered} to publish the metrics, and {@link #unregister() unregistered} when no longer
+ * required. Thread-safe.
+ */
+public class JmxConnectionPoolMetrics implements HttpClientConnectionPoolMXBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(JmxConnectionPoolMetrics.class);
+
+  private final InstrumentedHttpClientConnectionManager connectionManager;
+  private final MBeanServer mBeanServer;
+  private final String domain;
+  private ObjectName registeredObjectName;
+
+  /**
+   * @param connectionManager The {@link InstrumentedHttpClientConnectionManager} whose metrics are published.
+   * @param mBeanServer The {@link MBeanServer} to register the MBean with.
+   * @param domain The domain of the object name of the registered MBean.
+   */
+  public JmxConnectionPoolMetrics(InstrumentedHttpClientConnectionManager connectionManager, MBeanServer mBeanServer,
+      String domain) {
+    this.connectionManager = Preconditions.checkNotNull(connectionManager, "connectionManager must not be null.");
+    this.mBeanServer = Preconditions.checkNotNull(mBeanServer, "mBeanServer must not be null.");
+    this.domain = Preconditions.checkNotNull(domain, "domain must not be null.");
+  }
+
+  /**
+   * Registers the MBean publishing the metrics of the connection pool.
+   * 
+   * @throws IllegalStateException If the MBean can't be registered, e.g. an MBean with the same name is already
+   * registered.
+   */
+  public synchronized void register() {
+    Preconditions.checkState(this.registeredObjectName == null, "MBean is already registered.");
+    logger.debug("Registering {}.", this);
+    try {
+      ObjectName objectName = this.createObjectName();
+      this.mBeanServer.registerMBean(this, objectName);
+      this.registeredObjectName = objectName;
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to register HTTP connection pool metrics MBean.", e);
+    }
+  }
+
+  /**
+   * Unregisters the MBean registered by {@link #register()}, if any.
+   */
+  public synchronized void unregister() {
+    if (this.registeredObjectName == null) {
+      return;
+    }
+    logger.debug("Unregistering {}.", this);
+    try {
+      this.mBeanServer.unregisterMBean(this.registeredObjectName);
+    } catch (JMException e) {
+      logger.warn("Failed to unregister MBean [{}].", this.registeredObjectName, e);
+    }
+    this.registeredObjectName = null;
+  }
+
+  /**
+   * @return The {@link ObjectName} of the MBean which publishes the metrics of the connection pool.
+   * @throws MalformedObjectNameException If the configured domain is not a valid object name domain.
+   */
+  public ObjectName createObjectName() throws MalformedObjectNameException {
+    return new ObjectName(this.domain + ":type=HttpClientConnectionPool");
+  }
+
+  @Override
+  public int getLeasedConnections() {
+    return this.connectionManager.getTotalStats().getLeased();
+  }
+
+  @Override
+  public int getAvailableConnections() {
+    return this.connectionManager.getTotalStats().getAvailable();
+  }
+
+  @Override
+  public int getPendingConnectionRequests() {
+    return this.connectionManager.getTotalStats().getPending();
+  }
+
+  @Override
+  public int getMaxTotalConnections() {
+    return this.connectionManager.getTotalStats().getMax();
+  }
+
+  @Override
+  public Map<String, PoolStats> getRouteStats() {
+    return this.connectionManager.getRouteStats();
+  }
+
+  @Override
+  public long getConnectionLeases() {
+    return this.connectionManager.getConnectionLeases();
+  }
+
+  @Override
+  public long getConnectionsReused() {
+    return this.connectionManager.getConnectionsReused();
+  }
+
+  @Override
+  public long getConnectionsCreated() {
+    return this.connectionManager.getConnectionsCreated();
+  }
+
+  @Override
+  public long getConnectionsClosed() {
+    return this.connectionManager.getConnectionsClosed();
+  }
+
+  @Override
+  public HistogramSnapshot getLeaseTimeMicros() {
+    return this.connectionManager.getLeaseTimeMicros();
+  }
+
+  @Override
+  public HistogramSnapshot getConnectTimeMicros() {
+    return this.connectionManager.getConnectTimeMicros();
+  }
+
+  @Override
+  public HistogramSnapshot getTlsHandshakeTimeMicros() {
+    return this.connectionManager.getTlsHandshakeTimeMicros();
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("domain", this.domain)
+      .toString();
+    /* @formatter:on */
+  }
+}
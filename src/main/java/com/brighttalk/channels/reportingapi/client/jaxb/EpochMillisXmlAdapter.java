@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.jaxb;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+
+import com.brighttalk.channels.reportingapi.client.resource.Timestamps;
+
+/**
+ * Custom class of JAXB {@link XmlAdapter} for converting an XML (XSD dateTime) string value to/from a primitive no. of
+ * milliseconds since the epoch, for the resource properties which hold a date/time as epoch millis.
+ * <p>
+ * Strings are converted in the same way as by {@link DateXmlAdapter}, without allocating a {@link java.util.Date}.
+ * Applied to the {@code Long} properties through which the primitive date/time fields of the resources are bound (see
+ * {@link Timestamps}), so that an absent date/time ({@link Timestamps#NONE}, exposed to JAXB as null) is marshalled as
+ * an absent element.
+ */
+public class EpochMillisXmlAdapter extends XmlAdapter<String, Long> {
+
+  /**
+   * {@inheritDoc}
+   * 
+   * @throws IllegalArgumentException if the string to be unmarshalled is not a valid XSD dateTime. The JAXB API states
+   * that callers of this adapter are responsible for catching this exception and reporting it to any configured
+   * ValidationEventHandler.
+   */
+  @Override
+  public Long unmarshal(String v) {
+    return v != null ? DateXmlAdapter.parseEpochMillis(v) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Null or absent ({@link Timestamps#NONE}) date/times result in a null String.
+   */
+  @Override
+  public String marshal(Long v) {
+    return v != null && v != Timestamps.NONE ? DateXmlAdapter.printEpochMillis(v) : null;
+  }
+}
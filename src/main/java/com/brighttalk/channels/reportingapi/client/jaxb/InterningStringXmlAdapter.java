@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.jaxb;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * An {@link InterningXmlAdapter} for a low-cardinality string field of an API resource, such as a user's country or
+ * industry.
+ */
+public class InterningStringXmlAdapter extends InterningXmlAdapter<String> {
+
+  /** Weak interner shared by all instances, so strings are canonicalised across (pages of) API responses. */
+  private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+  public InterningStringXmlAdapter() {
+    super(INTERNER);
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.jaxb;
+
+import com.brighttalk.channels.reportingapi.client.resource.User;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * An {@link InterningXmlAdapter} for the {@link User} who is the subject of a resource in a collection, such as a
+ * webcast viewing, in which the same user may occur repeatedly.
+ */
+public class InterningUserXmlAdapter extends InterningXmlAdapter<User> {
+
+  /** Weak interner shared by all instances, so users are canonicalised across (pages of) API responses. */
+  private static final Interner<User> INTERNER = Interners.newWeakInterner();
+
+  public InterningUserXmlAdapter() {
+    super(INTERNER);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.jaxb;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+
+/**
+ * Abstract base class for JAXB {@link XmlAdapter} which canonicalise (intern) unmarshalled values, so that equal
+ * values which occur repeatedly in API responses are represented by a single, shared instance.
+ * 
+ * <h2>Motivation</h2>
+ * Collections of resources such as webcast viewings and subscriber webcast activity repeat the same user and webcast in
+ * many of their elements, and many of a user's fields (e.g. country, industry, company size) have few distinct values.
+ * By default JAXB creates a new object (and strings) for every occurrence. Interning reduces the heap used by
+ * applications which hold large no.s of unmarshalled resources in memory.
+ * <p>
+ * Values are interned using the {@link Interner} supplied by the subclass, which is typically a weak interner shared
+ * by all responses, so that the canonical instance of a value is retained only as long as a resource references it.
+ * Values are compared for equality by value, using their {@code equals()} method, so only identical values are shared.
+ * Interned values are shared between resources, and should therefore be treated as immutable.
+ * <p>
+ * Values are marshalled unchanged.
+ * 
+ * @param <T> The type of value which is interned.
+ */
+public abstract class InterningXmlAdapter<T> extends XmlAdapter<T, T> {
+
+  private final Interner<T> interner;
+
+  /**
+   * @param interner The {@link Interner} used to canonicalise unmarshalled values.
+   */
+  protected InterningXmlAdapter(Interner<T> interner) {
+    this.interner = Preconditions.checkNotNull(interner, "interner must not be null.");
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation returns the canonical instance of the unmarshalled value, or null if it's null.
+   */
+  @Override
+  public T unmarshal(T v) {
+    return v != null ? this.interner.intern(v) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation returns the supplied value.
+   */
+  @Override
+  public T marshal(T v) {
+    return v;
+  }
+}
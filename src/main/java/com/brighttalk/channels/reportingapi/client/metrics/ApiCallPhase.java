@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+/**
+ * The phases of an API call whose latency is measured, as recorded in an {@link ApiCallSample}.
+ */
+public enum ApiCallPhase {
+
+  /**
+   * From the start of the API call until a connection to send the request on is ready, i.e. the time spent leasing
+   * (and, if necessary, establishing) a connection from the HTTP client's pool. Only measured when the client's HTTP
+   * stack records it (see
+   * {@link com.brighttalk.channels.reportingapi.client.http.client.ConnectionTimingHttpRequestExecutor}).
+   */
+  CONNECT,
+
+  /**
+   * From the connection being ready until the HTTP response's status line and headers have been received, i.e. the
+   * time spent sending the request and the API service's processing time. If the {@link #CONNECT} phase isn't
+   * measured, measured from the start of the API call, and so also includes the time spent obtaining a connection.
+   */
+  TIME_TO_FIRST_BYTE,
+
+  /** The time spent waiting to read (and decompress) the bytes of the HTTP response body. */
+  DOWNLOAD,
+
+  /**
+   * The time spent parsing and unmarshalling the HTTP response body into API resources, excluding the time spent
+   * reading the body, and, for streamed API calls, the time spent in the caller's
+   * {@link com.brighttalk.channels.reportingapi.client.ResourceHandler}.
+   */
+  UNMARSHAL,
+
+  /** The time taken by the API call as a whole, from its start until it completed or failed. */
+  TOTAL;
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import java.util.Map;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+/**
+ * The metrics of a single API call (an attempt to make an HTTP request to an API endpoint), as reported to an
+ * {@link ApiClientMetrics}.
+ * <p>
+ * Only the {@link ApiCallPhase#TOTAL total} latency is measured for API calls which fail. The other phases, the size of
+ * the response and the no. of resources are only measured for API calls which succeed.
+ * <p>
+ * Immutable.
+ */
+public final class ApiCallSample {
+
+  /** Value of a metric which wasn't measured for the API call. */
+  public static final long NOT_MEASURED = -1;
+
+  /** Value of the status code of an API call which failed before an HTTP response was received, e.g. an I/O error. */
+  public static final int NO_RESPONSE = 0;
+
+  private final ApiEndpoint endpoint;
+  private final int statusCode;
+  private final boolean succeeded;
+  private final Map<ApiCallPhase, Long> phaseNanos;
+  private final long responseBytes;
+  private final long resourceCount;
+
+  /**
+   * @param endpoint The {@link ApiEndpoint} which was called.
+   * @param statusCode The HTTP status code of the response, or {@link #NO_RESPONSE} if none was received.
+   * @param succeeded True if the API call succeeded, false if it failed.
+   * @param phaseNanos The elapsed time in nanoseconds of each phase of the API call which was measured.
+   * @param responseBytes The no. of bytes of response body read, or {@link #NOT_MEASURED}.
+   * @param resourceCount The no. of API resources returned (in a page of a collection), or {@link #NOT_MEASURED} if
+   * the endpoint doesn't return a collection or the API call failed.
+   */
+  public ApiCallSample(ApiEndpoint endpoint, int statusCode, boolean succeeded, Map<ApiCallPhase, Long> phaseNanos,
+      long responseBytes, long resourceCount) {
+    this.endpoint = Preconditions.checkNotNull(endpoint, "endpoint must not be null.");
+    this.statusCode = statusCode;
+    this.succeeded = succeeded;
+    this.phaseNanos = Maps.immutableEnumMap(Preconditions.checkNotNull(phaseNanos, "phaseNanos must not be null."));
+    this.responseBytes = responseBytes;
+    this.resourceCount = resourceCount;
+  }
+
+  /**
+   * @return The {@link ApiEndpoint} which was called.
+   */
+  public ApiEndpoint getEndpoint() {
+    return this.endpoint;
+  }
+
+  /**
+   * @return The HTTP status code of the response, or {@link #NO_RESPONSE} if none was received.
+   */
+  public int getStatusCode() {
+    return this.statusCode;
+  }
+
+  /**
+   * @return True if the API call succeeded, false if it failed, with an error response or otherwise.
+   */
+  public boolean isSucceeded() {
+    return this.succeeded;
+  }
+
+  /**
+   * @param phase The {@link ApiCallPhase}.
+   * @return The elapsed time in nanoseconds of the supplied phase of the API call, or {@link #NOT_MEASURED}.
+   */
+  public long getNanos(ApiCallPhase phase) {
+    Long nanos = this.phaseNanos.get(phase);
+    return nanos != null ? nanos : NOT_MEASURED;
+  }
+
+  /**
+   * @return The no. of bytes of response body read, or {@link #NOT_MEASURED}.
+   */
+  public long getResponseBytes() {
+    return this.responseBytes;
+  }
+
+  /**
+   * @return The no. of API resources returned in a page of a collection, or {@link #NOT_MEASURED}.
+   */
+  public long getResourceCount() {
+    return this.resourceCount;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("endpoint", this.endpoint)
+      .add("statusCode", this.statusCode)
+      .add("succeeded", this.succeeded)
+      .add("phaseNanos", this.phaseNanos)
+      .add("responseBytes", this.responseBytes)
+      .add("resourceCount", this.resourceCount)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+/**
+ * A service provider interface (SPI) for recording metrics of the API calls made by an API client. Called by the API
+ * client on completion of each API call, including each attempt of a retried API call, on the thread which made it.
+ * <p>
+ * Implementations can adapt the metrics to a monitoring system of their choice. See {@link InMemoryApiClientMetrics}
+ * and {@link JmxApiClientMetrics} for the provided implementations.
+ * <p>
+ * Implementations must be thread-safe, and should return quickly, as they're called on the critical path of each API
+ * call. Any runtime exception thrown is logged and otherwise ignored by the API client.
+ */
+public interface ApiClientMetrics {
+
+  /** An {@link ApiClientMetrics} which discards all metrics. */
+  ApiClientMetrics NO_OP = new ApiClientMetrics() {
+    @Override
+    public void recordApiCall(ApiCallSample sample) {
+    }
+
+    @Override
+    public String toString() {
+      return "ApiClientMetrics.NO_OP";
+    }
+  };
+
+  /**
+   * Records the metrics of a completed API call.
+   * 
+   * @param sample The {@link ApiCallSample} holding the metrics of the API call.
+   */
+  void recordApiCall(ApiCallSample sample);
+}
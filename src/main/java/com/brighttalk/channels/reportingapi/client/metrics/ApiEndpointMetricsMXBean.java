@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of the MBean registered by {@link JmxApiClientMetrics} for each API endpoint, exposing the
+ * metrics of the API calls made to the endpoint as read-only attributes. Latencies are in microseconds.
+ */
+public interface ApiEndpointMetricsMXBean {
+
+  /**
+   * @return The name of the API client method which calls the endpoint.
+   */
+  String getMethodName();
+
+  /**
+   * @return The no. of API calls made, including those which failed.
+   */
+  long getRequestCount();
+
+  /**
+   * @return The no. of API calls which failed.
+   */
+  long getErrorCount();
+
+  /**
+   * @return The no. of API calls which failed, keyed by HTTP status code, or zero if no response was received.
+   */
+  Map<Integer, Long> getErrorCountsByStatus();
+
+  /**
+   * @return The latency of the {@link ApiCallPhase#CONNECT} phase of the API calls.
+   */
+  HistogramSnapshot getConnectLatencyMicros();
+
+  /**
+   * @return The latency of the {@link ApiCallPhase#TIME_TO_FIRST_BYTE} phase of the API calls.
+   */
+  HistogramSnapshot getTimeToFirstByteLatencyMicros();
+
+  /**
+   * @return The latency of the {@link ApiCallPhase#DOWNLOAD} phase of the API calls.
+   */
+  HistogramSnapshot getDownloadLatencyMicros();
+
+  /**
+   * @return The latency of the {@link ApiCallPhase#UNMARSHAL} phase of the API calls.
+   */
+  HistogramSnapshot getUnmarshalLatencyMicros();
+
+  /**
+   * @return The {@link ApiCallPhase#TOTAL total} latency of the API calls.
+   */
+  HistogramSnapshot getTotalLatencyMicros();
+
+  /**
+   * @return The size of the response body of the API calls, in bytes.
+   */
+  HistogramSnapshot getResponseBytes();
+
+  /**
+   * @return The no. of resources returned per page by API calls for a collection of resources.
+   */
+  HistogramSnapshot getResourcesPerPage();
+}
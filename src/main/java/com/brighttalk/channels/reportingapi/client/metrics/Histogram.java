@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A histogram of non-negative long values, e.g. latencies, which supports recording values from multiple threads
+ * without locking, and calculating percentiles of the recorded values.
+ * <p>
+ * Values are counted in buckets whose width increases logarithmically with the magnitude of the value (in the same
+ * manner as HdrHistogram). Each power of 2 range of values is divided into 64 linear buckets, so any percentile is
+ * reported with a relative error of less than 1/64 (~1.6%), using a fixed amount of memory, irrespective of the no. of
+ * values recorded. Values below 128 are counted exactly.
+ * <p>
+ * Values greater than the histogram's highest trackable value are recorded as the highest trackable value. Negative
+ * values are recorded as zero.
+ * <p>
+ * Thread-safe.
+ */
+public final class Histogram {
+
+  /** Log base 2 of the no. of buckets used to count the lowest values, which are counted exactly. */
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+  private final long highestTrackableValue;
+  private final AtomicLongArray counts;
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param highestTrackableValue The highest value which can be distinguished by the histogram. Determines the
+   * histogram's size in memory, which is approx. 512 bytes per power of 2. Must be at least 128.
+   */
+  public Histogram(long highestTrackableValue) {
+    Preconditions.checkArgument(highestTrackableValue >= SUB_BUCKET_COUNT,
+        "highestTrackableValue must be at least [%s], not [%s].", SUB_BUCKET_COUNT, highestTrackableValue);
+    this.highestTrackableValue = highestTrackableValue;
+    this.counts = new AtomicLongArray(bucketIndex(highestTrackableValue) + 1);
+  }
+
+  /**
+   * Records a value.
+   * 
+   * @param value The value.
+   */
+  public void record(long value) {
+    long trackedValue = Math.min(Math.max(value, 0), this.highestTrackableValue);
+    this.counts.incrementAndGet(bucketIndex(trackedValue));
+    this.totalCount.incrementAndGet();
+    this.sum.addAndGet(trackedValue);
+    long currentMax;
+    while (trackedValue > (currentMax = this.max.get()) && !this.max.compareAndSet(currentMax, trackedValue)) {
+      // Retry until the max is updated, or is updated to a higher value by another thread
+    }
+  }
+
+  /**
+   * @return The highest value which can be distinguished by this histogram.
+   */
+  public long getHighestTrackableValue() {
+    return this.highestTrackableValue;
+  }
+
+  /**
+   * @return The no. of values recorded.
+   */
+  public long getTotalCount() {
+    return this.totalCount.get();
+  }
+
+  /**
+   * Takes a snapshot of the values recorded so far, and calculates its commonly used percentiles. Values which are
+   * recorded concurrently with taking the snapshot may or may not be included in the snapshot.
+   * 
+   * @return The {@link HistogramSnapshot}.
+   */
+  public HistogramSnapshot snapshot() {
+    long[] snapshotCounts = this.copyCounts();
+    long count = totalCount(snapshotCounts);
+    if (count == 0) {
+      return HistogramSnapshot.EMPTY;
+    }
+    long snapshotMax = this.max.get();
+    double mean = (double) this.sum.get() / count;
+    return new HistogramSnapshot(count, mean, valueAtPercentile(snapshotCounts, count, 50.0, snapshotMax),
+        valueAtPercentile(snapshotCounts, count, 90.0, snapshotMax),
+        valueAtPercentile(snapshotCounts, count, 99.0, snapshotMax),
+        valueAtPercentile(snapshotCounts, count, 99.9, snapshotMax), snapshotMax);
+  }
+
+  /**
+   * @param percentile The percentile, in the range 0 to 100.
+   * @return The value at or below which the supplied percentile of the values recorded so far lie, or zero if no values
+   * have been recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "percentile must be in range 0 to 100, not [%s].",
+        percentile);
+    long[] snapshotCounts = this.copyCounts();
+    long count = totalCount(snapshotCounts);
+    return count == 0 ? 0 : valueAtPercentile(snapshotCounts, count, percentile, this.max.get());
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("highestTrackableValue", this.highestTrackableValue)
+      .add("totalCount", this.totalCount)
+      .toString();
+    /* @formatter:on */
+  }
+
+  /**
+   * @return A copy of the current count of each bucket.
+   */
+  private long[] copyCounts() {
+    long[] copy = new long[this.counts.length()];
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = this.counts.get(i);
+    }
+    return copy;
+  }
+
+  private static long totalCount(long[] counts) {
+    long totalCount = 0;
+    for (long count : counts) {
+      totalCount += count;
+    }
+    return totalCount;
+  }
+
+  /**
+   * @return The highest value counted in the bucket containing the supplied percentile of a non-empty set of counts,
+   * capped at the max value recorded.
+   */
+  private static long valueAtPercentile(long[] counts, long totalCount, double percentile, long max) {
+    long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+    long cumulativeCount = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulativeCount += counts[i];
+      if (cumulativeCount >= countAtPercentile) {
+        return Math.min(highestEquivalentValue(i), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * @param value A non-negative value.
+   * @return The index of the bucket which counts the supplied value.
+   */
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    // Shift the value so its highest set bit is the top bit of the upper half of the sub-buckets
+    int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+    return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+  }
+
+  /**
+   * @param index The index of a bucket.
+   * @return The highest value counted by the bucket with the supplied index.
+   */
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
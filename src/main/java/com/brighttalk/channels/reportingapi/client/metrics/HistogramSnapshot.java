@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import java.beans.ConstructorProperties;
+
+import com.google.common.base.Objects;
+
+/**
+ * A point in time snapshot of the values recorded in a {@link Histogram}, summarised as the commonly used percentiles.
+ * <p>
+ * Exposed as a composite attribute (open type) by the MBeans registered by {@link JmxApiClientMetrics}.
+ * <p>
+ * Immutable.
+ */
+public final class HistogramSnapshot {
+
+  /** A snapshot of a histogram in which no values have been recorded. */
+  public static final HistogramSnapshot EMPTY = new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0);
+
+  private final long count;
+  private final double mean;
+  private final long p50;
+  private final long p90;
+  private final long p99;
+  private final long p999;
+  private final long max;
+
+  /**
+   * @param count The no. of values recorded.
+   * @param mean The mean of the values.
+   * @param p50 The 50th percentile (median) value.
+   * @param p90 The 90th percentile value.
+   * @param p99 The 99th percentile value.
+   * @param p999 The 99.9th percentile value.
+   * @param max The max value.
+   */
+  @ConstructorProperties({ "count", "mean", "p50", "p90", "p99", "p999", "max" })
+  public HistogramSnapshot(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+    this.count = count;
+    this.mean = mean;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+  }
+
+  /**
+   * @return The no. of values recorded.
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * @return The mean of the values, or zero if none were recorded.
+   */
+  public double getMean() {
+    return this.mean;
+  }
+
+  /**
+   * @return The 50th percentile (median) value.
+   */
+  public long getP50() {
+    return this.p50;
+  }
+
+  /**
+   * @return The 90th percentile value.
+   */
+  public long getP90() {
+    return this.p90;
+  }
+
+  /**
+   * @return The 99th percentile value.
+   */
+  public long getP99() {
+    return this.p99;
+  }
+
+  /**
+   * @return The 99.9th percentile value.
+   */
+  public long getP999() {
+    return this.p999;
+  }
+
+  /**
+   * @return The max value.
+   */
+  public long getMax() {
+    return this.max;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("count", this.count)
+      .add("mean", this.mean)
+      .add("p50", this.p50)
+      .add("p90", this.p90)
+      .add("p99", this.p99)
+      .add("p999", this.p999)
+      .add("max", this.max)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * An {@link ApiClientMetrics} which records the metrics of API calls in memory, per {@link ApiEndpoint}, for the
+ * lifetime of the application.
+ * <p>
+ * For each endpoint the following are recorded: the no. of API calls; the no. of failed API calls, by HTTP status
+ * code; a {@link Histogram} of the latency of each {@link ApiCallPhase} in microseconds; and histograms of the size of
+ * the response body in bytes, and the no. of resources returned per page. The memory used is fixed per endpoint
+ * (approx. 80KB), and only allocated for endpoints which are called.
+ * <p>
+ * Thread-safe.
+ */
+public class InMemoryApiClientMetrics implements ApiClientMetrics {
+
+  /** The highest latency (microseconds) which is distinguished in the latency histograms. */
+  static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.HOURS.toMicros(1);
+  /** The highest response body size (bytes) which is distinguished in the response size histograms. */
+  static final long HIGHEST_TRACKABLE_RESPONSE_BYTES = 1L << 32;
+  /** The highest no. of resources per page which is distinguished in the resources per page histograms. */
+  static final long HIGHEST_TRACKABLE_RESOURCE_COUNT = 1L << 20;
+
+  private final ConcurrentMap<ApiEndpoint, EndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
+
+  /** {@inheritDoc} */
+  @Override
+  public void recordApiCall(ApiCallSample sample) {
+    Preconditions.checkNotNull(sample, "sample must not be null.");
+    this.getOrCreateEndpointMetrics(sample.getEndpoint()).record(sample);
+  }
+
+  /**
+   * @return The set of {@link ApiEndpoint} for which API calls have been recorded.
+   */
+  public Set<ApiEndpoint> getEndpoints() {
+    return ImmutableSet.copyOf(this.endpointMetrics.keySet());
+  }
+
+  /**
+   * @param endpoint The {@link ApiEndpoint}.
+   * @return The {@link EndpointMetrics} recorded for the supplied endpoint, or null if no API calls have been recorded
+   * for it.
+   */
+  public EndpointMetrics getEndpointMetrics(ApiEndpoint endpoint) {
+    return this.endpointMetrics.get(endpoint);
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("endpoints", this.endpointMetrics.keySet())
+      .toString();
+    /* @formatter:on */
+  }
+
+  private EndpointMetrics getOrCreateEndpointMetrics(ApiEndpoint endpoint) {
+    EndpointMetrics metrics = this.endpointMetrics.get(endpoint);
+    if (metrics == null) {
+      EndpointMetrics newMetrics = new EndpointMetrics(endpoint);
+      metrics = this.endpointMetrics.putIfAbsent(endpoint, newMetrics);
+      if (metrics == null) {
+        metrics = newMetrics;
+      }
+    }
+    return metrics;
+  }
+
+  /**
+   * The metrics recorded for the API calls made to a single {@link ApiEndpoint}.
+   * <p>
+   * Thread-safe.
+   */
+  public static final class EndpointMetrics {
+    private final ApiEndpoint endpoint;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final ConcurrentMap<Integer, AtomicLong> errorCountsByStatus = new ConcurrentHashMap<>();
+    private final Map<ApiCallPhase, Histogram> latencyMicros = new EnumMap<>(ApiCallPhase.class);
+    private final Histogram responseBytes = new Histogram(HIGHEST_TRACKABLE_RESPONSE_BYTES);
+    private final Histogram resourcesPerPage = new Histogram(HIGHEST_TRACKABLE_RESOURCE_COUNT);
+
+    private EndpointMetrics(ApiEndpoint endpoint) {
+      this.endpoint = endpoint;
+      for (ApiCallPhase phase : ApiCallPhase.values()) {
+        this.latencyMicros.put(phase, new Histogram(HIGHEST_TRACKABLE_LATENCY_MICROS));
+      }
+    }
+
+    private void record(ApiCallSample sample) {
+      this.requestCount.incrementAndGet();
+      if (!sample.isSucceeded()) {
+        this.incrementErrorCount(sample.getStatusCode());
+      }
+      for (Map.Entry<ApiCallPhase, Histogram> entry : this.latencyMicros.entrySet()) {
+        long nanos = sample.getNanos(entry.getKey());
+        if (nanos != ApiCallSample.NOT_MEASURED) {
+          entry.getValue().record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+      }
+      if (sample.getResponseBytes() != ApiCallSample.NOT_MEASURED) {
+        this.responseBytes.record(sample.getResponseBytes());
+      }
+      if (sample.getResourceCount() != ApiCallSample.NOT_MEASURED) {
+        this.resourcesPerPage.record(sample.getResourceCount());
+      }
+    }
+
+    private void incrementErrorCount(int statusCode) {
+      AtomicLong errorCount = this.errorCountsByStatus.get(statusCode);
+      if (errorCount == null) {
+        AtomicLong newErrorCount = new AtomicLong();
+        errorCount = this.errorCountsByStatus.putIfAbsent(statusCode, newErrorCount);
+        if (errorCount == null) {
+          errorCount = newErrorCount;
+        }
+      }
+      errorCount.incrementAndGet();
+    }
+
+    /**
+     * @return The {@link ApiEndpoint} whose API calls these metrics are for.
+     */
+    public ApiEndpoint getEndpoint() {
+      return this.endpoint;
+    }
+
+    /**
+     * @return The no. of API calls made, including those which failed.
+     */
+    public long getRequestCount() {
+      return this.requestCount.get();
+    }
+
+    /**
+     * @return The no. of API calls which failed.
+     */
+    public long getErrorCount() {
+      long errorCount = 0;
+      for (AtomicLong count : this.errorCountsByStatus.values()) {
+        errorCount += count.get();
+      }
+      return errorCount;
+    }
+
+    /**
+     * @return The no. of API calls which failed, keyed by the HTTP status code of the response, in ascending order. API
+     * calls which failed before a response was received are counted against {@link ApiCallSample#NO_RESPONSE}.
+     */
+    public SortedMap<Integer, Long> getErrorCountsByStatus() {
+      SortedMap<Integer, Long> errorCounts = new TreeMap<>();
+      for (Map.Entry<Integer, AtomicLong> entry : this.errorCountsByStatus.entrySet()) {
+        errorCounts.put(entry.getKey(), entry.getValue().get());
+      }
+      return errorCounts;
+    }
+
+    /**
+     * @param phase The {@link ApiCallPhase}.
+     * @return A {@link HistogramSnapshot} of the latency of the supplied phase of the API calls, in microseconds.
+     */
+    public HistogramSnapshot getLatencyMicros(ApiCallPhase phase) {
+      return this.latencyMicros.get(phase).snapshot();
+    }
+
+    /**
+     * @return A {@link HistogramSnapshot} of the size of the response body of successful API calls, in bytes.
+     */
+    public HistogramSnapshot getResponseBytes() {
+      return this.responseBytes.snapshot();
+    }
+
+    /**
+     * @return A {@link HistogramSnapshot} of the no. of resources returned per page by successful API calls for a
+     * collection of resources.
+     */
+    public HistogramSnapshot getResourcesPerPage() {
+      return this.resourcesPerPage.snapshot();
+    }
+
+    @Override
+    public String toString() {
+      /* @formatter:off */
+      return Objects.toStringHelper(this)
+        .add("endpoint", this.endpoint)
+        .add("requestCount", this.requestCount)
+        .add("errorCountsByStatus", this.errorCountsByStatus)
+        .toString();
+      /* @formatter:on */
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics.EndpointMetrics;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * An {@link ApiClientMetrics} which records the metrics of API calls in memory, using an
+ * {@link InMemoryApiClientMetrics}, and publishes them via JMX, so they can be monitored in production, e.g. using
+ * JConsole or a JMX based monitoring agent.
+ * <p>
+ * An {@link ApiEndpointMetricsMXBean MXBean} is registered for each {@link ApiEndpoint}, with an object name of the
+ * form {@code <domain>:type=ApiClientMetrics,endpoint=<method name>}, e.g.
+ * {@code com.brighttalk.channels.reportingapi.client:type=ApiClientMetrics,endpoint=getWebcastViewingsForChannel}.
+ * <p>
+ * Must be {@link #register() registered} to publish the metrics, and {@link #unregister() unregistered} when no longer
+ * required. Thread-safe.
+ */
+public class JmxApiClientMetrics implements ApiClientMetrics {
+
+  /** The default domain of the object names of the registered MBeans. */
+  public static final String DEFAULT_DOMAIN = "com.brighttalk.channels.reportingapi.client";
+
+  private static final Logger logger = LoggerFactory.getLogger(JmxApiClientMetrics.class);
+
+  private final InMemoryApiClientMetrics metrics = new InMemoryApiClientMetrics();
+  private final MBeanServer mBeanServer;
+  private final String domain;
+  private final List<ObjectName> registeredObjectNames = new ArrayList<>();
+
+  /**
+   * Creates an instance which registers its MBeans with the platform MBean server, in the {@link #DEFAULT_DOMAIN}.
+   */
+  public JmxApiClientMetrics() {
+    this(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+  }
+
+  /**
+   * @param mBeanServer The {@link MBeanServer} to register the MBeans with.
+   * @param domain The domain of the object names of the registered MBeans. Allows the metrics of more than one API
+   * client in the same JVM to be distinguished.
+   */
+  public JmxApiClientMetrics(MBeanServer mBeanServer, String domain) {
+    this.mBeanServer = Preconditions.checkNotNull(mBeanServer, "mBeanServer must not be null.");
+    this.domain = Preconditions.checkNotNull(domain, "domain must not be null.");
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void recordApiCall(ApiCallSample sample) {
+    this.metrics.recordApiCall(sample);
+  }
+
+  /**
+   * @return The {@link InMemoryApiClientMetrics} holding the metrics published by this object.
+   */
+  public final InMemoryApiClientMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * Registers an MBean publishing the metrics of each {@link ApiEndpoint}.
+   * 
+   * @throws IllegalStateException If an MBean can't be registered, e.g. an MBean with the same name is already
+   * registered.
+   */
+  public synchronized void register() {
+    Preconditions.checkState(this.registeredObjectNames.isEmpty(), "MBeans are already registered.");
+    logger.debug("Registering {}.", this);
+    try {
+      for (ApiEndpoint endpoint : ApiEndpoint.values()) {
+        ObjectName objectName = this.createObjectName(endpoint);
+        this.mBeanServer.registerMBean(new ApiEndpointMetrics(endpoint), objectName);
+        this.registeredObjectNames.add(objectName);
+      }
+    } catch (JMException e) {
+      this.unregister();
+      throw new IllegalStateException("Failed to register API client metrics MBeans.", e);
+    }
+  }
+
+  /**
+   * Unregisters the MBeans registered by {@link #register()}, if any.
+   */
+  public synchronized void unregister() {
+    logger.debug("Unregistering {}.", this);
+    for (ObjectName objectName : this.registeredObjectNames) {
+      try {
+        this.mBeanServer.unregisterMBean(objectName);
+      } catch (JMException e) {
+        logger.warn("Failed to unregister MBean [{}].", objectName, e);
+      }
+    }
+    this.registeredObjectNames.clear();
+  }
+
+  /**
+   * @param endpoint The {@link ApiEndpoint}.
+   * @return The {@link ObjectName} of the MBean which publishes the metrics of the supplied endpoint.
+   * @throws MalformedObjectNameException If the configured domain is not a valid object name domain.
+   */
+  public ObjectName createObjectName(ApiEndpoint endpoint) throws MalformedObjectNameException {
+    return new ObjectName(this.domain + ":type=ApiClientMetrics,endpoint=" + endpoint.getMethodName());
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("domain", this.domain)
+      .toString();
+    /* @formatter:on */
+  }
+
+  /**
+   * The {@link ApiEndpointMetricsMXBean} for an endpoint, backed by its {@link EndpointMetrics}, which only exist once
+   * the endpoint has been called.
+   */
+  private final class ApiEndpointMetrics implements ApiEndpointMetricsMXBean {
+    private final ApiEndpoint endpoint;
+
+    private ApiEndpointMetrics(ApiEndpoint endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    private EndpointMetrics endpointMetrics() {
+      return JmxApiClientMetrics.this.metrics.getEndpointMetrics(this.endpoint);
+    }
+
+    @Override
+    public String getMethodName() {
+      return this.endpoint.getMethodName();
+    }
+
+    @Override
+    public long getRequestCount() {
+      EndpointMetrics endpointMetrics = this.endpointMetrics();
+      return endpointMetrics != null ? endpointMetrics.getRequestCount() : 0;
+    }
+
+    @Override
+    public long getErrorCount() {
+      EndpointMetrics endpointMetrics = this.endpointMetrics();
+      return endpointMetrics != null ? endpointMetrics.getErrorCount() : 0;
+    }
+
+    @Override
+    public Map<Integer, Long> getErrorCountsByStatus() {
+      EndpointMetrics endpointMetrics = this.endpointMetrics();
+      return endpointMetrics != null ? endpointMetrics.getErrorCountsByStatus()
+          : Collections.<Integer, Long> emptyMap();
+    }
+
+    @Override
+    public HistogramSnapshot getConnectLatencyMicros() {
+      return this.getLatencyMicros(ApiCallPhase.CONNECT);
+    }
+
+    @Override
+    public HistogramSnapshot getTimeToFirstByteLatencyMicros() {
+      return this.getLatencyMicros(ApiCallPhase.TIME_TO_FIRST_BYTE);
+    }
+
+    @Override
+    public HistogramSnapshot getDownloadLatencyMicros() {
+      return this.getLatencyMicros(ApiCallPhase.DOWNLOAD);
+    }
+
+    @Override
+    public HistogramSnapshot getUnmarshalLatencyMicros() {
+      return this.getLatencyMicros(ApiCallPhase.UNMARSHAL);
+    }
+
+    @Override
+    public HistogramSnapshot getTotalLatencyMicros() {
+      return this.getLatencyMicros(ApiCallPhase.TOTAL);
+    }
+
+    private HistogramSnapshot getLatencyMicros(ApiCallPhase phase) {
+      EndpointMetrics endpointMetrics = this.endpointMetrics();
+      return endpointMetrics != null ? endpointMetrics.getLatencyMicros(phase) : HistogramSnapshot.EMPTY;
+    }
+
+    @Override
+    public HistogramSnapshot getResponseBytes() {
+      EndpointMetrics endpointMetrics = this.endpointMetrics();
+      return endpointMetrics != null ? endpointMetrics.getResponseBytes() : HistogramSnapshot.EMPTY;
+    }
+
+    @Override
+    public HistogramSnapshot getResourcesPerPage() {
+      EndpointMetrics endpointMetrics = this.endpointMetrics();
+      return endpointMetrics != null ? endpointMetrics.getResourcesPerPage() : HistogramSnapshot.EMPTY;
+    }
+  }
+}
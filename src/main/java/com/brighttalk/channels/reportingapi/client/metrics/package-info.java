@@ -0,0 +1,22 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * A service provider interface (SPI) for recording metrics of the API calls made by an API client, e.g. the latency
+ * and throughput of each API endpoint, and default implementations which record them in memory and publish them via
+ * JMX. Doesn't depend on any third-party metrics library. Other metrics libraries can be supported by implementing
+ * {@link com.brighttalk.channels.reportingapi.client.metrics.ApiClientMetrics}.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
@@ -24,7 +24,10 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.brighttalk.channels.reportingapi.client.jaxb.EpochMillisXmlAdapter;
 import com.google.common.base.Objects;
 
 /**
@@ -48,8 +51,10 @@ public class ChannelResource {
   private String organisation;
   private String keywords;
   private String type;
-  private Date created;
-  private Date lastUpdated;
+  @XmlTransient
+  private long created = Timestamps.NONE;
+  @XmlTransient
+  private long lastUpdated = Timestamps.NONE;
   @XmlElement(name = "link")
   private List<Link> links;
 
@@ -67,8 +72,8 @@ public class ChannelResource {
     this.organisation = organisation;
     this.keywords = keywords;
     this.type = type;
-    this.created = created;
-    this.lastUpdated = lastUpdated;
+    this.created = Timestamps.toMillis(created);
+    this.lastUpdated = Timestamps.toMillis(lastUpdated);
     this.links = links;
   }
 
@@ -105,13 +110,52 @@ public class ChannelResource {
   }
 
   public final Date getCreated() {
+    return Timestamps.toDate(this.created);
+  }
+
+  /**
+   * @return The creation date/time as a no. of milliseconds since the epoch, or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getCreatedMillis() {
     return this.created;
   }
 
+  @XmlElement(name = "created")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getCreatedForXml() {
+    return Timestamps.toNullableMillis(this.created);
+  }
+
+  @SuppressWarnings("unused")
+  private void setCreatedForXml(Long created) {
+    this.created = Timestamps.fromNullableMillis(created);
+  }
+
   public final Date getLastUpdated() {
+    return Timestamps.toDate(this.lastUpdated);
+  }
+
+  /**
+   * @return The last updated date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getLastUpdatedMillis() {
     return this.lastUpdated;
   }
 
+  @XmlElement(name = "lastUpdated")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getLastUpdatedForXml() {
+    return Timestamps.toNullableMillis(this.lastUpdated);
+  }
+
+  @SuppressWarnings("unused")
+  private void setLastUpdatedForXml(Long lastUpdated) {
+    this.lastUpdated = Timestamps.fromNullableMillis(lastUpdated);
+  }
+
   public final List<Link> getLinks() {
     return this.links != null ? this.links : new ArrayList<Link>();
   }
@@ -128,8 +172,8 @@ public class ChannelResource {
       .add("organisation", this.organisation)
       .add("keywords", this.keywords)
       .add("type", this.type)
-      .add("created", this.created)
-      .add("lastUpdated", this.lastUpdated)  
+      .add("created", this.getCreated())
+      .add("lastUpdated", this.getLastUpdated())  
       .add("links", this.links)      
       .toString();
     /* @formatter:on */
@@ -139,11 +183,11 @@ public class ChannelResource {
   public int hashCode() {
     final int prime = 31;
     int result = 1;
-    result = prime * result + ((this.created == null) ? 0 : this.created.hashCode());
+    result = prime * result + (int) (this.created ^ (this.created >>> 32));
     result = prime * result + ((this.description == null) ? 0 : this.description.hashCode());
     result = prime * result + this.id;
     result = prime * result + ((this.keywords == null) ? 0 : this.keywords.hashCode());
-    result = prime * result + ((this.lastUpdated == null) ? 0 : this.lastUpdated.hashCode());
+    result = prime * result + (int) (this.lastUpdated ^ (this.lastUpdated >>> 32));
     result = prime * result + ((this.links == null) ? 0 : this.links.hashCode());
     result = prime * result + ((this.name == null) ? 0 : this.name.hashCode());
     result = prime * result + ((this.organisation == null) ? 0 : this.organisation.hashCode());
@@ -165,11 +209,7 @@ public class ChannelResource {
       return false;
     }
     ChannelResource other = (ChannelResource) obj;
-    if (this.created == null) {
-      if (other.created != null) {
-        return false;
-      }
-    } else if (!this.created.equals(other.created)) {
+    if (this.created != other.created) {
       return false;
     }
     if (this.description == null) {
@@ -189,11 +229,7 @@ public class ChannelResource {
     } else if (!this.keywords.equals(other.keywords)) {
       return false;
     }
-    if (this.lastUpdated == null) {
-      if (other.lastUpdated != null) {
-        return false;
-      }
-    } else if (!this.lastUpdated.equals(other.lastUpdated)) {
+    if (this.lastUpdated != other.lastUpdated) {
       return false;
     }
     if (this.links == null) {
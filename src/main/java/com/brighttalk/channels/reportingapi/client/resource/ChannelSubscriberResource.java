@@ -24,7 +24,10 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.brighttalk.channels.reportingapi.client.jaxb.EpochMillisXmlAdapter;
 import com.google.common.base.Objects;
 
 /**
@@ -38,8 +41,10 @@ import com.google.common.base.Objects;
 public class ChannelSubscriberResource {
   @XmlAttribute
   private int id;
-  private Date lastSubscribed;
-  private Date unsubscribed;
+  @XmlTransient
+  private long lastSubscribed = Timestamps.NONE;
+  @XmlTransient
+  private long unsubscribed = Timestamps.NONE;
   private Embed embed;
   private User user;
   @XmlElement(name = "link")
@@ -52,8 +57,8 @@ public class ChannelSubscriberResource {
   public ChannelSubscriberResource(int id, Date lastSubscribed, Date unsubscribed, Embed embed, User user,
       List<Link> links) {
     this.id = id;
-    this.lastSubscribed = lastSubscribed;
-    this.unsubscribed = unsubscribed;
+    this.lastSubscribed = Timestamps.toMillis(lastSubscribed);
+    this.unsubscribed = Timestamps.toMillis(unsubscribed);
     this.embed = embed;
     this.user = user;
     this.links = links;
@@ -64,13 +69,53 @@ public class ChannelSubscriberResource {
   }
 
   public final Date getLastSubscribed() {
+    return Timestamps.toDate(this.lastSubscribed);
+  }
+
+  /**
+   * @return The last subscribed date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getLastSubscribedMillis() {
     return this.lastSubscribed;
   }
 
+  @XmlElement(name = "lastSubscribed")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getLastSubscribedForXml() {
+    return Timestamps.toNullableMillis(this.lastSubscribed);
+  }
+
+  @SuppressWarnings("unused")
+  private void setLastSubscribedForXml(Long lastSubscribed) {
+    this.lastSubscribed = Timestamps.fromNullableMillis(lastSubscribed);
+  }
+
   public final Date getUnsubscribed() {
+    return Timestamps.toDate(this.unsubscribed);
+  }
+
+  /**
+   * @return The unsubscribed date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getUnsubscribedMillis() {
     return this.unsubscribed;
   }
 
+  @XmlElement(name = "unsubscribed")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getUnsubscribedForXml() {
+    return Timestamps.toNullableMillis(this.unsubscribed);
+  }
+
+  @SuppressWarnings("unused")
+  private void setUnsubscribedForXml(Long unsubscribed) {
+    this.unsubscribed = Timestamps.fromNullableMillis(unsubscribed);
+  }
+
   public final Embed getEmbed() {
     return this.embed;
   }
@@ -88,8 +133,8 @@ public class ChannelSubscriberResource {
     /* @formatter:off */    
     return Objects.toStringHelper(this).omitNullValues()
       .add("id", this.id)
-      .add("lastSubscribed", this.lastSubscribed)
-      .add("unsubscribed", this.unsubscribed)
+      .add("lastSubscribed", this.getLastSubscribed())
+      .add("unsubscribed", this.getUnsubscribed())
       .add("embed", this.embed)      
       .add("user", this.user)
       .add("links", this.links)      
@@ -103,9 +148,9 @@ public class ChannelSubscriberResource {
     int result = 1;
     result = prime * result + ((this.embed == null) ? 0 : this.embed.hashCode());
     result = prime * result + this.id;
-    result = prime * result + ((this.lastSubscribed == null) ? 0 : this.lastSubscribed.hashCode());
+    result = prime * result + (int) (this.lastSubscribed ^ (this.lastSubscribed >>> 32));
     result = prime * result + ((this.links == null) ? 0 : this.links.hashCode());
-    result = prime * result + ((this.unsubscribed == null) ? 0 : this.unsubscribed.hashCode());
+    result = prime * result + (int) (this.unsubscribed ^ (this.unsubscribed >>> 32));
     result = prime * result + ((this.user == null) ? 0 : this.user.hashCode());
     return result;
   }
@@ -132,11 +177,7 @@ public class ChannelSubscriberResource {
     if (this.id != other.id) {
       return false;
     }
-    if (this.lastSubscribed == null) {
-      if (other.lastSubscribed != null) {
-        return false;
-      }
-    } else if (!this.lastSubscribed.equals(other.lastSubscribed)) {
+    if (this.lastSubscribed != other.lastSubscribed) {
       return false;
     }
     if (this.links == null) {
@@ -146,11 +187,7 @@ public class ChannelSubscriberResource {
     } else if (!this.links.equals(other.links)) {
       return false;
     }
-    if (this.unsubscribed == null) {
-      if (other.unsubscribed != null) {
-        return false;
-      }
-    } else if (!this.unsubscribed.equals(other.unsubscribed)) {
+    if (this.unsubscribed != other.unsubscribed) {
       return false;
     }
     if (this.user == null) {
@@ -25,7 +25,11 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.brighttalk.channels.reportingapi.client.jaxb.EpochMillisXmlAdapter;
+import com.brighttalk.channels.reportingapi.client.jaxb.InterningUserXmlAdapter;
 import com.google.common.base.Objects;
 
 /**
@@ -39,12 +43,15 @@ public class SurveyResponseResource {
   @XmlAttribute
   private int id;
   private SurveyResource survey;
+  @XmlJavaTypeAdapter(InterningUserXmlAdapter.class)
   private User user;
   @XmlElementWrapper(name = "questions")
   @XmlElement(name = "question")
   private List<Question> questions;
-  private Date created;
-  private Date lastUpdated;
+  @XmlTransient
+  private long created = Timestamps.NONE;
+  @XmlTransient
+  private long lastUpdated = Timestamps.NONE;
   @XmlElement(name = "link")
   private List<Link> links;
 
@@ -58,8 +65,8 @@ public class SurveyResponseResource {
     this.survey = survey;
     this.user = user;
     this.questions = questions;
-    this.created = created;
-    this.lastUpdated = lastUpdated;
+    this.created = Timestamps.toMillis(created);
+    this.lastUpdated = Timestamps.toMillis(lastUpdated);
     this.links = links;
   }
 
@@ -78,13 +85,52 @@ public class SurveyResponseResource {
   }
 
   public final Date getCreated() {
+    return Timestamps.toDate(this.created);
+  }
+
+  /**
+   * @return The creation date/time as a no. of milliseconds since the epoch, or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getCreatedMillis() {
     return this.created;
   }
 
+  @XmlElement(name = "created")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getCreatedForXml() {
+    return Timestamps.toNullableMillis(this.created);
+  }
+
+  @SuppressWarnings("unused")
+  private void setCreatedForXml(Long created) {
+    this.created = Timestamps.fromNullableMillis(created);
+  }
+
   public final Date getLastUpdated() {
+    return Timestamps.toDate(this.lastUpdated);
+  }
+
+  /**
+   * @return The last updated date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getLastUpdatedMillis() {
     return this.lastUpdated;
   }
 
+  @XmlElement(name = "lastUpdated")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getLastUpdatedForXml() {
+    return Timestamps.toNullableMillis(this.lastUpdated);
+  }
+
+  @SuppressWarnings("unused")
+  private void setLastUpdatedForXml(Long lastUpdated) {
+    this.lastUpdated = Timestamps.fromNullableMillis(lastUpdated);
+  }
+
   public final List<Link> getLinks() {
     return this.links != null ? this.links : new ArrayList<Link>();
   }
@@ -97,8 +143,8 @@ public class SurveyResponseResource {
       .add("survey", this.survey)      
       .add("user", this.user)
       .add("questions", this.questions)
-      .add("created", this.created)
-      .add("lastUpdated", this.lastUpdated)      
+      .add("created", this.getCreated())
+      .add("lastUpdated", this.getLastUpdated())      
       .add("links", this.links)      
       .toString();
     /* @formatter:on */
@@ -112,9 +158,9 @@ public class SurveyResponseResource {
   public int hashCode() {
     final int prime = 31;
     int result = 1;
-    result = prime * result + ((this.created == null) ? 0 : this.created.hashCode());
+    result = prime * result + (int) (this.created ^ (this.created >>> 32));
     result = prime * result + this.id;
-    result = prime * result + ((this.lastUpdated == null) ? 0 : this.lastUpdated.hashCode());
+    result = prime * result + (int) (this.lastUpdated ^ (this.lastUpdated >>> 32));
     result = prime * result + ((this.links == null) ? 0 : this.links.hashCode());
     result = prime * result + ((this.questions == null) ? 0 : this.questions.hashCode());
     result = prime * result + ((this.survey == null) ? 0 : this.survey.hashCode());
@@ -138,21 +184,13 @@ public class SurveyResponseResource {
       return false;
     }
     SurveyResponseResource other = (SurveyResponseResource) obj;
-    if (this.created == null) {
-      if (other.created != null) {
-        return false;
-      }
-    } else if (!this.created.equals(other.created)) {
+    if (this.created != other.created) {
       return false;
     }
     if (this.id != other.id) {
       return false;
     }
-    if (this.lastUpdated == null) {
-      if (other.lastUpdated != null) {
-        return false;
-      }
-    } else if (!this.lastUpdated.equals(other.lastUpdated)) {
+    if (this.lastUpdated != other.lastUpdated) {
       return false;
     }
     if (this.links == null) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.resource;
+
+import java.util.Date;
+
+/**
+ * Support for the date/time fields of the API resources, which are held as a primitive no. of milliseconds since the
+ * epoch, rather than as a {@link Date}.
+ * <p>
+ * A resource holding a {@code long} rather than a reference to a separate, mutable {@code Date} object halves the no.
+ * of objects, and significantly reduces the heap used, per date/time field. This matters to applications which hold
+ * large no.s of resources in memory, e.g. for aggregation. Each date/time field is exposed both as epoch millis, and
+ * as a {@code Date} which is created on demand.
+ * <p>
+ * JAXB can't omit the element for an absent value of a primitive field, so each date/time field is excluded from
+ * binding ({@code XmlTransient}) and bound instead via a private pair of {@code Long} accessors, adapted by the
+ * {@link com.brighttalk.channels.reportingapi.client.jaxb.EpochMillisXmlAdapter}, which map {@link #NONE} to null.
+ */
+public final class Timestamps {
+
+  /** The value of a date/time field, in epoch millis, which is absent (null). */
+  public static final long NONE = Long.MIN_VALUE;
+
+  private Timestamps() {
+  }
+
+  /**
+   * @param date A {@link Date}, or null.
+   * @return The no. of milliseconds since the epoch of the supplied date, or {@link #NONE} if it's null.
+   */
+  public static long toMillis(Date date) {
+    return date != null ? date.getTime() : NONE;
+  }
+
+  /**
+   * @param epochMillis A no. of milliseconds since the epoch, or {@link #NONE}.
+   * @return A new {@link Date} for the supplied epoch millis, or null if it's {@link #NONE}.
+   */
+  public static Date toDate(long epochMillis) {
+    return epochMillis != NONE ? new Date(epochMillis) : null;
+  }
+
+  /**
+   * @param epochMillis A no. of milliseconds since the epoch, or {@link #NONE}.
+   * @return The supplied epoch millis, or null if it's {@link #NONE}.
+   */
+  public static Long toNullableMillis(long epochMillis) {
+    return epochMillis != NONE ? epochMillis : null;
+  }
+
+  /**
+   * @param epochMillis A no. of milliseconds since the epoch, or null.
+   * @return The supplied epoch millis, or {@link #NONE} if it's null.
+   */
+  public static long fromNullableMillis(Long epochMillis) {
+    return epochMillis != null ? epochMillis : NONE;
+  }
+}
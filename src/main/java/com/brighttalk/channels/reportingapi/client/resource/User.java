@@ -18,7 +18,9 @@ package com.brighttalk.channels.reportingapi.client.resource;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.brighttalk.channels.reportingapi.client.jaxb.InterningStringXmlAdapter;
 import com.google.common.base.Objects;
 
 /**
@@ -35,14 +37,21 @@ public class User {
   private String realmUserId;
   private String firstName;
   private String lastName;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String timeZone;
   private String phone;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String jobTitle;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String level;
   private String companyName;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String companySize;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String industry;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String country;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String stateProvince;
 
   // Private, as only exists only to keep JAXB implementation happy.
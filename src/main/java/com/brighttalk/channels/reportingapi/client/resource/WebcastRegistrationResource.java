@@ -24,7 +24,12 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.brighttalk.channels.reportingapi.client.jaxb.EpochMillisXmlAdapter;
+import com.brighttalk.channels.reportingapi.client.jaxb.InterningUserXmlAdapter;
+import com.brighttalk.channels.reportingapi.client.jaxb.InterningWebcastXmlAdapter;
 import com.google.common.base.Objects;
 
 /**
@@ -37,11 +42,15 @@ import com.google.common.base.Objects;
 public class WebcastRegistrationResource {
   @XmlAttribute
   private int id;
+  @XmlJavaTypeAdapter(InterningWebcastXmlAdapter.class)
   private WebcastResource webcast;
+  @XmlJavaTypeAdapter(InterningUserXmlAdapter.class)
   private User user;
   private Embed embed;
-  private Date created;
-  private Date lastUpdated;
+  @XmlTransient
+  private long created = Timestamps.NONE;
+  @XmlTransient
+  private long lastUpdated = Timestamps.NONE;
   @XmlElement(name = "link")
   private List<Link> links;
   
@@ -55,8 +64,8 @@ public class WebcastRegistrationResource {
     this.webcast = webcast;
     this.user = user;
     this.embed = embed;
-    this.created = created;
-    this.lastUpdated = lastUpdated;
+    this.created = Timestamps.toMillis(created);
+    this.lastUpdated = Timestamps.toMillis(lastUpdated);
     this.links = links;
   }
 
@@ -77,13 +86,52 @@ public class WebcastRegistrationResource {
   }
 
   public final Date getCreated() {
+    return Timestamps.toDate(this.created);
+  }
+
+  /**
+   * @return The creation date/time as a no. of milliseconds since the epoch, or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getCreatedMillis() {
     return this.created;
   }
 
+  @XmlElement(name = "created")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getCreatedForXml() {
+    return Timestamps.toNullableMillis(this.created);
+  }
+
+  @SuppressWarnings("unused")
+  private void setCreatedForXml(Long created) {
+    this.created = Timestamps.fromNullableMillis(created);
+  }
+
   public final Date getLastUpdated() {
+    return Timestamps.toDate(this.lastUpdated);
+  }
+
+  /**
+   * @return The last updated date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getLastUpdatedMillis() {
     return this.lastUpdated;
   }
 
+  @XmlElement(name = "lastUpdated")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getLastUpdatedForXml() {
+    return Timestamps.toNullableMillis(this.lastUpdated);
+  }
+
+  @SuppressWarnings("unused")
+  private void setLastUpdatedForXml(Long lastUpdated) {
+    this.lastUpdated = Timestamps.fromNullableMillis(lastUpdated);
+  }
+
   public final List<Link> getLinks() {
     return this.links != null ? this.links : new ArrayList<Link>();
   }
@@ -96,8 +144,8 @@ public class WebcastRegistrationResource {
       .add("webcast", this.webcast)
       .add("user", this.user)
       .add("embed", this.embed)
-      .add("created", this.created)
-      .add("lastUpdated", this.lastUpdated)      
+      .add("created", this.getCreated())
+      .add("lastUpdated", this.getLastUpdated())      
       .add("links", this.links)      
       .toString();
     /* @formatter:on */    
@@ -107,10 +155,10 @@ public class WebcastRegistrationResource {
   public int hashCode() {
     final int prime = 31;
     int result = 1;
-    result = prime * result + ((this.created == null) ? 0 : this.created.hashCode());
+    result = prime * result + (int) (this.created ^ (this.created >>> 32));
     result = prime * result + ((this.embed == null) ? 0 : this.embed.hashCode());
     result = prime * result + this.id;
-    result = prime * result + ((this.lastUpdated == null) ? 0 : this.lastUpdated.hashCode());
+    result = prime * result + (int) (this.lastUpdated ^ (this.lastUpdated >>> 32));
     result = prime * result + ((this.links == null) ? 0 : this.links.hashCode());
     result = prime * result + ((this.user == null) ? 0 : this.user.hashCode());
     result = prime * result + ((this.webcast == null) ? 0 : this.webcast.hashCode());
@@ -129,11 +177,7 @@ public class WebcastRegistrationResource {
       return false;
     }
     WebcastRegistrationResource other = (WebcastRegistrationResource) obj;
-    if (this.created == null) {
-      if (other.created != null) {
-        return false;
-      }
-    } else if (!this.created.equals(other.created)) {
+    if (this.created != other.created) {
       return false;
     }
     if (this.embed == null) {
@@ -146,11 +190,7 @@ public class WebcastRegistrationResource {
     if (this.id != other.id) {
       return false;
     }
-    if (this.lastUpdated == null) {
-      if (other.lastUpdated != null) {
-        return false;
-      }
-    } else if (!this.lastUpdated.equals(other.lastUpdated)) {
+    if (this.lastUpdated != other.lastUpdated) {
       return false;
     }
     if (this.links == null) {
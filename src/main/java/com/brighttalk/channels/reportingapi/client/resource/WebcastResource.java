@@ -25,7 +25,10 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.brighttalk.channels.reportingapi.client.jaxb.EpochMillisXmlAdapter;
 import com.google.common.base.Objects;
 
 /**
@@ -46,7 +49,8 @@ public class WebcastResource {
   private String description;
   private String presenter;
   private int duration;
-  private Date start;
+  @XmlTransient
+  private long start = Timestamps.NONE;
   private String keywords;
   private boolean published;
   private String visibility;
@@ -57,8 +61,10 @@ public class WebcastResource {
   private List<String> categories;
   private String status;
   private String syndicationType;
-  private Date created;
-  private Date lastUpdated;
+  @XmlTransient
+  private long created = Timestamps.NONE;
+  @XmlTransient
+  private long lastUpdated = Timestamps.NONE;
   @XmlElement(name = "link")
   private List<Link> links;
   
@@ -79,7 +85,7 @@ public class WebcastResource {
     this.description = description;
     this.presenter = presenter;
     this.duration = duration;
-    this.start = start;
+    this.start = Timestamps.toMillis(start);
     this.keywords = keywords;
     this.published = published;
     this.visibility = visibility;
@@ -88,8 +94,8 @@ public class WebcastResource {
     this.categories = categories;
     this.status = status;
     this.syndicationType = syndicationType;
-    this.created = created;
-    this.lastUpdated = lastUpdated;
+    this.created = Timestamps.toMillis(created);
+    this.lastUpdated = Timestamps.toMillis(lastUpdated);
     this.links = links;
   }
 
@@ -114,9 +120,29 @@ public class WebcastResource {
   }
 
   public final Date getStart() {
+    return Timestamps.toDate(this.start);
+  }
+
+  /**
+   * @return The (scheduled) start date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getStartMillis() {
     return this.start;
   }
 
+  @XmlElement(name = "start")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getStartForXml() {
+    return Timestamps.toNullableMillis(this.start);
+  }
+
+  @SuppressWarnings("unused")
+  private void setStartForXml(Long start) {
+    this.start = Timestamps.fromNullableMillis(start);
+  }
+
   public final String getKeywords() {
     return this.keywords;
   }
@@ -150,13 +176,52 @@ public class WebcastResource {
   }
 
   public final Date getCreated() {
+    return Timestamps.toDate(this.created);
+  }
+
+  /**
+   * @return The creation date/time as a no. of milliseconds since the epoch, or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getCreatedMillis() {
     return this.created;
   }
 
+  @XmlElement(name = "created")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getCreatedForXml() {
+    return Timestamps.toNullableMillis(this.created);
+  }
+
+  @SuppressWarnings("unused")
+  private void setCreatedForXml(Long created) {
+    this.created = Timestamps.fromNullableMillis(created);
+  }
+
   public final Date getLastUpdated() {
+    return Timestamps.toDate(this.lastUpdated);
+  }
+
+  /**
+   * @return The last updated date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getLastUpdatedMillis() {
     return this.lastUpdated;
   }
 
+  @XmlElement(name = "lastUpdated")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getLastUpdatedForXml() {
+    return Timestamps.toNullableMillis(this.lastUpdated);
+  }
+
+  @SuppressWarnings("unused")
+  private void setLastUpdatedForXml(Long lastUpdated) {
+    this.lastUpdated = Timestamps.fromNullableMillis(lastUpdated);
+  }
+
   public final List<Link> getLinks() {
     return this.links != null ? this.links : new ArrayList<Link>();
   }
@@ -170,7 +235,7 @@ public class WebcastResource {
       .add("description", this.description)
       .add("presenter", this.presenter)      
       .add("duration", this.duration)
-      .add("start", this.start)
+      .add("start", this.getStart())
       .add("keywords", this.keywords)
       .add("published", this.published)
       .add("visbility", this.visibility)
@@ -179,8 +244,8 @@ public class WebcastResource {
       .add("categories", this.categories)
       .add("status", this.status)
       .add("syndicationType", this.syndicationType)
-      .add("created", this.created)
-      .add("lastUpdated", this.lastUpdated)      
+      .add("created", this.getCreated())
+      .add("lastUpdated", this.getLastUpdated())      
       .add("links", this.links)      
       .toString();
     /* @formatter:on */    
@@ -192,16 +257,16 @@ public class WebcastResource {
     int result = 1;
     result = prime * result + ((this.categories == null) ? 0 : this.categories.hashCode());
     result = prime * result + ((this.clientBookingRef == null) ? 0 : this.clientBookingRef.hashCode());
-    result = prime * result + ((this.created == null) ? 0 : this.created.hashCode());
+    result = prime * result + (int) (this.created ^ (this.created >>> 32));
     result = prime * result + ((this.description == null) ? 0 : this.description.hashCode());
     result = prime * result + this.duration;
     result = prime * result + this.id;
     result = prime * result + ((this.keywords == null) ? 0 : this.keywords.hashCode());
-    result = prime * result + ((this.lastUpdated == null) ? 0 : this.lastUpdated.hashCode());
+    result = prime * result + (int) (this.lastUpdated ^ (this.lastUpdated >>> 32));
     result = prime * result + ((this.links == null) ? 0 : this.links.hashCode());
     result = prime * result + ((this.presenter == null) ? 0 : this.presenter.hashCode());
     result = prime * result + (this.published ? 1231 : 1237);
-    result = prime * result + ((this.start == null) ? 0 : this.start.hashCode());
+    result = prime * result + (int) (this.start ^ (this.start >>> 32));
     result = prime * result + ((this.status == null) ? 0 : this.status.hashCode());
     result = prime * result + ((this.syndicationType == null) ? 0 : this.syndicationType.hashCode());
     result = prime * result + ((this.title == null) ? 0 : this.title.hashCode());
@@ -236,11 +301,7 @@ public class WebcastResource {
     } else if (!this.clientBookingRef.equals(other.clientBookingRef)) {
       return false;
     }
-    if (this.created == null) {
-      if (other.created != null) {
-        return false;
-      }
-    } else if (!this.created.equals(other.created)) {
+    if (this.created != other.created) {
       return false;
     }
     if (this.description == null) {
@@ -263,11 +324,7 @@ public class WebcastResource {
     } else if (!this.keywords.equals(other.keywords)) {
       return false;
     }
-    if (this.lastUpdated == null) {
-      if (other.lastUpdated != null) {
-        return false;
-      }
-    } else if (!this.lastUpdated.equals(other.lastUpdated)) {
+    if (this.lastUpdated != other.lastUpdated) {
       return false;
     }
     if (this.links == null) {
@@ -287,11 +344,7 @@ public class WebcastResource {
     if (this.published != other.published) {
       return false;
     }
-    if (this.start == null) {
-      if (other.start != null) {
-        return false;
-      }
-    } else if (!this.start.equals(other.start)) {
+    if (this.start != other.start) {
       return false;
     }
     if (this.status == null) {
@@ -24,7 +24,13 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.brighttalk.channels.reportingapi.client.jaxb.EpochMillisXmlAdapter;
+import com.brighttalk.channels.reportingapi.client.jaxb.InterningStringXmlAdapter;
+import com.brighttalk.channels.reportingapi.client.jaxb.InterningUserXmlAdapter;
+import com.brighttalk.channels.reportingapi.client.jaxb.InterningWebcastXmlAdapter;
 import com.google.common.base.Objects;
 
 /**
@@ -37,13 +43,18 @@ import com.google.common.base.Objects;
 public class WebcastViewingResource {
   @XmlAttribute
   private int id;
+  @XmlJavaTypeAdapter(InterningWebcastXmlAdapter.class)
   private WebcastResource webcast;
+  @XmlJavaTypeAdapter(InterningStringXmlAdapter.class)
   private String webcastStatus;
   private int duration;
+  @XmlJavaTypeAdapter(InterningUserXmlAdapter.class)
   private User user;
   private Embed embed;
-  private Date created;
-  private Date lastUpdated;
+  @XmlTransient
+  private long created = Timestamps.NONE;
+  @XmlTransient
+  private long lastUpdated = Timestamps.NONE;
   @XmlElement(name = "link")
   private List<Link> links;
 
@@ -59,8 +70,8 @@ public class WebcastViewingResource {
     this.duration = duration;
     this.user = user;
     this.embed = embed;
-    this.created = created;
-    this.lastUpdated = lastUpdated;
+    this.created = Timestamps.toMillis(created);
+    this.lastUpdated = Timestamps.toMillis(lastUpdated);
     this.links = links;
   }
 
@@ -89,13 +100,52 @@ public class WebcastViewingResource {
   }
 
   public final Date getCreated() {
+    return Timestamps.toDate(this.created);
+  }
+
+  /**
+   * @return The creation date/time as a no. of milliseconds since the epoch, or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getCreatedMillis() {
     return this.created;
   }
 
+  @XmlElement(name = "created")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getCreatedForXml() {
+    return Timestamps.toNullableMillis(this.created);
+  }
+
+  @SuppressWarnings("unused")
+  private void setCreatedForXml(Long created) {
+    this.created = Timestamps.fromNullableMillis(created);
+  }
+
   public final Date getLastUpdated() {
+    return Timestamps.toDate(this.lastUpdated);
+  }
+
+  /**
+   * @return The last updated date/time as a no. of milliseconds since the epoch,
+   * or {@link Timestamps#NONE} if it's absent.
+   */
+  public final long getLastUpdatedMillis() {
     return this.lastUpdated;
   }
 
+  @XmlElement(name = "lastUpdated")
+  @XmlJavaTypeAdapter(EpochMillisXmlAdapter.class)
+  @SuppressWarnings("unused")
+  private Long getLastUpdatedForXml() {
+    return Timestamps.toNullableMillis(this.lastUpdated);
+  }
+
+  @SuppressWarnings("unused")
+  private void setLastUpdatedForXml(Long lastUpdated) {
+    this.lastUpdated = Timestamps.fromNullableMillis(lastUpdated);
+  }
+
   public final List<Link> getLinks() {
     return this.links != null ? this.links : new ArrayList<Link>();
   }
@@ -109,8 +159,8 @@ public class WebcastViewingResource {
       .add("duration", this.duration)
       .add("user", this.user)
       .add("embed", this.embed)
-      .add("created", this.created)
-      .add("lastUpdated", this.lastUpdated)        
+      .add("created", this.getCreated())
+      .add("lastUpdated", this.getLastUpdated())        
       .add("links", this.links)      
       .toString();    
     /* @formatter:on */
@@ -120,11 +170,11 @@ public class WebcastViewingResource {
   public int hashCode() {
     final int prime = 31;
     int result = 1;
-    result = prime * result + ((this.created == null) ? 0 : this.created.hashCode());
+    result = prime * result + (int) (this.created ^ (this.created >>> 32));
     result = prime * result + this.duration;
     result = prime * result + ((this.embed == null) ? 0 : this.embed.hashCode());
     result = prime * result + this.id;
-    result = prime * result + ((this.lastUpdated == null) ? 0 : this.lastUpdated.hashCode());
+    result = prime * result + (int) (this.lastUpdated ^ (this.lastUpdated >>> 32));
     result = prime * result + ((this.links == null) ? 0 : this.links.hashCode());
     result = prime * result + ((this.user == null) ? 0 : this.user.hashCode());
     result = prime * result + ((this.webcast == null) ? 0 : this.webcast.hashCode());
@@ -143,11 +193,7 @@ public class WebcastViewingResource {
       return false;
     }
     WebcastViewingResource other = (WebcastViewingResource) obj;
-    if (this.created == null) {
-      if (other.created != null) {
-        return false;
-      }
-    } else if (!this.created.equals(other.created)) {
+    if (this.created != other.created) {
       return false;
     }
     if (this.duration != other.duration) {
@@ -163,11 +209,7 @@ public class WebcastViewingResource {
     if (this.id != other.id) {
       return false;
     }
-    if (this.lastUpdated == null) {
-      if (other.lastUpdated != null) {
-        return false;
-      }
-    } else if (!this.lastUpdated.equals(other.lastUpdated)) {
+    if (this.lastUpdated != other.lastUpdated) {
       return false;
     }
     if (this.links == null) {
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * The Apache HttpClient {@link RequestConfig} (timeouts etc) to apply to requests made to the API service, comprising
+ * a default and optional overrides for individual {@link ApiEndpoint API endpoints}.
+ * <p>
+ * Immutable and thread safe.
+ */
+public final class ApiEndpointRequestConfigs {
+
+  private final RequestConfig defaultRequestConfig;
+  private final Map<ApiEndpoint, RequestConfig> endpointRequestConfigs;
+
+  /**
+   * @param defaultRequestConfig The {@link RequestConfig} to apply to requests for which there is no endpoint specific
+   * config.
+   * @param endpointRequestConfigs Optional map of endpoint specific {@link RequestConfig}. Can be null or empty.
+   */
+  public ApiEndpointRequestConfigs(RequestConfig defaultRequestConfig,
+      Map<ApiEndpoint, RequestConfig> endpointRequestConfigs) {
+    this.defaultRequestConfig =
+        Preconditions.checkNotNull(defaultRequestConfig, "defaultRequestConfig must not be null.");
+    this.endpointRequestConfigs = new EnumMap<>(ApiEndpoint.class);
+    if (endpointRequestConfigs != null) {
+      this.endpointRequestConfigs.putAll(endpointRequestConfigs);
+    }
+  }
+
+  /**
+   * @return The default {@link RequestConfig}.
+   */
+  public RequestConfig getDefaultRequestConfig() {
+    return this.defaultRequestConfig;
+  }
+
+  /**
+   * @param uri The {@link URI} of a request.
+   * @return The {@link RequestConfig} to apply to the request - the config for the API endpoint with the URI's path if
+   * there is one, otherwise the default config.
+   */
+  public RequestConfig forUri(URI uri) {
+    if (!this.endpointRequestConfigs.isEmpty()) {
+      ApiEndpoint endpoint = ApiEndpoint.forPath(uri.getPath());
+      if (endpoint != null && this.endpointRequestConfigs.containsKey(endpoint)) {
+        return this.endpointRequestConfigs.get(endpoint);
+      }
+    }
+    return this.defaultRequestConfig;
+  }
+
+  /**
+   * @param uri The {@link URI} of a request.
+   * @return A new {@link HttpContext} for the request, containing the {@link RequestConfig} to apply to it.
+   */
+  HttpContext createHttpContext(URI uri) {
+    HttpClientContext context = HttpClientContext.create();
+    context.setRequestConfig(this.forUri(uri));
+    return context;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("defaultRequestConfig", this.defaultRequestConfig)
+      .add("endpointRequestConfigs", this.endpointRequestConfigs)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.brighttalk.channels.reportingapi.client.spring;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -28,7 +29,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.web.client.HttpMessageConverterExtractor;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClientException;
@@ -38,6 +38,7 @@ import com.brighttalk.channels.reportingapi.client.ApiClientException;
 import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
 import com.brighttalk.channels.reportingapi.client.resource.ApiError;
 import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
 
 /**
  * Implementation of {@link org.springframework.web.client.ResponseErrorHandler} for responses returned by the
@@ -47,6 +48,11 @@ import com.google.common.base.Preconditions;
  * {@link org.springframework.web.client.HttpStatusCodeException}. Also supports unmarshalling the supplementary, custom
  * error information returned by the API in the response body to an {@link ApiError} object, and making it available in
  * the thrown Exception.
+ * <p>
+ * The body of an error response is read (buffered) once, and shared by the unmarshalling of the {@link ApiError} and
+ * the thrown exception. At most a configurable max no. of bytes of the body are read, so that large error responses,
+ * such as an HTML error page returned by a web proxy, don't consume an excessive amount of memory. If the body exceeds
+ * the max size it's truncated, and no attempt is made to unmarshal an {@link ApiError} from it.
  * 
  * @see org.springframework.web.client.DefaultResponseErrorHandler
  * @see com.brighttalk.channels.reportingapi.client.ApiErrorResponseException
@@ -56,12 +62,17 @@ public class ApiResponseErrorHandler implements ResponseErrorHandler {
 
   private static final Logger logger = LoggerFactory.getLogger(ApiResponseErrorHandler.class);
 
+  /** Default max no. of bytes of an error response body which are read. */
+  public static final int DEFAULT_MAX_RESPONSE_BODY_BYTES = 64 * 1024;
+
   /**
    * Instance of {@link org.springframework.web.client.ResponseExtractor} used to extract and unmarshall the optional
    * {@link Error} in the body of an HTTP error response returned by the API service.
    */
   private HttpMessageConverterExtractor<ApiError> errorResponseExtractor;
 
+  private int maxResponseBodyBytes = DEFAULT_MAX_RESPONSE_BODY_BYTES;
+
   /**
    * @param messageConverters The list of {@link HttpMessageConverter} that should be used to convert the body of an
    * error response returned by the API service. All of the supplied converters must be capable of reading an
@@ -78,6 +89,22 @@ public class ApiResponseErrorHandler implements ResponseErrorHandler {
     this.errorResponseExtractor = new HttpMessageConverterExtractor<ApiError>(ApiError.class, messageConverters);
   }
 
+  /**
+   * @return The max no. of bytes of an error response body which are read.
+   */
+  public final int getMaxResponseBodyBytes() {
+    return this.maxResponseBodyBytes;
+  }
+
+  /**
+   * @param maxResponseBodyBytes The max no. of bytes of an error response body which are read. Any remaining bytes are
+   * discarded. Must not be negative. Defaults to {@link #DEFAULT_MAX_RESPONSE_BODY_BYTES}.
+   */
+  public final void setMaxResponseBodyBytes(int maxResponseBodyBytes) {
+    Preconditions.checkArgument(maxResponseBodyBytes >= 0, "maxResponseBodyBytes must not be negative.");
+    this.maxResponseBodyBytes = maxResponseBodyBytes;
+  }
+
   /**
    * {@inheritDoc}
    * <p>
@@ -98,9 +125,15 @@ public class ApiResponseErrorHandler implements ResponseErrorHandler {
   @Override
   public void handleError(ClientHttpResponse response) throws ApiErrorResponseException, IOException {
     HttpStatus statusCode = getHttpStatusCode(response);
-    ApiError apiError = this.extractErrorResponse(response);
+    BufferedClientHttpResponse bufferedResponse = this.bufferResponseBody(response);
+    ApiError apiError = null;
+    if (bufferedResponse.truncated) {
+      logger.debug("Error response body exceeds [{}] bytes. Not extracting API error.", this.maxResponseBodyBytes);
+    } else {
+      apiError = this.extractErrorResponse(bufferedResponse);
+    }
     throw new ApiErrorResponseException(statusCode.value(), response.getStatusText(), response.getHeaders(),
-        getCharset(response), getResponseBody(response), apiError);
+        getCharset(response), bufferedResponse.body, apiError);
   }
 
   /**
@@ -123,21 +156,31 @@ public class ApiResponseErrorHandler implements ResponseErrorHandler {
       statusCode = response.getStatusCode();
     } catch (IllegalArgumentException ex) {
       throw new UnknownHttpStatusCodeException(response.getRawStatusCode(), response.getStatusText(),
-          response.getHeaders(), getResponseBody(response), getCharset(response));
+          response.getHeaders(), this.bufferResponseBody(response).body, getCharset(response));
     }
     return statusCode;
   }
 
-  private byte[] getResponseBody(ClientHttpResponse response) {
+  /**
+   * Reads up to the max no. of bytes of the body of a supplied response into memory.
+   * 
+   * @param response The {@link ClientHttpResponse}.
+   * @return A {@link BufferedClientHttpResponse} containing the read bytes. An I/O error on reading the body is
+   * ignored, resulting in an empty body.
+   */
+  private BufferedClientHttpResponse bufferResponseBody(ClientHttpResponse response) {
+    byte[] body = new byte[0];
+    boolean truncated = false;
     try {
       InputStream responseBody = response.getBody();
       if (responseBody != null) {
-        return FileCopyUtils.copyToByteArray(responseBody);
+        body = ByteStreams.toByteArray(ByteStreams.limit(responseBody, this.maxResponseBodyBytes));
+        truncated = body.length == this.maxResponseBodyBytes && responseBody.read() != -1;
       }
     } catch (IOException ex) {
       // ignore
     }
-    return new byte[0];
+    return new BufferedClientHttpResponse(response, body, truncated);
   }
 
   private Charset getCharset(ClientHttpResponse response) {
@@ -173,4 +216,50 @@ public class ApiResponseErrorHandler implements ResponseErrorHandler {
     }
     return apiError;
   }
-}
\ No newline at end of file
+
+  /**
+   * A {@link ClientHttpResponse} whose body has been read into memory, allowing it to be read more than once. All other
+   * properties are those of the original response, which remains responsible for releasing the connection.
+   */
+  private static final class BufferedClientHttpResponse implements ClientHttpResponse {
+    private final ClientHttpResponse response;
+    private final byte[] body;
+    private final boolean truncated;
+
+    private BufferedClientHttpResponse(ClientHttpResponse response, byte[] body, boolean truncated) {
+      this.response = response;
+      this.body = body;
+      this.truncated = truncated;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+      return this.response.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+      return this.response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return this.response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return this.response.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() {
+      return new ByteArrayInputStream(this.body);
+    }
+
+    @Override
+    public void close() {
+      // The original response is closed by its owner
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.regex.Pattern;
+
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.common.RequestParamsBuilder;
+import com.google.common.base.Preconditions;
+
+/**
+ * The (validated) protocol, host name and port of an API service, and the building of the absolute URLs of the API
+ * resources it serves. Shared by the synchronous and asynchronous Spring implementations of the API client.
+ * <p>
+ * Immutable and thread safe.
+ */
+final class ApiServiceEndpoint {
+
+  private static final String PROTOCOL_HTTP = "http";
+  private static final String PROTOCOL_HTTPS = "https";
+  private static final int HTTP_DEFAULT_PORT = 80;
+  private static final int HTTPS_DEFAULT_PORT = 443;
+  /** Compiled regex for a valid host name. See http://en.wikipedia.org/wiki/Hostname#Restrictions_on_valid_host_names */
+  private static final Pattern VALID_HOST_NAME_PATTERN =
+      Pattern.compile("[a-zA-Z0-9\\.\\-]{4,253}", Pattern.CASE_INSENSITIVE);
+
+  private final String protocol;
+  private final String hostName;
+  private final int port;
+  private final URI baseUri;
+  private final String baseUriString;
+
+  /**
+   * @param protocol The protocol used to communicate with the BrightTALK API service. One of "http" or "https".
+   * Optional. If null defaults to "https".
+   * @param hostName The host name of the BrightTALK API service. A fully qualified domain name.
+   * @param port The port of the BrightTALK API service. Optional. If null defaults to 80 or 443 depending on
+   * {@code protocol}.
+   */
+  ApiServiceEndpoint(String protocol, String hostName, Integer port) {
+    if (protocol == null) {
+      protocol = PROTOCOL_HTTPS;
+    }
+    Preconditions.checkArgument(PROTOCOL_HTTP.equalsIgnoreCase(protocol) || PROTOCOL_HTTPS.equalsIgnoreCase(protocol),
+        "API service protocol must be one or '%s' or '%s', not [%s]", PROTOCOL_HTTP, PROTOCOL_HTTPS, protocol);
+    this.protocol = protocol.toLowerCase();
+
+    Preconditions.checkNotNull(hostName, "API service host name must not be null.");
+    Preconditions.checkArgument(VALID_HOST_NAME_PATTERN.matcher(hostName).matches(),
+        "Invalid API service host name [%s].", hostName);
+    this.hostName = hostName;
+
+    if (port == null) {
+      port = PROTOCOL_HTTP.equalsIgnoreCase(protocol) ? HTTP_DEFAULT_PORT : HTTPS_DEFAULT_PORT;
+    }
+    Preconditions.checkArgument(port > 0, "API service port must be a positive number, not [%s]", port);
+    this.port = port;
+
+    this.baseUri = initBaseUri(this.protocol, this.hostName, this.port);
+    this.baseUriString = this.baseUri.toString();
+  }
+
+  String getProtocol() {
+    return this.protocol;
+  }
+
+  String getHostName() {
+    return this.hostName;
+  }
+
+  int getPort() {
+    return this.port;
+  }
+
+  /**
+   * @return The base (protocol, host name and optional port) {@link URI} of the API service. A new instance, to
+   * preserve immutability.
+   */
+  URI getBaseUri() {
+    try {
+      return new URI(this.baseUri.toString());
+    } catch (URISyntaxException e) {
+      throw new ApiClientException(e);
+    }
+  }
+
+  /**
+   * Builds the absolute HTTP URI of an API endpoint from the API service's base URI, the endpoint's (precompiled) URI
+   * template, the values of its template variables and an optional map of request parameters.
+   * <p>
+   * The URI is built and encoded in a single pass. The returned URI is complete, so it should be passed to the
+   * {@code URI} variants of the {@code RestTemplate} methods, which don't re-parse or re-encode it.
+   * 
+   * @param endpoint The {@link ApiEndpoint} whose relative URI template is to be appended to the base URI.
+   * @param requestParams Optional request parameters to be appended to the URI. Can be null.
+   * @param uriVariables The values of the endpoint's URI template variables, in the order they occur in the template.
+   * @return The absolute, encoded {@link URI}.
+   */
+  URI buildAbsoluteHttpUri(ApiEndpoint endpoint, RequestParamsBuilder requestParams, Object... uriVariables) {
+    return endpoint.getUriTemplate().expand(this.baseUriString, requestParams, uriVariables);
+  }
+
+  private static URI initBaseUri(String protocol, String hostName, int port) {
+    try {
+      return new URI(protocol + "://" + hostName + ":" + port);
+    } catch (URISyntaxException e) {
+      throw new ApiClientException(e);
+    }
+  }
+}
@@ -15,38 +15,86 @@
  */
 package com.brighttalk.channels.reportingapi.client.spring;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLInputFactory;
 
 import org.apache.http.Header;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.http.message.BasicHeader;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.xml.Jaxb2RootElementHttpMessageConverter;
 import org.springframework.http.converter.xml.MarshallingHttpMessageConverter;
 import org.springframework.oxm.Marshaller;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
 import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.AsyncApiClient;
+import com.brighttalk.channels.reportingapi.client.StreamingApiClient;
+import com.brighttalk.channels.reportingapi.client.common.ApiCredentials;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.common.ApiRateLimiter;
+import com.brighttalk.channels.reportingapi.client.common.ExponentialBackoffRetryPolicy;
+import com.brighttalk.channels.reportingapi.client.common.RetryPolicy;
+import com.brighttalk.channels.reportingapi.client.http.client.ConnectionTimingHttpRequestExecutor;
+import com.brighttalk.channels.reportingapi.client.http.client.IdleConnectionEvictor;
+import com.brighttalk.channels.reportingapi.client.http.client.InstrumentedHttpClientConnectionManager;
+import com.brighttalk.channels.reportingapi.client.http.client.JmxConnectionPoolMetrics;
 import com.brighttalk.channels.reportingapi.client.http.client.PreemptiveBasicAuthHttpRequestInterceptor;
 import com.brighttalk.channels.reportingapi.client.jaxb.CustomValidationEventHandler;
+import com.brighttalk.channels.reportingapi.client.metrics.JmxApiClientMetrics;
+import com.brighttalk.channels.reportingapi.client.resource.ApiError;
 import com.brighttalk.channels.reportingapi.client.resource.ChannelResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscriberWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponseResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveysResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
 
 /**
  * An instance of a {@link Configuration Spring Java Config} class which declares the objects used by the
@@ -64,6 +112,24 @@ import com.brighttalk.channels.reportingapi.client.resource.ChannelResource;
 @PropertySource("classpath:brighttalk-channel-reporting-api-client-${environment:dev}.properties")
 public class AppConfig {
 
+  /** Default max time (millis) to wait to establish a connection to the API service. */
+  private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 5000;
+  /** Default max time (millis) to wait for data (the next packet) to be received from the API service. */
+  private static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 60000;
+  /** Default max time (millis) to wait for a connection to become available from the connection pool. */
+  private static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 2000;
+
+  /**
+   * The root (XML root element) classes of the API resource model, which the JAXB context is created from. Explicitly
+   * listed to avoid scanning the classpath for them on startup. Classes they reference are bound automatically.
+   */
+  private static final Class<?>[] API_RESOURCE_ROOT_CLASSES = { ApiError.class, ChannelResource.class,
+      ChannelsResource.class, ChannelSubscriberResource.class, ChannelSubscribersResource.class,
+      SubscriberWebcastActivityResource.class, SubscribersWebcastActivityResource.class, SurveyResource.class,
+      SurveysResource.class, SurveyResponseResource.class, SurveyResponsesResource.class, WebcastResource.class,
+      WebcastsResource.class, WebcastRegistrationResource.class, WebcastRegistrationsResource.class,
+      WebcastViewingResource.class, WebcastViewingsResource.class };
+
   // Environment specific API service properties injected from external config (props file)
   @Value("${apiService.protocol}")
   private String apiServiceProtocol;
@@ -79,6 +145,71 @@ public class AppConfig {
   @Value("#{'${defaultRequestHeaders:}'.split(';;')}") 
   private List<String> defaultRequestHeaders;
 
+  // HTTP client connection pool properties. Defaults are used if not set in external config (props file)
+  @Value("${httpClient.connectionPool.maxTotal:100}")
+  private int connectionPoolMaxTotal;
+  @Value("${httpClient.connectionPool.maxPerRoute:20}")
+  private int connectionPoolMaxPerRoute;
+  @Value("${httpClient.connectionPool.timeToLiveMillis:300000}")
+  private long connectionPoolTimeToLiveMillis;
+  @Value("${httpClient.connectionPool.maxIdleTimeMillis:30000}")
+  private long connectionPoolMaxIdleTimeMillis;
+  @Value("${httpClient.connectionPool.evictionIntervalMillis:5000}")
+  private long connectionPoolEvictionIntervalMillis;
+  @Value("${httpClient.connectionPool.staleConnectionCheckEnabled:true}")
+  private boolean connectionPoolStaleConnectionCheckEnabled;
+
+  // HTTP client default timeout properties. Defaults are used if not set in external config (props file). Can be
+  // overridden per API client method using the same property names qualified by the method name.
+  @Value("${httpClient.connectTimeoutMillis:" + DEFAULT_CONNECT_TIMEOUT_MILLIS + "}")
+  private int connectTimeoutMillis;
+  @Value("${httpClient.socketTimeoutMillis:" + DEFAULT_SOCKET_TIMEOUT_MILLIS + "}")
+  private int socketTimeoutMillis;
+  @Value("${httpClient.connectionRequestTimeoutMillis:" + DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS + "}")
+  private int connectionRequestTimeoutMillis;
+
+  // API call retry properties. Defaults are used if not set in external config (props file)
+  @Value("${apiClient.retry.maxAttempts:3}")
+  private int retryMaxAttempts;
+  @Value("${apiClient.retry.baseDelayMillis:500}")
+  private long retryBaseDelayMillis;
+  @Value("${apiClient.retry.maxDelayMillis:30000}")
+  private long retryMaxDelayMillis;
+
+  // API call rate limit properties. Rate limiting is disabled unless a rate is set in external config (props file)
+  @Value("${apiClient.rateLimit.permitsPerSecond:0}")
+  private double rateLimitPermitsPerSecond;
+  @Value("${apiClient.rateLimit.burstSize:1}")
+  private int rateLimitBurstSize;
+  @Value("${apiClient.rateLimit.maxWaitMillis:30000}")
+  private long rateLimitMaxWaitMillis;
+
+  // Unmarshaller pool properties. Defaults are used if not set in external config (props file)
+  @Value("${apiClient.unmarshallerPool.maxIdle:" + PoolingJaxb2Marshaller.DEFAULT_MAX_IDLE_UNMARSHALLERS + "}")
+  private int unmarshallerPoolMaxIdle;
+  @Value("${apiClient.unmarshallerPool.initialSize:0}")
+  private int unmarshallerPoolInitialSize;
+
+  // Max no. of bytes of an error response body which are read. The default is used if not set in external config
+  @Value("${apiClient.errorResponse.maxBodyBytes:" + ApiResponseErrorHandler.DEFAULT_MAX_RESPONSE_BODY_BYTES + "}")
+  private int errorResponseMaxBodyBytes;
+
+  // Optional class of StAX XMLInputFactory used to parse API responses. The JVM's default is used if not set
+  @Value("${apiClient.xmlInputFactoryClass:}")
+  private String xmlInputFactoryClass;
+
+  // API call metrics properties. Metrics are only published via JMX if enabled in external config (props file)
+  @Value("${apiClient.metrics.jmx.domain:" + JmxApiClientMetrics.DEFAULT_DOMAIN + "}")
+  private String metricsJmxDomain;
+
+  /** The API call metrics published via JMX, only present if enabled (see {@link MetricsJmxEnabledCondition}). */
+  @Autowired(required = false)
+  private JmxApiClientMetrics metricsJmx;
+
+  /** The Spring environment, used to resolve the optional per API client method properties. */
+  @Autowired
+  private Environment environment;
+
   /**
    * The classes of exception which should be treated as fatal if they occur as the root cause of a marshalling or
    * unmmarshalling error reported to the application's configured JAXB ValidationEventHandler. Defaults to none (empty
@@ -102,14 +233,66 @@ public class AppConfig {
   }
 
   /**
-   * Creates a fully configured instance of an implementation of the {@link ApiClient BrightTALK Reporting API client}.
+   * Creates a fully configured instance of an implementation of the {@link ApiClient BrightTALK Reporting API client},
+   * which also supports the {@link StreamingApiClient streaming} API calls.
+   * 
+   * @return The {@link StreamingApiClient}.
+   */
+  @Bean
+  public StreamingApiClient apiClient() {
+    SpringApiClientImpl apiClient = new SpringApiClientImpl(this.apiServiceProtocol, this.apiServiceHostName,
+        this.apiServicePort, this.apiClientRestTemplate(), this.marshaller());
+    apiClient.setRetryPolicy(this.retryPolicy());
+    apiClient.setXmlInputFactory(this.xmlInputFactory());
+    if (this.metricsJmx != null) {
+      apiClient.setMetrics(this.metricsJmx);
+    }
+    return apiClient;
+  }
+
+  /**
+   * @return The {@link RetryPolicy} used by the {@link #apiClient() API client} to retry API calls which fail due to a
+   * transient error, configured with the externally configured max no. of attempts and delays.
+   */
+  @Bean
+  public RetryPolicy retryPolicy() {
+    return new ExponentialBackoffRetryPolicy(this.retryMaxAttempts, this.retryBaseDelayMillis,
+        this.retryMaxDelayMillis);
+  }
+
+  /**
+   * @return The {@link JmxApiClientMetrics} which records the metrics of the API calls made by the
+   * {@link #apiClient() API client} and publishes them via the platform MBean server. Only created if enabled in
+   * external config.
+   */
+  @Bean(initMethod = "register", destroyMethod = "unregister")
+  @Conditional(MetricsJmxEnabledCondition.class)
+  public JmxApiClientMetrics jmxApiClientMetrics() {
+    return new JmxApiClientMetrics(ManagementFactory.getPlatformMBeanServer(), this.metricsJmxDomain);
+  }
+
+  /**
+   * @return The {@link JmxConnectionPoolMetrics} which publishes the live statistics and connection lifecycle metrics
+   * of the {@link #httpClientConnectionManager() HTTP connection pool} via the platform MBean server. Only created if
+   * enabled in external config.
+   */
+  @Bean(initMethod = "register", destroyMethod = "unregister")
+  @Conditional(MetricsJmxEnabledCondition.class)
+  public JmxConnectionPoolMetrics jmxConnectionPoolMetrics() {
+    return new JmxConnectionPoolMetrics(this.httpClientConnectionManager(), ManagementFactory.getPlatformMBeanServer(),
+        this.metricsJmxDomain);
+  }
+
+  /**
+   * Creates a fully configured instance of an implementation of the {@link AsyncApiClient asynchronous BrightTALK
+   * Reporting API client}.
    * 
-   * @return The {@link ApiClient}.
+   * @return The {@link AsyncApiClient}.
    */
   @Bean
-  public ApiClient apiClient() {
-    return new SpringApiClientImpl(this.apiServiceProtocol, this.apiServiceHostName, this.apiServicePort,
-        this.apiClientRestTemplate());
+  public AsyncApiClient asyncApiClient() {
+    return new SpringAsyncApiClientImpl(this.apiServiceProtocol, this.apiServiceHostName, this.apiServicePort,
+        this.apiClientAsyncRestTemplate());
   }
 
   /**
@@ -123,9 +306,39 @@ public class AppConfig {
     RestTemplate restTemplate = new RestTemplate(this.httpMessageConverters());
     restTemplate.setRequestFactory(this.clientHttpRequestFactory());
     restTemplate.setErrorHandler(this.responseErrorHandler());
+    if (this.rateLimitPermitsPerSecond > 0) {
+      restTemplate.setInterceptors(Collections.<ClientHttpRequestInterceptor> singletonList(
+          new RateLimitingClientHttpRequestInterceptor(this.apiRateLimiter(), this.apiCredentials())));
+    }
     return restTemplate;
   }
 
+  /**
+   * Creates the {@link ApiRateLimiter} used to limit the rate at which the {@link #apiClient() API client} makes API
+   * calls, configured with the externally configured rate, burst size and max wait time. Only created if a rate is
+   * configured.
+   * 
+   * @return The {@link ApiRateLimiter}.
+   */
+  @Bean
+  @Lazy
+  public ApiRateLimiter apiRateLimiter() {
+    return new ApiRateLimiter(this.rateLimitPermitsPerSecond, this.rateLimitBurstSize, this.rateLimitMaxWaitMillis);
+  }
+
+  /**
+   * Creates and configures the instance of {@link AsyncRestTemplate} to be used by the asynchronous API client.
+   * <p>
+   * The AsyncRestTemplate delegates to the API client's (synchronous) {@link RestTemplate} for its HTTP message
+   * converters and error handler, so API responses are unmarshalled, and API errors reported, identically.
+   * 
+   * @return The instance of {@link AsyncRestTemplate} to be used by the asynchronous API client.
+   */
+  @Bean
+  public AsyncRestTemplate apiClientAsyncRestTemplate() {
+    return new AsyncRestTemplate(this.asyncClientHttpRequestFactory(), this.apiClientRestTemplate());
+  }
+
   /**
    * Creates the list of {@link HttpMessageConverter} that the {@link RestTemplate} should use to read/write HTTP
    * request and response body. Ultimately dictates the set of media-types supported by the client.
@@ -143,25 +356,44 @@ public class AppConfig {
 
   /**
    * Creates and configures a {@link Marshaller} to be used for both marshalling and unmarshalling HTTP request and
-   * response bodies.
+   * response bodies, and unmarshalling the individual API resources in streamed responses.
    * <p>
    * The created Marshaller is configured with a custom JAXB {@link javax.xml.bind.ValidationEventHandler} which
    * supports logging not fatal validation errors that occur on unmarshalling, and optionally classifying them as fatal
    * errors depending on the class of causal ('linked') exception.
+   * <p>
+   * The JAXB context is created eagerly, from an explicit list of the API resource classes. Configured unmarshallers
+   * are pooled for reuse by all threads, and the externally configured initial no. of them are created on startup.
+   * Response bodies are parsed using the shared {@link #xmlInputFactory() StAX XMLInputFactory}.
    * 
    * @return The created {@link Marshaller}.
    */
   @Bean
-  public Marshaller marshaller() {
-    Jaxb2Marshaller jaxb2Marshaller = new Jaxb2Marshaller();
+  public Jaxb2Marshaller marshaller() {
+    PoolingJaxb2Marshaller jaxb2Marshaller = new PoolingJaxb2Marshaller();
     CustomValidationEventHandler eventHandler = new CustomValidationEventHandler();
     eventHandler.setFatalLinkedExceptions(this.marshallingErrorFatalExceptions);
     jaxb2Marshaller.setValidationEventHandler(eventHandler);
-    Package apiResourcesRootPackage = ChannelResource.class.getPackage();
-    jaxb2Marshaller.setPackagesToScan(new String[] { apiResourcesRootPackage.getName() });
+    jaxb2Marshaller.setClassesToBeBound(API_RESOURCE_ROOT_CLASSES);
+    jaxb2Marshaller.setMaxIdleUnmarshallers(this.unmarshallerPoolMaxIdle);
+    jaxb2Marshaller.setInitialUnmarshallers(this.unmarshallerPoolInitialSize);
+    jaxb2Marshaller.setXmlInputFactory(this.xmlInputFactory());
     return jaxb2Marshaller;
   }
 
+  /**
+   * Creates the StAX {@link XMLInputFactory} shared by the {@link #marshaller() marshaller} and the
+   * {@link #apiClient() API client} to parse all API responses. Uses the externally configured class of factory, if
+   * set, to support the use of a faster StAX implementation than the JVM's default, e.g. Woodstox or Aalto.
+   * 
+   * @return The {@link XMLInputFactory}.
+   * @see XmlInputFactories#create(String)
+   */
+  @Bean
+  public XMLInputFactory xmlInputFactory() {
+    return XmlInputFactories.create(this.xmlInputFactoryClass);
+  }
+
   /**
    * @return The instance of {@link ClientHttpRequestFactory} to be used to create HTTP requests.
    */
@@ -170,27 +402,168 @@ public class AppConfig {
     // Use the Apache HttpComponents implementation of ClientHttpRequestFactory as it provides an HTTP client that
     // supports the use of authentication, connection pooling and returning HTTP response status codes for RESTful
     // errors without exceptions being thrown.
-    return new HttpComponentsClientHttpRequestFactory(this.httpClient());
+    return new RequestConfigHttpComponentsClientHttpRequestFactory(this.httpClient(),
+        this.apiEndpointRequestConfigs());
+  }
+
+  /**
+   * @return The default {@link RequestConfig} applied to requests made by the {@link #httpClient() HTTP clients}.
+   * Configures the externally configured default timeouts. Bounding all timeouts ensures a stalled connection or
+   * exhausted connection pool can't block an API call indefinitely.
+   */
+  @Bean
+  public RequestConfig requestConfig() {
+    /* @formatter:off */
+    return RequestConfig.custom()
+        .setConnectTimeout(this.connectTimeoutMillis)
+        .setSocketTimeout(this.socketTimeoutMillis)
+        .setConnectionRequestTimeout(this.connectionRequestTimeoutMillis)
+        .setStaleConnectionCheckEnabled(this.connectionPoolStaleConnectionCheckEnabled)
+        .build();
+    /* @formatter:on */
+  }
+
+  /**
+   * Creates the {@link RequestConfig} to apply to the requests for each API client method, comprising the
+   * {@link #requestConfig() default config}, overridden by any timeouts externally configured for individual methods
+   * using properties of the form httpClient.[methodName].[connectTimeoutMillis|socketTimeoutMillis|
+   * connectionRequestTimeoutMillis], e.g. httpClient.getWebcastViewingsForChannel.socketTimeoutMillis=120000.
+   * 
+   * @return The {@link ApiEndpointRequestConfigs}.
+   */
+  @Bean
+  public ApiEndpointRequestConfigs apiEndpointRequestConfigs() {
+    Map<ApiEndpoint, RequestConfig> endpointRequestConfigs = new EnumMap<>(ApiEndpoint.class);
+    for (ApiEndpoint endpoint : ApiEndpoint.values()) {
+      String propertyPrefix = "httpClient." + endpoint.getMethodName() + ".";
+      Integer connectTimeout = this.environment.getProperty(propertyPrefix + "connectTimeoutMillis", Integer.class);
+      Integer socketTimeout = this.environment.getProperty(propertyPrefix + "socketTimeoutMillis", Integer.class);
+      Integer connectionRequestTimeout =
+          this.environment.getProperty(propertyPrefix + "connectionRequestTimeoutMillis", Integer.class);
+      if (connectTimeout != null || socketTimeout != null || connectionRequestTimeout != null) {
+        RequestConfig.Builder builder = RequestConfig.copy(this.requestConfig());
+        if (connectTimeout != null) {
+          builder.setConnectTimeout(connectTimeout);
+        }
+        if (socketTimeout != null) {
+          builder.setSocketTimeout(socketTimeout);
+        }
+        if (connectionRequestTimeout != null) {
+          builder.setConnectionRequestTimeout(connectionRequestTimeout);
+        }
+        endpointRequestConfigs.put(endpoint, builder.build());
+      }
+    }
+    return new ApiEndpointRequestConfigs(this.requestConfig(), endpointRequestConfigs);
+  }
+
+  /**
+   * Creates the pool of HTTP connections used by the {@link #httpClient() HTTP client}, sized according to the
+   * externally configured max no. of connections in total and per route (API service host). The max per route limits
+   * the no. of concurrent requests which can be made to the API service, irrespective of the no. of calling threads.
+   * <p>
+   * The pool records metrics of its connections' lifecycle, which are published via JMX along with its live statistics
+   * if enabled in external config, to support tuning its size.
+   * 
+   * @return The {@link InstrumentedHttpClientConnectionManager}.
+   */
+  @Bean
+  public InstrumentedHttpClientConnectionManager httpClientConnectionManager() {
+    InstrumentedHttpClientConnectionManager connectionManager =
+        new InstrumentedHttpClientConnectionManager(this.connectionPoolTimeToLiveMillis, TimeUnit.MILLISECONDS);
+    connectionManager.setMaxTotal(this.connectionPoolMaxTotal);
+    connectionManager.setDefaultMaxPerRoute(this.connectionPoolMaxPerRoute);
+    return connectionManager;
+  }
+
+  /**
+   * @return The {@link IdleConnectionEvictor} which periodically evicts expired and idle connections from the
+   * {@link #httpClientConnectionManager() HTTP connection pool}.
+   */
+  @Bean(initMethod = "start", destroyMethod = "shutdown")
+  public IdleConnectionEvictor idleConnectionEvictor() {
+    return new IdleConnectionEvictor(this.httpClientConnectionManager(), this.connectionPoolMaxIdleTimeMillis,
+        this.connectionPoolEvictionIntervalMillis);
   }
 
   /**
    * @return The instance of {@link HttpClient} to be used by {@link ClientHttpRequestFactory} to create client
-   * requests. Pre-configured to support basic authentication using externally configured API user credentials, and to
-   * utilise the API service's support for HTTP response compression (using gzip).
+   * requests. Pre-configured to support basic authentication using externally configured API user credentials, to
+   * utilise the API service's support for HTTP response compression (using gzip), and to use the externally configured
+   * {@link #httpClientConnectionManager() pool of connections}.
    */
   @Bean
   public HttpClient httpClient() {
     HttpClientBuilder builder = HttpClients.custom();
+    builder.setConnectionManager(this.httpClientConnectionManager());
+    builder.setDefaultRequestConfig(this.requestConfig());
+
+    // Record when each request's connection is ready, so the time spent obtaining it can be reported separately
+    builder.setRequestExecutor(new ConnectionTimingHttpRequestExecutor());
 
     // Configure the basic authentication credentials to use for all requests
+    builder.setDefaultCredentialsProvider(this.credentialsProvider());
+    builder.addInterceptorFirst(new PreemptiveBasicAuthHttpRequestInterceptor());
+
+    // Configure default request headers
+    builder.setDefaultHeaders(this.defaultHeaders());
+
+    // HttpClient should by default set the Accept-Encoding request header to indicate the client supports HTTP
+    // response compression using gzip
+
+    return builder.build();
+  }
+
+  /**
+   * @return The instance of {@link AsyncClientHttpRequestFactory} to be used to create asynchronous HTTP requests.
+   */
+  @Bean
+  public AsyncClientHttpRequestFactory asyncClientHttpRequestFactory() {
+    return new RequestConfigHttpComponentsAsyncClientHttpRequestFactory(this.httpAsyncClient(),
+        this.apiEndpointRequestConfigs());
+  }
+
+  /**
+   * @return The instance of non-blocking {@link CloseableHttpAsyncClient} to be used by the
+   * {@link AsyncClientHttpRequestFactory} to create client requests. Configured with the same authentication, default
+   * request headers and connection pool limits as the {@link #httpClient() blocking HTTP client}. Started on first
+   * use, and closed, along with its I/O threads, when the application context is closed.
+   */
+  @Bean
+  public CloseableHttpAsyncClient httpAsyncClient() {
+    HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
+    builder.setMaxConnTotal(this.connectionPoolMaxTotal);
+    builder.setMaxConnPerRoute(this.connectionPoolMaxPerRoute);
+    builder.setDefaultRequestConfig(this.requestConfig());
+    builder.setDefaultCredentialsProvider(this.credentialsProvider());
+    builder.addInterceptorFirst(new PreemptiveBasicAuthHttpRequestInterceptor());
+    builder.setDefaultHeaders(this.defaultHeaders());
+    // Unlike HttpClient, HttpAsyncClient 4.0 does not support decompressing responses, so doesn't request compression
+    return builder.build();
+  }
+
+  /**
+   * @return The {@link CredentialsProvider} holding the basic authentication credentials to use for all requests.
+   */
+  private CredentialsProvider credentialsProvider() {
     CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
     AuthScope authScope = new AuthScope(this.apiServiceHostName, this.apiServicePort);
     UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(this.apiUserKey, this.apiUserSecret);
     credentialsProvider.setCredentials(authScope, credentials);
-    builder.setDefaultCredentialsProvider(credentialsProvider);
-    builder.addInterceptorFirst(new PreemptiveBasicAuthHttpRequestInterceptor());
+    return credentialsProvider;
+  }
 
-    // Configure default request headers
+  /**
+   * @return The {@link ApiCredentials} of the configured API user.
+   */
+  private ApiCredentials apiCredentials() {
+    return new ApiCredentials(Integer.parseInt(this.apiUserKey), this.apiUserSecret);
+  }
+
+  /**
+   * @return The list of {@link Header} to set on all requests.
+   */
+  private List<Header> defaultHeaders() {
     List<Header> headers = new ArrayList<>(5);
     headers.add(new BasicHeader("Api-Client", SpringApiClientImpl.class.getCanonicalName()));
     if (this.defaultRequestHeaders != null) {
@@ -201,20 +574,29 @@ public class AppConfig {
         }
       }
     }
-    builder.setDefaultHeaders(headers);
-
-    // HttpClient should by default set the Accept-Encoding request header to indicate the client supports HTTP
-    // response compression using gzip
-
-    return builder.build();
+    return headers;
   }
 
   /**
-   * @return The instance of {@link ResponseErrorHandler} to be used by {@link RestTemplate}.
+   * @return The instance of {@link ResponseErrorHandler} to be used by {@link RestTemplate}, configured with the
+   * externally configured max size of error response body to read.
    */
   @Bean
   public ResponseErrorHandler responseErrorHandler() {
-    return new ApiResponseErrorHandler(
+    ApiResponseErrorHandler errorHandler = new ApiResponseErrorHandler(
         Arrays.asList(new HttpMessageConverter<?>[] { new Jaxb2RootElementHttpMessageConverter() }));
+    errorHandler.setMaxResponseBodyBytes(this.errorResponseMaxBodyBytes);
+    return errorHandler;
+  }
+
+  /**
+   * A {@link Condition} which only matches if publishing metrics via JMX is enabled in external config. Used to only
+   * create the beans which publish metrics via JMX when required.
+   */
+  static class MetricsJmxEnabledCondition implements Condition {
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+      return context.getEnvironment().getProperty("apiClient.metrics.jmx.enabled", Boolean.class, false);
+    }
   }
-}
\ No newline at end of file
+}
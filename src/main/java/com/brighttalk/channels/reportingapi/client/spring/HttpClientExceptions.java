@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.util.concurrent.TimeoutException;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+import com.brighttalk.channels.reportingapi.client.ConnectionRequestTimeoutException;
+import com.google.common.base.Throwables;
+
+/**
+ * Utility methods for classifying the exceptions thrown by the Apache HTTP clients, which Spring wraps in its own
+ * exceptions.
+ */
+final class HttpClientExceptions {
+
+  private HttpClientExceptions() {
+  }
+
+  /**
+   * Translates an exception reporting that an HTTP client timed out waiting to lease a connection from its connection
+   * pool to a {@link ConnectionRequestTimeoutException}.
+   * <p>
+   * The blocking HTTP client reports a {@link ConnectionPoolTimeoutException}. The asynchronous (non-blocking) HTTP
+   * client reports a {@link TimeoutException}.
+   * 
+   * @param t The exception reported by the HTTP client, or by the Spring REST template wrapping it.
+   * @return The translated {@link ConnectionRequestTimeoutException}, or null if the supplied exception, or one of its
+   * causes, doesn't report a connection request timeout.
+   */
+  static ConnectionRequestTimeoutException translateConnectionRequestTimeout(Throwable t) {
+    for (Throwable cause : Throwables.getCausalChain(t)) {
+      if (cause instanceof ConnectionPoolTimeoutException || cause instanceof TimeoutException) {
+        return new ConnectionRequestTimeoutException(
+            "Timed out waiting for a connection to the API service from the HTTP client's connection pool.", t);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+
+import com.brighttalk.channels.reportingapi.client.HttpErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.ResourceHandler;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.http.client.ConnectionTimingHttpRequestExecutor;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiCallPhase;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiCallSample;
+
+/**
+ * Measures the metrics of a single API call made using a {@link org.springframework.web.client.RestTemplate}, for
+ * reporting to an {@link com.brighttalk.channels.reportingapi.client.metrics.ApiClientMetrics}.
+ * <p>
+ * The API call's {@link ResponseExtractor} (and, for streamed API calls, its {@link ResourceHandler}) are wrapped to
+ * observe when the HTTP response is received and to meter the reading of its body. The time spent unmarshalling the
+ * response is derived from the time taken to extract the response, less the time spent blocked reading the body, and
+ * in the resource handler.
+ * <p>
+ * When the response exposes the {@link HttpContext} of its request (see
+ * {@link RequestConfigHttpComponentsClientHttpRequestFactory}), the time at which the request's connection became
+ * ready, as recorded by the {@link ConnectionTimingHttpRequestExecutor}, is used to separate the time spent leasing
+ * (and if necessary establishing) a connection from the time to first byte.
+ * <p>
+ * Not thread-safe. A new instance must be created for each API call, on starting the call.
+ */
+final class MeteredApiCall {
+
+  private final ApiEndpoint endpoint;
+  private final long startNanos;
+  private long connectionReadyNanos = ApiCallSample.NOT_MEASURED;
+  private long responseReceivedNanos = ApiCallSample.NOT_MEASURED;
+  private long responseExtractedNanos = ApiCallSample.NOT_MEASURED;
+  private int statusCode = ApiCallSample.NO_RESPONSE;
+  private MeteredInputStream responseBody;
+  private long handlerNanos;
+  private long handledResourceCount;
+
+  /**
+   * @param endpoint The {@link ApiEndpoint} being called.
+   */
+  MeteredApiCall(ApiEndpoint endpoint) {
+    this.endpoint = endpoint;
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * @param responseExtractor The {@link ResponseExtractor} of the API call.
+   * @return A {@link ResponseExtractor} which meters the supplied extractor's processing of the response.
+   */
+  <T> ResponseExtractor<T> meterExtractor(final ResponseExtractor<T> responseExtractor) {
+    return new ResponseExtractor<T>() {
+      @Override
+      public T extractData(ClientHttpResponse response) throws IOException {
+        MeteredApiCall.this.responseReceivedNanos = System.nanoTime();
+        MeteredApiCall.this.statusCode = response.getRawStatusCode();
+        MeteredApiCall.this.connectionReadyNanos = connectionReadyNanos(response);
+        try {
+          return responseExtractor.extractData(new MeteredClientHttpResponse(response));
+        } finally {
+          MeteredApiCall.this.responseExtractedNanos = System.nanoTime();
+        }
+      }
+    };
+  }
+
+  /**
+   * @param response The HTTP response.
+   * @return The time at which the connection used to send the response's request became ready, or
+   * {@link ApiCallSample#NOT_MEASURED} if it wasn't recorded.
+   */
+  private static long connectionReadyNanos(ClientHttpResponse response) {
+    if (response instanceof RequestConfigHttpComponentsClientHttpRequestFactory.HttpContextClientHttpResponse) {
+      HttpContext context =
+          ((RequestConfigHttpComponentsClientHttpRequestFactory.HttpContextClientHttpResponse) response)
+              .getHttpContext();
+      Object readyNanos =
+          context != null ? context.getAttribute(ConnectionTimingHttpRequestExecutor.CONNECTION_READY_NANOS_ATTRIBUTE)
+              : null;
+      if (readyNanos instanceof Long) {
+        return (Long) readyNanos;
+      }
+    }
+    return ApiCallSample.NOT_MEASURED;
+  }
+
+  /**
+   * @param handler The {@link ResourceHandler} of a streamed API call.
+   * @return A {@link ResourceHandler} which counts, and times, the resources handled by the supplied handler.
+   */
+  <E> ResourceHandler<E> meterHandler(final ResourceHandler<E> handler) {
+    return new ResourceHandler<E>() {
+      @Override
+      public void handle(E resource) {
+        long handleStartNanos = System.nanoTime();
+        try {
+          handler.handle(resource);
+        } finally {
+          MeteredApiCall.this.handlerNanos += System.nanoTime() - handleStartNanos;
+          MeteredApiCall.this.handledResourceCount++;
+        }
+      }
+    };
+  }
+
+  /**
+   * @return The no. of resources handed to the {@link #meterHandler(ResourceHandler) metered resource handler}.
+   */
+  long getHandledResourceCount() {
+    return this.handledResourceCount;
+  }
+
+  /**
+   * Completes the measurement of an API call which succeeded.
+   * 
+   * @param resourceCount The no. of resources returned by the API call, or {@link ApiCallSample#NOT_MEASURED} if it
+   * doesn't return a collection of resources.
+   * @return The {@link ApiCallSample} holding the API call's metrics.
+   */
+  ApiCallSample succeeded(long resourceCount) {
+    long endNanos = System.nanoTime();
+    Map<ApiCallPhase, Long> phaseNanos = new EnumMap<>(ApiCallPhase.class);
+    long responseBytes = ApiCallSample.NOT_MEASURED;
+    if (this.responseReceivedNanos != ApiCallSample.NOT_MEASURED) {
+      long readNanos = this.responseBody != null ? this.responseBody.readNanos : 0;
+      long extractNanos = this.responseExtractedNanos - this.responseReceivedNanos;
+      if (this.connectionReadyNanos != ApiCallSample.NOT_MEASURED) {
+        phaseNanos.put(ApiCallPhase.CONNECT, this.connectionReadyNanos - this.startNanos);
+        phaseNanos.put(ApiCallPhase.TIME_TO_FIRST_BYTE, this.responseReceivedNanos - this.connectionReadyNanos);
+      } else {
+        phaseNanos.put(ApiCallPhase.TIME_TO_FIRST_BYTE, this.responseReceivedNanos - this.startNanos);
+      }
+      phaseNanos.put(ApiCallPhase.DOWNLOAD, readNanos);
+      phaseNanos.put(ApiCallPhase.UNMARSHAL, Math.max(0, extractNanos - readNanos - this.handlerNanos));
+      responseBytes = this.responseBody != null ? this.responseBody.byteCount : 0;
+    }
+    phaseNanos.put(ApiCallPhase.TOTAL, endNanos - this.startNanos);
+    return new ApiCallSample(this.endpoint, this.statusCode, true, phaseNanos, responseBytes, resourceCount);
+  }
+
+  /**
+   * Completes the measurement of an API call which failed.
+   * 
+   * @param failure The exception the API call failed with.
+   * @return The {@link ApiCallSample} holding the API call's metrics.
+   */
+  ApiCallSample failed(RuntimeException failure) {
+    long endNanos = System.nanoTime();
+    int failureStatusCode = failure instanceof HttpErrorResponseException ? ((HttpErrorResponseException) failure)
+        .getStatusCode() : this.statusCode;
+    Map<ApiCallPhase, Long> phaseNanos = new EnumMap<>(ApiCallPhase.class);
+    phaseNanos.put(ApiCallPhase.TOTAL, endNanos - this.startNanos);
+    return new ApiCallSample(this.endpoint, failureStatusCode, false, phaseNanos, ApiCallSample.NOT_MEASURED,
+        ApiCallSample.NOT_MEASURED);
+  }
+
+  /**
+   * A {@link ClientHttpResponse} whose body is a {@link MeteredInputStream}.
+   */
+  private final class MeteredClientHttpResponse implements ClientHttpResponse {
+    private final ClientHttpResponse response;
+
+    private MeteredClientHttpResponse(ClientHttpResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+      return this.response.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+      return this.response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return this.response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return this.response.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (MeteredApiCall.this.responseBody == null) {
+        MeteredApiCall.this.responseBody = new MeteredInputStream(this.response.getBody());
+      }
+      return MeteredApiCall.this.responseBody;
+    }
+
+    @Override
+    public void close() {
+      this.response.close();
+    }
+  }
+
+  /**
+   * An {@link InputStream} which counts the bytes read from an underlying stream, and the time spent reading them.
+   */
+  private static final class MeteredInputStream extends FilterInputStream {
+    private long byteCount;
+    private long readNanos;
+
+    private MeteredInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      long readStartNanos = System.nanoTime();
+      int b = super.read();
+      this.readNanos += System.nanoTime() - readStartNanos;
+      if (b != -1) {
+        this.byteCount++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      long readStartNanos = System.nanoTime();
+      int bytesRead = super.read(b, off, len);
+      this.readNanos += System.nanoTime() - readStartNanos;
+      if (bytesRead > 0) {
+        this.byteCount += bytesRead;
+      }
+      return bytesRead;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long readStartNanos = System.nanoTime();
+      long bytesSkipped = super.skip(n);
+      this.readNanos += System.nanoTime() - readStartNanos;
+      this.byteCount += bytesSkipped;
+      return bytesSkipped;
+    }
+  }
+}
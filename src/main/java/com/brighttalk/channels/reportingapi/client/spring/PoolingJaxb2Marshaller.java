@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.springframework.oxm.UnmarshallingFailureException;
+import org.springframework.oxm.XmlMappingException;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.oxm.mime.MimeContainer;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * An extension of Spring's {@link Jaxb2Marshaller} which reuses JAXB {@link Unmarshaller} instances, rather than
+ * creating and configuring a new one for every unmarshalling operation.
+ * <p>
+ * Required because, as of Spring 4.0.x, Jaxb2Marshaller creates a new Unmarshaller, and applies its configured
+ * properties, validation event handler, listener and adapters to it, for every call to {@code unmarshal()}. This
+ * includes every resource in a streamed collection, which is unmarshalled from its own element.
+ * <p>
+ * Idle unmarshallers are held in a bounded pool, shared by all threads. A JAXB Unmarshaller is not thread-safe, so
+ * each one is used by only one thread at a time, for the duration of a single unmarshalling operation, before being
+ * returned to the pool. If the pool is empty, a new unmarshaller is created; if it's full, a returned unmarshaller is
+ * discarded. Unmarshallers created by this class are configured once, identically to those created by the super class.
+ * <p>
+ * In addition to the eager creation of the JAXBContext supported by the super class, the pool can be warmed up on
+ * {@link #afterPropertiesSet() initialisation} by pre-creating a configured no. of unmarshallers.
+ * <p>
+ * Unmarshalling operations which use MTOM attachments are not pooled, as they configure the unmarshaller per call.
+ * <p>
+ * Optionally, documents supplied as a stream (a {@link StreamSource}), such as HTTP response bodies, can be parsed
+ * using StAX, with a supplied, shared {@link XMLInputFactory}, rather than the JVM's default SAX parser. This supports
+ * the use of a faster StAX implementation. See {@link #setXmlInputFactory(XMLInputFactory)}.
+ */
+public class PoolingJaxb2Marshaller extends Jaxb2Marshaller {
+
+  /** Default max no. of idle unmarshallers retained in the pool. */
+  public static final int DEFAULT_MAX_IDLE_UNMARSHALLERS = 16;
+
+  private int maxIdleUnmarshallers = DEFAULT_MAX_IDLE_UNMARSHALLERS;
+  private int initialUnmarshallers;
+  private XMLInputFactory xmlInputFactory;
+
+  private volatile BlockingQueue<Unmarshaller> idleUnmarshallers;
+
+  /**
+   * Hands the unmarshaller borrowed from the pool for the current unmarshalling operation to
+   * {@link #createUnmarshaller()}, which is called by the super class. Only set for the duration of an operation.
+   */
+  private final ThreadLocal<Unmarshaller> borrowedUnmarshaller = new ThreadLocal<>();
+
+  /**
+   * @param maxIdleUnmarshallers The max no. of idle unmarshallers to retain in the pool. Must be greater than zero.
+   * Defaults to {@link #DEFAULT_MAX_IDLE_UNMARSHALLERS}.
+   */
+  public void setMaxIdleUnmarshallers(int maxIdleUnmarshallers) {
+    Preconditions.checkArgument(maxIdleUnmarshallers > 0, "maxIdleUnmarshallers must be greater than zero.");
+    this.maxIdleUnmarshallers = maxIdleUnmarshallers;
+  }
+
+  /**
+   * @return The max no. of idle unmarshallers retained in the pool.
+   */
+  public final int getMaxIdleUnmarshallers() {
+    return this.maxIdleUnmarshallers;
+  }
+
+  /**
+   * @param initialUnmarshallers The no. of unmarshallers to create and add to the pool on initialisation. Must be
+   * between zero and the max no. of idle unmarshallers. Defaults to zero.
+   */
+  public void setInitialUnmarshallers(int initialUnmarshallers) {
+    Preconditions.checkArgument(initialUnmarshallers >= 0, "initialUnmarshallers must not be negative.");
+    this.initialUnmarshallers = initialUnmarshallers;
+  }
+
+  /**
+   * @return The no. of unmarshallers created and added to the pool on initialisation.
+   */
+  public final int getInitialUnmarshallers() {
+    return this.initialUnmarshallers;
+  }
+
+  /**
+   * Sets the StAX {@link XMLInputFactory} used to parse documents supplied as a {@link StreamSource}. The factory is
+   * shared by all unmarshalling operations, so must be fully configured before it's set, and should not support DTDs or
+   * external entities. Optional. If not set (the default), such documents are parsed by the super class using SAX.
+   * 
+   * @param xmlInputFactory The {@link XMLInputFactory}, or null.
+   * @see XmlInputFactories#create(String)
+   */
+  public void setXmlInputFactory(XMLInputFactory xmlInputFactory) {
+    this.xmlInputFactory = xmlInputFactory;
+  }
+
+  /**
+   * @return The {@link XMLInputFactory} used to parse documents supplied as a {@link StreamSource}, or null if they're
+   * parsed using SAX.
+   */
+  public final XMLInputFactory getXmlInputFactory() {
+    return this.xmlInputFactory;
+  }
+
+  /**
+   * @return The no. of idle unmarshallers currently in the pool.
+   */
+  public final int getIdleUnmarshallerCount() {
+    return this.getIdleUnmarshallers().size();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation additionally creates the pool of unmarshallers, and warms it up with the configured initial no.
+   * of unmarshallers.
+   */
+  @Override
+  public void afterPropertiesSet() throws Exception {
+    super.afterPropertiesSet();
+    Preconditions.checkState(this.initialUnmarshallers <= this.maxIdleUnmarshallers,
+        "initialUnmarshallers [%s] must not be greater than maxIdleUnmarshallers [%s].", this.initialUnmarshallers,
+        this.maxIdleUnmarshallers);
+    BlockingQueue<Unmarshaller> unmarshallers = this.getIdleUnmarshallers();
+    for (int i = unmarshallers.size(); i < this.initialUnmarshallers; i++) {
+      unmarshallers.offer(super.createUnmarshaller());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation borrows an unmarshaller from the pool for the duration of the operation, and parses a
+   * {@link StreamSource} using StAX if an {@link XMLInputFactory} has been set.
+   */
+  @Override
+  public Object unmarshal(Source source, MimeContainer mimeContainer) throws XmlMappingException {
+    if (mimeContainer != null) {
+      return super.unmarshal(source, mimeContainer);
+    }
+    XMLStreamReader streamReader = this.createXmlStreamReader(source);
+    BlockingQueue<Unmarshaller> unmarshallers = this.getIdleUnmarshallers();
+    Unmarshaller unmarshaller = unmarshallers.poll();
+    if (unmarshaller == null) {
+      unmarshaller = super.createUnmarshaller();
+    }
+    this.borrowedUnmarshaller.set(unmarshaller);
+    try {
+      return super.unmarshal(streamReader != null ? new StAXSource(streamReader) : source, null);
+    } finally {
+      this.borrowedUnmarshaller.remove();
+      unmarshallers.offer(unmarshaller);
+      closeQuietly(streamReader);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation returns the unmarshaller borrowed from the pool for the current operation, if there is one.
+   */
+  @Override
+  protected Unmarshaller createUnmarshaller() {
+    Unmarshaller unmarshaller = this.borrowedUnmarshaller.get();
+    return unmarshaller != null ? unmarshaller : super.createUnmarshaller();
+  }
+
+  /**
+   * @param source The source of the document to be unmarshalled.
+   * @return A StAX parser for the supplied source, if it's a {@link StreamSource} containing a stream or reader, and an
+   * {@link XMLInputFactory} has been set. Otherwise null.
+   * @throws UnmarshallingFailureException If the parser cannot be created, e.g. the XML declaration is malformed.
+   */
+  private XMLStreamReader createXmlStreamReader(Source source) {
+    if (this.xmlInputFactory == null || !(source instanceof StreamSource)) {
+      return null;
+    }
+    StreamSource streamSource = (StreamSource) source;
+    try {
+      if (streamSource.getInputStream() != null) {
+        return this.xmlInputFactory.createXMLStreamReader(streamSource.getInputStream());
+      } else if (streamSource.getReader() != null) {
+        return this.xmlInputFactory.createXMLStreamReader(streamSource.getReader());
+      }
+    } catch (XMLStreamException e) {
+      throw new UnmarshallingFailureException("Could not create StAX parser: " + e.getMessage(), e);
+    }
+    return null;
+  }
+
+  private static void closeQuietly(XMLStreamReader reader) {
+    if (reader != null) {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        // Ignore - the underlying stream is owned by the caller
+      }
+    }
+  }
+
+  /**
+   * @return The pool of idle unmarshallers, created on first use if this marshaller hasn't been initialised.
+   */
+  private BlockingQueue<Unmarshaller> getIdleUnmarshallers() {
+    BlockingQueue<Unmarshaller> unmarshallers = this.idleUnmarshallers;
+    if (unmarshallers == null) {
+      synchronized (this) {
+        unmarshallers = this.idleUnmarshallers;
+        if (unmarshallers == null) {
+          unmarshallers = new ArrayBlockingQueue<>(this.maxIdleUnmarshallers);
+          this.idleUnmarshallers = unmarshallers;
+        }
+      }
+    }
+    return unmarshallers;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("maxIdleUnmarshallers", this.maxIdleUnmarshallers)
+      .add("initialUnmarshallers", this.initialUnmarshallers)
+      .add("xmlInputFactory", this.xmlInputFactory)
+      .add("idleUnmarshallers", this.idleUnmarshallers != null ? this.idleUnmarshallers.size() : 0)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiCredentials;
+import com.brighttalk.channels.reportingapi.client.common.ApiRateLimiter;
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link ClientHttpRequestInterceptor} which limits the rate at which a RestTemplate makes API requests, by acquiring
+ * a permit from an {@link ApiRateLimiter}, for the API credentials the RestTemplate is configured to use, before each
+ * request is executed.
+ * <p>
+ * As the permit is acquired per HTTP request, retries of failed API calls also count towards the rate limit.
+ */
+public class RateLimitingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+  private final ApiRateLimiter rateLimiter;
+  private final ApiCredentials credentials;
+
+  /**
+   * @param rateLimiter The {@link ApiRateLimiter} to acquire permits from.
+   * @param credentials The {@link ApiCredentials} used to authenticate the intercepted requests.
+   */
+  public RateLimitingClientHttpRequestInterceptor(ApiRateLimiter rateLimiter, ApiCredentials credentials) {
+    this.rateLimiter = Preconditions.checkNotNull(rateLimiter, "rateLimiter must not be null.");
+    this.credentials = Preconditions.checkNotNull(credentials, "credentials must not be null.");
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation blocks until a permit is acquired, or throws a
+   * {@link com.brighttalk.channels.reportingapi.client.RateLimitExceededException} if none becomes available within the
+   * rate limiter's configured max wait time.
+   */
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+      throws IOException {
+    this.rateLimiter.acquire(this.credentials);
+    return execution.execute(request, body);
+  }
+}
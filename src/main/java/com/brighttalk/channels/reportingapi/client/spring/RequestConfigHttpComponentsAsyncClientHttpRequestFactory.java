@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.net.URI;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An extension of Spring's {@link HttpComponentsAsyncClientHttpRequestFactory} which applies the Apache HttpClient
+ * {@link RequestConfig} configured for the API endpoint being called to every request it creates.
+ * 
+ * @see RequestConfigHttpComponentsClientHttpRequestFactory
+ */
+public class RequestConfigHttpComponentsAsyncClientHttpRequestFactory extends
+    HttpComponentsAsyncClientHttpRequestFactory {
+
+  private final ApiEndpointRequestConfigs requestConfigs;
+
+  /**
+   * @param httpAsyncClient The {@link CloseableHttpAsyncClient} used to execute requests.
+   * @param requestConfigs The {@link ApiEndpointRequestConfigs} to apply to requests.
+   */
+  public RequestConfigHttpComponentsAsyncClientHttpRequestFactory(CloseableHttpAsyncClient httpAsyncClient,
+      ApiEndpointRequestConfigs requestConfigs) {
+    super(httpAsyncClient);
+    this.requestConfigs = Preconditions.checkNotNull(requestConfigs, "requestConfigs must not be null.");
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation returns a new context containing the {@link RequestConfig} for the API endpoint being called.
+   */
+  @Override
+  protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+    return this.requestConfigs.createHttpContext(uri);
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An extension of Spring's {@link HttpComponentsClientHttpRequestFactory} which applies the Apache HttpClient
+ * {@link RequestConfig} configured for the API endpoint being called to every request it creates.
+ * <p>
+ * Required because, as of Spring 4.0.x, unless the factory's own connect and read timeouts are set, it sets
+ * {@link RequestConfig#DEFAULT} on every request, thereby overriding any default {@link RequestConfig} which the
+ * {@link HttpClient} has been configured with (e.g. timeouts), and doesn't support per request configuration.
+ * <p>
+ * The responses to the requests created by this factory are {@link HttpContextClientHttpResponse}, exposing the
+ * {@link HttpContext} the request was executed with, e.g. to allow the connection timings recorded by the
+ * {@link com.brighttalk.channels.reportingapi.client.http.client.ConnectionTimingHttpRequestExecutor} to be read.
+ */
+public class RequestConfigHttpComponentsClientHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+  private final ApiEndpointRequestConfigs requestConfigs;
+
+  /**
+   * The context most recently created by {@link #createHttpContext(HttpMethod, URI)} on the current thread, whilst the
+   * superclass is creating a request. (The superclass doesn't otherwise expose the context of the requests it creates).
+   */
+  private final ThreadLocal<HttpContext> createdHttpContext = new ThreadLocal<>();
+
+  /**
+   * @param httpClient The {@link HttpClient} used to execute requests.
+   * @param requestConfigs The {@link ApiEndpointRequestConfigs} to apply to requests.
+   */
+  public RequestConfigHttpComponentsClientHttpRequestFactory(HttpClient httpClient,
+      ApiEndpointRequestConfigs requestConfigs) {
+    super(httpClient);
+    this.requestConfigs = Preconditions.checkNotNull(requestConfigs, "requestConfigs must not be null.");
+  }
+
+  /**
+   * @return The {@link ApiEndpointRequestConfigs} applied to requests.
+   */
+  public final ApiEndpointRequestConfigs getRequestConfigs() {
+    return this.requestConfigs;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation returns a new context containing the {@link RequestConfig} for the API endpoint being called.
+   */
+  @Override
+  protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+    HttpContext context = this.requestConfigs.createHttpContext(uri);
+    this.createdHttpContext.set(context);
+    return context;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation returns a request whose response is an {@link HttpContextClientHttpResponse}.
+   */
+  @Override
+  public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+    try {
+      ClientHttpRequest request = super.createRequest(uri, httpMethod);
+      return new HttpContextClientHttpRequest(request, this.createdHttpContext.get());
+    } finally {
+      this.createdHttpContext.remove();
+    }
+  }
+
+  /**
+   * A {@link ClientHttpRequest} which on execution returns an {@link HttpContextClientHttpResponse}.
+   */
+  private static final class HttpContextClientHttpRequest implements ClientHttpRequest {
+    private final ClientHttpRequest request;
+    private final HttpContext httpContext;
+
+    private HttpContextClientHttpRequest(ClientHttpRequest request, HttpContext httpContext) {
+      this.request = request;
+      this.httpContext = httpContext;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+      return this.request.getMethod();
+    }
+
+    @Override
+    public URI getURI() {
+      return this.request.getURI();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return this.request.getHeaders();
+    }
+
+    @Override
+    public OutputStream getBody() throws IOException {
+      return this.request.getBody();
+    }
+
+    @Override
+    public ClientHttpResponse execute() throws IOException {
+      return new HttpContextClientHttpResponse(this.request.execute(), this.httpContext);
+    }
+  }
+
+  /**
+   * A {@link ClientHttpResponse} which additionally exposes the {@link HttpContext} its request was executed with.
+   */
+  static final class HttpContextClientHttpResponse implements ClientHttpResponse {
+    private final ClientHttpResponse response;
+    private final HttpContext httpContext;
+
+    private HttpContextClientHttpResponse(ClientHttpResponse response, HttpContext httpContext) {
+      this.response = response;
+      this.httpContext = httpContext;
+    }
+
+    /**
+     * @return The {@link HttpContext} the request was executed with, or {@code null} if there was none.
+     */
+    HttpContext getHttpContext() {
+      return this.httpContext;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+      return this.response.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+      return this.response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return this.response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return this.response.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      return this.response.getBody();
+    }
+
+    @Override
+    public void close() {
+      this.response.close();
+    }
+  }
+}
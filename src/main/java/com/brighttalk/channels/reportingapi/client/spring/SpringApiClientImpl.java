@@ -15,23 +15,37 @@
  */
 package com.brighttalk.channels.reportingapi.client.spring;
 
+import java.io.IOException;
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLInputFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.oxm.Unmarshaller;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponents;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import com.brighttalk.channels.reportingapi.client.ApiClient;
 import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.ConnectionRequestTimeoutException;
+import com.brighttalk.channels.reportingapi.client.HttpErrorResponseException;
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.ResourceHandler;
+import com.brighttalk.channels.reportingapi.client.StreamingApiClient;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
 import com.brighttalk.channels.reportingapi.client.common.GetChannelSubscribersRequestParamsBuilder;
 import com.brighttalk.channels.reportingapi.client.common.GetSubscribersWebcastActivityRequestParamsBuilder;
 import com.brighttalk.channels.reportingapi.client.common.GetSurveyResponsesRequestParamsBuilder;
@@ -39,8 +53,15 @@ import com.brighttalk.channels.reportingapi.client.common.GetWebcastRegistration
 import com.brighttalk.channels.reportingapi.client.common.GetWebcastViewingsRequestParamsBuilder;
 import com.brighttalk.channels.reportingapi.client.common.GetWebcastsRequestParamsBuilder;
 import com.brighttalk.channels.reportingapi.client.common.PagingRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.RequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.RetryPolicy;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiCallSample;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiClientMetrics;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
 import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
 import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.SubscriberWebcastActivityResource;
 import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
 import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
 import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
@@ -48,6 +69,7 @@ import com.brighttalk.channels.reportingapi.client.resource.SurveysResource;
 import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
 import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
 import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
 import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
 import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
 import com.google.common.base.Preconditions;
@@ -56,6 +78,9 @@ import com.google.common.base.Preconditions;
  * An {@link ApiClient} implementation that delegates to a pre-configured instance of the Spring framework's
  * {@link RestTemplate} to make the authenticated, synchronous API calls.
  * <p>
+ * Also implements the {@link StreamingApiClient} methods, if constructed with an {@link Unmarshaller} which can be used
+ * to unmarshal the individual API resources contained in a collection. The streamed API responses are read using StAX.
+ * <p>
  * The {@link RestTemplate} provides management of the underlying HTTP connection, binding of URL variables, marshalling
  * / unmarshalling HTTP request and response bodies, and error handling (adapting HTTP status codes to exceptions).
  * <p>
@@ -66,23 +91,20 @@ import com.google.common.base.Preconditions;
  * 
  * @author Neil Brown
  */
-public class SpringApiClientImpl implements ApiClient {
+public class SpringApiClientImpl implements StreamingApiClient {
 
   private static final Logger logger = LoggerFactory.getLogger(SpringApiClientImpl.class);
 
-  private static final String PROTOCOL_HTTP = "http";
-  private static final String PROTOCOL_HTTPS = "https";
-  private static final int HTTP_DEFAULT_PORT = 80;
-  private static final int HTTPS_DEFAULT_PORT = 443;
-  /** Compiled regex for a valid host name. See http://en.wikipedia.org/wiki/Hostname#Restrictions_on_valid_host_names */
-  private static final Pattern VALID_HOST_NAME_PATTERN =
-      Pattern.compile("[a-zA-Z0-9\\.\\-]{4,253}", Pattern.CASE_INSENSITIVE);
-
-  private final String apiServiceProtocol;
-  private final String apiServiceHostName;
-  private final int apiServicePort;
-  private final URI apiServiceBaseUri;
+  /** Media types accepted for streamed API responses. The same as those supported by the RestTemplate's converter. */
+  private static final List<MediaType> STREAMING_ACCEPTED_MEDIA_TYPES = Arrays.asList(MediaType.APPLICATION_XML,
+      MediaType.TEXT_XML, new MediaType("application", "*+xml"));
+
+  private final ApiServiceEndpoint apiServiceEndpoint;
   private final RestTemplate restTemplate;
+  private final Unmarshaller unmarshaller;
+  private RetryPolicy retryPolicy = RetryPolicy.NEVER;
+  private XMLInputFactory xmlInputFactory = XmlInputFactories.getDefault();
+  private ApiClientMetrics metrics = ApiClientMetrics.NO_OP;
 
   /**
    * Creates an instance of the API client that communicates with an identified API service, using the default protocol
@@ -112,40 +134,39 @@ public class SpringApiClientImpl implements ApiClient {
    */
   public SpringApiClientImpl(String apiServiceProtocol, String apiServiceHostName, Integer apiServicePort,
       RestTemplate restTemplate) {
-    if (apiServiceProtocol == null) {
-      apiServiceProtocol = PROTOCOL_HTTPS;
-    }
-    Preconditions.checkArgument(
-        PROTOCOL_HTTP.equalsIgnoreCase(apiServiceProtocol) || PROTOCOL_HTTPS.equalsIgnoreCase(apiServiceProtocol),
-        "API service protocol must be one or '%s' or '%s', not [%s]", PROTOCOL_HTTP, PROTOCOL_HTTPS, apiServiceProtocol);
-    this.apiServiceProtocol = apiServiceProtocol.toLowerCase();
-
-    Preconditions.checkNotNull(apiServiceHostName, "API service host name must not be null.");
-    Preconditions.checkArgument(VALID_HOST_NAME_PATTERN.matcher(apiServiceHostName).matches(),
-        "Invalid API service host name [%s].", apiServiceHostName);
-    this.apiServiceHostName = apiServiceHostName;
-
-    if (apiServicePort == null) {
-      apiServicePort = PROTOCOL_HTTP.equalsIgnoreCase(apiServiceProtocol) ? HTTP_DEFAULT_PORT : HTTPS_DEFAULT_PORT;
-    }
-    Preconditions.checkArgument(apiServicePort > 0, "API service port must be a positive number, not [%s]",
-        apiServicePort);
-    this.apiServicePort = apiServicePort;
+    this(apiServiceProtocol, apiServiceHostName, apiServicePort, restTemplate, null);
+  }
 
+  /**
+   * Creates an instance of the API client that communicates with a specified API service host, and additionally
+   * supports the {@link StreamingApiClient} methods.
+   * 
+   * @param apiServiceProtocol The protocol used to communicate with the BrightTALK API service. One of "http" or
+   * "https". Optional. If null defaults to "https".
+   * @param apiServiceHostName The host name of the BrightTALK API service. A fully qualified domain name.
+   * @param apiServicePort The port of the BrightTALK API service. Optional. If null defaults to 80 or 443 depending on
+   * {@code apiServiceProtocol}.
+   * @param restTemplate The Spring {@link RestTemplate} this API client should use to make HTTP requests and process
+   * the resulting HTTP response. The object must be fully configured with a connection factory supporting the required
+   * API authentication and marshalling of all supported API resources to/from HTTP request and response bodies.
+   * @param unmarshaller The {@link Unmarshaller} used to unmarshal each of the API resources contained in a streamed
+   * collection from its XML element. Optional. If null the {@link StreamingApiClient} methods are not supported.
+   */
+  public SpringApiClientImpl(String apiServiceProtocol, String apiServiceHostName, Integer apiServicePort,
+      RestTemplate restTemplate, Unmarshaller unmarshaller) {
+    this.apiServiceEndpoint = new ApiServiceEndpoint(apiServiceProtocol, apiServiceHostName, apiServicePort);
     this.restTemplate = Preconditions.checkNotNull(restTemplate, "RestTemplate must not be null.");
-
-    this.apiServiceBaseUri =
-        initApiServiceBaseUri(this.apiServiceProtocol, this.apiServiceHostName, this.apiServicePort);
+    this.unmarshaller = unmarshaller;
   }
 
   /** {@inheritDoc} */
   @Override
   public ChannelsResource getMyChannels(PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting My Channels with page criteria [{}].", pageCriteria);
-    Map<String, List<String>> requestParams = new PagingRequestParamsBuilder(pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE, requestParams);
-    ChannelsResource channels = this.restTemplate.getForObject(absResourceUrlTemplate, ChannelsResource.class);
+    RequestParamsBuilder requestParams = new PagingRequestParamsBuilder(pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_MY_CHANNELS;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams);
+    ChannelsResource channels = this.getForObject(endpoint, resourceUri, ChannelsResource.class);
     logger.debug("Got My Channels [{}].", channels);
     return channels;
   }
@@ -154,10 +175,10 @@ public class SpringApiClientImpl implements ApiClient {
   @Override
   public ChannelsResource getUserChannels(int userId, PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting User Channels for user [{}] with page criteria [{}].", userId, pageCriteria);
-    Map<String, List<String>> requestParams = new PagingRequestParamsBuilder(pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        ChannelsResource.USER_CHANNELS_RELATIVE_URI_TEMPLATE, requestParams);
-    ChannelsResource channels = this.restTemplate.getForObject(absResourceUrlTemplate, ChannelsResource.class, userId);
+    RequestParamsBuilder requestParams = new PagingRequestParamsBuilder(pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_USER_CHANNELS;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, userId);
+    ChannelsResource channels = this.getForObject(endpoint, resourceUri, ChannelsResource.class);
     logger.debug("Got User Channels [{}].", channels);
     return channels;
   }
@@ -167,12 +188,12 @@ public class SpringApiClientImpl implements ApiClient {
   public ChannelSubscribersResource getChannelSubscribers(int channelId, Boolean subscribed, Date subscribedSince,
       Date unsubscribedSince, PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting Channel Subscribers for channel [{}] with page criteria [{}].", channelId, pageCriteria);
-    Map<String, List<String>> requestParams = new GetChannelSubscribersRequestParamsBuilder(subscribed,
-        subscribedSince, unsubscribedSince, pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        ChannelSubscribersResource.RELATIVE_URI_TEMPLATE, requestParams);
+    RequestParamsBuilder requestParams = new GetChannelSubscribersRequestParamsBuilder(subscribed,
+        subscribedSince, unsubscribedSince, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_CHANNEL_SUBSCRIBERS;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId);
     ChannelSubscribersResource subscribers =
-        this.restTemplate.getForObject(absResourceUrlTemplate, ChannelSubscribersResource.class, channelId);
+        this.getForObject(endpoint, resourceUri, ChannelSubscribersResource.class);
     logger.debug("Got Channel Subscribers [{}].", subscribers);
     return subscribers;
   }
@@ -183,12 +204,12 @@ public class SpringApiClientImpl implements ApiClient {
       Boolean expandChannelSurveyResponse, PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting Subscribers Webcast Activity for channel [{}] with page criteria [{}].", channelId,
         pageCriteria);
-    Map<String, List<String>> requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
-        expandChannelSurveyResponse, pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        SubscribersWebcastActivityResource.FOR_CHANNEL_RELATIVE_URI_TEMPLATE, requestParams);
+    RequestParamsBuilder requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
+        expandChannelSurveyResponse, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId);
     SubscribersWebcastActivityResource subscribersWebcastActivity =
-        this.restTemplate.getForObject(absResourceUrlTemplate, SubscribersWebcastActivityResource.class, channelId);
+        this.getForObject(endpoint, resourceUri, SubscribersWebcastActivityResource.class);
     logger.debug("Got Subscribers Webcast Activity [{}].", subscribersWebcastActivity);
     return subscribersWebcastActivity;
   }
@@ -199,13 +220,12 @@ public class SpringApiClientImpl implements ApiClient {
       Date since, Boolean expandChannelSurveyResponse, PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting Subscribers Webcast Activity for channel [{}], webcast [{}] with page criteria [{}].",
         channelId, webcastId, pageCriteria);
-    Map<String, List<String>> requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
-        expandChannelSurveyResponse, pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        SubscribersWebcastActivityResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE, requestParams);
+    RequestParamsBuilder requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
+        expandChannelSurveyResponse, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_WEBCAST;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId, webcastId);
     SubscribersWebcastActivityResource subscribersWebcastActivity =
-        this.restTemplate.getForObject(absResourceUrlTemplate, SubscribersWebcastActivityResource.class, channelId,
-            webcastId);
+        this.getForObject(endpoint, resourceUri, SubscribersWebcastActivityResource.class);
     logger.debug("Got Subscribers Webcast Activity [{}].", subscribersWebcastActivity);
     return subscribersWebcastActivity;
   }
@@ -214,9 +234,9 @@ public class SpringApiClientImpl implements ApiClient {
   @Override
   public SurveysResource getSurveysForChannel(int channelId) throws ApiClientException {
     logger.debug("Requesting Surveys for channel [{}].", channelId);
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        SurveysResource.FOR_CHANNELS_RELATIVE_URI_TEMPLATE, null);
-    SurveysResource surveys = this.restTemplate.getForObject(absResourceUrlTemplate, SurveysResource.class, channelId);
+    ApiEndpoint endpoint = ApiEndpoint.GET_SURVEYS_FOR_CHANNEL;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, null, channelId);
+    SurveysResource surveys = this.getForObject(endpoint, resourceUri, SurveysResource.class);
     logger.debug("Got Surveys [{}].", surveys);
     return surveys;
   }
@@ -225,9 +245,9 @@ public class SpringApiClientImpl implements ApiClient {
   @Override
   public SurveyResource getSurvey(int surveyId) throws ApiClientException {
     logger.debug("Requesting Survey [{}].", surveyId);
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri, SurveyResource.RELATIVE_URI_TEMPLATE,
-        null);
-    SurveyResource survey = this.restTemplate.getForObject(absResourceUrlTemplate, SurveyResource.class, surveyId);
+    ApiEndpoint endpoint = ApiEndpoint.GET_SURVEY;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, null, surveyId);
+    SurveyResource survey = this.getForObject(endpoint, resourceUri, SurveyResource.class);
     logger.debug("Got Survey [{}].", survey);
     return survey;
   }
@@ -237,11 +257,10 @@ public class SpringApiClientImpl implements ApiClient {
   public SurveyResponsesResource getSurveyResponses(int surveyId, Date since, PageCriteria pageCriteria)
       throws ApiClientException {
     logger.debug("Requesting Survey Responses for survey [{}] with page criteria [{}].", surveyId, pageCriteria);
-    Map<String, List<String>> requestParams = new GetSurveyResponsesRequestParamsBuilder(since, pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        SurveyResponsesResource.RELATIVE_URI_TEMPLATE, requestParams);
-    SurveyResponsesResource surveyResponses =
-        this.restTemplate.getForObject(absResourceUrlTemplate, SurveyResponsesResource.class, surveyId);
+    RequestParamsBuilder requestParams = new GetSurveyResponsesRequestParamsBuilder(since, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_SURVEY_RESPONSES;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, surveyId);
+    SurveyResponsesResource surveyResponses = this.getForObject(endpoint, resourceUri, SurveyResponsesResource.class);
     logger.debug("Got Survey Responses [{}].", surveyResponses);
     return surveyResponses;
   }
@@ -251,11 +270,10 @@ public class SpringApiClientImpl implements ApiClient {
   public WebcastsResource getWebcastsForChannel(int channelId, Date since, PageCriteria pageCriteria)
       throws ApiClientException {
     logger.debug("Requesting Webcasts for channel [{}] with page criteria [{}].", channelId, pageCriteria);
-    Map<String, List<String>> requestParams = new GetWebcastsRequestParamsBuilder(since, pageCriteria).asMap();
-    String absResourceUrlTemplate =
-        buildAbsoluteHttpUrl(this.apiServiceBaseUri, WebcastsResource.RELATIVE_URI_TEMPLATE, requestParams);
-    WebcastsResource webcasts =
-        this.restTemplate.getForObject(absResourceUrlTemplate, WebcastsResource.class, channelId);
+    RequestParamsBuilder requestParams = new GetWebcastsRequestParamsBuilder(since, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_WEBCASTS_FOR_CHANNEL;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId);
+    WebcastsResource webcasts = this.getForObject(endpoint, resourceUri, WebcastsResource.class);
     logger.debug("Got Webcasts [{}].", webcasts);
     return webcasts;
   }
@@ -264,10 +282,9 @@ public class SpringApiClientImpl implements ApiClient {
   @Override
   public WebcastResource getWebcast(int channelId, int webcastId) throws ApiClientException {
     logger.debug("Requesting Webcast [{}] for channel [{}].", webcastId, channelId);
-    String absResourceUrlTemplate =
-        buildAbsoluteHttpUrl(this.apiServiceBaseUri, WebcastResource.RELATIVE_URI_TEMPLATE, null);
-    WebcastResource webcast =
-        this.restTemplate.getForObject(absResourceUrlTemplate, WebcastResource.class, channelId, webcastId);
+    ApiEndpoint endpoint = ApiEndpoint.GET_WEBCAST;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, null, channelId, webcastId);
+    WebcastResource webcast = this.getForObject(endpoint, resourceUri, WebcastResource.class);
     logger.debug("Got Webcast [{}].", webcast);
     return webcast;
   }
@@ -278,12 +295,12 @@ public class SpringApiClientImpl implements ApiClient {
       Boolean viewed, PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting Webcast Registrations for channel [{}], webcast [{}] with page criteria [{}].", channelId,
         webcastId, pageCriteria);
-    Map<String, List<String>> requestParams = new GetWebcastRegistrationsRequestParamsBuilder(since, viewed,
-        pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        WebcastRegistrationsResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE, requestParams);
+    RequestParamsBuilder requestParams = new GetWebcastRegistrationsRequestParamsBuilder(since, viewed,
+        pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_WEBCAST_REGISTRATIONS_FOR_WEBCAST;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId, webcastId);
     WebcastRegistrationsResource webcastRegistrations =
-        this.restTemplate.getForObject(absResourceUrlTemplate, WebcastRegistrationsResource.class, channelId, webcastId);
+        this.getForObject(endpoint, resourceUri, WebcastRegistrationsResource.class);
     logger.debug("Got Webcast Registrations [{}].", webcastRegistrations);
     return webcastRegistrations;
   }
@@ -293,12 +310,11 @@ public class SpringApiClientImpl implements ApiClient {
   public WebcastViewingsResource getWebcastViewingsForChannel(int channelId, Date since, WebcastStatus webcastStatus,
       PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting Webcast Viewings for channel [{}] with page criteria [{}].", channelId, pageCriteria);
-    Map<String, List<String>> requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
-        pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        WebcastViewingsResource.FOR_CHANNEL_RELATIVE_URI_TEMPLATE, requestParams);
-    WebcastViewingsResource webcastViewings =
-        this.restTemplate.getForObject(absResourceUrlTemplate, WebcastViewingsResource.class, channelId);
+    RequestParamsBuilder requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
+        pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_CHANNEL;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId);
+    WebcastViewingsResource webcastViewings = this.getForObject(endpoint, resourceUri, WebcastViewingsResource.class);
     logger.debug("Got Webcast Viewings [{}].", webcastViewings);
     return webcastViewings;
   }
@@ -309,35 +325,173 @@ public class SpringApiClientImpl implements ApiClient {
       WebcastStatus webcastStatus, PageCriteria pageCriteria) throws ApiClientException {
     logger.debug("Requesting Webcast Viewings for channel [{}], webcast [{}] with page criteria [{}].", channelId,
         webcastId, pageCriteria);
-    Map<String, List<String>> requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
-        pageCriteria).asMap();
-    String absResourceUrlTemplate = buildAbsoluteHttpUrl(this.apiServiceBaseUri,
-        WebcastViewingsResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE, requestParams);
-    WebcastViewingsResource webcastViewings =
-        this.restTemplate.getForObject(absResourceUrlTemplate, WebcastViewingsResource.class, channelId, webcastId);
+    RequestParamsBuilder requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
+        pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId, webcastId);
+    WebcastViewingsResource webcastViewings = this.getForObject(endpoint, resourceUri, WebcastViewingsResource.class);
     logger.debug("Got Webcast Viewings [{}].", webcastViewings);
     return webcastViewings;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public List<Link> streamChannelSubscribers(int channelId, Boolean subscribed, Date subscribedSince,
+      Date unsubscribedSince, PageCriteria pageCriteria, ResourceHandler<ChannelSubscriberResource> handler)
+      throws ApiClientException {
+    logger.debug("Streaming Channel Subscribers for channel [{}] with page criteria [{}].", channelId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetChannelSubscribersRequestParamsBuilder(subscribed,
+        subscribedSince, unsubscribedSince, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_CHANNEL_SUBSCRIBERS;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId);
+    List<Link> links =
+        this.streamCollection(endpoint, resourceUri, ChannelSubscriberResource.class, handler);
+    logger.debug("Streamed Channel Subscribers with links [{}].", links);
+    return links;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Link> streamSubscribersWebcastActivityForChannel(int channelId, Date since,
+      Boolean expandChannelSurveyResponse, PageCriteria pageCriteria,
+      ResourceHandler<SubscriberWebcastActivityResource> handler) throws ApiClientException {
+    logger.debug("Streaming Subscribers Webcast Activity for channel [{}] with page criteria [{}].", channelId,
+        pageCriteria);
+    RequestParamsBuilder requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
+        expandChannelSurveyResponse, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId);
+    List<Link> links =
+        this.streamCollection(endpoint, resourceUri, SubscriberWebcastActivityResource.class, handler);
+    logger.debug("Streamed Subscribers Webcast Activity with links [{}].", links);
+    return links;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Link> streamSubscribersWebcastActivityForWebcast(int channelId, int webcastId, Date since,
+      Boolean expandChannelSurveyResponse, PageCriteria pageCriteria,
+      ResourceHandler<SubscriberWebcastActivityResource> handler) throws ApiClientException {
+    logger.debug("Streaming Subscribers Webcast Activity for channel [{}], webcast [{}] with page criteria [{}].",
+        channelId, webcastId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
+        expandChannelSurveyResponse, pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_WEBCAST;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId, webcastId);
+    List<Link> links =
+        this.streamCollection(endpoint, resourceUri, SubscriberWebcastActivityResource.class, handler);
+    logger.debug("Streamed Subscribers Webcast Activity with links [{}].", links);
+    return links;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Link> streamWebcastViewingsForChannel(int channelId, Date since, WebcastStatus webcastStatus,
+      PageCriteria pageCriteria, ResourceHandler<WebcastViewingResource> handler) throws ApiClientException {
+    logger.debug("Streaming Webcast Viewings for channel [{}] with page criteria [{}].", channelId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
+        pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_CHANNEL;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId);
+    List<Link> links =
+        this.streamCollection(endpoint, resourceUri, WebcastViewingResource.class, handler);
+    logger.debug("Streamed Webcast Viewings with links [{}].", links);
+    return links;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Link> streamWebcastViewingsForWebcast(int channelId, int webcastId, Date since,
+      WebcastStatus webcastStatus, PageCriteria pageCriteria, ResourceHandler<WebcastViewingResource> handler)
+      throws ApiClientException {
+    logger.debug("Streaming Webcast Viewings for channel [{}], webcast [{}] with page criteria [{}].", channelId,
+        webcastId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
+        pageCriteria);
+    ApiEndpoint endpoint = ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST;
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(endpoint, requestParams, channelId, webcastId);
+    List<Link> links =
+        this.streamCollection(endpoint, resourceUri, WebcastViewingResource.class, handler);
+    logger.debug("Streamed Webcast Viewings with links [{}].", links);
+    return links;
+  }
+
+  /**
+   * @return The {@link RetryPolicy} used to decide whether failed API calls are retried.
+   */
+  public final RetryPolicy getRetryPolicy() {
+    return this.retryPolicy;
+  }
+
+  /**
+   * Sets the policy used to decide whether, and when, a failed API call is retried. Defaults to
+   * {@link RetryPolicy#NEVER}. Applies to all the {@link com.brighttalk.channels.reportingapi.client.ApiClient}
+   * methods. The {@link StreamingApiClient} methods are not retried, as some resources may already have been handed to
+   * the caller's {@link ResourceHandler} when an error occurs.
+   * 
+   * @param retryPolicy The {@link RetryPolicy}.
+   */
+  public final void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = Preconditions.checkNotNull(retryPolicy, "retryPolicy must not be null.");
+  }
+
+  /**
+   * @return The {@link XMLInputFactory} used to create the StAX parsers which read streamed API responses.
+   */
+  public final XMLInputFactory getXmlInputFactory() {
+    return this.xmlInputFactory;
+  }
+
+  /**
+   * Sets the StAX {@link XMLInputFactory} used to create the parsers which read streamed API responses, e.g. to use a
+   * faster StAX implementation than the JVM's default. Defaults to {@link XmlInputFactories#getDefault()}. The factory
+   * is shared by all API calls, so must be fully configured before it's set.
+   * 
+   * @param xmlInputFactory The {@link XMLInputFactory}.
+   * @see XmlInputFactories#create(String)
+   */
+  public final void setXmlInputFactory(XMLInputFactory xmlInputFactory) {
+    this.xmlInputFactory = Preconditions.checkNotNull(xmlInputFactory, "xmlInputFactory must not be null.");
+  }
+
+  /**
+   * @return The {@link ApiClientMetrics} which the metrics of each API call are reported to.
+   */
+  public final ApiClientMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * Sets the {@link ApiClientMetrics} which the metrics (e.g. latency, response size) of each API call are reported to,
+   * on its completion. Defaults to {@link ApiClientMetrics#NO_OP}. Each attempt of a retried API call is reported
+   * separately.
+   * 
+   * @param metrics The {@link ApiClientMetrics}.
+   * @see com.brighttalk.channels.reportingapi.client.metrics.JmxApiClientMetrics
+   */
+  public final void setMetrics(ApiClientMetrics metrics) {
+    this.metrics = Preconditions.checkNotNull(metrics, "metrics must not be null.");
+  }
+
   /**
    * @return the apiServiceProtocol
    */
   public final String getApiServiceProtocol() {
-    return this.apiServiceProtocol;
+    return this.apiServiceEndpoint.getProtocol();
   }
 
   /**
    * @return the apiServiceHostName
    */
   public final String getApiServiceHostName() {
-    return this.apiServiceHostName;
+    return this.apiServiceEndpoint.getHostName();
   }
 
   /**
    * @return the apiServicePort
    */
   public final int getApiServicePort() {
-    return this.apiServicePort;
+    return this.apiServiceEndpoint.getPort();
   }
 
   /**
@@ -345,46 +499,192 @@ public class SpringApiClientImpl implements ApiClient {
    * currently configured to use. This is an environment specific value.
    */
   public final URI getApiServiceBaseUri() {
+    return this.apiServiceEndpoint.getBaseUri();
+  }
+
+  /**
+   * Makes an API call (HTTP GET) for a collection of API resources, streaming the response.
+   * 
+   * @param endpoint The {@link ApiEndpoint} being called, which the API call's metrics are reported against.
+   * @param resourceUri The absolute URI of the collection.
+   * @param resourceClass The class of API resource contained in the collection. The local name of the XML element of
+   * each resource in the collection is that declared by the class' {@link XmlRootElement} annotation.
+   * @param handler The {@link ResourceHandler} to hand each resource to.
+   * @return The list of {@link Link} belonging to the collection.
+   */
+  private <E> List<Link> streamCollection(ApiEndpoint endpoint, URI resourceUri, Class<E> resourceClass,
+      ResourceHandler<E> handler) {
+    Preconditions.checkState(this.unmarshaller != null,
+        "Streaming API calls are not supported. API client was not constructed with an unmarshaller.");
+    Preconditions.checkNotNull(handler, "handler must not be null.");
+    MeteredApiCall call = new MeteredApiCall(endpoint);
+    StreamingCollectionResponseExtractor<E> responseExtractor =
+        new StreamingCollectionResponseExtractor<>(this.xmlInputFactory, this.unmarshaller,
+            getRootElementName(resourceClass), resourceClass, call.meterHandler(handler));
+    List<Link> links;
     try {
-      // Return a new URI to preserve immutability
-      return new URI(this.apiServiceBaseUri.toString());
-    } catch (URISyntaxException e) {
-      throw new ApiClientException(e);
+      links = this.restTemplate.execute(resourceUri, HttpMethod.GET, new RequestCallback() {
+        @Override
+        public void doWithRequest(ClientHttpRequest request) throws IOException {
+          request.getHeaders().setAccept(STREAMING_ACCEPTED_MEDIA_TYPES);
+        }
+      }, call.meterExtractor(responseExtractor));
+    } catch (ResourceAccessException e) {
+      RuntimeException failure = translateResourceAccessException(e);
+      this.recordApiCall(call.failed(failure));
+      throw failure;
+    } catch (RuntimeException e) {
+      this.recordApiCall(call.failed(e));
+      throw e;
     }
+    this.recordApiCall(call.succeeded(call.getHandledResourceCount()));
+    return links;
   }
 
-  private static URI initApiServiceBaseUri(String protocol, String hostName, int port) {
-    try {
-      return new URI(protocol + "://" + hostName + ":" + port);
-    } catch (URISyntaxException e) {
-      throw new ApiClientException(e);
+  /**
+   * Makes an API call (HTTP GET) for an API resource, using the configured {@link RestTemplate}. Retries the API call
+   * if it fails, as decided by the configured {@link RetryPolicy}.
+   * 
+   * @param endpoint The {@link ApiEndpoint} being called, which the API call's metrics are reported against.
+   * @param resourceUri The absolute URI of the resource.
+   * @param resourceClass The class of API resource to return.
+   * @return The API resource.
+   * @throws ConnectionRequestTimeoutException If the API call was not made because no HTTP connection became available
+   * within the configured time.
+   */
+  private <T> T getForObject(ApiEndpoint endpoint, URI resourceUri, Class<T> resourceClass) {
+    RequestCallback requestCallback = this.acceptHeaderRequestCallback(resourceClass);
+    ResponseExtractor<T> responseExtractor =
+        new HttpMessageConverterExtractor<>(resourceClass, this.restTemplate.getMessageConverters());
+    for (int attempt = 1;; attempt++) {
+      MeteredApiCall call = new MeteredApiCall(endpoint);
+      RuntimeException failure;
+      try {
+        T resource = this.restTemplate.execute(resourceUri, HttpMethod.GET, requestCallback,
+            call.meterExtractor(responseExtractor));
+        this.recordApiCall(call.succeeded(countResources(resource)));
+        return resource;
+      } catch (ResourceAccessException e) {
+        failure = translateResourceAccessException(e);
+        this.recordApiCall(call.failed(failure));
+      } catch (HttpErrorResponseException e) {
+        failure = e;
+        this.recordApiCall(call.failed(failure));
+      } catch (RuntimeException e) {
+        this.recordApiCall(call.failed(e));
+        throw e;
+      }
+      long retryDelayMillis = this.retryPolicy.getRetryDelayMillis(attempt, failure);
+      if (retryDelayMillis < 0) {
+        throw failure;
+      }
+      logger.warn("API call [{}] failed on attempt [{}] with error [{}]. Retrying in [{}] millis.",
+          resourceUri, attempt, failure.toString(), retryDelayMillis);
+      try {
+        Thread.sleep(retryDelayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        ApiClientException interruptedException = new ApiClientException("Interrupted waiting to retry API call.", e);
+        interruptedException.addSuppressed(failure);
+        throw interruptedException;
+      }
     }
   }
 
   /**
-   * Builds an absolute HTTP URL from a supplied base URI, a relative path an an optional map of request parameters.
-   * <p>
-   * Supports building URLs before URL template variables have been expanded - template variable placeholders ({...})
-   * will _not_ be encoded.
+   * Creates a {@link RequestCallback} which sets the Accept header of a request to the media types which the
+   * {@link RestTemplate}'s message converters can read a supplied class of API resource from, in the same way as
+   * {@link RestTemplate#getForObject(URI, Class)}.
    * 
-   * @param baseUri The {@link URL base URI}.
-   * @param relativeUrlPath The relative path to be appended to the base URI.
-   * @param requestParams An optional, map representation of request parameters to be appended to the URL. Can be null.
-   * @return A String representation of the absolute URL. A return type of String rather than {@link java.net.URI} is
-   * used to avoid encoding the URL before any template variables have been replaced.
+   * @param resourceClass The class of API resource.
+   * @return The {@link RequestCallback}.
    */
-  private static String buildAbsoluteHttpUrl(URI baseUri, String relativeUrlPath,
-      Map<String, List<String>> requestParams) {
-    UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUri(baseUri);
-    uriBuilder.path(relativeUrlPath);
-    if (requestParams != null) {
-      for (String paramName : requestParams.keySet()) {
-        for (String paramValue : requestParams.get(paramName)) {
-          uriBuilder.queryParam(paramName, paramValue);
+  private RequestCallback acceptHeaderRequestCallback(Class<?> resourceClass) {
+    final List<MediaType> acceptedMediaTypes = new ArrayList<>();
+    for (HttpMessageConverter<?> converter : this.restTemplate.getMessageConverters()) {
+      if (converter.canRead(resourceClass, null)) {
+        for (MediaType mediaType : converter.getSupportedMediaTypes()) {
+          acceptedMediaTypes.add(mediaType.getCharSet() != null ? new MediaType(mediaType.getType(),
+              mediaType.getSubtype()) : mediaType);
+        }
+      }
+    }
+    MediaType.sortBySpecificity(acceptedMediaTypes);
+    return new RequestCallback() {
+      @Override
+      public void doWithRequest(ClientHttpRequest request) throws IOException {
+        if (!acceptedMediaTypes.isEmpty()) {
+          request.getHeaders().setAccept(acceptedMediaTypes);
         }
       }
+    };
+  }
+
+  /**
+   * Reports the metrics of an API call to the configured {@link ApiClientMetrics}. A failure to do so is logged rather
+   * than failing the API call.
+   * 
+   * @param sample The {@link ApiCallSample} holding the API call's metrics.
+   */
+  private void recordApiCall(ApiCallSample sample) {
+    try {
+      this.metrics.recordApiCall(sample);
+    } catch (RuntimeException e) {
+      logger.warn("Failed to record metrics [{}] of API call.", sample, e);
     }
-    UriComponents uriComponents = uriBuilder.build();
-    return uriComponents.toUriString();
+  }
+
+  /**
+   * @param resource An API resource returned by an API call.
+   * @return The no. of resources contained in the supplied resource, if it's a (page of a) collection of resources,
+   * otherwise {@link ApiCallSample#NOT_MEASURED}.
+   */
+  private static long countResources(Object resource) {
+    List<?> resources;
+    if (resource instanceof ChannelsResource) {
+      resources = ((ChannelsResource) resource).getChannels();
+    } else if (resource instanceof ChannelSubscribersResource) {
+      resources = ((ChannelSubscribersResource) resource).getChannelSubscribers();
+    } else if (resource instanceof SubscribersWebcastActivityResource) {
+      resources = ((SubscribersWebcastActivityResource) resource).getSubscriberWebcastActivities();
+    } else if (resource instanceof SurveysResource) {
+      resources = ((SurveysResource) resource).getSurveys();
+    } else if (resource instanceof SurveyResponsesResource) {
+      resources = ((SurveyResponsesResource) resource).getSurveyResponses();
+    } else if (resource instanceof WebcastsResource) {
+      resources = ((WebcastsResource) resource).getWebcasts();
+    } else if (resource instanceof WebcastRegistrationsResource) {
+      resources = ((WebcastRegistrationsResource) resource).getWebcastRegistrations();
+    } else if (resource instanceof WebcastViewingsResource) {
+      resources = ((WebcastViewingsResource) resource).getWebcastViewings();
+    } else {
+      return ApiCallSample.NOT_MEASURED;
+    }
+    return resources != null ? resources.size() : 0;
+  }
+
+  /**
+   * @param resourceClass The class of an API resource.
+   * @return The local name of the XML element of the API resource, as declared by its {@link XmlRootElement}
+   * annotation.
+   */
+  private static String getRootElementName(Class<?> resourceClass) {
+    XmlRootElement rootElement = resourceClass.getAnnotation(XmlRootElement.class);
+    Preconditions.checkArgument(rootElement != null, "Resource class [%s] is not annotated with @XmlRootElement.",
+        resourceClass.getName());
+    return rootElement.name();
+  }
+
+  /**
+   * Translates a {@link ResourceAccessException} (I/O error) reporting that the HTTP client timed out waiting to lease
+   * a connection from its pool to a {@link ConnectionRequestTimeoutException}, so that callers can distinguish a
+   * saturated client from an API service which is unavailable.
+   * 
+   * @param e The {@link ResourceAccessException}.
+   * @return The exception to throw.
+   */
+  private static RuntimeException translateResourceAccessException(ResourceAccessException e) {
+    ConnectionRequestTimeoutException timeoutException = HttpClientExceptions.translateConnectionRequestTimeout(e);
+    return timeoutException != null ? timeoutException : e;
   }
 }
\ No newline at end of file
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.net.URI;
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.RestClientException;
+
+import com.brighttalk.channels.reportingapi.client.AsyncApiClient;
+import com.brighttalk.channels.reportingapi.client.ConnectionRequestTimeoutException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.common.GetChannelSubscribersRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.GetSubscribersWebcastActivityRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.GetSurveyResponsesRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.GetWebcastRegistrationsRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.GetWebcastViewingsRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.GetWebcastsRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.PagingRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.common.RequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveysResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * An {@link AsyncApiClient} implementation that delegates to a pre-configured instance of the Spring framework's
+ * {@link AsyncRestTemplate} to make the authenticated, asynchronous API calls.
+ * <p>
+ * When the AsyncRestTemplate is configured with a non-blocking HTTP client, such as Apache HttpAsyncClient, no thread
+ * is blocked for the duration of an API call. The AsyncRestTemplate should be configured with the same HTTP message
+ * converters and {@link org.springframework.web.client.ResponseErrorHandler} as the RestTemplate used by the
+ * {@link SpringApiClientImpl}, so that API responses are unmarshalled, and API errors reported, identically.
+ * <p>
+ * Thread safe.
+ */
+public class SpringAsyncApiClientImpl implements AsyncApiClient {
+
+  private static final Logger logger = LoggerFactory.getLogger(SpringAsyncApiClientImpl.class);
+
+  private final ApiServiceEndpoint apiServiceEndpoint;
+  private final AsyncRestTemplate asyncRestTemplate;
+
+  /**
+   * Creates an instance of the API client that communicates with a specified API service host.
+   * 
+   * @param apiServiceProtocol The protocol used to communicate with the BrightTALK API service. One of "http" or
+   * "https". Optional. If null defaults to "https".
+   * @param apiServiceHostName The host name of the BrightTALK API service. A fully qualified domain name.
+   * @param apiServicePort The port of the BrightTALK API service. Optional. If null defaults to 80 or 443 depending on
+   * {@code apiServiceProtocol}.
+   * @param asyncRestTemplate The Spring {@link AsyncRestTemplate} this API client should use to make HTTP requests and
+   * process the resulting HTTP response. The object must be fully configured with a connection factory supporting the
+   * required API authentication and marshalling of all supported API resources to/from HTTP request and response
+   * bodies.
+   */
+  public SpringAsyncApiClientImpl(String apiServiceProtocol, String apiServiceHostName, Integer apiServicePort,
+      AsyncRestTemplate asyncRestTemplate) {
+    this.apiServiceEndpoint = new ApiServiceEndpoint(apiServiceProtocol, apiServiceHostName, apiServicePort);
+    this.asyncRestTemplate = Preconditions.checkNotNull(asyncRestTemplate, "AsyncRestTemplate must not be null.");
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<ChannelsResource> getMyChannels(PageCriteria pageCriteria) {
+    logger.debug("Requesting My Channels with page criteria [{}].", pageCriteria);
+    RequestParamsBuilder requestParams = new PagingRequestParamsBuilder(pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_MY_CHANNELS, requestParams);
+    return this.getForObject(resourceUri, ChannelsResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<ChannelsResource> getUserChannels(int userId, PageCriteria pageCriteria) {
+    logger.debug("Requesting User Channels for user [{}] with page criteria [{}].", userId, pageCriteria);
+    RequestParamsBuilder requestParams = new PagingRequestParamsBuilder(pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_USER_CHANNELS, requestParams,
+        userId);
+    return this.getForObject(resourceUri, ChannelsResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<ChannelSubscribersResource> getChannelSubscribers(int channelId, Boolean subscribed,
+      Date subscribedSince, Date unsubscribedSince, PageCriteria pageCriteria) {
+    logger.debug("Requesting Channel Subscribers for channel [{}] with page criteria [{}].", channelId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetChannelSubscribersRequestParamsBuilder(subscribed,
+        subscribedSince, unsubscribedSince, pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_CHANNEL_SUBSCRIBERS, requestParams,
+        channelId);
+    return this.getForObject(resourceUri, ChannelSubscribersResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<SubscribersWebcastActivityResource> getSubscribersWebcastActivityForChannel(int channelId,
+      Date since, Boolean expandChannelSurveyResponse, PageCriteria pageCriteria) {
+    logger.debug("Requesting Subscribers Webcast Activity for channel [{}] with page criteria [{}].", channelId,
+        pageCriteria);
+    RequestParamsBuilder requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
+        expandChannelSurveyResponse, pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(
+        ApiEndpoint.GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL, requestParams, channelId);
+    return this.getForObject(resourceUri, SubscribersWebcastActivityResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<SubscribersWebcastActivityResource> getSubscribersWebcastActivityForWebcast(int channelId,
+      int webcastId, Date since, Boolean expandChannelSurveyResponse, PageCriteria pageCriteria) {
+    logger.debug("Requesting Subscribers Webcast Activity for channel [{}], webcast [{}] with page criteria [{}].",
+        channelId, webcastId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetSubscribersWebcastActivityRequestParamsBuilder(since,
+        expandChannelSurveyResponse, pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(
+        ApiEndpoint.GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_WEBCAST, requestParams, channelId, webcastId);
+    return this.getForObject(resourceUri, SubscribersWebcastActivityResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<SurveysResource> getSurveysForChannel(int channelId) {
+    logger.debug("Requesting Surveys for channel [{}].", channelId);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_SURVEYS_FOR_CHANNEL, null,
+        channelId);
+    return this.getForObject(resourceUri, SurveysResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<SurveyResource> getSurvey(int surveyId) {
+    logger.debug("Requesting Survey [{}].", surveyId);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_SURVEY, null, surveyId);
+    return this.getForObject(resourceUri, SurveyResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<SurveyResponsesResource> getSurveyResponses(int surveyId, Date since,
+      PageCriteria pageCriteria) {
+    logger.debug("Requesting Survey Responses for survey [{}] with page criteria [{}].", surveyId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetSurveyResponsesRequestParamsBuilder(since, pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_SURVEY_RESPONSES, requestParams,
+        surveyId);
+    return this.getForObject(resourceUri, SurveyResponsesResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<WebcastsResource> getWebcastsForChannel(int channelId, Date since,
+      PageCriteria pageCriteria) {
+    logger.debug("Requesting Webcasts for channel [{}] with page criteria [{}].", channelId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetWebcastsRequestParamsBuilder(since, pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_WEBCASTS_FOR_CHANNEL,
+        requestParams, channelId);
+    return this.getForObject(resourceUri, WebcastsResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<WebcastResource> getWebcast(int channelId, int webcastId) {
+    logger.debug("Requesting Webcast [{}] for channel [{}].", webcastId, channelId);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_WEBCAST, null, channelId, webcastId);
+    return this.getForObject(resourceUri, WebcastResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<WebcastRegistrationsResource> getWebcastRegistrationsForWebcast(int channelId, int webcastId,
+      Date since, Boolean viewed, PageCriteria pageCriteria) {
+    logger.debug("Requesting Webcast Registrations for channel [{}], webcast [{}] with page criteria [{}].", channelId,
+        webcastId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetWebcastRegistrationsRequestParamsBuilder(since, viewed,
+        pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_WEBCAST_REGISTRATIONS_FOR_WEBCAST,
+        requestParams, channelId, webcastId);
+    return this.getForObject(resourceUri, WebcastRegistrationsResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<WebcastViewingsResource> getWebcastViewingsForChannel(int channelId, Date since,
+      WebcastStatus webcastStatus, PageCriteria pageCriteria) {
+    logger.debug("Requesting Webcast Viewings for channel [{}] with page criteria [{}].", channelId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
+        pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_CHANNEL,
+        requestParams, channelId);
+    return this.getForObject(resourceUri, WebcastViewingsResource.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ListenableFuture<WebcastViewingsResource> getWebcastViewingsForWebcast(int channelId, int webcastId,
+      Date since, WebcastStatus webcastStatus, PageCriteria pageCriteria) {
+    logger.debug("Requesting Webcast Viewings for channel [{}], webcast [{}] with page criteria [{}].", channelId,
+        webcastId, pageCriteria);
+    RequestParamsBuilder requestParams = new GetWebcastViewingsRequestParamsBuilder(since, webcastStatus,
+        pageCriteria);
+    URI resourceUri = this.apiServiceEndpoint.buildAbsoluteHttpUri(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST,
+        requestParams, channelId, webcastId);
+    return this.getForObject(resourceUri, WebcastViewingsResource.class);
+  }
+
+  /**
+   * @return The base (protocol, host name and optional port) {@link URI} of the API service which this client is
+   * currently configured to use. This is an environment specific value.
+   */
+  public final URI getApiServiceBaseUri() {
+    return this.apiServiceEndpoint.getBaseUri();
+  }
+
+  /**
+   * Initiates an API call (HTTP GET) for an API resource, and adapts the AsyncRestTemplate's future for the response to
+   * a future for the unmarshalled resource.
+   * 
+   * @param resourceUri The absolute URI of the resource.
+   * @param responseType The class of API resource.
+   * @return A {@link ListenableFuture} for the API resource.
+   */
+  private <T> ListenableFuture<T> getForObject(URI resourceUri, Class<T> responseType) {
+    final SettableFuture<T> resourceFuture = SettableFuture.create();
+    final org.springframework.util.concurrent.ListenableFuture<ResponseEntity<T>> responseFuture;
+    try {
+      responseFuture = this.asyncRestTemplate.getForEntity(resourceUri, responseType);
+    } catch (RestClientException e) {
+      resourceFuture.setException(e);
+      return resourceFuture;
+    }
+    responseFuture.addCallback(new ListenableFutureCallback<ResponseEntity<T>>() {
+      @Override
+      public void onSuccess(ResponseEntity<T> response) {
+        logger.debug("Got [{}].", response.getBody());
+        resourceFuture.set(response.getBody());
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        ConnectionRequestTimeoutException timeoutException =
+            HttpClientExceptions.translateConnectionRequestTimeout(t);
+        resourceFuture.setException(timeoutException != null ? timeoutException : t);
+      }
+    });
+    // Propagate cancellation by the caller to the HTTP request
+    resourceFuture.addListener(new Runnable() {
+      @Override
+      public void run() {
+        if (resourceFuture.isCancelled()) {
+          responseFuture.cancel(true);
+        }
+      }
+    }, MoreExecutors.sameThreadExecutor());
+    return resourceFuture;
+  }
+}
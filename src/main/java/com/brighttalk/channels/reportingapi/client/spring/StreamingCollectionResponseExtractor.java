@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stax.StAXSource;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.oxm.Unmarshaller;
+import org.springframework.oxm.XmlMappingException;
+import org.springframework.web.client.ResponseExtractor;
+
+import com.brighttalk.channels.reportingapi.client.ResourceHandler;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link ResponseExtractor} which reads an API response containing a collection of API resources as a stream, using
+ * StAX, handing each resource in the collection to a {@link ResourceHandler} as soon as its element has been read.
+ * <p>
+ * Only the element of the current resource is unmarshalled at any one time, using the supplied (JAXB) unmarshaller,
+ * rather than the object graph for the whole collection. The links belonging to the collection (child 'link'
+ * elements of the root element) are parsed directly and returned by {@link #extractData(ClientHttpResponse)} once the
+ * whole response has been read. Any other child elements of the root element are ignored.
+ * 
+ * @param <E> The type of API resource contained in the collection.
+ */
+class StreamingCollectionResponseExtractor<E> implements ResponseExtractor<List<Link>> {
+
+  private static final String LINK_ELEMENT_NAME = "link";
+
+  private final XMLInputFactory xmlInputFactory;
+  private final Unmarshaller unmarshaller;
+  private final String resourceElementName;
+  private final Class<E> resourceClass;
+  private final ResourceHandler<E> handler;
+
+  /**
+   * @param xmlInputFactory The (shared) {@link XMLInputFactory} used to create the StAX parser which reads the
+   * response.
+   * @param unmarshaller The {@link Unmarshaller} used to unmarshal each resource in the collection from its element.
+   * @param resourceElementName The local name of the element of each resource in the collection.
+   * @param resourceClass The class of API resource contained in the collection.
+   * @param handler The {@link ResourceHandler} to hand each resource to.
+   */
+  StreamingCollectionResponseExtractor(XMLInputFactory xmlInputFactory, Unmarshaller unmarshaller,
+      String resourceElementName, Class<E> resourceClass, ResourceHandler<E> handler) {
+    this.xmlInputFactory = Preconditions.checkNotNull(xmlInputFactory, "xmlInputFactory must not be null.");
+    this.unmarshaller = Preconditions.checkNotNull(unmarshaller, "unmarshaller must not be null.");
+    this.resourceElementName = Preconditions.checkNotNull(resourceElementName, "resourceElementName must not be null.");
+    this.resourceClass = Preconditions.checkNotNull(resourceClass, "resourceClass must not be null.");
+    this.handler = Preconditions.checkNotNull(handler, "handler must not be null.");
+  }
+
+  /**
+   * {@inheritDoc}
+   * 
+   * @return The list of {@link Link} belonging to the collection. Never null.
+   * @throws HttpMessageNotReadableException If the response body is not well formed XML, or one of the resources in
+   * the collection cannot be unmarshalled.
+   */
+  @Override
+  public List<Link> extractData(ClientHttpResponse response) throws IOException {
+    List<Link> links = new ArrayList<>();
+    XMLStreamReader reader = null;
+    try {
+      reader = this.xmlInputFactory.createXMLStreamReader(response.getBody());
+      // Position the reader on the first child of the collection's root element
+      reader.nextTag();
+      reader.next();
+      while (reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+          reader.next();
+        } else if (this.resourceElementName.equals(reader.getLocalName())) {
+          // On return the unmarshaller leaves the reader positioned on the event following the resource's end element
+          Object resource = this.unmarshaller.unmarshal(new StAXSource(reader));
+          this.handler.handle(this.resourceClass.cast(resource));
+        } else {
+          if (LINK_ELEMENT_NAME.equals(reader.getLocalName())) {
+            links.add(new Link(reader.getAttributeValue(null, "href"), reader.getAttributeValue(null, "rel"),
+                reader.getAttributeValue(null, "title")));
+          }
+          skipElement(reader);
+        }
+      }
+    } catch (XMLStreamException | XmlMappingException e) {
+      throw new HttpMessageNotReadableException("Could not read collection of [" + this.resourceClass.getName()
+          + "]: " + e.getMessage(), e);
+    } finally {
+      closeQuietly(reader);
+    }
+    return links;
+  }
+
+  /**
+   * Skips the element on which the supplied reader is positioned, including all its descendants, leaving the reader
+   * positioned on the event following the element's end element.
+   */
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 0;
+    do {
+      int eventType = reader.next();
+      if (eventType == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (eventType == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    } while (depth >= 0);
+    reader.next();
+  }
+
+  private static void closeQuietly(XMLStreamReader reader) {
+    if (reader != null) {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        // Ignore - the underlying response is closed by the RestTemplate
+      }
+    }
+  }
+}
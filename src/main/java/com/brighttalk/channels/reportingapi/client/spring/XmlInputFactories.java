@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import javax.xml.stream.XMLInputFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Creates the StAX {@link XMLInputFactory} used to parse API responses, configured for fast parsing of the API's XML.
+ * <p>
+ * The StAX implementation can be chosen by class name, e.g. to use a faster implementation than the JVM's default,
+ * such as Woodstox ({@code com.ctc.wstx.stax.WstxInputFactory}) or Aalto
+ * ({@code com.fasterxml.aalto.stax.InputFactoryImpl}), if it's on the classpath. Whichever implementation is used, the
+ * created factory is configured to not coalesce adjacent text, and to not support DTDs or external entities, which the
+ * API doesn't use.
+ * <p>
+ * An XMLInputFactory is expensive to create, and thread-safe once configured, so a single instance should be created
+ * and shared for all responses.
+ */
+public final class XmlInputFactories {
+
+  /** The default factory, using the JVM's default StAX implementation. */
+  private static final XMLInputFactory DEFAULT = create(null);
+
+  private XmlInputFactories() {
+  }
+
+  /**
+   * @return A shared {@link XMLInputFactory} using the JVM's default StAX implementation, configured as described
+   * above.
+   */
+  public static XMLInputFactory getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Creates an {@link XMLInputFactory}, configured as described above.
+   * 
+   * @param factoryClassName The fully qualified name of the class of {@link XMLInputFactory} to create. Optional. If
+   * null or empty the JVM's default StAX implementation is used.
+   * @return The created {@link XMLInputFactory}.
+   * @throws IllegalArgumentException If the named class doesn't exist or isn't an {@link XMLInputFactory}.
+   */
+  public static XMLInputFactory create(String factoryClassName) {
+    XMLInputFactory factory;
+    if (StringUtils.hasText(factoryClassName)) {
+      Class<?> factoryClass;
+      try {
+        factoryClass = ClassUtils.forName(factoryClassName.trim(), XmlInputFactories.class.getClassLoader());
+      } catch (ClassNotFoundException | LinkageError e) {
+        throw new IllegalArgumentException("XMLInputFactory class [" + factoryClassName + "] not found.", e);
+      }
+      factory = BeanUtils.instantiateClass(factoryClass, XMLInputFactory.class);
+    } else {
+      factory = XMLInputFactory.newFactory();
+    }
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Date;
+import java.util.List;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.SubscriberWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponseResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+import com.google.common.base.Preconditions;
+
+/**
+ * Factory methods for creating a {@link ResourceCollectionPager} for each of the paged methods of the
+ * {@link ApiClient}.
+ * <p>
+ * Supports iterating over all the resources in a collection without having to explicitly request each page, e.g.
+ * 
+ * <pre>
+ * for (WebcastViewingResource viewing : ApiClientPagers.webcastViewingsForChannel(apiClient, channelId, null, null,
+ *     pageSize)) {
+ *   ...
+ * }
+ * </pre>
+ * 
+ * The method parameters mirror those of the corresponding {@link ApiClient} method, with the exception of the
+ * {@link PageCriteria} which is replaced by an optional page size.
+ */
+public final class ApiClientPagers {
+
+  private ApiClientPagers() {
+  }
+
+  /**
+   * Creates a pager over the channels owned by the current API user. See {@link ApiClient#getMyChannels}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link ChannelResource}.
+   */
+  public static ResourceCollectionPager<ChannelsResource, ChannelResource> myChannels(final ApiClient apiClient,
+      Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<ChannelsResource, ChannelResource>(pageSize) {
+      @Override
+      protected ChannelsResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getMyChannels(pageCriteria);
+      }
+
+      @Override
+      protected List<ChannelResource> getResources(ChannelsResource page) {
+        return page.getChannels();
+      }
+
+      @Override
+      protected List<Link> getLinks(ChannelsResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the channels owned by an identified BrightTALK user. See {@link ApiClient#getUserChannels}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param userId The ID of the BrightTALK user.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link ChannelResource}.
+   */
+  public static ResourceCollectionPager<ChannelsResource, ChannelResource> userChannels(final ApiClient apiClient,
+      final int userId, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<ChannelsResource, ChannelResource>(pageSize) {
+      @Override
+      protected ChannelsResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getUserChannels(userId, pageCriteria);
+      }
+
+      @Override
+      protected List<ChannelResource> getResources(ChannelsResource page) {
+        return page.getChannels();
+      }
+
+      @Override
+      protected List<Link> getLinks(ChannelsResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the current and/or past subscribers to a channel. See {@link ApiClient#getChannelSubscribers}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param channelId The ID of the channel.
+   * @param subscribed Optionally filters the results according to the subscriber’s current subscription status.
+   * @param subscribedSince Optionally filters the results to include only those who subscribed after the date / time.
+   * @param unsubscribedSince Optionally filters the results to include only those who unsubscribed after the date /
+   * time.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link ChannelSubscriberResource}.
+   */
+  public static ResourceCollectionPager<ChannelSubscribersResource, ChannelSubscriberResource> channelSubscribers(
+      final ApiClient apiClient, final int channelId, final Boolean subscribed, final Date subscribedSince,
+      final Date unsubscribedSince, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<ChannelSubscribersResource, ChannelSubscriberResource>(pageSize) {
+      @Override
+      protected ChannelSubscribersResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getChannelSubscribers(channelId, subscribed, subscribedSince, unsubscribedSince, pageCriteria);
+      }
+
+      @Override
+      protected List<ChannelSubscriberResource> getResources(ChannelSubscribersResource page) {
+        return page.getChannelSubscribers();
+      }
+
+      @Override
+      protected List<Link> getLinks(ChannelSubscribersResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the per subscriber activity for webcasts in a channel. See
+   * {@link ApiClient#getSubscribersWebcastActivityForChannel}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param channelId The ID of the channel.
+   * @param since Optionally filters the results to include only those resources (created or) updated after
+   * (exclusive) the specified UTC date / time.
+   * @param expandChannelSurveyResponse Optionally expands each activity to include the channel survey response.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link SubscriberWebcastActivityResource}.
+   */
+  public static ResourceCollectionPager<SubscribersWebcastActivityResource, SubscriberWebcastActivityResource>
+      subscribersWebcastActivityForChannel(final ApiClient apiClient, final int channelId, final Date since,
+          final Boolean expandChannelSurveyResponse, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<SubscribersWebcastActivityResource, SubscriberWebcastActivityResource>(
+        pageSize) {
+      @Override
+      protected SubscribersWebcastActivityResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getSubscribersWebcastActivityForChannel(channelId, since, expandChannelSurveyResponse,
+            pageCriteria);
+      }
+
+      @Override
+      protected List<SubscriberWebcastActivityResource> getResources(SubscribersWebcastActivityResource page) {
+        return page.getSubscriberWebcastActivities();
+      }
+
+      @Override
+      protected List<Link> getLinks(SubscribersWebcastActivityResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the per subscriber activity for a webcast. See
+   * {@link ApiClient#getSubscribersWebcastActivityForWebcast}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param channelId The ID of the channel.
+   * @param webcastId The ID of the webcast.
+   * @param since Optionally filters the results to include only those resources (created or) updated after
+   * (exclusive) the specified UTC date / time.
+   * @param expandChannelSurveyResponse Optionally expands each activity to include the channel survey response.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link SubscriberWebcastActivityResource}.
+   */
+  public static ResourceCollectionPager<SubscribersWebcastActivityResource, SubscriberWebcastActivityResource>
+      subscribersWebcastActivityForWebcast(final ApiClient apiClient, final int channelId, final int webcastId,
+          final Date since, final Boolean expandChannelSurveyResponse, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<SubscribersWebcastActivityResource, SubscriberWebcastActivityResource>(
+        pageSize) {
+      @Override
+      protected SubscribersWebcastActivityResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getSubscribersWebcastActivityForWebcast(channelId, webcastId, since,
+            expandChannelSurveyResponse, pageCriteria);
+      }
+
+      @Override
+      protected List<SubscriberWebcastActivityResource> getResources(SubscribersWebcastActivityResource page) {
+        return page.getSubscriberWebcastActivities();
+      }
+
+      @Override
+      protected List<Link> getLinks(SubscribersWebcastActivityResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the responses to a survey. See {@link ApiClient#getSurveyResponses}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param surveyId The ID of the survey.
+   * @param since Optionally filters the results to include only those resources (created or) updated after
+   * (exclusive) the specified UTC date / time.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link SurveyResponseResource}.
+   */
+  public static ResourceCollectionPager<SurveyResponsesResource, SurveyResponseResource> surveyResponses(
+      final ApiClient apiClient, final int surveyId, final Date since, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<SurveyResponsesResource, SurveyResponseResource>(pageSize) {
+      @Override
+      protected SurveyResponsesResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getSurveyResponses(surveyId, since, pageCriteria);
+      }
+
+      @Override
+      protected List<SurveyResponseResource> getResources(SurveyResponsesResource page) {
+        return page.getSurveyResponses();
+      }
+
+      @Override
+      protected List<Link> getLinks(SurveyResponsesResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the webcasts in a channel. See {@link ApiClient#getWebcastsForChannel}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param channelId The ID of the channel.
+   * @param since Optionally filters the results to include only those resources (created or) updated after
+   * (exclusive) the specified UTC date / time.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link WebcastResource}.
+   */
+  public static ResourceCollectionPager<WebcastsResource, WebcastResource> webcastsForChannel(final ApiClient apiClient,
+      final int channelId, final Date since, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<WebcastsResource, WebcastResource>(pageSize) {
+      @Override
+      protected WebcastsResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getWebcastsForChannel(channelId, since, pageCriteria);
+      }
+
+      @Override
+      protected List<WebcastResource> getResources(WebcastsResource page) {
+        return page.getWebcasts();
+      }
+
+      @Override
+      protected List<Link> getLinks(WebcastsResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the registrations for a webcast. See {@link ApiClient#getWebcastRegistrationsForWebcast}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param channelId The ID of the channel.
+   * @param webcastId The ID of the webcast.
+   * @param since Optionally filters the results to include only those resources (created or) updated after
+   * (exclusive) the specified UTC date / time.
+   * @param viewed Optionally filters the results according to whether the registrant has viewed the webcast.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link WebcastRegistrationResource}.
+   */
+  public static ResourceCollectionPager<WebcastRegistrationsResource, WebcastRegistrationResource>
+      webcastRegistrationsForWebcast(final ApiClient apiClient, final int channelId, final int webcastId,
+          final Date since, final Boolean viewed, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<WebcastRegistrationsResource, WebcastRegistrationResource>(pageSize) {
+      @Override
+      protected WebcastRegistrationsResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getWebcastRegistrationsForWebcast(channelId, webcastId, since, viewed, pageCriteria);
+      }
+
+      @Override
+      protected List<WebcastRegistrationResource> getResources(WebcastRegistrationsResource page) {
+        return page.getWebcastRegistrations();
+      }
+
+      @Override
+      protected List<Link> getLinks(WebcastRegistrationsResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the viewings of all webcasts in a channel. See {@link ApiClient#getWebcastViewingsForChannel}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param channelId The ID of the channel.
+   * @param since Optionally filters the results to include only those resources (created or) updated after
+   * (exclusive) the specified UTC date / time.
+   * @param webcastStatus Optionally filters the results by the status of the webcast at the time of viewing.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link WebcastViewingResource}.
+   */
+  public static ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource> webcastViewingsForChannel(
+      final ApiClient apiClient, final int channelId, final Date since, final WebcastStatus webcastStatus,
+      Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource>(pageSize) {
+      @Override
+      protected WebcastViewingsResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getWebcastViewingsForChannel(channelId, since, webcastStatus, pageCriteria);
+      }
+
+      @Override
+      protected List<WebcastViewingResource> getResources(WebcastViewingsResource page) {
+        return page.getWebcastViewings();
+      }
+
+      @Override
+      protected List<Link> getLinks(WebcastViewingsResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+
+  /**
+   * Creates a pager over the viewings of a webcast. See {@link ApiClient#getWebcastViewingsForWebcast}.
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param channelId The ID of the channel.
+   * @param webcastId The ID of the webcast.
+   * @param since Optionally filters the results to include only those resources (created or) updated after
+   * (exclusive) the specified UTC date / time.
+   * @param webcastStatus Optionally filters the results by the status of the webcast at the time of viewing.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return A {@link ResourceCollectionPager} over the {@link WebcastViewingResource}.
+   */
+  public static ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource> webcastViewingsForWebcast(
+      final ApiClient apiClient, final int channelId, final int webcastId, final Date since,
+      final WebcastStatus webcastStatus, Integer pageSize) {
+    Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    return new ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource>(pageSize) {
+      @Override
+      protected WebcastViewingsResource getPage(PageCriteria pageCriteria) {
+        return apiClient.getWebcastViewingsForWebcast(channelId, webcastId, since, webcastStatus, pageCriteria);
+      }
+
+      @Override
+      protected List<WebcastViewingResource> getResources(WebcastViewingsResource page) {
+        return page.getWebcastViewings();
+      }
+
+      @Override
+      protected List<Link> getLinks(WebcastViewingsResource page) {
+        return page.getLinks();
+      }
+    };
+  }
+}
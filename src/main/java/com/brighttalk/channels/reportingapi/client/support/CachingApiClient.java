@@ -0,0 +1,305 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveysResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * An {@link ApiClient} which decorates another, caching the resources returned by the API methods for rarely changing
+ * types of resource - channels, surveys and (individual) webcasts - in memory, so that repeated requests for the same
+ * resource, e.g. the survey of each batch of survey responses, don't each result in an API call.
+ * <p>
+ * Resources are cached per {@link ResourceType}, keyed by API method and arguments. The cache of each type of resource
+ * is configured using a Guava {@link CacheBuilderSpec}, e.g. "maximumSize=1000,expireAfterWrite=30m", supporting a
+ * different time to live (TTL) and max size per type of resource. Once the max size is reached, the least recently
+ * used resources are evicted. Stats, including the hit, miss and eviction counts, are recorded per type of resource.
+ * <p>
+ * Calls to the API methods of other types of resource, e.g. the collections of webcast viewings, are passed straight
+ * through to the decorated API client, as are the calls for types of resource which aren't configured to be cached.
+ * Errors aren't cached. Concurrent requests for the same uncached resource result in a single API call.
+ * <p>
+ * The same resource instances are returned to all callers, so must not be modified. Instances are thread-safe.
+ */
+public class CachingApiClient implements ApiClient {
+
+  /**
+   * The types of resource which can be cached.
+   */
+  public enum ResourceType {
+    /** Channels - {@link ApiClient#getMyChannels} and {@link ApiClient#getUserChannels}. */
+    CHANNEL,
+    /** Surveys - {@link ApiClient#getSurvey} and {@link ApiClient#getSurveysForChannel}. */
+    SURVEY,
+    /** Webcasts - {@link ApiClient#getWebcast}. */
+    WEBCAST
+  }
+
+  /** The default spec of the cache of each type of resource. */
+  public static final String DEFAULT_CACHE_SPEC = "maximumSize=10000,expireAfterWrite=1h";
+
+  private final ApiClient apiClient;
+  private final Map<ResourceType, Cache<List<Object>, Object>> caches = new EnumMap<>(ResourceType.class);
+
+  /**
+   * Creates an instance which caches all types of resource using the {@link #DEFAULT_CACHE_SPEC}.
+   *
+   * @param apiClient The {@link ApiClient} to decorate.
+   */
+  public CachingApiClient(ApiClient apiClient) {
+    this(apiClient, defaultCacheSpecs());
+  }
+
+  /**
+   * @param apiClient The {@link ApiClient} to decorate.
+   * @param cacheSpecs A map of each type of resource to cache, to the {@link CacheBuilderSpec} of its cache. Types of
+   * resource which aren't included aren't cached.
+   */
+  public CachingApiClient(ApiClient apiClient, Map<ResourceType, CacheBuilderSpec> cacheSpecs) {
+    this.apiClient = Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    Preconditions.checkNotNull(cacheSpecs, "cacheSpecs must not be null.");
+    for (Map.Entry<ResourceType, CacheBuilderSpec> cacheSpec : cacheSpecs.entrySet()) {
+      this.caches.put(cacheSpec.getKey(), CacheBuilder.from(cacheSpec.getValue()).recordStats()
+          .<List<Object>, Object> build());
+    }
+  }
+
+  @Override
+  public ChannelsResource getMyChannels(final PageCriteria pageCriteria) throws ApiClientException {
+    return this.get(ResourceType.CHANNEL, new Callable<ChannelsResource>() {
+      @Override
+      public ChannelsResource call() {
+        return CachingApiClient.this.apiClient.getMyChannels(pageCriteria);
+      }
+    }, "getMyChannels", pageCriteriaKey(pageCriteria));
+  }
+
+  @Override
+  public ChannelsResource getUserChannels(final int userId, final PageCriteria pageCriteria)
+      throws ApiClientException {
+    return this.get(ResourceType.CHANNEL, new Callable<ChannelsResource>() {
+      @Override
+      public ChannelsResource call() {
+        return CachingApiClient.this.apiClient.getUserChannels(userId, pageCriteria);
+      }
+    }, "getUserChannels", userId, pageCriteriaKey(pageCriteria));
+  }
+
+  @Override
+  public ChannelSubscribersResource getChannelSubscribers(int channelId, Boolean subscribed, Date subscribedSince,
+      Date unsubscribedSince, PageCriteria pageCriteria) throws ApiClientException {
+    return this.apiClient.getChannelSubscribers(channelId, subscribed, subscribedSince, unsubscribedSince,
+        pageCriteria);
+  }
+
+  @Override
+  public SubscribersWebcastActivityResource getSubscribersWebcastActivityForChannel(int channelId, Date since,
+      Boolean expandChannelSurveyResponse, PageCriteria pageCriteria) throws ApiClientException {
+    return this.apiClient.getSubscribersWebcastActivityForChannel(channelId, since, expandChannelSurveyResponse,
+        pageCriteria);
+  }
+
+  @Override
+  public SubscribersWebcastActivityResource getSubscribersWebcastActivityForWebcast(int channelId, int webcastId,
+      Date since, Boolean expandChannelSurveyResponse, PageCriteria pageCriteria) throws ApiClientException {
+    return this.apiClient.getSubscribersWebcastActivityForWebcast(channelId, webcastId, since,
+        expandChannelSurveyResponse, pageCriteria);
+  }
+
+  @Override
+  public SurveysResource getSurveysForChannel(final int channelId) throws ApiClientException {
+    return this.get(ResourceType.SURVEY, new Callable<SurveysResource>() {
+      @Override
+      public SurveysResource call() {
+        return CachingApiClient.this.apiClient.getSurveysForChannel(channelId);
+      }
+    }, "getSurveysForChannel", channelId);
+  }
+
+  @Override
+  public SurveyResource getSurvey(final int surveyId) throws ApiClientException {
+    return this.get(ResourceType.SURVEY, new Callable<SurveyResource>() {
+      @Override
+      public SurveyResource call() {
+        return CachingApiClient.this.apiClient.getSurvey(surveyId);
+      }
+    }, "getSurvey", surveyId);
+  }
+
+  @Override
+  public SurveyResponsesResource getSurveyResponses(int surveyId, Date since, PageCriteria pageCriteria)
+      throws ApiClientException {
+    return this.apiClient.getSurveyResponses(surveyId, since, pageCriteria);
+  }
+
+  @Override
+  public WebcastsResource getWebcastsForChannel(int channelId, Date since, PageCriteria pageCriteria)
+      throws ApiClientException {
+    return this.apiClient.getWebcastsForChannel(channelId, since, pageCriteria);
+  }
+
+  @Override
+  public WebcastResource getWebcast(final int channelId, final int webcastId) throws ApiClientException {
+    return this.get(ResourceType.WEBCAST, new Callable<WebcastResource>() {
+      @Override
+      public WebcastResource call() {
+        return CachingApiClient.this.apiClient.getWebcast(channelId, webcastId);
+      }
+    }, "getWebcast", channelId, webcastId);
+  }
+
+  @Override
+  public WebcastRegistrationsResource getWebcastRegistrationsForWebcast(int channelId, int webcastId, Date since,
+      Boolean viewed, PageCriteria pageCriteria) throws ApiClientException {
+    return this.apiClient.getWebcastRegistrationsForWebcast(channelId, webcastId, since, viewed, pageCriteria);
+  }
+
+  @Override
+  public WebcastViewingsResource getWebcastViewingsForChannel(int channelId, Date since, WebcastStatus webcastStatus,
+      PageCriteria pageCriteria) throws ApiClientException {
+    return this.apiClient.getWebcastViewingsForChannel(channelId, since, webcastStatus, pageCriteria);
+  }
+
+  @Override
+  public WebcastViewingsResource getWebcastViewingsForWebcast(int channelId, int webcastId, Date since,
+      WebcastStatus webcastStatus, PageCriteria pageCriteria) throws ApiClientException {
+    return this.apiClient.getWebcastViewingsForWebcast(channelId, webcastId, since, webcastStatus, pageCriteria);
+  }
+
+  /**
+   * @param resourceType A {@link ResourceType}.
+   * @return The {@link CacheStats} of the cache of the type of resource, including its hit, miss and eviction counts,
+   * or null if the type of resource isn't cached.
+   */
+  public CacheStats getStats(ResourceType resourceType) {
+    Cache<List<Object>, Object> cache = this.caches.get(resourceType);
+    return cache != null ? cache.stats() : null;
+  }
+
+  /**
+   * @param resourceType A {@link ResourceType}.
+   * @return The no. of resources currently in the cache of the type of resource, or zero if it isn't cached.
+   */
+  public long getSize(ResourceType resourceType) {
+    Cache<List<Object>, Object> cache = this.caches.get(resourceType);
+    return cache != null ? cache.size() : 0;
+  }
+
+  /**
+   * Discards all the cached resources of a given type, e.g. on learning they've been changed.
+   *
+   * @param resourceType A {@link ResourceType}.
+   */
+  public void invalidateAll(ResourceType resourceType) {
+    Cache<List<Object>, Object> cache = this.caches.get(resourceType);
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  public final ApiClient getApiClient() {
+    return this.apiClient;
+  }
+
+  /**
+   * Returns the cached resource for an API method and arguments, or, if there isn't one, retrieves and caches it.
+   *
+   * @param resourceType The {@link ResourceType} returned by the API method.
+   * @param apiCall A {@link Callable} which calls the API method of the decorated API client.
+   * @param method The name of the API method.
+   * @param args The API method's arguments, comprising the rest of the cache key.
+   * @param <R> The type of resource.
+   * @return The resource.
+   * @throws ApiClientException If an error occurs on making the API call.
+   */
+  @SuppressWarnings("unchecked")
+  private <R> R get(ResourceType resourceType, Callable<R> apiCall, String method, Object... args)
+      throws ApiClientException {
+    Cache<List<Object>, Object> cache = this.caches.get(resourceType);
+    if (cache == null) {
+      try {
+        return apiCall.call();
+      } catch (Exception e) {
+        throw Throwables.propagate(e);
+      }
+    }
+    Object[] key = new Object[args.length + 1];
+    key[0] = method;
+    System.arraycopy(args, 0, key, 1, args.length);
+    try {
+      return (R) cache.get(Arrays.asList(key), apiCall);
+    } catch (UncheckedExecutionException | ExecutionError | ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * @param pageCriteria Optional {@link PageCriteria}.
+   * @return A list of the values of the page criteria which identify the requested page, for use as part of a cache
+   * key, as {@link PageCriteria} doesn't implement equals.
+   */
+  private static List<Object> pageCriteriaKey(PageCriteria pageCriteria) {
+    return pageCriteria != null ? Arrays.<Object> asList(pageCriteria.getPageSize(), pageCriteria.getNextPageCursor())
+        : null;
+  }
+
+  private static Map<ResourceType, CacheBuilderSpec> defaultCacheSpecs() {
+    Map<ResourceType, CacheBuilderSpec> cacheSpecs = new EnumMap<>(ResourceType.class);
+    for (ResourceType resourceType : ResourceType.values()) {
+      cacheSpecs.put(resourceType, CacheBuilderSpec.parse(DEFAULT_CACHE_SPEC));
+    }
+    return cacheSpecs;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("apiClient", this.apiClient)
+      .add("cachedResourceTypes", this.caches.keySet())
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Retrieves a collection of API resources for each of multiple channels concurrently, e.g. the webcast viewings for all
+ * of the channels returned by {@link com.brighttalk.channels.reportingapi.client.ApiClient#getMyChannels}, rather than
+ * paging through each channel's collection in turn.
+ * <p>
+ * The pages of each channel's collection are retrieved in sequence, by a single task run by a supplied
+ * {@link Executor}, as the link to each page is only known once the previous page has been retrieved. Tasks for
+ * different channels run concurrently, up to a configured max no. of channels at a time, irrespective of the no. of
+ * threads available to the executor.
+ * <p>
+ * The retrieved resources are merged into a single {@link ChannelResourceHandler}. The resources of each channel are
+ * handed over in the order they're returned by the API. The handler is never called concurrently, so needn't be
+ * thread-safe. It should be quick, as it holds up the processing of other channels.
+ * <p>
+ * All the API calls are made to the same API service host. The max no. of concurrent requests to that host is also
+ * capped by the HTTP client's connection pool (max connections per route). Configure the max no. of concurrent channels
+ * to be no greater than the per-route limit, to avoid API calls waiting for a connection.
+ * <p>
+ * An error retrieving one channel's resources doesn't prevent the resources of the other channels being retrieved.
+ * Errors are collected and returned to the caller, per channel, once all channels have been processed.
+ */
+public class ChannelFanOutExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChannelFanOutExecutor.class);
+
+  private final Executor executor;
+  private final int maxConcurrentChannels;
+
+  /**
+   * @param executor The {@link Executor} used to retrieve each channel's resources. Its threads are occupied for the
+   * duration of the retrieval of all of a channel's pages.
+   * @param maxConcurrentChannels The max no. of channels whose resources are retrieved concurrently. Must be greater
+   * than zero.
+   */
+  public ChannelFanOutExecutor(Executor executor, int maxConcurrentChannels) {
+    this.executor = Preconditions.checkNotNull(executor, "executor must not be null.");
+    Preconditions.checkArgument(maxConcurrentChannels > 0, "maxConcurrentChannels must be greater than zero.");
+    this.maxConcurrentChannels = maxConcurrentChannels;
+  }
+
+  /**
+   * Retrieves all the resources in the collection of each of a set of channels, handing each resource to a supplied
+   * handler. Blocks until the resources of all the channels have been retrieved, or failed to be retrieved.
+   * 
+   * @param channelIds The ids of the channels. Duplicates are ignored.
+   * @param pagerFactory The {@link ChannelPagerFactory} used to create the pager for each channel's collection.
+   * @param handler The {@link ChannelResourceHandler} to hand each retrieved resource to.
+   * @param <P> The type of resource returned for a page.
+   * @param <E> The type of resource contained in a page.
+   * @return A map of the id of each channel whose resources could not all be retrieved, to the exception that occurred,
+   * ordered by channel id. Empty if all channels were successfully processed.
+   * @throws ApiClientException If the calling thread is interrupted while waiting for the channels to be processed.
+   * Channels already being processed continue to be processed.
+   */
+  public <P, E> SortedMap<Integer, RuntimeException> execute(Collection<Integer> channelIds,
+      final ChannelPagerFactory<P, E> pagerFactory, final ChannelResourceHandler<E> handler) throws ApiClientException {
+    Preconditions.checkNotNull(channelIds, "channelIds must not be null.");
+    Preconditions.checkNotNull(pagerFactory, "pagerFactory must not be null.");
+    Preconditions.checkNotNull(handler, "handler must not be null.");
+    Set<Integer> distinctChannelIds = new LinkedHashSet<>(channelIds);
+    logger.debug("Retrieving resources for [{}] channels, [{}] at a time.", distinctChannelIds.size(),
+        this.maxConcurrentChannels);
+    final Semaphore channelPermits = new Semaphore(this.maxConcurrentChannels);
+    final CountDownLatch channelsProcessed = new CountDownLatch(distinctChannelIds.size());
+    final Map<Integer, RuntimeException> failures = new ConcurrentHashMap<>();
+    final Object handlerLock = new Object();
+    try {
+      for (final Integer channelId : distinctChannelIds) {
+        channelPermits.acquire();
+        try {
+          this.executor.execute(new Runnable() {
+            @Override
+            public void run() {
+              try {
+                processChannel(channelId, pagerFactory, handler, handlerLock);
+              } catch (RuntimeException e) {
+                logger.warn("Error retrieving resources for channel [" + channelId + "].", e);
+                failures.put(channelId, e);
+              } finally {
+                channelPermits.release();
+                channelsProcessed.countDown();
+              }
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          failures.put(channelId, e);
+          channelPermits.release();
+          channelsProcessed.countDown();
+        }
+      }
+      channelsProcessed.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ApiClientException("Interrupted waiting for channels to be processed.", e);
+    }
+    logger.debug("Retrieved resources for [{}] channels. [{}] failed.", distinctChannelIds.size(), failures.size());
+    return Collections.unmodifiableSortedMap(new TreeMap<>(failures));
+  }
+
+  public final int getMaxConcurrentChannels() {
+    return this.maxConcurrentChannels;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("executor", this.executor)
+      .add("maxConcurrentChannels", this.maxConcurrentChannels)
+      .toString();
+    /* @formatter:on */
+  }
+
+  /**
+   * Retrieves all the resources of a channel, in order, handing each to the handler in turn.
+   */
+  private static <P, E> void processChannel(int channelId, ChannelPagerFactory<P, E> pagerFactory,
+      ChannelResourceHandler<E> handler, Object handlerLock) {
+    for (E resource : pagerFactory.createPager(channelId)) {
+      synchronized (handlerLock) {
+        handler.handle(channelId, resource);
+      }
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+/**
+ * Creates the {@link ResourceCollectionPager} used to retrieve a collection of API resources belonging to an identified
+ * channel. Serves as the template for the API call made for each channel by a {@link ChannelFanOutExecutor}, e.g.
+ * 
+ * <pre>
+ * new ChannelPagerFactory&lt;WebcastViewingsResource, WebcastViewingResource&gt;() {
+ *   public ResourceCollectionPager&lt;WebcastViewingsResource, WebcastViewingResource&gt; createPager(int channelId) {
+ *     return ApiClientPagers.webcastViewingsForChannel(apiClient, channelId, since, null, pageSize);
+ *   }
+ * }
+ * </pre>
+ * 
+ * @param <P> The type of resource returned for a page.
+ * @param <E> The type of resource contained in a page.
+ */
+public interface ChannelPagerFactory<P, E> {
+
+  /**
+   * @param channelId The id of the channel.
+   * @return The {@link ResourceCollectionPager} for the identified channel's collection of resources.
+   */
+  ResourceCollectionPager<P, E> createPager(int channelId);
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+/**
+ * Callback interface used by a {@link ChannelFanOutExecutor} to hand each of the API resources retrieved for multiple
+ * channels to the caller, identifying the channel each resource belongs to.
+ * 
+ * @param <E> The type of API resource.
+ */
+public interface ChannelResourceHandler<E> {
+
+  /**
+   * Handles an API resource.
+   * 
+   * @param channelId The id of the channel the resource was retrieved for.
+   * @param resource The API resource.
+   */
+  void handle(int channelId, E resource);
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * An {@link java.util.Iterator} over the pages of a {@link ResourceCollectionPager} which records a
+ * {@link PagingCheckpoint} in a {@link PagingCheckpointFile} as each page is processed, and starts from the last
+ * recorded checkpoint, if there is one.
+ * <p>
+ * A page is treated as processed once the caller requests the following page, at which point the link to the
+ * following page is checkpointed. The checkpoint file is deleted once the caller has processed the last page.
+ *
+ * @param <P> The type of resource returned for a page.
+ * @param <E> The type of resource contained in a page.
+ */
+final class CheckpointingPageIterator<P, E> extends AbstractIterator<P> {
+
+  private static final Logger logger = LoggerFactory.getLogger(CheckpointingPageIterator.class);
+
+  private final ResourceCollectionPager<P, E> pager;
+  private final PagingCheckpointFile checkpointFile;
+  /** Criteria for the page following the one last returned to the caller, or null if that was the last page. */
+  private PageCriteria nextPageCriteria;
+  private long pagesCompleted;
+  private boolean pageReturned;
+
+  /**
+   * @param pager The {@link ResourceCollectionPager} used to retrieve each page.
+   * @param checkpointFile The {@link PagingCheckpointFile} to resume from and record checkpoints in.
+   */
+  CheckpointingPageIterator(ResourceCollectionPager<P, E> pager, PagingCheckpointFile checkpointFile) {
+    this.pager = pager;
+    this.checkpointFile = checkpointFile;
+    PagingCheckpoint checkpoint = checkpointFile.read();
+    if (checkpoint != null) {
+      logger.info("Resuming paging after [{}] completed pages from checkpoint file [{}].",
+          checkpoint.getPagesCompleted(), checkpointFile.getFile());
+      this.nextPageCriteria = checkpoint.toPageCriteria(pager.getPageSize());
+      this.pagesCompleted = checkpoint.getPagesCompleted();
+    } else {
+      this.nextPageCriteria = new PageCriteria(pager.getPageSize());
+    }
+  }
+
+  @Override
+  protected P computeNext() {
+    if (this.pageReturned) {
+      this.pagesCompleted++;
+      if (this.nextPageCriteria != null) {
+        this.checkpointFile.write(new PagingCheckpoint(this.nextPageCriteria.getNextPageLink(), this.pagesCompleted));
+      }
+    }
+    if (this.nextPageCriteria == null) {
+      this.checkpointFile.delete();
+      return this.endOfData();
+    }
+    logger.debug("Retrieving page of resources with page criteria [{}].", this.nextPageCriteria);
+    P page = this.pager.getPage(this.nextPageCriteria);
+    Link nextPageLink = this.pager.findNextPageLink(page);
+    this.nextPageCriteria = nextPageLink != null ? new PageCriteria(this.pager.getPageSize(), nextPageLink) : null;
+    this.pageReturned = true;
+    return page;
+  }
+}
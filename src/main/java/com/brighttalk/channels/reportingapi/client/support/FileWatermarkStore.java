@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.resource.Timestamps;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link WatermarkStore} which persists watermarks to a local file, in properties file format, keyed by watermark
+ * key, with each watermark held as a no. of milliseconds since the epoch.
+ * <p>
+ * The watermarks are read from the file, if it exists, on construction and then held in memory. On each update the
+ * whole file is rewritten, by writing and syncing (fsync) a temporary file in the same directory, and then atomically
+ * renaming it over the existing file. The file is therefore never left partially written, e.g. if the JVM dies.
+ * <p>
+ * Only one instance should use a given file at a time.
+ */
+public class FileWatermarkStore implements WatermarkStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(FileWatermarkStore.class);
+
+  private final File file;
+
+  /** The watermarks, guarded by this. */
+  private final Properties watermarks = new Properties();
+
+  /**
+   * @param file The file to persist the watermarks to. Created on the first update if it doesn't exist.
+   * @throws IllegalStateException If the file exists but can't be read.
+   */
+  public FileWatermarkStore(File file) throws IllegalStateException {
+    this.file = Preconditions.checkNotNull(file, "file must not be null.");
+    if (file.exists()) {
+      try (InputStream in = new FileInputStream(file)) {
+        this.watermarks.load(in);
+      } catch (IOException e) {
+        throw new IllegalStateException("Error reading watermarks from file [" + file + "].", e);
+      }
+      logger.debug("Read [{}] watermarks from file [{}].", this.watermarks.size(), file);
+    }
+  }
+
+  @Override
+  public synchronized long getWatermark(String key) {
+    Preconditions.checkNotNull(key, "key must not be null.");
+    String value = this.watermarks.getProperty(key);
+    return value != null ? Long.parseLong(value) : Timestamps.NONE;
+  }
+
+  @Override
+  public synchronized void setWatermarks(Map<String, Long> watermarks) throws IllegalStateException {
+    Preconditions.checkNotNull(watermarks, "watermarks must not be null.");
+    if (watermarks.isEmpty()) {
+      return;
+    }
+    Properties updatedWatermarks = new Properties();
+    updatedWatermarks.putAll(this.watermarks);
+    for (Map.Entry<String, Long> watermark : watermarks.entrySet()) {
+      updatedWatermarks.setProperty(watermark.getKey(), String.valueOf(watermark.getValue()));
+    }
+    this.write(updatedWatermarks);
+    this.watermarks.clear();
+    this.watermarks.putAll(updatedWatermarks);
+  }
+
+  public final File getFile() {
+    return this.file;
+  }
+
+  private void write(Properties updatedWatermarks) {
+    try {
+      PropertiesFiles.replace(this.file, updatedWatermarks,
+          "Watermarks (epoch millis) of the last change synchronised, per collection");
+    } catch (IOException e) {
+      throw new IllegalStateException("Error writing watermarks to file [" + this.file + "].", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("file", this.file)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.ResourceHandler;
+import com.brighttalk.channels.reportingapi.client.resource.Timestamps;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Incrementally synchronises collections of API resources, e.g. the webcast viewings of a channel, retrieving only the
+ * resources which have changed since the previous sync, rather than the full collection on every run.
+ * <p>
+ * A watermark is kept for each collection ({@link SyncedCollection} type and owning channel or survey) - the latest
+ * date/time at which any of the resources already synchronised last changed (e.g. their last updated date/time). Each
+ * sync requests only the resources changed since the watermark, using the 'since' parameter of the collection's API
+ * method, and hands them to the caller. The watermark is derived from the resources returned by the API, rather than
+ * the client's clock, so it isn't affected by clock skew.
+ * <p>
+ * The watermark is only advanced, and persisted to the {@link WatermarkStore}, once the whole collection has been
+ * retrieved and handled successfully, as the API doesn't guarantee resources are returned in order of their last
+ * change. A sync which fails part way through is therefore repeated in full by the next sync.
+ * <p>
+ * To avoid missing resources changed at, or just before, the watermark but not yet visible when it was recorded, each
+ * sync re-requests a configurable overlap period before the watermark. Resources changed during the overlap period are
+ * handed to the caller again, so handlers should be idempotent, e.g. upsert resources by id.
+ * <p>
+ * Instances are thread-safe. Different collections may be synchronised concurrently, but the same collection must not
+ * be synchronised by more than one thread at a time.
+ */
+public class IncrementalSyncEngine {
+
+  /** The default overlap period, in milliseconds. */
+  public static final long DEFAULT_OVERLAP_MILLIS = 60 * 1000;
+
+  private static final Logger logger = LoggerFactory.getLogger(IncrementalSyncEngine.class);
+
+  private final ApiClient apiClient;
+  private final WatermarkStore watermarkStore;
+  private volatile Integer pageSize;
+  private volatile long overlapMillis = DEFAULT_OVERLAP_MILLIS;
+
+  /**
+   * @param apiClient The {@link ApiClient} used to retrieve the resources.
+   * @param watermarkStore The {@link WatermarkStore} used to persist the watermark of each collection.
+   */
+  public IncrementalSyncEngine(ApiClient apiClient, WatermarkStore watermarkStore) {
+    this.apiClient = Preconditions.checkNotNull(apiClient, "apiClient must not be null.");
+    this.watermarkStore = Preconditions.checkNotNull(watermarkStore, "watermarkStore must not be null.");
+  }
+
+  /**
+   * @param pageSize The max no. of resources to request per page. Optional. If null (the default) the API's default
+   * page size is used.
+   */
+  public void setPageSize(Integer pageSize) {
+    Preconditions.checkArgument(pageSize == null || pageSize > 0, "pageSize must be null or greater than zero.");
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * @param overlapMillis The period before the watermark, in milliseconds, from which changed resources are requested
+   * again. Must not be negative. Defaults to {@link #DEFAULT_OVERLAP_MILLIS}.
+   */
+  public void setOverlapMillis(long overlapMillis) {
+    Preconditions.checkArgument(overlapMillis >= 0, "overlapMillis must not be negative.");
+    this.overlapMillis = overlapMillis;
+  }
+
+  public final Integer getPageSize() {
+    return this.pageSize;
+  }
+
+  public final long getOverlapMillis() {
+    return this.overlapMillis;
+  }
+
+  /**
+   * Synchronises the collection of resources owned by an identified channel (or survey), handing each resource
+   * changed since the previous sync to a supplied handler, and then advancing the collection's watermark. The first
+   * sync of a collection retrieves all its resources.
+   *
+   * @param collection The {@link SyncedCollection} type of collection.
+   * @param ownerId The id of the channel, or survey, which owns the collection.
+   * @param handler The {@link ResourceHandler} to hand each resource to, on the calling thread.
+   * @param <P> The type of resource returned for a page.
+   * @param <E> The type of resource contained in a page.
+   * @return The no. of resources handed to the handler.
+   * @throws ApiClientException If an error occurs retrieving the resources. The watermark isn't advanced.
+   * @throws IllegalStateException If the watermark can't be stored.
+   */
+  public <P, E> int sync(SyncedCollection<P, E> collection, int ownerId, ResourceHandler<E> handler)
+      throws ApiClientException, IllegalStateException {
+    Preconditions.checkNotNull(collection, "collection must not be null.");
+    Preconditions.checkNotNull(handler, "handler must not be null.");
+    String key = watermarkKey(collection, ownerId);
+    long watermark = this.watermarkStore.getWatermark(key);
+    Date since = this.since(watermark);
+    logger.debug("Synchronising [{}] for owner [{}] since [{}].", collection.getName(), ownerId, since);
+    long latestChangeMillis = watermark;
+    int resourceCount = 0;
+    for (E resource : collection.createPager(this.apiClient, ownerId, since, this.pageSize)) {
+      handler.handle(resource);
+      latestChangeMillis = Math.max(latestChangeMillis, collection.getChangedMillis(resource));
+      resourceCount++;
+    }
+    if (latestChangeMillis > watermark) {
+      this.watermarkStore.setWatermarks(Collections.singletonMap(key, latestChangeMillis));
+    }
+    logger.debug("Synchronised [{}] resources of [{}] for owner [{}]. Watermark [{}].", resourceCount,
+        collection.getName(), ownerId, Timestamps.toDate(latestChangeMillis));
+    return resourceCount;
+  }
+
+  /**
+   * Synchronises the collections of resources owned by each of a set of channels concurrently, using a supplied
+   * {@link ChannelFanOutExecutor}, handing each resource changed since the previous sync to a supplied handler. Once
+   * all the channels have been processed, the watermarks of the channels whose resources were all retrieved and handled
+   * successfully are advanced, and persisted in a single update.
+   *
+   * @param collection The {@link SyncedCollection} type of collection.
+   * @param channelIds The ids of the channels (or surveys, for {@link SyncedCollection#SURVEY_RESPONSES}). Duplicates
+   * are ignored.
+   * @param fanOutExecutor The {@link ChannelFanOutExecutor} used to retrieve the resources of multiple channels
+   * concurrently.
+   * @param handler The {@link ChannelResourceHandler} to hand each resource to. Never called concurrently.
+   * @param <P> The type of resource returned for a page.
+   * @param <E> The type of resource contained in a page.
+   * @return A map of the id of each channel whose resources could not all be synchronised, to the exception that
+   * occurred, ordered by channel id. Empty if all channels were successfully synchronised.
+   * @throws ApiClientException If the calling thread is interrupted while waiting for the channels to be processed.
+   * @throws IllegalStateException If the watermarks can't be stored.
+   */
+  public <P, E> SortedMap<Integer, RuntimeException> syncChannels(final SyncedCollection<P, E> collection,
+      Collection<Integer> channelIds, ChannelFanOutExecutor fanOutExecutor, final ChannelResourceHandler<E> handler)
+      throws ApiClientException, IllegalStateException {
+    Preconditions.checkNotNull(collection, "collection must not be null.");
+    Preconditions.checkNotNull(channelIds, "channelIds must not be null.");
+    Preconditions.checkNotNull(fanOutExecutor, "fanOutExecutor must not be null.");
+    Preconditions.checkNotNull(handler, "handler must not be null.");
+    final Map<Integer, Long> watermarks = new HashMap<>();
+    for (Integer channelId : channelIds) {
+      watermarks.put(channelId, this.watermarkStore.getWatermark(watermarkKey(collection, channelId)));
+    }
+    final Integer pageSize = this.pageSize;
+    final Map<Integer, Long> latestChangeMillis = new ConcurrentHashMap<>(watermarks);
+    SortedMap<Integer, RuntimeException> failures = fanOutExecutor.execute(channelIds,
+        new ChannelPagerFactory<P, E>() {
+          @Override
+          public ResourceCollectionPager<P, E> createPager(int channelId) {
+            return collection.createPager(IncrementalSyncEngine.this.apiClient, channelId,
+                IncrementalSyncEngine.this.since(watermarks.get(channelId)), pageSize);
+          }
+        }, new ChannelResourceHandler<E>() {
+          @Override
+          public void handle(int channelId, E resource) {
+            handler.handle(channelId, resource);
+            long changedMillis = collection.getChangedMillis(resource);
+            if (changedMillis > latestChangeMillis.get(channelId)) {
+              latestChangeMillis.put(channelId, changedMillis);
+            }
+          }
+        });
+    Map<String, Long> advancedWatermarks = new HashMap<>();
+    for (Map.Entry<Integer, Long> channelLatestChangeMillis : latestChangeMillis.entrySet()) {
+      Integer channelId = channelLatestChangeMillis.getKey();
+      if (!failures.containsKey(channelId) && channelLatestChangeMillis.getValue() > watermarks.get(channelId)) {
+        advancedWatermarks.put(watermarkKey(collection, channelId), channelLatestChangeMillis.getValue());
+      }
+    }
+    this.watermarkStore.setWatermarks(advancedWatermarks);
+    logger.debug("Synchronised [{}] for [{}] channels. Advanced [{}] watermarks. [{}] channels failed.",
+        collection.getName(), latestChangeMillis.size(), advancedWatermarks.size(), failures.size());
+    return failures;
+  }
+
+  /**
+   * @param collection The {@link SyncedCollection} type of collection.
+   * @param ownerId The id of the channel, or survey, which owns the collection.
+   * @return The watermark of the identified collection - the latest date/time any of its resources already
+   * synchronised last changed - in milliseconds since the epoch, or {@link Timestamps#NONE} if the collection has yet
+   * to be synchronised.
+   */
+  public long getWatermark(SyncedCollection<?, ?> collection, int ownerId) {
+    Preconditions.checkNotNull(collection, "collection must not be null.");
+    return this.watermarkStore.getWatermark(watermarkKey(collection, ownerId));
+  }
+
+  /**
+   * @param watermark A watermark, in epoch millis, or {@link Timestamps#NONE}.
+   * @return The 'since' date/time to request resources from, or null if all resources should be requested.
+   */
+  private Date since(long watermark) {
+    return watermark != Timestamps.NONE ? new Date(watermark - this.overlapMillis) : null;
+  }
+
+  private static String watermarkKey(SyncedCollection<?, ?> collection, int ownerId) {
+    return collection.getName() + "." + ownerId;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("apiClient", this.apiClient)
+      .add("watermarkStore", this.watermarkStore)
+      .add("pageSize", this.pageSize)
+      .add("overlapMillis", this.overlapMillis)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A checkpoint of the progress made paging through a collection of API resources - the link to the next page yet to
+ * be processed, and the no. of pages already processed. Supports resuming paging from the checkpoint, e.g. on
+ * restarting a job which failed part way through a large collection.
+ *
+ * @see PagingCheckpointFile
+ */
+public final class PagingCheckpoint {
+
+  private final Link nextPageLink;
+  private final long pagesCompleted;
+
+  /**
+   * @param nextPageLink The 'next' page {@link Link} to the first page yet to be processed.
+   * @param pagesCompleted The no. of pages already processed.
+   */
+  public PagingCheckpoint(Link nextPageLink, long pagesCompleted) {
+    this.nextPageLink = Preconditions.checkNotNull(nextPageLink, "nextPageLink must not be null.");
+    Preconditions.checkArgument(pagesCompleted > 0, "pagesCompleted must be greater than zero.");
+    this.pagesCompleted = pagesCompleted;
+  }
+
+  public final Link getNextPageLink() {
+    return this.nextPageLink;
+  }
+
+  public final long getPagesCompleted() {
+    return this.pagesCompleted;
+  }
+
+  /**
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return The {@link PageCriteria} for the request for the first page yet to be processed.
+   * @throws IllegalArgumentException If the next page link isn't a valid next page URL.
+   */
+  public PageCriteria toPageCriteria(Integer pageSize) throws IllegalArgumentException {
+    return new PageCriteria(pageSize, this.nextPageLink);
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("nextPageLink", this.nextPageLink)
+      .add("pagesCompleted", this.pagesCompleted)
+      .toString();
+    /* @formatter:on */
+  }
+}
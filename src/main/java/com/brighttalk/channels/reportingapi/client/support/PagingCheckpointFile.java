@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A local file used to durably record the {@link PagingCheckpoint} of a collection of API resources, as each page is
+ * processed, so that a restarted job can resume paging from the last checkpoint rather than from the first page. See
+ * {@link ResourceCollectionPager#withCheckpoints(PagingCheckpointFile)}.
+ * <p>
+ * A checkpoint is written on completing every page, to a temporary file in the same directory which is then atomically
+ * renamed over the existing file, so the file is never left partially written, and a restarted JVM resumes from the
+ * page following the last page processed. To bound the cost per page of syncing to disk (fsync), the file and its
+ * directory are only synced on completing every configured no. of pages (the sync interval). If the host fails, up to
+ * that no. of pages, less one, may therefore be processed again on resuming, or, on file systems which don't order an
+ * unsynced rename after the renamed file's data, the file may be left empty and paging restarts from the first page.
+ * Use a sync interval of 1 to make every checkpoint survive the host failing. Either way, page processing should be
+ * idempotent.
+ * <p>
+ * The file is deleted once the whole collection has been processed. Use a different file for each collection.
+ */
+public class PagingCheckpointFile {
+
+  /** The default no. of pages completed between each sync of the checkpoint to disk. */
+  public static final int DEFAULT_SYNC_INTERVAL = 10;
+
+  private static final Logger logger = LoggerFactory.getLogger(PagingCheckpointFile.class);
+
+  private static final String NEXT_PAGE_HREF_PROPERTY = "nextPageHref";
+  private static final String PAGES_COMPLETED_PROPERTY = "pagesCompleted";
+
+  private final File file;
+  private final int syncInterval;
+
+  /**
+   * Creates an instance which syncs the checkpoint to disk every {@link #DEFAULT_SYNC_INTERVAL} pages.
+   *
+   * @param file The checkpoint file.
+   */
+  public PagingCheckpointFile(File file) {
+    this(file, DEFAULT_SYNC_INTERVAL);
+  }
+
+  /**
+   * @param file The checkpoint file.
+   * @param syncInterval The no. of pages completed between each sync of the checkpoint to disk. Must be greater than
+   * zero. A value of 1 syncs the checkpoint on completing every page.
+   */
+  public PagingCheckpointFile(File file, int syncInterval) {
+    this.file = Preconditions.checkNotNull(file, "file must not be null.");
+    Preconditions.checkArgument(syncInterval > 0, "syncInterval must be greater than zero.");
+    this.syncInterval = syncInterval;
+  }
+
+  /**
+   * @return The last {@link PagingCheckpoint} written to the file, or null if there isn't one, i.e. paging should
+   * start from the first page. An unreadable or incomplete checkpoint is logged and ignored.
+   */
+  public synchronized PagingCheckpoint read() {
+    if (!this.file.exists()) {
+      return null;
+    }
+    Properties properties = new Properties();
+    try (InputStream in = new FileInputStream(this.file)) {
+      properties.load(in);
+      String nextPageHref = properties.getProperty(NEXT_PAGE_HREF_PROPERTY);
+      String pagesCompleted = properties.getProperty(PAGES_COMPLETED_PROPERTY);
+      if (nextPageHref != null && pagesCompleted != null) {
+        return new PagingCheckpoint(new Link(nextPageHref, LinkRelationType.next.name()),
+            Long.parseLong(pagesCompleted));
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      logger.warn("Error reading paging checkpoint from file [" + this.file + "]. Ignoring checkpoint.", e);
+      return null;
+    }
+    logger.warn("Incomplete paging checkpoint in file [{}]. Ignoring checkpoint.", this.file);
+    return null;
+  }
+
+  /**
+   * Writes a checkpoint to the file, replacing the previous checkpoint. The file is synced to disk if the checkpoint's
+   * no. of completed pages is a multiple of the sync interval.
+   *
+   * @param checkpoint The {@link PagingCheckpoint}.
+   * @throws IllegalStateException If the checkpoint can't be written.
+   */
+  public synchronized void write(PagingCheckpoint checkpoint) throws IllegalStateException {
+    Preconditions.checkNotNull(checkpoint, "checkpoint must not be null.");
+    Properties properties = new Properties();
+    properties.setProperty(NEXT_PAGE_HREF_PROPERTY, checkpoint.getNextPageLink().getHref());
+    properties.setProperty(PAGES_COMPLETED_PROPERTY, String.valueOf(checkpoint.getPagesCompleted()));
+    try {
+      PropertiesFiles.replace(this.file, properties, "Paging checkpoint",
+          checkpoint.getPagesCompleted() % this.syncInterval == 0);
+    } catch (IOException e) {
+      throw new IllegalStateException("Error writing paging checkpoint to file [" + this.file + "].", e);
+    }
+    logger.debug("Wrote paging checkpoint [{}] to file [{}].", checkpoint, this.file);
+  }
+
+  /**
+   * Deletes the file, on completing the processing of the collection, so that paging next starts from the first page.
+   *
+   * @throws IllegalStateException If the file exists but can't be deleted.
+   */
+  public synchronized void delete() throws IllegalStateException {
+    try {
+      Files.deleteIfExists(this.file.toPath());
+    } catch (IOException e) {
+      throw new IllegalStateException("Error deleting paging checkpoint file [" + this.file + "].", e);
+    }
+  }
+
+  public final File getFile() {
+    return this.file;
+  }
+
+  public final int getSyncInterval() {
+    return this.syncInterval;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("file", this.file)
+      .add("syncInterval", this.syncInterval)
+      .toString();
+    /* @formatter:on */
+  }
+}
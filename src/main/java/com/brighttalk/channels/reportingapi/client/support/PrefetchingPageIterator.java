@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * An {@link java.util.Iterator} over the pages of a {@link ResourceCollectionPager} which retrieves pages ahead of the
+ * caller, in the background, using a supplied {@link Executor}.
+ * <p>
+ * As soon as a page has been retrieved, the page behind its 'next' link is requested, until up to a configured number
+ * of retrieved pages ('look-ahead depth') are waiting to be consumed. This overlaps the latency of the API calls with
+ * the caller's processing of the current page. Pages are always returned in order. Only one page is requested at a
+ * time, as the link to each page is only known once the previous page has been retrieved.
+ * <p>
+ * An error that occurs on retrieving a page in the background is thrown to the caller once it has consumed all the
+ * pages retrieved before the error.
+ * <p>
+ * If the caller stops iterating before the last page, at most the look-ahead depth of pages will have been retrieved
+ * unnecessarily.
+ *
+ * @param <P> The type of resource returned for a page.
+ * @param <E> The type of resource contained in a page.
+ */
+final class PrefetchingPageIterator<P, E> extends AbstractIterator<P> {
+
+  private static final Logger logger = LoggerFactory.getLogger(PrefetchingPageIterator.class);
+
+  private final ResourceCollectionPager<P, E> pager;
+  private final Executor executor;
+  private final int lookAheadDepth;
+
+  /** Monitor guarding all of the following mutable state, which is shared with the background fetches. */
+  private final Object lock = new Object();
+  private final Deque<P> fetchedPages = new ArrayDeque<>();
+  /** Criteria for the next page yet to be requested, or null if there isn't one or it's currently being fetched. */
+  private PageCriteria nextPageCriteria;
+  private boolean fetching;
+  private Throwable fetchFailure;
+
+  /**
+   * @param pager The {@link ResourceCollectionPager} used to retrieve each page.
+   * @param executor The {@link Executor} used to retrieve pages in the background.
+   * @param lookAheadDepth The max no. of retrieved pages, not yet consumed by the caller, to buffer. Must be positive.
+   */
+  PrefetchingPageIterator(ResourceCollectionPager<P, E> pager, Executor executor, int lookAheadDepth) {
+    this.pager = pager;
+    this.executor = executor;
+    this.lookAheadDepth = lookAheadDepth;
+    this.nextPageCriteria = new PageCriteria(pager.getPageSize());
+  }
+
+  @Override
+  protected P computeNext() {
+    synchronized (this.lock) {
+      this.scheduleFetchIfRequired();
+      while (this.fetchedPages.isEmpty()) {
+        if (this.fetchFailure != null) {
+          Throwables.propagateIfPossible(this.fetchFailure);
+          throw new ApiClientException("Error retrieving next page of resources.", this.fetchFailure);
+        }
+        if (!this.fetching) {
+          return this.endOfData();
+        }
+        try {
+          this.lock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ApiClientException("Interrupted waiting for next page of resources.", e);
+        }
+      }
+      P page = this.fetchedPages.poll();
+      this.scheduleFetchIfRequired();
+      return page;
+    }
+  }
+
+  /**
+   * Requests the next page in the background if there is one, it's not already being requested, and the buffer of
+   * retrieved pages isn't full. Must be called holding the lock.
+   */
+  private void scheduleFetchIfRequired() {
+    if (this.fetching || this.fetchFailure != null || this.nextPageCriteria == null
+        || this.fetchedPages.size() >= this.lookAheadDepth) {
+      return;
+    }
+    final PageCriteria pageCriteria = this.nextPageCriteria;
+    this.nextPageCriteria = null;
+    this.fetching = true;
+    try {
+      this.executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          PrefetchingPageIterator.this.fetch(pageCriteria);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      this.fetching = false;
+      this.fetchFailure = e;
+    }
+  }
+
+  /**
+   * Retrieves a page, run by the executor.
+   *
+   * @param pageCriteria The {@link PageCriteria} identifying the page to retrieve.
+   */
+  private void fetch(PageCriteria pageCriteria) {
+    logger.debug("Prefetching page of resources with page criteria [{}].", pageCriteria);
+    P page = null;
+    PageCriteria followingPageCriteria = null;
+    Throwable failure = null;
+    try {
+      page = this.pager.getPage(pageCriteria);
+      Link nextPageLink = this.pager.findNextPageLink(page);
+      followingPageCriteria = nextPageLink != null ? new PageCriteria(this.pager.getPageSize(), nextPageLink) : null;
+    } catch (Throwable t) {
+      failure = t;
+    }
+    synchronized (this.lock) {
+      this.fetching = false;
+      if (failure != null) {
+        this.fetchFailure = failure;
+      } else {
+        this.fetchedPages.add(page);
+        this.nextPageCriteria = followingPageCriteria;
+        this.scheduleFetchIfRequired();
+      }
+      this.lock.notifyAll();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class providing methods to durably write the local properties files in which the state of long running jobs
+ * (e.g. sync watermarks and paging checkpoints) is recorded.
+ */
+final class PropertiesFiles {
+
+  private static final Logger logger = LoggerFactory.getLogger(PropertiesFiles.class);
+
+  private PropertiesFiles() {
+  }
+
+  /**
+   * Durably replaces the contents of a properties file.
+   * <p>
+   * The properties are written to a temporary file in the same directory, which is synced to disk (fsync) and then
+   * atomically renamed over the existing file, so the file is never left partially written, e.g. if the JVM dies. The
+   * directory is then synced, so that the rename itself also survives the host failing.
+   * 
+   * @param file The properties file.
+   * @param properties The {@link Properties} to write.
+   * @param comments A description of the properties, written as a comment at the start of the file.
+   * @throws IOException If the file can't be written.
+   */
+  static void replace(File file, Properties properties, String comments) throws IOException {
+    replace(file, properties, comments, true);
+  }
+
+  /**
+   * Atomically replaces the contents of a properties file, optionally syncing the change to disk.
+   * <p>
+   * As for {@link #replace(File, Properties, String)}, except that if {@code sync} is false neither the temporary file
+   * nor the directory are synced. The file is still never left partially written if the JVM dies, but if the host
+   * fails the replacement may be lost, or, depending on the file system, the file may be left empty.
+   * 
+   * @param file The properties file.
+   * @param properties The {@link Properties} to write.
+   * @param comments A description of the properties, written as a comment at the start of the file.
+   * @param sync True if the file and its directory should be synced to disk.
+   * @throws IOException If the file can't be written.
+   */
+  static void replace(File file, Properties properties, String comments, boolean sync) throws IOException {
+    File directory = file.getAbsoluteFile().getParentFile();
+    File tempFile = new File(directory, file.getName() + ".tmp");
+    try (FileOutputStream out = new FileOutputStream(tempFile)) {
+      properties.store(out, comments);
+      if (sync) {
+        out.getFD().sync();
+      }
+    }
+    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    if (sync) {
+      syncDirectory(directory);
+    }
+  }
+
+  /**
+   * Syncs (fsync) a directory to disk, so that the changes made to its entries, e.g. renaming a file, are durable.
+   * <p>
+   * Not all platforms (e.g. Windows) support opening a directory for reading. If the directory can't be opened the
+   * failure is logged and ignored, as there is no other means of syncing it.
+   * 
+   * @param directory The directory.
+   * @throws IOException If the directory was opened but couldn't be synced.
+   */
+  private static void syncDirectory(File directory) throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ);
+    } catch (IOException e) {
+      logger.debug("Directory [{}] can't be opened to sync it. Skipping sync.", directory, e);
+      return;
+    }
+    try (FileChannel directoryChannel = channel) {
+      directoryChannel.force(true);
+    }
+  }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * Pages through a collection of API resources returned by one of the paged methods of the
+ * {@link com.brighttalk.channels.reportingapi.client.ApiClient}, following the 'next' page link returned in each page
+ * until the last page has been retrieved.
+ * <p>
+ * Pages are retrieved lazily, on demand, as the caller iterates. Only the current page of resources is referenced by
+ * the iterator at any one time, so the memory used when processing large collections of resources is bounded by the
+ * page size rather than the size of the collection.
+ * <p>
+ * Each page is requested using a {@link PageCriteria} built from the 'next' page link found in the previous page, so
+ * the next page link is only validated (parsed) once per page.
+ * <p>
+ * Iterating over a pager (using {@link #iterator()} or {@link #pages()}) makes API calls. Each new iterator restarts
+ * from the first page. Iterators are not thread-safe. API errors are reported by the iterator's {@code hasNext()} and
+ * {@code next()} methods throwing the {@link ApiClientException} thrown by the {@code ApiClient}.
+ * <p>
+ * Instances for each of the paged API client methods can be obtained from {@link ApiClientPagers}. Use
+ * {@link #withPrefetch(Executor, int)} to additionally retrieve pages ahead of the caller in the background, or
+ * {@link #withCheckpoints(PagingCheckpointFile)} to make paging resumable after a failure.
+ *
+ * @param <P> The type of resource returned for a page, e.g.
+ * {@link com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource}.
+ * @param <E> The type of resource contained in a page, e.g.
+ * {@link com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource}.
+ * @see ApiClientPagers
+ */
+public abstract class ResourceCollectionPager<P, E> implements Iterable<E> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResourceCollectionPager.class);
+
+  private final Integer pageSize;
+
+  /**
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   */
+  protected ResourceCollectionPager(Integer pageSize) {
+    Preconditions.checkArgument(pageSize == null || pageSize > 0, "pageSize must be null or greater than zero.");
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Retrieves a page of resources by calling the relevant API client method.
+   *
+   * @param pageCriteria The {@link PageCriteria} identifying the page to retrieve.
+   * @return The retrieved page of resources.
+   * @throws ApiClientException If an error occurs on making the API call.
+   */
+  protected abstract P getPage(PageCriteria pageCriteria) throws ApiClientException;
+
+  /**
+   * @param page A page of resources.
+   * @return The list of resources contained in the supplied page. Never null.
+   */
+  protected abstract List<E> getResources(P page);
+
+  /**
+   * @param page A page of resources.
+   * @return The list of links contained in the supplied page. Never null.
+   */
+  protected abstract List<Link> getLinks(P page);
+
+  /**
+   * @return The max no. of resources requested per page, or null if the API's default page size is used.
+   */
+  public final Integer getPageSize() {
+    return this.pageSize;
+  }
+
+  /**
+   * @return An {@link Iterable} over the pages (rather than the individual resources) of the collection. Supports
+   * callers that need access to a whole page, e.g. to process resources in batches.
+   */
+  public Iterable<P> pages() {
+    return new Iterable<P>() {
+      @Override
+      public Iterator<P> iterator() {
+        return new PageIterator();
+      }
+    };
+  }
+
+  /**
+   * Creates a view of this pager which retrieves the page behind each 'next' page link in the background, as soon as
+   * the page containing the link has been retrieved, rather than waiting for the caller to finish processing the
+   * current page. Overlaps the latency of the API calls with the caller's processing of each page.
+   * <p>
+   * The look-ahead depth bounds the no. of retrieved pages waiting to be consumed, and hence the memory used, e.g. a
+   * depth of 1 retrieves the next page while the caller processes the current page.
+   *
+   * @param executor The {@link Executor} used to retrieve pages in the background. Its threads are occupied for the
+   * duration of each API call.
+   * @param lookAheadDepth The max no. of pages to retrieve ahead of the caller. Must be greater than zero.
+   * @return A {@link ResourceCollectionPager} that retrieves the same pages as this pager, in the background.
+   * @throws IllegalStateException If this pager is a {@link #withCheckpoints(PagingCheckpointFile) checkpointing}
+   * view, as checkpointing isn't supported in combination with prefetching.
+   */
+  public ResourceCollectionPager<P, E> withPrefetch(Executor executor, int lookAheadDepth) {
+    Preconditions.checkNotNull(executor, "executor must not be null.");
+    Preconditions.checkArgument(lookAheadDepth > 0, "lookAheadDepth must be greater than zero.");
+    Preconditions.checkState(!this.isViewOfType(CheckpointingPager.class),
+        "Prefetching isn't supported in combination with checkpointing.");
+    return new PrefetchingPager<>(this, executor, lookAheadDepth);
+  }
+
+  /**
+   * Creates a view of this pager which records the progress made paging through the collection in a supplied
+   * checkpoint file, as each page is processed, and which resumes from the last recorded checkpoint, if there is one,
+   * rather than the first page. A job which pages through a large collection can then be restarted after a failure
+   * having to reprocess only the pages processed since the last checkpoint, rather than the whole collection.
+   * <p>
+   * A page is treated as processed once the caller requests the following page or, when iterating over resources, the
+   * resource following the page's last resource. A checkpoint is recorded on processing every page, and synced to disk
+   * every configured no. of processed pages (see {@link PagingCheckpointFile}). The checkpoint file is deleted once the
+   * last page has been processed. A checkpoint is only valid for the same collection and request parameters.
+   * Checkpointing isn't supported in combination with {@link #withPrefetch(Executor, int)}, in either order.
+   *
+   * @param checkpointFile The {@link PagingCheckpointFile} used to record checkpoints.
+   * @return A {@link ResourceCollectionPager} that retrieves the same pages as this pager, resuming from and recording
+   * checkpoints.
+   * @throws IllegalStateException If this pager is a {@link #withPrefetch(Executor, int) prefetching} view.
+   */
+  public ResourceCollectionPager<P, E> withCheckpoints(PagingCheckpointFile checkpointFile) {
+    Preconditions.checkNotNull(checkpointFile, "checkpointFile must not be null.");
+    Preconditions.checkState(!this.isViewOfType(PrefetchingPager.class),
+        "Checkpointing isn't supported in combination with prefetching.");
+    return new CheckpointingPager<>(this, checkpointFile);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This implementation returns an iterator over all the resources in the collection, across all pages.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new ResourceIterator<P, E>(this, this.pages().iterator());
+  }
+
+  /**
+   * Finds the link to the next page in a supplied page of resources.
+   *
+   * @param page The page of resources.
+   * @return The next page {@link Link}, or null if the supplied page is the last page.
+   */
+  Link findNextPageLink(P page) {
+    Link nextPageLink = Links.findNextPageLink(this.getLinks(page));
+    if (nextPageLink != null && this.getResources(page).isEmpty()) {
+      logger.warn("Zero resources returned in page with next page link [{}]. Treating page as last page.",
+          nextPageLink);
+      return null;
+    }
+    return nextPageLink;
+  }
+
+  /**
+   * @param viewType The type of view.
+   * @return True if this pager, or any pager it is a view of, is of the supplied type of view.
+   */
+  private boolean isViewOfType(Class<?> viewType) {
+    ResourceCollectionPager<P, E> pager = this;
+    while (!viewType.isInstance(pager)) {
+      if (!(pager instanceof DelegatingPager)) {
+        return false;
+      }
+      pager = ((DelegatingPager<P, E>) pager).delegate;
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this).omitNullValues()
+      .add("pageSize", this.pageSize)
+      .toString();
+    /* @formatter:on */
+  }
+
+  /**
+   * An {@link Iterator} over the pages of the collection which requests the next page on demand.
+   */
+  private final class PageIterator extends AbstractIterator<P> {
+    private PageCriteria nextPageCriteria = new PageCriteria(ResourceCollectionPager.this.pageSize);
+
+    @Override
+    protected P computeNext() {
+      if (this.nextPageCriteria == null) {
+        return this.endOfData();
+      }
+      logger.debug("Retrieving page of resources with page criteria [{}].", this.nextPageCriteria);
+      P page = ResourceCollectionPager.this.getPage(this.nextPageCriteria);
+      Link nextPageLink = ResourceCollectionPager.this.findNextPageLink(page);
+      this.nextPageCriteria =
+          nextPageLink != null ? new PageCriteria(ResourceCollectionPager.this.pageSize, nextPageLink) : null;
+      return page;
+    }
+  }
+
+  /**
+   * A view of a pager which retrieves its pages by delegating to the pager.
+   *
+   * @param <P> The type of resource returned for a page.
+   * @param <E> The type of resource contained in a page.
+   */
+  private abstract static class DelegatingPager<P, E> extends ResourceCollectionPager<P, E> {
+    private final ResourceCollectionPager<P, E> delegate;
+
+    private DelegatingPager(ResourceCollectionPager<P, E> delegate) {
+      super(delegate.getPageSize());
+      this.delegate = delegate;
+    }
+
+    @Override
+    protected P getPage(PageCriteria pageCriteria) {
+      return this.delegate.getPage(pageCriteria);
+    }
+
+    @Override
+    protected List<E> getResources(P page) {
+      return this.delegate.getResources(page);
+    }
+
+    @Override
+    protected List<Link> getLinks(P page) {
+      return this.delegate.getLinks(page);
+    }
+  }
+
+  /**
+   * The view of a pager created by {@link ResourceCollectionPager#withPrefetch(Executor, int)}.
+   *
+   * @param <P> The type of resource returned for a page.
+   * @param <E> The type of resource contained in a page.
+   */
+  private static final class PrefetchingPager<P, E> extends DelegatingPager<P, E> {
+    private final Executor executor;
+    private final int lookAheadDepth;
+
+    private PrefetchingPager(ResourceCollectionPager<P, E> delegate, Executor executor, int lookAheadDepth) {
+      super(delegate);
+      this.executor = executor;
+      this.lookAheadDepth = lookAheadDepth;
+    }
+
+    @Override
+    public Iterable<P> pages() {
+      return new Iterable<P>() {
+        @Override
+        public Iterator<P> iterator() {
+          return new PrefetchingPageIterator<P, E>(PrefetchingPager.this, PrefetchingPager.this.executor,
+              PrefetchingPager.this.lookAheadDepth);
+        }
+      };
+    }
+  }
+
+  /**
+   * The view of a pager created by {@link ResourceCollectionPager#withCheckpoints(PagingCheckpointFile)}.
+   *
+   * @param <P> The type of resource returned for a page.
+   * @param <E> The type of resource contained in a page.
+   */
+  private static final class CheckpointingPager<P, E> extends DelegatingPager<P, E> {
+    private final PagingCheckpointFile checkpointFile;
+
+    private CheckpointingPager(ResourceCollectionPager<P, E> delegate, PagingCheckpointFile checkpointFile) {
+      super(delegate);
+      this.checkpointFile = checkpointFile;
+    }
+
+    @Override
+    public Iterable<P> pages() {
+      return new Iterable<P>() {
+        @Override
+        public Iterator<P> iterator() {
+          return new CheckpointingPageIterator<P, E>(CheckpointingPager.this, CheckpointingPager.this.checkpointFile);
+        }
+      };
+    }
+  }
+
+  /**
+   * An {@link Iterator} over the resources in each page returned by an iterator of pages. Only references the current
+   * page's list of resources.
+   *
+   * @param <P> The type of resource returned for a page.
+   * @param <E> The type of resource contained in a page.
+   */
+  static final class ResourceIterator<P, E> extends AbstractIterator<E> {
+    private final ResourceCollectionPager<P, E> pager;
+    private final Iterator<P> pageIterator;
+    private Iterator<E> currentPageResources = Collections.<E> emptyList().iterator();
+
+    ResourceIterator(ResourceCollectionPager<P, E> pager, Iterator<P> pageIterator) {
+      this.pager = pager;
+      this.pageIterator = pageIterator;
+    }
+
+    @Override
+    protected E computeNext() {
+      while (!this.currentPageResources.hasNext()) {
+        if (!this.pageIterator.hasNext()) {
+          return this.endOfData();
+        }
+        this.currentPageResources = this.pager.getResources(this.pageIterator.next()).iterator();
+      }
+      return this.currentPageResources.next();
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Date;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscriberWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponseResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.Timestamps;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+import com.google.common.base.Objects;
+
+/**
+ * A type of API resource collection which can be synchronised incrementally by an {@link IncrementalSyncEngine}, as
+ * its API method supports filtering the collection to only those resources changed since a given date/time.
+ * <p>
+ * Defines how to create the pager for the collection owned by an identified channel (or survey), given the date/time
+ * of the last change already synchronised, and which of the resource's date/time fields is compared with it. Instances
+ * are provided for each of the collections whose API method has a 'since' parameter.
+ *
+ * @param <P> The type of resource returned for a page.
+ * @param <E> The type of resource contained in a page.
+ */
+public abstract class SyncedCollection<P, E> {
+
+  /** The webcasts in a channel, synchronised using their last updated date/time. */
+  public static final SyncedCollection<WebcastsResource, WebcastResource> WEBCASTS_FOR_CHANNEL =
+      new SyncedCollection<WebcastsResource, WebcastResource>("webcastsForChannel") {
+        @Override
+        public ResourceCollectionPager<WebcastsResource, WebcastResource> createPager(ApiClient apiClient,
+            int ownerId, Date since, Integer pageSize) {
+          return ApiClientPagers.webcastsForChannel(apiClient, ownerId, since, pageSize);
+        }
+
+        @Override
+        public long getChangedMillis(WebcastResource resource) {
+          return resource.getLastUpdatedMillis();
+        }
+      };
+
+  /** The viewings of all webcasts in a channel, synchronised using their last updated date/time. */
+  public static final SyncedCollection<WebcastViewingsResource, WebcastViewingResource>
+      WEBCAST_VIEWINGS_FOR_CHANNEL = new SyncedCollection<WebcastViewingsResource, WebcastViewingResource>(
+          "webcastViewingsForChannel") {
+        @Override
+        public ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource> createPager(
+            ApiClient apiClient, int ownerId, Date since, Integer pageSize) {
+          return ApiClientPagers.webcastViewingsForChannel(apiClient, ownerId, since, null, pageSize);
+        }
+
+        @Override
+        public long getChangedMillis(WebcastViewingResource resource) {
+          return resource.getLastUpdatedMillis();
+        }
+      };
+
+  /** The per subscriber activity for webcasts in a channel, synchronised using their last updated date/time. */
+  public static final SyncedCollection<SubscribersWebcastActivityResource, SubscriberWebcastActivityResource>
+      SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL =
+      new SyncedCollection<SubscribersWebcastActivityResource, SubscriberWebcastActivityResource>(
+          "subscribersWebcastActivityForChannel") {
+        @Override
+        public ResourceCollectionPager<SubscribersWebcastActivityResource, SubscriberWebcastActivityResource>
+            createPager(ApiClient apiClient, int ownerId, Date since, Integer pageSize) {
+          return ApiClientPagers.subscribersWebcastActivityForChannel(apiClient, ownerId, since, null, pageSize);
+        }
+
+        @Override
+        public long getChangedMillis(SubscriberWebcastActivityResource resource) {
+          return resource.getLastUpdatedMillis();
+        }
+      };
+
+  /**
+   * The subscribers to a channel who (re)subscribed since the last sync, synchronised using their last subscribed
+   * date/time. Use in conjunction with {@link #CHANNEL_UNSUBSCRIBERS} to also synchronise unsubscriptions.
+   */
+  public static final SyncedCollection<ChannelSubscribersResource, ChannelSubscriberResource> CHANNEL_SUBSCRIBERS =
+      new SyncedCollection<ChannelSubscribersResource, ChannelSubscriberResource>("channelSubscribers") {
+        @Override
+        public ResourceCollectionPager<ChannelSubscribersResource, ChannelSubscriberResource> createPager(
+            ApiClient apiClient, int ownerId, Date since, Integer pageSize) {
+          return ApiClientPagers.channelSubscribers(apiClient, ownerId, null, since, null, pageSize);
+        }
+
+        @Override
+        public long getChangedMillis(ChannelSubscriberResource resource) {
+          return resource.getLastSubscribedMillis();
+        }
+      };
+
+  /**
+   * The subscribers to a channel who unsubscribed since the last sync, synchronised using their unsubscribed
+   * date/time. The first sync returns all current and past subscribers.
+   * <p>
+   * Current subscribers have no unsubscribed date/time, so the change date/time of each subscriber is the later of
+   * their last subscribed and unsubscribed date/times. This ensures the watermark advances on the first sync even if
+   * none of the subscribers has unsubscribed. No subscriber can unsubscribe before they last subscribed, so no
+   * subsequent unsubscription is missed.
+   */
+  public static final SyncedCollection<ChannelSubscribersResource, ChannelSubscriberResource> CHANNEL_UNSUBSCRIBERS =
+      new SyncedCollection<ChannelSubscribersResource, ChannelSubscriberResource>("channelUnsubscribers") {
+        @Override
+        public ResourceCollectionPager<ChannelSubscribersResource, ChannelSubscriberResource> createPager(
+            ApiClient apiClient, int ownerId, Date since, Integer pageSize) {
+          return ApiClientPagers.channelSubscribers(apiClient, ownerId, null, null, since, pageSize);
+        }
+
+        @Override
+        public long getChangedMillis(ChannelSubscriberResource resource) {
+          return Math.max(resource.getLastSubscribedMillis(), resource.getUnsubscribedMillis());
+        }
+      };
+
+  /**
+   * The responses to a survey, synchronised using their last updated date/time. The collection is owned by a survey,
+   * so is identified by a survey id rather than a channel id.
+   */
+  public static final SyncedCollection<SurveyResponsesResource, SurveyResponseResource> SURVEY_RESPONSES =
+      new SyncedCollection<SurveyResponsesResource, SurveyResponseResource>("surveyResponses") {
+        @Override
+        public ResourceCollectionPager<SurveyResponsesResource, SurveyResponseResource> createPager(
+            ApiClient apiClient, int ownerId, Date since, Integer pageSize) {
+          return ApiClientPagers.surveyResponses(apiClient, ownerId, since, pageSize);
+        }
+
+        @Override
+        public long getChangedMillis(SurveyResponseResource resource) {
+          return resource.getLastUpdatedMillis();
+        }
+      };
+
+  private final String name;
+
+  /**
+   * @param name The name of the collection, unique across all collections. Used to key the collection's watermarks.
+   */
+  protected SyncedCollection(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Creates the pager for the collection owned by an identified channel (or survey).
+   *
+   * @param apiClient The {@link ApiClient} to use to retrieve each page.
+   * @param ownerId The id of the channel, or survey, which owns the collection.
+   * @param since Filters the collection to include only those resources changed after (exclusive) the specified
+   * date/time. Null if all resources should be retrieved.
+   * @param pageSize The max no. of resources to request per page. Optional. If null the API's default page size is
+   * used.
+   * @return The {@link ResourceCollectionPager}.
+   */
+  public abstract ResourceCollectionPager<P, E> createPager(ApiClient apiClient, int ownerId, Date since,
+      Integer pageSize);
+
+  /**
+   * @param resource An API resource retrieved from the collection.
+   * @return The date/time the resource last changed, as filtered on by the API, in milliseconds since the epoch, or
+   * {@link Timestamps#NONE} if it's absent.
+   */
+  public abstract long getChangedMillis(E resource);
+
+  public final String getName() {
+    return this.name;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("name", this.name)
+      .toString();
+    /* @formatter:on */
+  }
+}
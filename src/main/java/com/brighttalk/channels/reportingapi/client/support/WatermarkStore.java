@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Map;
+
+import com.brighttalk.channels.reportingapi.client.resource.Timestamps;
+
+/**
+ * Durable store of the watermarks used by an {@link IncrementalSyncEngine} - the date/time of the last change already
+ * synchronised for each collection of API resources - so that each sync only retrieves the resources changed since the
+ * previous sync.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @see FileWatermarkStore
+ */
+public interface WatermarkStore {
+
+  /**
+   * @param key The key of the watermark.
+   * @return The watermark, in milliseconds since the epoch, or {@link Timestamps#NONE} if no watermark has been stored
+   * for the key.
+   */
+  long getWatermark(String key);
+
+  /**
+   * Durably stores one or more watermarks, replacing any existing watermarks with the same keys. All the supplied
+   * watermarks are stored, or none of them are.
+   *
+   * @param watermarks A map of the key of each watermark to its value, in milliseconds since the epoch.
+   * @throws IllegalStateException If the watermarks can't be stored.
+   */
+  void setWatermarks(Map<String, Long> watermarks) throws IllegalStateException;
+}
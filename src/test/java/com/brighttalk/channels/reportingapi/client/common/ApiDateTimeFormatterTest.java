@@ -91,6 +91,48 @@ public class ApiDateTimeFormatterTest {
     assertThat(actualDate, is(expectedDate));
   }
   
+  /**
+   * Tests {@link ApiDateTimeFormatter#formatAsDateTime} and {@link ApiDateTimeFormatter#parse} for a range of dates,
+   * including leap days, the end of centuries and dates before the epoch. Results should be the same as those of a
+   * {@link SimpleDateFormat}, and parsing a formatted date should return the date.
+   * 
+   * @throws Exception If an unexpected exception occurs.
+   */
+  @Test
+  public void testFormatAndParseRangeOfDates() throws Exception {
+    SimpleDateFormat dateTimeFormat = createSimpleDateFormat(ApiDateTimeFormatter.API_DATE_TIME_PATTERN);
+    long start = dateTimeFormat.parse("1899-12-31T23:59:59Z").getTime();
+    long end = dateTimeFormat.parse("2401-03-01T00:00:00Z").getTime();
+    // Step by a prime no. of seconds, so that the time of day varies
+    for (long millis = start; millis <= end; millis += 86413000L) {
+      Date date = new Date(millis);
+      String expectedFormatted = dateTimeFormat.format(date);
+      assertThat(this.uut.formatAsDateTime(date), is(expectedFormatted));
+      assertThat(this.uut.parse(expectedFormatted), is(date));
+    }
+    assertThat(this.uut.formatAsDateTime(dateTimeFormat.parse("2000-02-29T12:00:00Z")), is("2000-02-29T12:00:00Z"));
+    assertThat(this.uut.formatAsDateOnly(dateTimeFormat.parse("1969-12-31T23:59:59Z")), is("1969-12-31"));
+  }
+
+  /**
+   * Tests {@link ApiDateTimeFormatter#parse} for strings which don't conform to the format expected by the reporting
+   * APIs, or contain fields which are out of range.
+   */
+  @Test
+  public void testParseInvalidStrings() {
+    String[] invalidValues = { "2014-04-30 21:32:21Z", "2014-04-30T21:32:21+", "2014-4-30T21:32:21Z",
+        "2014-04-3x", "2014-13-01", "2014-02-29", "2014-04-31", "2014-04-30T24:00:00Z", "2014-04-30T23:60:00Z",
+        "2014-04-30T21:32:21.000Z", "" };
+    for (String value : invalidValues) {
+      try {
+        this.uut.parse(value);
+        fail("Expected IllegalArgumentException to be thrown for [" + value + "].");
+      } catch (IllegalArgumentException e) {
+        assertTrue("Unexpected exception [" + e.toString() + "].", e.getMessage().contains(value));
+      }
+    }
+  }
+
   private static SimpleDateFormat createSimpleDateFormat(String pattern) {
     SimpleDateFormat sdf = new SimpleDateFormat(pattern);
     sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ApiEndpoint}.
+ */
+public class ApiEndpointTest {
+
+  /**
+   * Tests {@link ApiEndpoint#forPath(String)} in the case where the supplied path is that of an endpoint with a single
+   * template variable.
+   */
+  @Test
+  public final void testForPathSingleVariable() {
+    assertThat(ApiEndpoint.forPath("/v1/channel/1234/webcast_viewings"),
+        is(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_CHANNEL));
+  }
+
+  /**
+   * Tests {@link ApiEndpoint#forPath(String)} in the case where the supplied path is that of an endpoint with multiple
+   * template variables, and shares a prefix with the path of another endpoint.
+   */
+  @Test
+  public final void testForPathMultipleVariablesSharedPrefix() {
+    assertThat(ApiEndpoint.forPath("/v1/channel/1234/webcast/5678"), is(ApiEndpoint.GET_WEBCAST));
+    assertThat(ApiEndpoint.forPath("/v1/channel/1234/webcast/5678/viewings"),
+        is(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST));
+  }
+
+  /**
+   * Tests {@link ApiEndpoint#forPath(String)} in the case where the supplied path is not that of a known endpoint.
+   */
+  @Test
+  public final void testForPathUnknown() {
+    assertThat(ApiEndpoint.forPath("/v1/channel/1234/foo"), nullValue());
+    assertThat(ApiEndpoint.forPath(null), nullValue());
+  }
+
+  /**
+   * Tests {@link ApiEndpoint#matchesPath(String)} in the case where a template variable in the supplied path is empty.
+   * A variable should only match a non-empty path segment.
+   */
+  @Test
+  public final void testMatchesPathEmptyVariable() {
+    assertThat(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_CHANNEL.matchesPath("/v1/channel//webcast_viewings"), is(false));
+  }
+}
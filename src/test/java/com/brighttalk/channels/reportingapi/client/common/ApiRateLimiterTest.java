@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.RateLimitExceededException;
+
+/**
+ * Unit tests for {@link ApiRateLimiter}.
+ */
+public class ApiRateLimiterTest {
+
+  private static final ApiCredentials CREDENTIALS_1 = new ApiCredentials(1, "secret1");
+  private static final ApiCredentials CREDENTIALS_2 = new ApiCredentials(2, "secret2");
+
+  private final ApiRateLimiter rateLimiter = new ApiRateLimiter(1, 1, 0, new TokenBucketTest.FakeTicker());
+
+  /**
+   * Tests {@link ApiRateLimiter#acquire(ApiCredentials)} in the case where the rate limit has been reached and the
+   * rate limiter is configured to fail fast.
+   */
+  @Test
+  public final void testAcquireWhenRateLimitReached() {
+    this.rateLimiter.acquire(CREDENTIALS_1);
+    try {
+      this.rateLimiter.acquire(CREDENTIALS_1);
+      fail("Expected an exception to be thrown.");
+    } catch (RateLimitExceededException e) {
+      assertTrue("Unexepected exception message [" + e.toString() + "].", e.getMessage().matches(".*key=1.*"));
+      assertFalse("Exception message [" + e.toString() + "] exposes secret.", e.getMessage().contains("secret"));
+    }
+  }
+
+  /**
+   * Tests {@link ApiRateLimiter#acquire(ApiCredentials)} in the case where the rate limit has been reached for one set
+   * of credentials. Each set of credentials should be limited independently.
+   */
+  @Test
+  public final void testAcquireIsPerCredentials() {
+    this.rateLimiter.acquire(CREDENTIALS_1);
+    this.rateLimiter.acquire(CREDENTIALS_2);
+    // Equal credentials share the same limit
+    try {
+      this.rateLimiter.acquire(new ApiCredentials(1, "secret1"));
+      fail("Expected an exception to be thrown.");
+    } catch (RateLimitExceededException e) {
+      // Expected
+    }
+  }
+}
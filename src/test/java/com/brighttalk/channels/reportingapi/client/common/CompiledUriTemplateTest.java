@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unit tests for {@link CompiledUriTemplate}.
+ */
+public class CompiledUriTemplateTest {
+
+  private static final String BASE_URI = "https://api.test.brighttalk.net:443";
+
+  /**
+   * Tests {@link CompiledUriTemplate#compile(String)} in the case where the template contains multiple variables.
+   */
+  @Test
+  public final void testCompileMultipleVariables() {
+    CompiledUriTemplate template = CompiledUriTemplate.compile("/v1/channel/{channelId}/webcast/{webcastId}/viewings");
+    assertThat(template.getVariableNames(), is((List<String>) ImmutableList.of("channelId", "webcastId")));
+    assertThat(template.toString(), is("/v1/channel/{channelId}/webcast/{webcastId}/viewings"));
+  }
+
+  /**
+   * Tests {@link CompiledUriTemplate#expand(String, RequestParamsBuilder, Object...)} in the case where the template
+   * has no variables and there are no query parameters.
+   */
+  @Test
+  public final void testExpandNoVariablesNoQueryParams() {
+    URI uri = CompiledUriTemplate.compile("/v1/user/me/channels").expand(BASE_URI, null);
+    assertThat(uri, is(URI.create(BASE_URI + "/v1/user/me/channels")));
+  }
+
+  /**
+   * Tests {@link CompiledUriTemplate#expand(String, RequestParamsBuilder, Object...)} in the case where the template
+   * has multiple variables, and there are multiple query parameters, one of which has multiple values.
+   */
+  @Test
+  public final void testExpandVariablesAndQueryParams() {
+    RequestParamsBuilder queryParams = new TestRequestParamsBuilder("since", "2014-06-01T09:00:00Z", "webcastStatus",
+        "recorded", "webcastStatus", "live", "cursor", "5-1376595689");
+
+    URI uri = CompiledUriTemplate.compile("/v1/channel/{channelId}/webcast/{webcastId}/viewings").expand(BASE_URI,
+        queryParams, 1234, 5678);
+
+    assertThat(uri.toString(), is(BASE_URI + "/v1/channel/1234/webcast/5678/viewings"
+        + "?since=2014-06-01T09:00:00Z&webcastStatus=recorded&webcastStatus=live&cursor=5-1376595689"));
+  }
+
+  /**
+   * Tests {@link CompiledUriTemplate#expand(String, RequestParamsBuilder, Object...)} in the case where the variable
+   * values and query parameters contain characters which must be percent-encoded, including non-ASCII characters.
+   */
+  @Test
+  public final void testExpandEncodesReservedAndNonAsciiCharacters() {
+    RequestParamsBuilder queryParams = new TestRequestParamsBuilder("q", "a b&c=d+e#f", "name", "café");
+
+    URI uri = CompiledUriTemplate.compile("/v1/foo/{bar}").expand(BASE_URI, queryParams, "x/y z?");
+
+    assertThat(uri.getRawPath(), is("/v1/foo/x%2Fy%20z%3F"));
+    assertThat(uri.getRawQuery(), is("q=a%20b%26c%3Dd%2Be%23f&name=caf%C3%A9"));
+    assertThat(uri.getPath(), is("/v1/foo/x/y z?"));
+  }
+
+  /**
+   * Tests {@link CompiledUriTemplate#expand(String, RequestParamsBuilder, Object...)} in the case where the no. of
+   * supplied variable values doesn't match the no. of template variables.
+   */
+  @Test
+  public final void testExpandWrongNumberOfVariableValues() {
+    CompiledUriTemplate template = CompiledUriTemplate.compile("/v1/channel/{channelId}/webcast/{webcastId}");
+    try {
+      template.expand(BASE_URI, null, 1234);
+      fail("Expected an exception to be thrown.");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage(), containsString("requires [2] variable values"));
+    }
+  }
+
+  /**
+   * A {@link RequestParamsBuilder} which writes a fixed list of request parameter names and values.
+   */
+  private static final class TestRequestParamsBuilder extends RequestParamsBuilder {
+    private final String[] namesAndValues;
+
+    TestRequestParamsBuilder(String... namesAndValues) {
+      this.namesAndValues = namesAndValues;
+    }
+
+    @Override
+    public void writeTo(ParamWriter writer) {
+      for (int i = 0; i < this.namesAndValues.length; i += 2) {
+        writer.write(this.namesAndValues[i], this.namesAndValues[i + 1]);
+      }
+    }
+  }
+}
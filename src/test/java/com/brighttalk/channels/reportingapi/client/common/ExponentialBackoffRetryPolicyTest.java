@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.ApiClientException;
+import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.ConnectionRequestTimeoutException;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Unit tests for {@link ExponentialBackoffRetryPolicy}.
+ */
+public class ExponentialBackoffRetryPolicyTest {
+
+  private static final int MAX_ATTEMPTS = 5;
+  private static final long BASE_DELAY_MILLIS = 100;
+  private static final long MAX_DELAY_MILLIS = 1000;
+
+  private final ExponentialBackoffRetryPolicy retryPolicy = new ExponentialBackoffRetryPolicy(MAX_ATTEMPTS,
+      BASE_DELAY_MILLIS, MAX_DELAY_MILLIS, new Random(1));
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the API call failed with a
+   * transient HTTP error response. The delay should be within the exponentially increasing bound, capped at the max.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenServiceUnavailable() {
+    RuntimeException failure = errorResponse(503, Collections.<String, List<String>> emptyMap());
+    for (int failedAttempts = 1; failedAttempts < MAX_ATTEMPTS; failedAttempts++) {
+      long delayUpperBound = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << (failedAttempts - 1));
+      long delay = this.retryPolicy.getRetryDelayMillis(failedAttempts, failure);
+      assertThat(delay, is(both(greaterThanOrEqualTo(0L)).and(lessThanOrEqualTo(delayUpperBound))));
+    }
+  }
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the max no. of attempts have
+   * been made.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenMaxAttemptsReached() {
+    RuntimeException failure = errorResponse(503, Collections.<String, List<String>> emptyMap());
+    assertThat(this.retryPolicy.getRetryDelayMillis(MAX_ATTEMPTS, failure), is(RetryPolicy.NO_RETRY));
+  }
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the API call failed with an HTTP
+   * error response which isn't transient.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenNotTransientErrorResponse() {
+    RuntimeException failure = errorResponse(404, Collections.<String, List<String>> emptyMap());
+    assertThat(this.retryPolicy.getRetryDelayMillis(1, failure), is(RetryPolicy.NO_RETRY));
+  }
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the API call failed with an I/O
+   * error, e.g. a socket timeout.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenIoError() {
+    RuntimeException failure = new ApiClientException("I/O error.", new SocketTimeoutException("Read timed out"));
+    assertThat(this.retryPolicy.getRetryDelayMillis(1, failure), is(not(RetryPolicy.NO_RETRY)));
+  }
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the API call failed because no
+   * pooled connection became available. The client is saturated so the API call should not be retried.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenConnectionRequestTimeout() {
+    RuntimeException failure = new ConnectionRequestTimeoutException("Timeout.", new ConnectionPoolTimeoutException());
+    assertThat(this.retryPolicy.getRetryDelayMillis(1, failure), is(RetryPolicy.NO_RETRY));
+  }
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the error response includes a
+   * Retry-After header specifying a no. of seconds. The specified delay should be used.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenRetryAfterSeconds() {
+    RuntimeException failure = errorResponse(429, ImmutableMap.of("Retry-After", Collections.singletonList("1")));
+    assertThat(this.retryPolicy.getRetryDelayMillis(1, failure), is(1000L));
+  }
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the error response includes a
+   * Retry-After header specifying a delay longer than the max delay. The API call should not be retried.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenRetryAfterExceedsMaxDelay() {
+    RuntimeException failure = errorResponse(503, ImmutableMap.of("retry-after", Collections.singletonList("120")));
+    assertThat(this.retryPolicy.getRetryDelayMillis(1, failure), is(RetryPolicy.NO_RETRY));
+  }
+
+  /**
+   * Tests {@link ExponentialBackoffRetryPolicy#getRetryDelayMillis} in the case where the error response includes a
+   * Retry-After header specifying an HTTP-date in the past. The API call should be retried immediately.
+   */
+  @Test
+  public final void testGetRetryDelayMillisWhenRetryAfterDateInPast() {
+    RuntimeException failure = errorResponse(503,
+        ImmutableMap.of("Retry-After", Collections.singletonList("Wed, 21 Oct 2015 07:28:00 GMT")));
+    assertThat(this.retryPolicy.getRetryDelayMillis(1, failure), is(0L));
+  }
+
+  private static ApiErrorResponseException errorResponse(int statusCode, Map<String, List<String>> headers) {
+    return new ApiErrorResponseException(statusCode, "Error", headers, null, new byte[0], null);
+  }
+}
@@ -15,12 +15,21 @@
  */
 package com.brighttalk.channels.reportingapi.client.common;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
 import com.brighttalk.channels.reportingapi.client.common.GetWebcastViewingsRequestParamsBuilder;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
 import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.support.LinkRelationType;
+import com.google.common.collect.ImmutableList;
 
 /**
  * Unit tests for {@link GetWebcastViewingsRequestParamsBuilder}.
@@ -44,4 +53,26 @@ public class GetWebcastViewingsRequestParamsBuilderTest {
           e.getMessage().matches(".*" + unsupportedWebcastStatus + ".*"));
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Tests {@link GetWebcastViewingsRequestParamsBuilder#asMap()} in the case where all the request parameters,
+   * including those for paging, are supplied. The parameters should be returned in the order they're written to the
+   * request.
+   */
+  @Test
+  public void testAsMapAllParams() {
+    Date since = new Date(1401613200000L);
+    Link nextPageLink = new Link("https://api.test.brighttalk.net/v1/channel/1/webcast_viewings?cursor=1234-5678",
+        LinkRelationType.next.name());
+
+    Map<String, List<String>> params = new GetWebcastViewingsRequestParamsBuilder(since, WebcastStatus.RECORDED,
+        new PageCriteria(100, nextPageLink)).asMap();
+
+    assertThat(ImmutableList.copyOf(params.keySet()),
+        is(ImmutableList.of("since", "webcastStatus", "cursor", "pageSize")));
+    assertThat(params.get("since"), is((List<String>) ImmutableList.of("2014-06-01T09:00:00Z")));
+    assertThat(params.get("webcastStatus"), is((List<String>) ImmutableList.of("recorded")));
+    assertThat(params.get("cursor"), is((List<String>) ImmutableList.of("1234-5678")));
+    assertThat(params.get("pageSize"), is((List<String>) ImmutableList.of("100")));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+/**
+ * Unit tests for {@link TokenBucket}.
+ */
+public class TokenBucketTest {
+
+  private final FakeTicker ticker = new FakeTicker();
+
+  /**
+   * Tests {@link TokenBucket#reserve(long)} in the case where the bucket is full. Permits up to the burst size should be
+   * available immediately.
+   */
+  @Test
+  public final void testReserveWhenFull() {
+    TokenBucket tokenBucket = new TokenBucket(10, 3, this.ticker);
+    for (int i = 0; i < 3; i++) {
+      assertThat(tokenBucket.reserve(0), is(0L));
+    }
+    assertThat(tokenBucket.reserve(0), is(-1L));
+  }
+
+  /**
+   * Tests {@link TokenBucket#reserve(long)} in the case where the bucket is empty and the caller is prepared to wait.
+   * Each successive caller should wait behind the permits reserved by earlier callers.
+   */
+  @Test
+  public final void testReserveWhenEmptyAndWaiting() {
+    TokenBucket tokenBucket = new TokenBucket(10, 1, this.ticker);
+    long oneSecondNanos = TimeUnit.SECONDS.toNanos(1);
+    assertThat(tokenBucket.reserve(oneSecondNanos), is(0L));
+    assertThat(tokenBucket.reserve(oneSecondNanos), is(TimeUnit.MILLISECONDS.toNanos(100)));
+    assertThat(tokenBucket.reserve(oneSecondNanos), is(TimeUnit.MILLISECONDS.toNanos(200)));
+  }
+
+  /**
+   * Tests {@link TokenBucket#reserve(long)} in the case where time has elapsed since the bucket was emptied. The bucket
+   * should be refilled at the configured rate, but not beyond the burst size.
+   */
+  @Test
+  public final void testReserveWhenRefilled() {
+    TokenBucket tokenBucket = new TokenBucket(10, 2, this.ticker);
+    tokenBucket.reserve(0);
+    tokenBucket.reserve(0);
+    assertThat(tokenBucket.reserve(0), is(-1L));
+
+    this.ticker.advance(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(tokenBucket.reserve(0), is(0L));
+    assertThat(tokenBucket.reserve(0), is(-1L));
+
+    this.ticker.advance(TimeUnit.SECONDS.toNanos(10));
+    assertThat(tokenBucket.reserve(0), is(0L));
+    assertThat(tokenBucket.reserve(0), is(0L));
+    assertThat(tokenBucket.reserve(0), is(-1L));
+  }
+
+  /** A {@link Ticker} whose time is advanced manually. */
+  static final class FakeTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+      return this.nanos;
+    }
+
+    void advance(long nanos) {
+      this.nanos += nanos;
+    }
+  }
+}
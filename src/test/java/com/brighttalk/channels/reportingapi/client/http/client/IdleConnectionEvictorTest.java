@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.http.client;
+
+import static org.easymock.EasyMock.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link IdleConnectionEvictor}.
+ */
+public class IdleConnectionEvictorTest {
+
+  private static final long MAX_IDLE_TIME_MILLIS = 30000;
+
+  private HttpClientConnectionManager connectionManager;
+
+  private IdleConnectionEvictor evictor;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   */
+  @Before
+  public void setUp() {
+    this.connectionManager = createMock(HttpClientConnectionManager.class);
+    this.evictor = new IdleConnectionEvictor(this.connectionManager, MAX_IDLE_TIME_MILLIS, 5000);
+  }
+
+  /**
+   * Tests {@link IdleConnectionEvictor#evictConnections()}. Both expired connections and connections which have been
+   * idle for longer than the configured time should be closed.
+   */
+  @Test
+  public void testEvictConnections() {
+    this.connectionManager.closeExpiredConnections();
+    this.connectionManager.closeIdleConnections(MAX_IDLE_TIME_MILLIS, TimeUnit.MILLISECONDS);
+    replay(this.connectionManager);
+
+    this.evictor.evictConnections();
+
+    verify(this.connectionManager);
+  }
+
+  /**
+   * Tests {@link IdleConnectionEvictor#evictConnections()} in the case where the connection manager throws an
+   * exception. The exception should not be propagated, so that subsequent scheduled evictions still run.
+   */
+  @Test
+  public void testEvictConnectionsWhenConnectionManagerThrowsException() {
+    this.connectionManager.closeExpiredConnections();
+    expectLastCall().andThrow(new IllegalStateException("Connection pool shut down"));
+    replay(this.connectionManager);
+
+    this.evictor.evictConnections();
+
+    verify(this.connectionManager);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.http.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.metrics.JmxApiClientMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit tests for {@link InstrumentedHttpClientConnectionManager} and {@link JmxConnectionPoolMetrics}, using a local
+ * HTTP server.
+ */
+public class InstrumentedHttpClientConnectionManagerTest {
+
+  private HttpServer server;
+  private InstrumentedHttpClientConnectionManager connectionManager;
+  private CloseableHttpClient httpClient;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Before
+  public void setUp() throws Exception {
+    this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    this.server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        byte[] body = "OK".getBytes("UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+          responseBody.write(body);
+        }
+      }
+    });
+    this.server.start();
+    this.connectionManager = new InstrumentedHttpClientConnectionManager(-1, TimeUnit.MILLISECONDS);
+    this.httpClient = HttpClients.custom().setConnectionManager(this.connectionManager).build();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    this.httpClient.close();
+    this.server.stop(0);
+  }
+
+  /**
+   * Tests the metrics recorded by {@link InstrumentedHttpClientConnectionManager} in the case where successive requests
+   * are made to the same host. The first request should create a connection, which should be reused by the second,
+   * and closed on shutting down the pool.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public final void testMetricsWhenConnectionReused() throws Exception {
+    this.executeRequest();
+    this.executeRequest();
+
+    assertThat(this.connectionManager.getConnectionLeases(), is(2L));
+    assertThat(this.connectionManager.getConnectionsCreated(), is(1L));
+    assertThat(this.connectionManager.getConnectionsReused(), is(1L));
+    assertThat(this.connectionManager.getConnectionsClosed(), is(0L));
+    assertThat(this.connectionManager.getLeaseTimeMicros().getCount(), is(2L));
+    assertThat(this.connectionManager.getConnectTimeMicros().getCount(), is(1L));
+    assertThat(this.connectionManager.getTlsHandshakeTimeMicros().getCount(), is(0L));
+    assertThat(this.connectionManager.getRoutes().size(), is(1));
+
+    PoolStats totalStats = this.connectionManager.getTotalStats();
+    assertThat(totalStats.getLeased(), is(0));
+    assertThat(totalStats.getAvailable(), is(1));
+    assertThat(totalStats.getPending(), is(0));
+    Map<String, PoolStats> routeStats = this.connectionManager.getRouteStats();
+    assertThat(routeStats.size(), is(1));
+    assertThat(routeStats.values().iterator().next().getAvailable(), is(1));
+
+    this.connectionManager.shutdown();
+
+    assertThat(this.connectionManager.getConnectionsClosed(), is(1L));
+  }
+
+  /**
+   * Tests {@link JmxConnectionPoolMetrics#register()}. The registered MBean should publish the metrics of the
+   * connection pool, and be removed on {@link JmxConnectionPoolMetrics#unregister() unregistering}.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public final void testJmxConnectionPoolMetricsRegister() throws Exception {
+    MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+    JmxConnectionPoolMetrics jmxMetrics =
+        new JmxConnectionPoolMetrics(this.connectionManager, mBeanServer, JmxApiClientMetrics.DEFAULT_DOMAIN);
+    jmxMetrics.register();
+    ObjectName objectName = jmxMetrics.createObjectName();
+    try {
+      this.executeRequest();
+
+      assertThat((Long) mBeanServer.getAttribute(objectName, "ConnectionLeases"), is(1L));
+      assertThat((Long) mBeanServer.getAttribute(objectName, "ConnectionsCreated"), is(1L));
+      assertThat((Integer) mBeanServer.getAttribute(objectName, "AvailableConnections"), is(1));
+      assertThat((Integer) mBeanServer.getAttribute(objectName, "LeasedConnections"), is(0));
+      CompositeData connectTime = (CompositeData) mBeanServer.getAttribute(objectName, "ConnectTimeMicros");
+      assertThat((Long) connectTime.get("count"), is(1L));
+      TabularData routeStats = (TabularData) mBeanServer.getAttribute(objectName, "RouteStats");
+      assertThat(routeStats.size(), is(1));
+    } finally {
+      jmxMetrics.unregister();
+    }
+    assertThat(mBeanServer.isRegistered(objectName), is(false));
+  }
+
+  private void executeRequest() throws IOException {
+    HttpGet request = new HttpGet("http://localhost:" + this.server.getAddress().getPort() + "/");
+    try (CloseableHttpResponse response = this.httpClient.execute(request)) {
+      EntityUtils.consume(response.getEntity());
+    }
+  }
+}
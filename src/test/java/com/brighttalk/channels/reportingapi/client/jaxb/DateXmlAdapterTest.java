@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.jaxb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.*;
+
+import java.util.Date;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DateXmlAdapter}.
+ */
+public class DateXmlAdapterTest {
+
+  private DateXmlAdapter xmlAdapter = new DateXmlAdapter();
+
+  /**
+   * Tests {@link DateXmlAdapter#unmarshal} for a date/time string in the API's (UTC) format, surrounded by whitespace.
+   */
+  @Test
+  public void testUnmarshalApiDateTimeString() {
+    assertThat(this.xmlAdapter.unmarshal(" 2014-04-30T21:32:21Z\n"), is(new Date(1398893541000L)));
+  }
+
+  /**
+   * Tests {@link DateXmlAdapter#unmarshal} for XSD dateTime strings in formats other than the API's, which should be
+   * parsed in the same way as the JAXB RI.
+   */
+  @Test
+  public void testUnmarshalOtherXsdDateTimeStrings() {
+    for (String value : new String[] { "2014-04-30T21:32:21.123Z", "2014-04-30T22:32:21+01:00" }) {
+      assertThat(this.xmlAdapter.unmarshal(value), is(DatatypeConverter.parseDateTime(value).getTime()));
+    }
+  }
+
+  /**
+   * Tests {@link DateXmlAdapter#unmarshal} for a string which is not a valid date/time.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnmarshalInvalidDateTimeString() {
+    this.xmlAdapter.unmarshal("2014-02-30T21:32:21Z");
+  }
+
+  /**
+   * Tests {@link DateXmlAdapter#marshal} for dates with and without milliseconds, and a null date. Marshalled dates
+   * should unmarshal to the same date.
+   */
+  @Test
+  public void testMarshal() {
+    assertThat(this.xmlAdapter.marshal(new Date(1398893541000L)), is("2014-04-30T21:32:21Z"));
+    Date dateWithMillis = new Date(1398893541123L);
+    assertThat(this.xmlAdapter.unmarshal(this.xmlAdapter.marshal(dateWithMillis)), is(dateWithMillis));
+    assertThat(this.xmlAdapter.marshal(null), nullValue());
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.jaxb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.ValidationEvent;
+import javax.xml.bind.ValidationEventHandler;
+
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.Timestamps;
+
+/**
+ * Unit tests for {@link EpochMillisXmlAdapter}.
+ */
+public class EpochMillisXmlAdapterTest {
+
+  private EpochMillisXmlAdapter xmlAdapter = new EpochMillisXmlAdapter();
+
+  /**
+   * Tests {@link EpochMillisXmlAdapter#unmarshal} for date/time strings in the API's (UTC) format and another XSD
+   * dateTime format.
+   */
+  @Test
+  public void testUnmarshal() {
+    assertThat(this.xmlAdapter.unmarshal("2014-04-30T21:32:21Z"), is(1398893541000L));
+    assertThat(this.xmlAdapter.unmarshal("2014-04-30T22:32:21.123+01:00"), is(1398893541123L));
+  }
+
+  /**
+   * Tests {@link EpochMillisXmlAdapter#unmarshal} for a string which is not a valid date/time.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnmarshalInvalidDateTimeString() {
+    this.xmlAdapter.unmarshal("2014-04-31T21:32:21Z");
+  }
+
+  /**
+   * Tests {@link EpochMillisXmlAdapter#marshal} for a date/time, and an absent ({@link Timestamps#NONE}) date/time.
+   */
+  @Test
+  public void testMarshal() {
+    assertThat(this.xmlAdapter.marshal(1398893541000L), is("2014-04-30T21:32:21Z"));
+    assertThat(this.xmlAdapter.marshal(Timestamps.NONE), nullValue());
+    assertThat(this.xmlAdapter.marshal(null), nullValue());
+  }
+
+  /**
+   * Tests marshalling a resource to XML and unmarshalling it back, using JAXB, in the case where one of its date/times
+   * is present and the other is absent ({@link Timestamps#NONE}). The absent date/time should be omitted from the XML,
+   * rather than marshalled as an empty element, and the XML should be unmarshalled without any validation events.
+   *
+   * @throws JAXBException If an unexpected error occurs.
+   */
+  @Test
+  public void testMarshalAndUnmarshalResourceWhenDateTimeAbsent() throws JAXBException {
+    ChannelSubscriberResource subscriber = new ChannelSubscriberResource(1, new Date(1398893541000L), null, null,
+        null, Collections.<Link> emptyList());
+    JAXBContext jaxbContext = JAXBContext.newInstance(ChannelSubscriberResource.class);
+
+    StringWriter xml = new StringWriter();
+    jaxbContext.createMarshaller().marshal(subscriber, xml);
+    Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+    final List<ValidationEvent> validationEvents = new ArrayList<>();
+    unmarshaller.setEventHandler(new ValidationEventHandler() {
+      @Override
+      public boolean handleEvent(ValidationEvent event) {
+        validationEvents.add(event);
+        return true;
+      }
+    });
+    ChannelSubscriberResource unmarshalledSubscriber =
+        (ChannelSubscriberResource) unmarshaller.unmarshal(new StringReader(xml.toString()));
+
+    assertThat(xml.toString(), containsString("<lastSubscribed>2014-04-30T21:32:21Z</lastSubscribed>"));
+    assertThat(xml.toString(), not(containsString("unsubscribed")));
+    assertThat(validationEvents, is(Collections.<ValidationEvent> emptyList()));
+    assertThat(unmarshalledSubscriber.getLastSubscribedMillis(), is(1398893541000L));
+    assertThat(unmarshalledSubscriber.getUnsubscribedMillis(), is(Timestamps.NONE));
+  }
+}
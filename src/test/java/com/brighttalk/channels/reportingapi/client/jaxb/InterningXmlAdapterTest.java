@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.jaxb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.google.common.collect.Interners;
+
+/**
+ * Unit tests for {@link InterningXmlAdapter}.
+ */
+public class InterningXmlAdapterTest {
+
+  private InterningXmlAdapter<String> xmlAdapter =
+      new InterningXmlAdapter<String>(Interners.<String> newStrongInterner()) {
+      };
+
+  /**
+   * Tests {@link InterningXmlAdapter#unmarshal} in the case where equal values are unmarshalled repeatedly. The same
+   * (canonical) instance should be returned for each equal value.
+   */
+  @Test
+  public void testUnmarshalEqualValues() {
+    String value1 = new String("United Kingdom");
+    String value2 = new String("United Kingdom");
+
+    assertThat(this.xmlAdapter.unmarshal(value1), sameInstance(value1));
+    assertThat(this.xmlAdapter.unmarshal(value2), sameInstance(value1));
+    assertThat(this.xmlAdapter.unmarshal("United States"), not(sameInstance(value1)));
+  }
+
+  /**
+   * Tests {@link InterningXmlAdapter#unmarshal} and {@link InterningXmlAdapter#marshal} in the case of a null value.
+   */
+  @Test
+  public void testNullValue() {
+    assertThat(this.xmlAdapter.unmarshal(null), nullValue());
+    assertThat(this.xmlAdapter.marshal(null), nullValue());
+  }
+
+  /**
+   * Tests {@link InterningXmlAdapter#marshal}, which should return the supplied value.
+   */
+  @Test
+  public void testMarshal() {
+    assertThat(this.xmlAdapter.marshal("United Kingdom"), is("United Kingdom"));
+  }
+
+  /**
+   * Tests that {@link InterningStringXmlAdapter} instances share the same interner, so values unmarshalled by separate
+   * instances (e.g. for separate pages of a response) are canonicalised to the same instance.
+   */
+  @Test
+  public void testInterningStringXmlAdapterSharedAcrossInstances() {
+    String value1 = new String("Technology - Software & Services");
+    String value2 = new String("Technology - Software & Services");
+
+    String interned1 = new InterningStringXmlAdapter().unmarshal(value1);
+    String interned2 = new InterningStringXmlAdapter().unmarshal(value2);
+
+    assertThat(interned2, sameInstance(interned1));
+  }
+}
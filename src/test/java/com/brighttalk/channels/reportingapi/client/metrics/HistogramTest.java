@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Histogram}.
+ */
+public class HistogramTest {
+
+  /**
+   * Tests {@link Histogram#snapshot()} in the case where no values have been recorded.
+   */
+  @Test
+  public final void testSnapshotWhenEmpty() {
+    Histogram histogram = new Histogram(1000);
+
+    assertThat(histogram.snapshot(), is(HistogramSnapshot.EMPTY));
+    assertThat(histogram.getValueAtPercentile(99), is(0L));
+  }
+
+  /**
+   * Tests {@link Histogram#snapshot()} in the case where only values lower than 128 have been recorded, which are
+   * counted exactly.
+   */
+  @Test
+  public final void testSnapshotWhenLowValues() {
+    Histogram histogram = new Histogram(1000);
+    for (int value = 1; value <= 100; value++) {
+      histogram.record(value);
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount(), is(100L));
+    assertThat(snapshot.getMean(), closeTo(50.5, 0.001));
+    assertThat(snapshot.getP50(), is(50L));
+    assertThat(snapshot.getP90(), is(90L));
+    assertThat(snapshot.getP99(), is(99L));
+    assertThat(snapshot.getP999(), is(100L));
+    assertThat(snapshot.getMax(), is(100L));
+  }
+
+  /**
+   * Tests {@link Histogram#getValueAtPercentile(double)} in the case where values spanning several orders of magnitude
+   * have been recorded. Each percentile should be reported to within the histogram's precision.
+   */
+  @Test
+  public final void testGetValueAtPercentileWhenWideRangeOfValues() {
+    long highestValue = TimeUnit.HOURS.toMicros(1);
+    Histogram histogram = new Histogram(highestValue);
+    for (long value = 1; value <= 100000; value++) {
+      histogram.record(value * 1000);
+    }
+
+    for (double percentile : new double[] { 1, 50, 90, 99, 99.9 }) {
+      long expectedValue = (long) (percentile * 1000 * 1000);
+      long actualValue = histogram.getValueAtPercentile(percentile);
+      assertThat(actualValue, greaterThanOrEqualTo(expectedValue));
+      assertThat(actualValue, lessThanOrEqualTo(expectedValue + expectedValue / 64));
+    }
+    assertThat(histogram.getValueAtPercentile(100), is(100000L * 1000));
+  }
+
+  /**
+   * Tests {@link Histogram#record(long)} in the case where the value is outside the range of the histogram. Values
+   * should be clamped to the range.
+   */
+  @Test
+  public final void testRecordWhenValueOutOfRange() {
+    Histogram histogram = new Histogram(1000);
+
+    histogram.record(-1);
+    histogram.record(Long.MAX_VALUE);
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(2L));
+    assertThat(histogram.getValueAtPercentile(50), is(0L));
+    assertThat(snapshot.getMax(), is(1000L));
+  }
+
+  /**
+   * Tests {@link Histogram#bucketIndex(long)} and {@link Histogram#highestEquivalentValue(int)} in the case of values
+   * at the boundaries of buckets.
+   */
+  @Test
+  public final void testBucketIndexAtBucketBoundaries() {
+    assertThat(Histogram.bucketIndex(127), is(127));
+    assertThat(Histogram.bucketIndex(128), is(128));
+    assertThat(Histogram.bucketIndex(129), is(128));
+    assertThat(Histogram.bucketIndex(130), is(129));
+    assertThat(Histogram.bucketIndex(255), is(191));
+    assertThat(Histogram.bucketIndex(256), is(192));
+    assertThat(Histogram.highestEquivalentValue(127), is(127L));
+    assertThat(Histogram.highestEquivalentValue(128), is(129L));
+    assertThat(Histogram.highestEquivalentValue(191), is(255L));
+    assertThat(Histogram.highestEquivalentValue(192), is(259L));
+    assertThat(Histogram.highestEquivalentValue(Histogram.bucketIndex(Long.MAX_VALUE)), is(Long.MAX_VALUE));
+  }
+
+  /**
+   * Tests {@link Histogram#record(long)} in the case where values are recorded concurrently by multiple threads. No
+   * values should be lost.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public final void testRecordWhenConcurrent() throws Exception {
+    final Histogram histogram = new Histogram(1 << 20);
+    final int threads = 4;
+    final int valuesPerThread = 10000;
+    final CountDownLatch startLatch = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            startLatch.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+          for (int value = 1; value <= valuesPerThread; value++) {
+            histogram.record(value);
+          }
+        }
+      });
+    }
+    startLatch.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is((long) threads * valuesPerThread));
+    assertThat(snapshot.getMax(), is((long) valuesPerThread));
+  }
+}
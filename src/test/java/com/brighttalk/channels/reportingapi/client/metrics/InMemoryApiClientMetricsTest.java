@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics.EndpointMetrics;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Unit tests for {@link InMemoryApiClientMetrics}.
+ */
+public class InMemoryApiClientMetricsTest {
+
+  private InMemoryApiClientMetrics metrics;
+
+  @Before
+  public void setUp() {
+    this.metrics = new InMemoryApiClientMetrics();
+  }
+
+  /**
+   * Tests {@link InMemoryApiClientMetrics#getEndpointMetrics(ApiEndpoint)} in the case where no API calls have been
+   * recorded for the endpoint.
+   */
+  @Test
+  public final void testGetEndpointMetricsWhenNoApiCalls() {
+    assertThat(this.metrics.getEndpointMetrics(ApiEndpoint.GET_WEBCAST), nullValue());
+    assertThat(this.metrics.getEndpoints().isEmpty(), is(true));
+  }
+
+  /**
+   * Tests {@link InMemoryApiClientMetrics#recordApiCall(ApiCallSample)} in the case of an API call which succeeded.
+   * Each of the measured phases should be recorded in microseconds, along with the response size and resource count.
+   */
+  @Test
+  public final void testRecordApiCallWhenSucceeded() {
+    Map<ApiCallPhase, Long> phaseNanos = new EnumMap<>(ApiCallPhase.class);
+    phaseNanos.put(ApiCallPhase.TIME_TO_FIRST_BYTE, TimeUnit.MILLISECONDS.toNanos(40));
+    phaseNanos.put(ApiCallPhase.DOWNLOAD, TimeUnit.MILLISECONDS.toNanos(10));
+    phaseNanos.put(ApiCallPhase.UNMARSHAL, TimeUnit.MICROSECONDS.toNanos(100));
+    phaseNanos.put(ApiCallPhase.TOTAL, TimeUnit.MILLISECONDS.toNanos(51));
+
+    this.metrics.recordApiCall(new ApiCallSample(ApiEndpoint.GET_WEBCASTS_FOR_CHANNEL, 200, true, phaseNanos, 2048,
+        25));
+
+    EndpointMetrics endpointMetrics = this.metrics.getEndpointMetrics(ApiEndpoint.GET_WEBCASTS_FOR_CHANNEL);
+    assertThat(this.metrics.getEndpoints(), is(Collections.singleton(ApiEndpoint.GET_WEBCASTS_FOR_CHANNEL)));
+    assertThat(endpointMetrics.getRequestCount(), is(1L));
+    assertThat(endpointMetrics.getErrorCount(), is(0L));
+    assertThat(endpointMetrics.getErrorCountsByStatus().isEmpty(), is(true));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.UNMARSHAL).getMax(), is(100L));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.TOTAL).getMax(), is(51000L));
+    assertThat(endpointMetrics.getResponseBytes().getMax(), is(2048L));
+    assertThat(endpointMetrics.getResourcesPerPage().getMax(), is(25L));
+  }
+
+  /**
+   * Tests {@link InMemoryApiClientMetrics#recordApiCall(ApiCallSample)} in the case of API calls which failed. Errors
+   * should be counted by status code, and metrics which weren't measured should not be recorded.
+   */
+  @Test
+  public final void testRecordApiCallWhenFailed() {
+    Map<ApiCallPhase, Long> phaseNanos = ImmutableMap.of(ApiCallPhase.TOTAL, TimeUnit.MILLISECONDS.toNanos(5));
+
+    this.metrics.recordApiCall(new ApiCallSample(ApiEndpoint.GET_WEBCAST, 503, false, phaseNanos,
+        ApiCallSample.NOT_MEASURED, ApiCallSample.NOT_MEASURED));
+    this.metrics.recordApiCall(new ApiCallSample(ApiEndpoint.GET_WEBCAST, 503, false, phaseNanos,
+        ApiCallSample.NOT_MEASURED, ApiCallSample.NOT_MEASURED));
+    this.metrics.recordApiCall(new ApiCallSample(ApiEndpoint.GET_WEBCAST, ApiCallSample.NO_RESPONSE, false,
+        phaseNanos, ApiCallSample.NOT_MEASURED, ApiCallSample.NOT_MEASURED));
+
+    EndpointMetrics endpointMetrics = this.metrics.getEndpointMetrics(ApiEndpoint.GET_WEBCAST);
+    assertThat(endpointMetrics.getRequestCount(), is(3L));
+    assertThat(endpointMetrics.getErrorCount(), is(3L));
+    assertThat(endpointMetrics.getErrorCountsByStatus(),
+        is((Map<Integer, Long>) ImmutableMap.of(ApiCallSample.NO_RESPONSE, 1L, 503, 2L)));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.TOTAL).getCount(), is(3L));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.TIME_TO_FIRST_BYTE).getCount(), is(0L));
+    assertThat(endpointMetrics.getResponseBytes().getCount(), is(0L));
+    assertThat(endpointMetrics.getResourcesPerPage().getCount(), is(0L));
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.metrics;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Unit tests for {@link JmxApiClientMetrics}.
+ */
+public class JmxApiClientMetricsTest {
+
+  private MBeanServer mBeanServer;
+  private JmxApiClientMetrics metrics;
+
+  @Before
+  public void setUp() {
+    this.mBeanServer = MBeanServerFactory.newMBeanServer();
+    this.metrics = new JmxApiClientMetrics(this.mBeanServer, JmxApiClientMetrics.DEFAULT_DOMAIN);
+  }
+
+  @After
+  public void tearDown() {
+    this.metrics.unregister();
+  }
+
+  /**
+   * Tests {@link JmxApiClientMetrics#register()} in the case where no API calls have been recorded. An MBean should be
+   * registered for every endpoint, reporting zero API calls.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public final void testRegisterWhenNoApiCalls() throws Exception {
+    this.metrics.register();
+
+    for (ApiEndpoint endpoint : ApiEndpoint.values()) {
+      ObjectName objectName = this.metrics.createObjectName(endpoint);
+      assertThat(this.mBeanServer.isRegistered(objectName), is(true));
+      assertThat((Long) this.mBeanServer.getAttribute(objectName, "RequestCount"), is(0L));
+    }
+  }
+
+  /**
+   * Tests that the metrics of a recorded API call are published as the attributes of the MBean of its endpoint.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public final void testRecordApiCallPublishesAttributes() throws Exception {
+    this.metrics.register();
+    Map<ApiCallPhase, Long> phaseNanos = ImmutableMap.of(ApiCallPhase.TOTAL, TimeUnit.MILLISECONDS.toNanos(20));
+
+    this.metrics.recordApiCall(new ApiCallSample(ApiEndpoint.GET_SURVEY, 404, false, phaseNanos,
+        ApiCallSample.NOT_MEASURED, ApiCallSample.NOT_MEASURED));
+
+    ObjectName objectName = this.metrics.createObjectName(ApiEndpoint.GET_SURVEY);
+    assertThat(objectName.toString(), is(JmxApiClientMetrics.DEFAULT_DOMAIN
+        + ":type=ApiClientMetrics,endpoint=getSurvey"));
+    assertThat((String) this.mBeanServer.getAttribute(objectName, "MethodName"), is("getSurvey"));
+    assertThat((Long) this.mBeanServer.getAttribute(objectName, "RequestCount"), is(1L));
+    assertThat((Long) this.mBeanServer.getAttribute(objectName, "ErrorCount"), is(1L));
+    CompositeData totalLatency = (CompositeData) this.mBeanServer.getAttribute(objectName, "TotalLatencyMicros");
+    assertThat((Long) totalLatency.get("count"), is(1L));
+    assertThat((Long) totalLatency.get("max"), is(20000L));
+  }
+
+  /**
+   * Tests {@link JmxApiClientMetrics#unregister()}. All of the registered MBeans should be unregistered.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public final void testUnregister() throws Exception {
+    this.metrics.register();
+
+    this.metrics.unregister();
+
+    assertThat(this.mBeanServer.isRegistered(this.metrics.createObjectName(ApiEndpoint.GET_SURVEY)), is(false));
+  }
+
+  /**
+   * Tests {@link JmxApiClientMetrics#register()} in the case where MBeans with the same names are already registered,
+   * e.g. by another API client using the same domain.
+   */
+  @Test
+  public final void testRegisterWhenAlreadyRegisteredInDomain() {
+    this.metrics.register();
+    JmxApiClientMetrics otherMetrics = new JmxApiClientMetrics(this.mBeanServer, JmxApiClientMetrics.DEFAULT_DOMAIN);
+
+    try {
+      otherMetrics.register();
+      fail("Expected an exception to be thrown.");
+    } catch (IllegalStateException e) {
+      assertThat(this.mBeanServer.getMBeanCount(), is(ApiEndpoint.values().length + 1));
+    }
+  }
+}
@@ -0,0 +1,552 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.simulator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.brighttalk.channels.reportingapi.client.common.ApiDateTimeFormatter;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.resource.ApiError;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.SubscriberWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SubscribersWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponseResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponsesResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveysResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+import com.brighttalk.channels.reportingapi.client.support.LinkRelationType;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embeddable, in-process simulator of the BrightTALK reporting API service, which serves the synthetic data set
+ * generated by a {@link SyntheticDataGenerator}, for running throughput and soak tests of the API client offline,
+ * at a configurable scale.
+ * <p>
+ * Serves every {@link ApiEndpoint}. Paged collections honour the 'pageSize', 'cursor' and 'since' request parameters,
+ * and the webcast viewings endpoints additionally honour 'webcastStatus'. Other filtering request parameters are
+ * ignored. A 'next' page link is included in every page other than the last. Responses are gzip compressed if the
+ * client accepts it. Requests for resources which don't exist are rejected with a 404 Not Found error response, and
+ * requests with invalid parameters with a 400 Bad Request.
+ * <p>
+ * To simulate a remote API service, a configurable, random latency can be added to every response, and a
+ * configurable proportion of requests can be failed with an error response. Both can be changed while the simulator
+ * is running, e.g. to inject errors part way through a soak test. Each request is handled on its own thread, so the
+ * latency doesn't limit the no. of concurrent requests.
+ * <p>
+ * Must be {@link #start() started} to serve requests, and {@link #stop() stopped} when no longer required.
+ * Thread-safe.
+ */
+public class ApiServiceSimulator {
+
+  /** The no. of resources returned per page if the request doesn't specify a page size. */
+  public static final int DEFAULT_PAGE_SIZE = 100;
+
+  /** The status code of injected error responses, if not otherwise configured - 503 Service Unavailable. */
+  public static final int DEFAULT_ERROR_STATUS_CODE = 503;
+
+  private static final Logger logger = LoggerFactory.getLogger(ApiServiceSimulator.class);
+
+  private static final int MAX_PENDING_CONNECTIONS = 1000;
+
+  private static final Class<?>[] RESOURCE_CLASSES = { ApiError.class, ChannelsResource.class,
+      ChannelSubscribersResource.class, SubscribersWebcastActivityResource.class, SurveyResource.class,
+      SurveysResource.class, SurveyResponsesResource.class, WebcastResource.class, WebcastsResource.class,
+      WebcastRegistrationsResource.class, WebcastViewingsResource.class };
+
+  private final SyntheticDataGenerator generator;
+  private final InetSocketAddress address;
+  private final JAXBContext jaxbContext;
+  private final ApiDateTimeFormatter dateTimeFormatter = new ApiDateTimeFormatter();
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong injectedErrorCount = new AtomicLong();
+  private volatile int minLatencyMillis;
+  private volatile int maxLatencyMillis;
+  private volatile double errorRate;
+  private volatile int errorStatusCode = DEFAULT_ERROR_STATUS_CODE;
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /**
+   * @param generator The {@link SyntheticDataGenerator} which generates the resources served by the simulator.
+   * @param hostName The host name or IP address to listen on, e.g. "localhost".
+   * @param port The port to listen on, or zero to listen on an ephemeral port, identified by {@link #getPort()} once
+   * started.
+   */
+  public ApiServiceSimulator(SyntheticDataGenerator generator, String hostName, int port) {
+    this.generator = Preconditions.checkNotNull(generator, "generator must not be null.");
+    Preconditions.checkNotNull(hostName, "hostName must not be null.");
+    this.address = new InetSocketAddress(hostName, port);
+    try {
+      this.jaxbContext = JAXBContext.newInstance(RESOURCE_CLASSES);
+    } catch (JAXBException e) {
+      throw new IllegalStateException("Failed to create JAXB context for API resources.", e);
+    }
+  }
+
+  /**
+   * @return The {@link SyntheticDataGenerator} which generates the resources served by the simulator.
+   */
+  public final SyntheticDataGenerator getGenerator() {
+    return this.generator;
+  }
+
+  /**
+   * Sets the range of the latency added to each response. Each response is delayed by a random time in the range.
+   * 
+   * @param minLatencyMillis The min latency, in milliseconds.
+   * @param maxLatencyMillis The max latency, in milliseconds. Must not be less than the min latency.
+   */
+  public void setLatencyMillis(int minLatencyMillis, int maxLatencyMillis) {
+    Preconditions.checkArgument(minLatencyMillis >= 0, "minLatencyMillis must not be negative.");
+    Preconditions.checkArgument(maxLatencyMillis >= minLatencyMillis,
+        "maxLatencyMillis must not be less than minLatencyMillis.");
+    this.minLatencyMillis = minLatencyMillis;
+    this.maxLatencyMillis = maxLatencyMillis;
+  }
+
+  public final int getMinLatencyMillis() {
+    return this.minLatencyMillis;
+  }
+
+  public final int getMaxLatencyMillis() {
+    return this.maxLatencyMillis;
+  }
+
+  /**
+   * @param errorRate The proportion of requests, from 0 to 1 inclusive, which are randomly failed with an error
+   * response, with the configured {@link #setErrorStatusCode(int) status code}. Defaults to zero.
+   */
+  public void setErrorRate(double errorRate) {
+    Preconditions.checkArgument(errorRate >= 0 && errorRate <= 1, "errorRate must be between 0 and 1.");
+    this.errorRate = errorRate;
+  }
+
+  public final double getErrorRate() {
+    return this.errorRate;
+  }
+
+  /**
+   * @param errorStatusCode The HTTP status code of injected error responses. Defaults to
+   * {@link #DEFAULT_ERROR_STATUS_CODE}.
+   */
+  public void setErrorStatusCode(int errorStatusCode) {
+    Preconditions.checkArgument(errorStatusCode >= 400 && errorStatusCode <= 599,
+        "errorStatusCode must be an HTTP error status code.");
+    this.errorStatusCode = errorStatusCode;
+  }
+
+  public final int getErrorStatusCode() {
+    return this.errorStatusCode;
+  }
+
+  /**
+   * @return The no. of requests received.
+   */
+  public long getRequestCount() {
+    return this.requestCount.get();
+  }
+
+  /**
+   * @return The no. of requests which were failed with an injected error response.
+   */
+  public long getInjectedErrorCount() {
+    return this.injectedErrorCount.get();
+  }
+
+  /**
+   * Starts listening for and serving requests.
+   * 
+   * @throws IOException If the server socket can't be bound to the configured address, e.g. the port is in use.
+   */
+  public synchronized void start() throws IOException {
+    Preconditions.checkState(this.server == null, "Simulator is already started.");
+    HttpServer server = HttpServer.create(this.address, MAX_PENDING_CONNECTIONS);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        ApiServiceSimulator.this.handle(exchange);
+      }
+    });
+    this.executor =
+        Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("api-service-simulator-%d")
+            .setDaemon(true).build());
+    server.setExecutor(this.executor);
+    server.start();
+    this.server = server;
+    logger.info("Started {} on port [{}].", this, this.getPort());
+  }
+
+  /**
+   * Stops serving requests, closing all connections, if started.
+   */
+  public synchronized void stop() {
+    if (this.server == null) {
+      return;
+    }
+    this.server.stop(0);
+    this.executor.shutdownNow();
+    this.server = null;
+    logger.info("Stopped {}.", this);
+  }
+
+  /**
+   * @return The port on which the simulator is listening.
+   * @throws IllegalStateException If the simulator isn't started.
+   */
+  public synchronized int getPort() {
+    Preconditions.checkState(this.server != null, "Simulator is not started.");
+    return this.server.getAddress().getPort();
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("address", this.address)
+      .add("generator", this.generator)
+      .add("minLatencyMillis", this.minLatencyMillis)
+      .add("maxLatencyMillis", this.maxLatencyMillis)
+      .add("errorRate", this.errorRate)
+      .add("errorStatusCode", this.errorStatusCode)
+      .toString();
+    /* @formatter:on */
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    this.requestCount.incrementAndGet();
+    try {
+      this.delay();
+      if (this.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < this.errorRate) {
+        this.injectedErrorCount.incrementAndGet();
+        this.writeResponse(exchange, this.errorStatusCode, new ApiError("ServiceError", "Simulated error."));
+        return;
+      }
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        this.writeResponse(exchange, 405, new ApiError("MethodNotAllowed", "Only GET requests are supported."));
+        return;
+      }
+      Object resource;
+      try {
+        resource = this.createResource(exchange);
+      } catch (IllegalArgumentException e) {
+        this.writeResponse(exchange, 400, new ApiError("InvalidParameter", e.getMessage()));
+        return;
+      }
+      if (resource == null) {
+        this.writeResponse(exchange, 404, new ApiError("NotFound", "Resource not found."));
+        return;
+      }
+      this.writeResponse(exchange, 200, resource);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Error handling request [{}].", exchange.getRequestURI(), e);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void delay() throws InterruptedException {
+    int minLatencyMillis = this.minLatencyMillis;
+    int maxLatencyMillis = Math.max(this.maxLatencyMillis, minLatencyMillis);
+    if (maxLatencyMillis > 0) {
+      TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(minLatencyMillis, maxLatencyMillis + 1));
+    }
+  }
+
+  /**
+   * Creates the resource requested by a supplied request.
+   * 
+   * @return The resource, or null if it doesn't exist.
+   * @throws IllegalArgumentException If the request has an invalid parameter.
+   */
+  private Object createResource(HttpExchange exchange) {
+    String path = exchange.getRequestURI().getPath();
+    ApiEndpoint endpoint = ApiEndpoint.forPath(path);
+    if (endpoint == null) {
+      return null;
+    }
+    Map<String, Integer> pathVariables = parsePathVariables(endpoint, path);
+    if (pathVariables == null) {
+      return null;
+    }
+    Integer channelId = pathVariables.get("channelId");
+    Integer webcastId = pathVariables.get("webcastId");
+    Integer surveyId = pathVariables.get("surveyId");
+    if (channelId != null && !this.generator.isChannel(channelId)
+        || webcastId != null && !this.generator.isWebcast(channelId, webcastId) || surveyId != null
+        && !this.generator.isSurvey(surveyId)) {
+      return null;
+    }
+    PageRequest pageRequest = new PageRequest(exchange, this.dateTimeFormatter);
+    switch (endpoint) {
+      case GET_MY_CHANNELS:
+      case GET_USER_CHANNELS: {
+        Page<ChannelResource> page = pageRequest.page(this.generator.channels());
+        return new ChannelsResource(page.resources, page.links);
+      }
+      case GET_CHANNEL_SUBSCRIBERS: {
+        Page<ChannelSubscriberResource> page = pageRequest.page(this.generator.channelSubscribers(channelId));
+        return new ChannelSubscribersResource(page.resources, page.links);
+      }
+      case GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_CHANNEL: {
+        Page<SubscriberWebcastActivityResource> page =
+            pageRequest.page(this.generator.subscribersWebcastActivityForChannel(channelId));
+        return new SubscribersWebcastActivityResource(page.resources, page.links);
+      }
+      case GET_SUBSCRIBERS_WEBCAST_ACTIVITY_FOR_WEBCAST: {
+        Page<SubscriberWebcastActivityResource> page =
+            pageRequest.page(this.generator.subscribersWebcastActivityForWebcast(channelId, webcastId));
+        return new SubscribersWebcastActivityResource(page.resources, page.links);
+      }
+      case GET_SURVEYS_FOR_CHANNEL:
+        return new SurveysResource(this.generator.getSurveysForChannel(channelId));
+      case GET_SURVEY:
+        return this.generator.getSurvey(surveyId);
+      case GET_SURVEY_RESPONSES: {
+        Page<SurveyResponseResource> page = pageRequest.page(this.generator.surveyResponses(surveyId));
+        return new SurveyResponsesResource(page.resources, page.links);
+      }
+      case GET_WEBCASTS_FOR_CHANNEL: {
+        Page<WebcastResource> page = pageRequest.page(this.generator.webcasts(channelId));
+        return new WebcastsResource(page.resources, page.links);
+      }
+      case GET_WEBCAST:
+        return this.generator.getWebcast(channelId, webcastId);
+      case GET_WEBCAST_REGISTRATIONS_FOR_WEBCAST: {
+        Page<WebcastRegistrationResource> page =
+            pageRequest.page(this.generator.webcastRegistrations(channelId, webcastId));
+        return new WebcastRegistrationsResource(page.resources, page.links);
+      }
+      case GET_WEBCAST_VIEWINGS_FOR_CHANNEL: {
+        Page<WebcastViewingResource> page =
+            pageRequest.page(this.generator.webcastViewingsForChannel(channelId), pageRequest.webcastStatusFilter());
+        return new WebcastViewingsResource(page.resources, page.links);
+      }
+      case GET_WEBCAST_VIEWINGS_FOR_WEBCAST: {
+        Page<WebcastViewingResource> page = pageRequest.page(
+            this.generator.webcastViewingsForWebcast(channelId, webcastId), pageRequest.webcastStatusFilter());
+        return new WebcastViewingsResource(page.resources, page.links);
+      }
+      default:
+        throw new IllegalStateException("Unsupported API endpoint [" + endpoint + "].");
+    }
+  }
+
+  private void writeResponse(HttpExchange exchange, int statusCode, Object resource) throws IOException {
+    String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+    boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+    exchange.getResponseHeaders().set("Content-Type", "application/xml;charset=UTF-8");
+    if (gzip) {
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    // Chunked, so the resource can be marshalled straight to the response
+    exchange.sendResponseHeaders(statusCode, 0);
+    try (OutputStream body = gzip ? new GZIPOutputStream(exchange.getResponseBody()) : exchange.getResponseBody()) {
+      Marshaller marshaller = this.jaxbContext.createMarshaller();
+      marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+      marshaller.marshal(resource, body);
+    } catch (JAXBException e) {
+      throw new IOException("Failed to marshal resource [" + resource + "].", e);
+    }
+  }
+
+  /**
+   * @return The values of the variables in the path of a request for a supplied endpoint, keyed by name, or null if
+   * any of the values isn't an integer, in which case the identified resource can't exist.
+   */
+  private static Map<String, Integer> parsePathVariables(ApiEndpoint endpoint, String path) {
+    String[] templateSegments = endpoint.getRelativeUriTemplate().split("/");
+    String[] pathSegments = path.split("/");
+    Map<String, Integer> pathVariables = new HashMap<>();
+    for (int i = 0; i < templateSegments.length; i++) {
+      if (templateSegments[i].startsWith("{")) {
+        String name = templateSegments[i].substring(1, templateSegments[i].length() - 1);
+        try {
+          pathVariables.put(name, Integer.valueOf(pathSegments[i]));
+        } catch (NumberFormatException e) {
+          return null;
+        }
+      }
+    }
+    return pathVariables;
+  }
+
+  /**
+   * The paging and filtering request parameters of a request for a collection of resources.
+   */
+  private static final class PageRequest {
+    private final String nextPageBaseUrl;
+    private final Integer pageSize;
+    private final Integer cursor;
+    private final Long sinceMillis;
+    private final WebcastStatus webcastStatus;
+
+    private PageRequest(HttpExchange exchange, ApiDateTimeFormatter dateTimeFormatter) {
+      Map<String, String> params = parseQueryParams(exchange.getRequestURI().getRawQuery());
+      this.nextPageBaseUrl = "http://" + exchange.getRequestHeaders().getFirst("Host")
+          + exchange.getRequestURI().getPath();
+      this.pageSize = parseIntParam(params, "pageSize");
+      Preconditions.checkArgument(this.pageSize == null || this.pageSize > 0, "pageSize must be greater than zero.");
+      this.cursor = parseIntParam(params, "cursor");
+      Preconditions.checkArgument(this.cursor == null || this.cursor >= 0, "Invalid cursor [" + this.cursor + "].");
+      String since = params.get("since");
+      this.sinceMillis = since != null ? dateTimeFormatter.parseAsEpochMillis(since) : null;
+      String webcastStatus = params.get("webcastStatus");
+      this.webcastStatus = webcastStatus != null ? WebcastStatus.valueOf(webcastStatus.toUpperCase()) : null;
+      Preconditions.checkArgument(this.webcastStatus == null || this.webcastStatus == WebcastStatus.LIVE
+          || this.webcastStatus == WebcastStatus.RECORDED, "Invalid webcastStatus [" + webcastStatus + "].");
+    }
+
+    private Predicate<WebcastViewingResource> webcastStatusFilter() {
+      if (this.webcastStatus == null) {
+        return Predicates.alwaysTrue();
+      }
+      final String webcastStatus = this.webcastStatus.toString();
+      return new Predicate<WebcastViewingResource>() {
+        @Override
+        public boolean apply(WebcastViewingResource viewing) {
+          return webcastStatus.equals(viewing.getWebcastStatus());
+        }
+      };
+    }
+
+    private <E> Page<E> page(ResourceSequence<E> sequence) {
+      return this.page(sequence, Predicates.alwaysTrue());
+    }
+
+    /**
+     * Selects the requested page of a collection of resources. The cursor is the position in the collection of the
+     * first resource of the page. If there's no cursor the first page is the first resource updated after the 'since'
+     * date/time, if any. Resources which don't satisfy the filter are skipped.
+     */
+    private <E> Page<E> page(ResourceSequence<E> sequence, Predicate<? super E> filter) {
+      int position;
+      if (this.cursor != null) {
+        position = Math.min(this.cursor, sequence.size());
+      } else {
+        position = this.sinceMillis != null ? sequence.indexOfFirstUpdatedAfter(this.sinceMillis) : 0;
+      }
+      int pageSize = this.pageSize != null ? this.pageSize : DEFAULT_PAGE_SIZE;
+      List<E> resources = new ArrayList<>(Math.min(pageSize, sequence.size() - position));
+      E next = null;
+      while (position < sequence.size() && next == null) {
+        E resource = sequence.get(position);
+        if (filter.apply(resource)) {
+          if (resources.size() < pageSize) {
+            resources.add(resource);
+          } else {
+            // Only link to a next page if it will contain at least one resource
+            next = resource;
+            break;
+          }
+        }
+        position++;
+      }
+      List<Link> links = null;
+      if (next != null) {
+        String href = this.nextPageBaseUrl + "?" + (this.pageSize != null ? "pageSize=" + this.pageSize + "&" : "")
+            + "cursor=" + position;
+        links = ImmutableList.of(new Link(href, LinkRelationType.next.name()));
+      }
+      return new Page<>(resources, links);
+    }
+
+    private static Map<String, String> parseQueryParams(String rawQuery) {
+      Map<String, String> params = new HashMap<>();
+      if (rawQuery == null) {
+        return params;
+      }
+      for (String param : rawQuery.split("&")) {
+        int separatorIndex = param.indexOf('=');
+        if (separatorIndex > 0) {
+          params.put(decode(param.substring(0, separatorIndex)), decode(param.substring(separatorIndex + 1)));
+        }
+      }
+      return params;
+    }
+
+    private static String decode(String value) {
+      try {
+        return URLDecoder.decode(value, "UTF-8");
+      } catch (UnsupportedEncodingException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private static Integer parseIntParam(Map<String, String> params, String name) {
+      String value = params.get(name);
+      try {
+        return value != null ? Integer.valueOf(value) : null;
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid " + name + " [" + value + "].", e);
+      }
+    }
+  }
+
+  /**
+   * A page of a collection of resources, and its links.
+   */
+  private static final class Page<E> {
+    private final List<E> resources;
+    private final List<Link> links;
+
+    private Page(List<E> resources, List<Link> links) {
+      this.resources = resources;
+      this.links = links;
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.simulator;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.jaxb.CustomValidationEventHandler;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponseResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.spring.AppConfig;
+import com.brighttalk.channels.reportingapi.client.support.ApiClientPagers;
+
+/**
+ * Integration tests for {@link ApiServiceSimulator}, which use the simulator as the API service of a fully configured
+ * API client.
+ * <p>
+ * The API client is configured to treat all JAXB validation events as fatal errors, so that any response served by
+ * the simulator which doesn't unmarshal cleanly fails the test, rather than only being logged.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { ApiServiceSimulatorTest.StrictValidationAppConfig.class })
+public class ApiServiceSimulatorTest {
+
+  @Autowired
+  private ApiClient apiClient;
+
+  // Environment specific API service props used by the injected API client, for reuse when starting the simulator
+  @Value("${apiService.hostName}")
+  private String apiServiceHostName;
+  @Value("${apiService.port}")
+  private int apiServicePort;
+
+  private SyntheticDataGenerator generator;
+  private ApiServiceSimulator simulator;
+
+  /**
+   * @throws Exception If an unexpected exception occurs.
+   */
+  @Before
+  public void setUp() throws Exception {
+    SyntheticDataConfig config = new SyntheticDataConfig();
+    config.setChannels(2);
+    config.setWebcastsPerChannel(3);
+    config.setViewingsPerWebcast(20);
+    config.setSurveyResponsesPerSurvey(15);
+    this.generator = new SyntheticDataGenerator(config);
+    this.simulator = new ApiServiceSimulator(this.generator, this.apiServiceHostName, this.apiServicePort);
+    this.simulator.start();
+  }
+
+  @After
+  public void tearDown() {
+    this.simulator.stop();
+  }
+
+  /**
+   * Tests paging through the webcast viewings of a channel. Every viewing should be returned once, in order, with the
+   * no. of resources per page requested.
+   */
+  @Test
+  public final void testWebcastViewingsForChannelWhenMultiplePages() {
+    List<WebcastViewingResource> viewings = new ArrayList<>();
+    for (WebcastViewingResource viewing : ApiClientPagers.webcastViewingsForChannel(this.apiClient, 2, null, null,
+        7)) {
+      viewings.add(viewing);
+    }
+
+    ResourceSequence<WebcastViewingResource> expectedViewings = this.generator.webcastViewingsForChannel(2);
+    assertThat(viewings, hasSize(expectedViewings.size()));
+    for (int position = 0; position < viewings.size(); position++) {
+      assertThat(viewings.get(position), is(expectedViewings.get(position)));
+    }
+    // 60 viewings in pages of 7
+    assertThat(this.simulator.getRequestCount(), is(9L));
+  }
+
+  /**
+   * Tests paging through the webcast viewings of a webcast in the case where the results are filtered by 'since' and
+   * 'webcastStatus'. Only the viewings of the webcast with the requested status, updated after the 'since' date/time,
+   * should be returned.
+   */
+  @Test
+  public final void testWebcastViewingsForWebcastWhenSinceAndWebcastStatus() {
+    ResourceSequence<WebcastViewingResource> allViewings = this.generator.webcastViewingsForWebcast(1, 2);
+    Date since = new Date(allViewings.getLastUpdatedMillis(4));
+    List<WebcastViewingResource> expectedViewings = new ArrayList<>();
+    for (int position = 5; position < allViewings.size(); position++) {
+      WebcastViewingResource viewing = allViewings.get(position);
+      if (WebcastStatus.RECORDED.toString().equals(viewing.getWebcastStatus())) {
+        expectedViewings.add(viewing);
+      }
+    }
+
+    List<WebcastViewingResource> viewings = new ArrayList<>();
+    for (WebcastViewingResource viewing : ApiClientPagers.webcastViewingsForWebcast(this.apiClient, 1, 2, since,
+        WebcastStatus.RECORDED, 3)) {
+      viewings.add(viewing);
+    }
+
+    assertThat(expectedViewings, not(empty()));
+    assertThat(viewings, is(expectedViewings));
+  }
+
+  /**
+   * Tests {@link ApiClient#getSurveyResponses} and {@link ApiClient#getSurvey}. Resources should be unmarshalled from
+   * the simulator's responses unchanged.
+   */
+  @Test
+  public final void testGetSurveyAndResponses() {
+    assertThat(this.apiClient.getSurvey(2), is(this.generator.getSurvey(2)));
+
+    List<SurveyResponseResource> responses = this.apiClient.getSurveyResponses(2, null, null).getSurveyResponses();
+
+    assertThat(responses, hasSize(15));
+    assertThat(responses.get(14), is(this.generator.surveyResponses(2).get(14)));
+  }
+
+  /**
+   * Tests {@link ApiClient#getWebcast} in the case where the webcast doesn't exist in the requested channel. A 404
+   * error response should be returned.
+   */
+  @Test
+  public final void testGetWebcastWhenNotFound() {
+    try {
+      this.apiClient.getWebcast(2, 1);
+      fail("Expected exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e.getStatusCode(), is(404));
+      assertThat(e.getApiError().getCode(), is("NotFound"));
+    }
+  }
+
+  /**
+   * Tests the simulator in the case where errors are injected into every response. Each API call should fail with the
+   * configured status code.
+   */
+  @Test
+  public final void testWhenErrorInjected() {
+    this.simulator.setErrorRate(1);
+    this.simulator.setErrorStatusCode(400);
+    try {
+      this.apiClient.getMyChannels(null);
+      fail("Expected exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e.getStatusCode(), is(400));
+    }
+    assertThat(this.simulator.getInjectedErrorCount(), is(1L));
+  }
+
+  /**
+   * Tests the simulator in the case where latency is added to every response.
+   */
+  @Test
+  public final void testWhenLatencyAdded() {
+    this.simulator.setLatencyMillis(100, 150);
+    long startNanos = System.nanoTime();
+
+    assertThat(this.apiClient.getMyChannels(null).getChannels(), hasSize(2));
+
+    assertThat((System.nanoTime() - startNanos) / 1000000, greaterThanOrEqualTo(100L));
+  }
+
+  /**
+   * Extension of the {@link AppConfig} whose marshaller treats all JAXB validation events of severity 'error' as fatal.
+   */
+  @Configuration
+  static class StrictValidationAppConfig extends AppConfig {
+    @Override
+    @Bean
+    public Jaxb2Marshaller marshaller() {
+      Jaxb2Marshaller marshaller = super.marshaller();
+      CustomValidationEventHandler eventHandler = new CustomValidationEventHandler();
+      eventHandler.setLenient(false);
+      marshaller.setValidationEventHandler(eventHandler);
+      return marshaller;
+    }
+  }
+}
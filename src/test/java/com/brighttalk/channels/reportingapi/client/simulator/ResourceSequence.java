@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.simulator;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * An ordered collection of synthetic API resources, whose elements are generated on demand from their position, so
+ * collections of any size can be served without holding them in memory.
+ * <p>
+ * Resources are ordered by the date/time they were last updated, oldest first, as the API orders the collections it
+ * returns, supporting efficiently locating the first resource updated after a 'since' date/time.
+ *
+ * @param <E> The type of resource in the collection.
+ */
+public abstract class ResourceSequence<E> {
+
+  private final int size;
+  private final long startTimeMillis;
+  private final long updateIntervalMillis;
+
+  /**
+   * @param size The no. of resources in the collection.
+   * @param startTimeMillis The date/time, in milliseconds since the epoch, at which the first resource was last
+   * updated.
+   * @param updateIntervalMillis The interval, in milliseconds, between the last updated date/times of successive
+   * resources. Must be greater than zero.
+   */
+  protected ResourceSequence(int size, long startTimeMillis, long updateIntervalMillis) {
+    Preconditions.checkArgument(size >= 0, "size must not be negative.");
+    Preconditions.checkArgument(updateIntervalMillis > 0, "updateIntervalMillis must be greater than zero.");
+    this.size = size;
+    this.startTimeMillis = startTimeMillis;
+    this.updateIntervalMillis = updateIntervalMillis;
+  }
+
+  /**
+   * Generates the resource at a supplied position.
+   *
+   * @param position The position of the resource, from zero.
+   * @param lastUpdatedMillis The date/time, in milliseconds since the epoch, at which the resource was last updated.
+   * @return The resource.
+   */
+  protected abstract E create(int position, long lastUpdatedMillis);
+
+  /**
+   * @return The no. of resources in the collection.
+   */
+  public final int size() {
+    return this.size;
+  }
+
+  /**
+   * @param position The position of the resource, from zero.
+   * @return The resource at the supplied position. Resources generated for the same position are equal.
+   * @throws IndexOutOfBoundsException If the position is not less than the {@link #size()}.
+   */
+  public final E get(int position) {
+    Preconditions.checkElementIndex(position, this.size);
+    return this.create(position, this.getLastUpdatedMillis(position));
+  }
+
+  /**
+   * @param position The position of the resource, from zero.
+   * @return The date/time, in milliseconds since the epoch, at which the resource at the supplied position was last
+   * updated.
+   */
+  public final long getLastUpdatedMillis(int position) {
+    return this.startTimeMillis + position * this.updateIntervalMillis;
+  }
+
+  /**
+   * @param sinceMillis A date/time, in milliseconds since the epoch.
+   * @return The position of the first resource updated after (exclusive) the supplied date/time, or the
+   * {@link #size()} of the collection if there isn't one.
+   */
+  public final int indexOfFirstUpdatedAfter(long sinceMillis) {
+    if (sinceMillis < this.startTimeMillis) {
+      return 0;
+    }
+    long position = (sinceMillis - this.startTimeMillis) / this.updateIntervalMillis + 1;
+    return (int) Math.min(position, this.size);
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("size", this.size)
+      .add("startTimeMillis", this.startTimeMillis)
+      .add("updateIntervalMillis", this.updateIntervalMillis)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.simulator;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Objects;
+
+/**
+ * The scale and shape of the synthetic data set generated by a {@link SyntheticDataGenerator}. Defaults to a small
+ * data set, suitable for functional tests. Increase the no. of resources for throughput and soak tests.
+ */
+public class SyntheticDataConfig {
+
+  /** The default date/time of the first (least recently updated) resource in each collection - 2014-01-01T00:00:00Z. */
+  public static final long DEFAULT_START_TIME_MILLIS = 1388534400000L;
+
+  private long seed = 1;
+  private int channels = 2;
+  private int webcastsPerChannel = 10;
+  private int subscribersPerChannel = 100;
+  private int viewingsPerWebcast = 100;
+  private int registrationsPerWebcast = 100;
+  private int subscriberWebcastActivitiesPerWebcast = 100;
+  private int surveyResponsesPerSurvey = 100;
+  private long startTimeMillis = DEFAULT_START_TIME_MILLIS;
+  private long updateIntervalMillis = TimeUnit.MINUTES.toMillis(1);
+
+  /**
+   * @return The seed from which the values of the resources' (non-identifying) fields are derived. Generators with the
+   * same config, including the seed, generate identical resources.
+   */
+  public final long getSeed() {
+    return this.seed;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * @return The no. of channels, which are both the API user's channels and every user's channels. Each channel has
+   * one survey.
+   */
+  public final int getChannels() {
+    return this.channels;
+  }
+
+  public void setChannels(int channels) {
+    this.channels = channels;
+  }
+
+  public final int getWebcastsPerChannel() {
+    return this.webcastsPerChannel;
+  }
+
+  public void setWebcastsPerChannel(int webcastsPerChannel) {
+    this.webcastsPerChannel = webcastsPerChannel;
+  }
+
+  /**
+   * @return The no. of subscribers of each channel. The users who view, register for and respond to the surveys of
+   * each channel's webcasts are drawn from its subscribers.
+   */
+  public final int getSubscribersPerChannel() {
+    return this.subscribersPerChannel;
+  }
+
+  public void setSubscribersPerChannel(int subscribersPerChannel) {
+    this.subscribersPerChannel = subscribersPerChannel;
+  }
+
+  public final int getViewingsPerWebcast() {
+    return this.viewingsPerWebcast;
+  }
+
+  public void setViewingsPerWebcast(int viewingsPerWebcast) {
+    this.viewingsPerWebcast = viewingsPerWebcast;
+  }
+
+  public final int getRegistrationsPerWebcast() {
+    return this.registrationsPerWebcast;
+  }
+
+  public void setRegistrationsPerWebcast(int registrationsPerWebcast) {
+    this.registrationsPerWebcast = registrationsPerWebcast;
+  }
+
+  public final int getSubscriberWebcastActivitiesPerWebcast() {
+    return this.subscriberWebcastActivitiesPerWebcast;
+  }
+
+  public void setSubscriberWebcastActivitiesPerWebcast(int subscriberWebcastActivitiesPerWebcast) {
+    this.subscriberWebcastActivitiesPerWebcast = subscriberWebcastActivitiesPerWebcast;
+  }
+
+  public final int getSurveyResponsesPerSurvey() {
+    return this.surveyResponsesPerSurvey;
+  }
+
+  public void setSurveyResponsesPerSurvey(int surveyResponsesPerSurvey) {
+    this.surveyResponsesPerSurvey = surveyResponsesPerSurvey;
+  }
+
+  /**
+   * @return The date/time, in milliseconds since the epoch, at which the first resource in each collection was last
+   * updated.
+   */
+  public final long getStartTimeMillis() {
+    return this.startTimeMillis;
+  }
+
+  public void setStartTimeMillis(long startTimeMillis) {
+    this.startTimeMillis = startTimeMillis;
+  }
+
+  /**
+   * @return The interval, in milliseconds, between the last updated date/times of successive resources in each
+   * collection. Should be a whole no. of seconds, as the API's 'since' request parameter has a resolution of seconds.
+   */
+  public final long getUpdateIntervalMillis() {
+    return this.updateIntervalMillis;
+  }
+
+  public void setUpdateIntervalMillis(long updateIntervalMillis) {
+    this.updateIntervalMillis = updateIntervalMillis;
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("seed", this.seed)
+      .add("channels", this.channels)
+      .add("webcastsPerChannel", this.webcastsPerChannel)
+      .add("subscribersPerChannel", this.subscribersPerChannel)
+      .add("viewingsPerWebcast", this.viewingsPerWebcast)
+      .add("registrationsPerWebcast", this.registrationsPerWebcast)
+      .add("subscriberWebcastActivitiesPerWebcast", this.subscriberWebcastActivitiesPerWebcast)
+      .add("surveyResponsesPerSurvey", this.surveyResponsesPerSurvey)
+      .add("startTimeMillis", this.startTimeMillis)
+      .add("updateIntervalMillis", this.updateIntervalMillis)
+      .toString();
+    /* @formatter:on */
+  }
+}
@@ -0,0 +1,533 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.simulator;
+
+import java.util.Date;
+import java.util.List;
+
+import com.brighttalk.channels.reportingapi.client.resource.ChannelResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.Embed;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.Question;
+import com.brighttalk.channels.reportingapi.client.resource.SubscriberWebcastActivityResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResponseResource;
+import com.brighttalk.channels.reportingapi.client.resource.User;
+import com.brighttalk.channels.reportingapi.client.resource.UserRealm;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastRegistrationResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.support.LinkRelationType;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Generates a deterministic, synthetic data set of BrightTALK reporting API resources - channels, webcasts, viewings,
+ * registrations, subscribers, subscriber webcast activity, surveys and survey responses - at a scale specified by a
+ * {@link SyntheticDataConfig}.
+ * <p>
+ * Resources are generated on demand, from their position in their collection, rather than being held in memory, so
+ * large data sets can be served. Identifiers are allocated sequentially, e.g. channel N's webcasts are numbered
+ * consecutively after those of channel N-1. The values of other fields are derived from the configured seed and the
+ * resource's ID, so the same resource is generated every time. The users who view, register for and respond to the
+ * surveys of a channel's webcasts are drawn from the channel's subscribers, so users repeat across resources, as they
+ * do in the API.
+ * <p>
+ * Channel N has a single survey, with ID N. Thread-safe.
+ */
+public class SyntheticDataGenerator {
+
+  /** The base URL of the links included in the generated resources. */
+  static final String LINK_BASE_URL = "https://api.test.brighttalk.net";
+
+  private static final String LINK_REL_BASE_URL = "https://api.brighttalk.com/rel/";
+  private static final String WEBSITE_BASE_URL = "https://www.test.brighttalk.net";
+
+  /* @formatter:off */
+  private static final String[] FIRST_NAMES = { "Alice", "Bob", "Carol", "Dave", "Erin", "Frank", "Grace", "Heidi",
+      "Ivan", "Judy", "Mallory", "Niaj", "Olivia", "Peggy", "Rupert", "Sybil", "Trent", "Victor", "Walter", "Yuki" };
+  private static final String[] LAST_NAMES = { "Smith", "Jones", "Taylor", "Brown", "Williams", "Wilson", "Johnson",
+      "Davies", "Patel", "Wright", "Garcia", "Martin", "Nguyen", "Kowalski", "Mueller", "Rossi", "Tanaka", "O'Brien" };
+  private static final String[] JOB_TITLES = { "Developer", "Senior Developer", "Architect", "Marketing Manager",
+      "Director of Marketing", "Product Manager", "CTO", "CIO", "Analyst", "Consultant", "Sales Executive" };
+  private static final String[] LEVELS = { "C-Level", "VP", "Director", "Manager", "Senior Staff", "Staff", "Other" };
+  private static final String[] COMPANY_NAMES = { "Acme Ltd", "Globex Corporation", "Initech", "Umbrella plc",
+      "Hooli", "Vandelay Industries", "Stark Industries", "Wayne Enterprises", "Soylent Corp", "Tyrell Corporation" };
+  private static final String[] COMPANY_SIZES = { "1-10", "11-100", "101-250", "251-1000", "1001-5000", "5000+" };
+  private static final String[] INDUSTRIES = { "Technology - Software & Services", "Financial Services", "Education",
+      "Healthcare", "Manufacturing", "Retail", "Telecommunications", "Government", "Other" };
+  private static final String[][] COUNTRY_TIME_ZONES = { { "United Kingdom", "Europe/London" },
+      { "United States", "America/New_York" }, { "United States", "America/Los_Angeles" },
+      { "Germany", "Europe/Berlin" }, { "France", "Europe/Paris" }, { "India", "Asia/Kolkata" },
+      { "Japan", "Asia/Tokyo" }, { "Australia", "Australia/Sydney" } };
+  private static final String[] TOPICS = { "Cloud Security", "Multichannel Marketing", "Big Data Analytics",
+      "Continuous Delivery", "Customer Engagement", "Mobile Strategy", "Data Centre Virtualisation", "Risk Management",
+      "Content Marketing", "Network Performance", "Agile Leadership", "Digital Transformation" };
+  private static final String[] SENTENCES = { "Customers have become increasingly empowered through technology.",
+      "This webinar focuses on the strategic dimensions and success factors for the year ahead.",
+      "The emphasis includes perspectives on effective strategy and frameworks for building architecture.",
+      "The takeaway will be a better understanding of how to deploy these techniques in a fiscally responsible way.",
+      "Our panel of industry experts will share their experiences and answer your questions live." };
+  private static final String[] CATEGORIES = { "Webinars/Social Media", "Webinars/General Marketing",
+      "Webinars/Video Marketing", "Webinars/Demand Generation", "Webinars/Content Marketing", "Webinars/IT Security",
+      "Webinars/Cloud Computing", "Webinars/Big Data" };
+  private static final String[] INTERESTS = { "Cloud", "Security", "Mobile", "Analytics", "Networking", "Storage" };
+  /* @formatter:on */
+
+  private final SyntheticDataConfig config;
+  private final long seed;
+  private final int channels;
+  private final int webcastsPerChannel;
+  private final int subscribersPerChannel;
+  private final int viewingsPerWebcast;
+  private final int registrationsPerWebcast;
+  private final int activitiesPerWebcast;
+  private final int responsesPerSurvey;
+  private final long startTimeMillis;
+  private final long updateIntervalMillis;
+
+  /**
+   * @param config The {@link SyntheticDataConfig} specifying the scale of the data set. Subsequent changes to the
+   * config are not reflected by this generator.
+   * @throws IllegalArgumentException If the config is invalid, including if the IDs of any type of resource would
+   * exceed the max value of an integer.
+   */
+  public SyntheticDataGenerator(SyntheticDataConfig config) {
+    Preconditions.checkNotNull(config, "config must not be null.");
+    this.seed = config.getSeed();
+    this.channels = checkPositive(config.getChannels(), "channels");
+    this.webcastsPerChannel = checkPositive(config.getWebcastsPerChannel(), "webcastsPerChannel");
+    this.subscribersPerChannel = checkPositive(config.getSubscribersPerChannel(), "subscribersPerChannel");
+    this.viewingsPerWebcast = checkNotNegative(config.getViewingsPerWebcast(), "viewingsPerWebcast");
+    this.registrationsPerWebcast = checkNotNegative(config.getRegistrationsPerWebcast(), "registrationsPerWebcast");
+    this.activitiesPerWebcast =
+        checkNotNegative(config.getSubscriberWebcastActivitiesPerWebcast(), "subscriberWebcastActivitiesPerWebcast");
+    this.responsesPerSurvey = checkNotNegative(config.getSurveyResponsesPerSurvey(), "surveyResponsesPerSurvey");
+    this.startTimeMillis = config.getStartTimeMillis();
+    this.updateIntervalMillis = config.getUpdateIntervalMillis();
+    Preconditions.checkArgument(this.updateIntervalMillis > 0, "updateIntervalMillis must be greater than zero.");
+    long webcasts = checkIds((long) this.channels * this.webcastsPerChannel, "webcasts");
+    checkIds((long) this.channels * this.subscribersPerChannel, "subscribers");
+    checkIds(webcasts * this.viewingsPerWebcast, "viewings");
+    checkIds(webcasts * this.registrationsPerWebcast, "registrations");
+    checkIds(webcasts * this.activitiesPerWebcast, "subscriber webcast activities");
+    checkIds((long) this.channels * this.responsesPerSurvey, "survey responses");
+    this.config = config;
+  }
+
+  /**
+   * @return The {@link SyntheticDataConfig} specifying the scale of the data set.
+   */
+  public final SyntheticDataConfig getConfig() {
+    return this.config;
+  }
+
+  /**
+   * @param channelId A channel ID.
+   * @return True if the data set contains the channel with the supplied ID.
+   */
+  public boolean isChannel(int channelId) {
+    return channelId >= 1 && channelId <= this.channels;
+  }
+
+  /**
+   * @param channelId A channel ID.
+   * @param webcastId A webcast ID.
+   * @return True if the data set contains the webcast with the supplied ID, in the channel with the supplied ID.
+   */
+  public boolean isWebcast(int channelId, int webcastId) {
+    return this.isChannel(channelId) && webcastId >= 1 && (webcastId - 1) / this.webcastsPerChannel == channelId - 1;
+  }
+
+  /**
+   * @param surveyId A survey ID.
+   * @return True if the data set contains the survey with the supplied ID.
+   */
+  public boolean isSurvey(int surveyId) {
+    return this.isChannel(surveyId);
+  }
+
+  /**
+   * @return The channels, which are both the API user's channels and every user's channels.
+   */
+  public ResourceSequence<ChannelResource> channels() {
+    return new ResourceSequence<ChannelResource>(this.channels, this.startTimeMillis, this.updateIntervalMillis) {
+      @Override
+      protected ChannelResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createChannel(position + 1, lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @return The webcasts in the channel.
+   */
+  public ResourceSequence<WebcastResource> webcasts(final int channelId) {
+    this.checkChannel(channelId);
+    return new ResourceSequence<WebcastResource>(this.webcastsPerChannel, this.startTimeMillis,
+        this.updateIntervalMillis) {
+      @Override
+      protected WebcastResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createWebcast(channelId, position, lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @param webcastId The ID of an existing webcast in the channel.
+   * @return The webcast.
+   */
+  public WebcastResource getWebcast(int channelId, int webcastId) {
+    this.checkWebcast(channelId, webcastId);
+    return this.webcasts(channelId).get(this.webcastIndex(webcastId));
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @return The subscribers of the channel.
+   */
+  public ResourceSequence<ChannelSubscriberResource> channelSubscribers(final int channelId) {
+    this.checkChannel(channelId);
+    return new ResourceSequence<ChannelSubscriberResource>(this.subscribersPerChannel, this.startTimeMillis,
+        this.updateIntervalMillis) {
+      @Override
+      protected ChannelSubscriberResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createChannelSubscriber(channelId, position, lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @return The viewings of all the webcasts in the channel.
+   */
+  public ResourceSequence<WebcastViewingResource> webcastViewingsForChannel(final int channelId) {
+    this.checkChannel(channelId);
+    return new ResourceSequence<WebcastViewingResource>(this.webcastsPerChannel * this.viewingsPerWebcast,
+        this.startTimeMillis, this.updateIntervalMillis) {
+      @Override
+      protected WebcastViewingResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createWebcastViewing(channelId, position, lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @param webcastId The ID of an existing webcast in the channel.
+   * @return The viewings of the webcast.
+   */
+  public ResourceSequence<WebcastViewingResource> webcastViewingsForWebcast(final int channelId, int webcastId) {
+    this.checkWebcast(channelId, webcastId);
+    final int offset = this.webcastIndex(webcastId) * this.viewingsPerWebcast;
+    return new ResourceSequence<WebcastViewingResource>(this.viewingsPerWebcast, this.offsetStartTimeMillis(offset),
+        this.updateIntervalMillis) {
+      @Override
+      protected WebcastViewingResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createWebcastViewing(channelId, offset + position, lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @param webcastId The ID of an existing webcast in the channel.
+   * @return The registrations for the webcast.
+   */
+  public ResourceSequence<WebcastRegistrationResource> webcastRegistrations(final int channelId, int webcastId) {
+    this.checkWebcast(channelId, webcastId);
+    final int offset = this.webcastIndex(webcastId) * this.registrationsPerWebcast;
+    return new ResourceSequence<WebcastRegistrationResource>(this.registrationsPerWebcast,
+        this.offsetStartTimeMillis(offset), this.updateIntervalMillis) {
+      @Override
+      protected WebcastRegistrationResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createWebcastRegistration(channelId, offset + position, lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @return The activity of the channel's subscribers for all the webcasts in the channel.
+   */
+  public ResourceSequence<SubscriberWebcastActivityResource> subscribersWebcastActivityForChannel(final int channelId) {
+    this.checkChannel(channelId);
+    return new ResourceSequence<SubscriberWebcastActivityResource>(this.webcastsPerChannel * this.activitiesPerWebcast,
+        this.startTimeMillis, this.updateIntervalMillis) {
+      @Override
+      protected SubscriberWebcastActivityResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createSubscriberWebcastActivity(channelId, position, lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @param webcastId The ID of an existing webcast in the channel.
+   * @return The activity of the channel's subscribers for the webcast.
+   */
+  public ResourceSequence<SubscriberWebcastActivityResource> subscribersWebcastActivityForWebcast(final int channelId,
+      int webcastId) {
+    this.checkWebcast(channelId, webcastId);
+    final int offset = this.webcastIndex(webcastId) * this.activitiesPerWebcast;
+    return new ResourceSequence<SubscriberWebcastActivityResource>(this.activitiesPerWebcast,
+        this.offsetStartTimeMillis(offset), this.updateIntervalMillis) {
+      @Override
+      protected SubscriberWebcastActivityResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createSubscriberWebcastActivity(channelId, offset + position,
+            lastUpdatedMillis);
+      }
+    };
+  }
+
+  /**
+   * @param channelId The ID of an existing channel.
+   * @return The surveys of the channel.
+   */
+  public List<SurveyResource> getSurveysForChannel(int channelId) {
+    this.checkChannel(channelId);
+    return ImmutableList.of(this.getSurvey(channelId));
+  }
+
+  /**
+   * @param surveyId The ID of an existing survey.
+   * @return The survey, including its questions.
+   */
+  public SurveyResource getSurvey(int surveyId) {
+    Preconditions.checkArgument(this.isSurvey(surveyId), "Unknown survey [" + surveyId + "].");
+    List<Question> questions = ImmutableList.of(
+        new Question(1, "projPlanned", "select", "Are you planning a project in the next 12 months?",
+            ImmutableList.of("Yes", "No")),
+        new Question(2, "interests", "checkbox", "Which of the following topics interest you?",
+            ImmutableList.copyOf(INTERESTS)),
+        new Question(3, "comments", "text", "Do you have any other comments?", null));
+    return new SurveyResource(surveyId, true, questions, ImmutableList.of(this.link(LinkRelationType.self,
+        "/v1/survey/" + surveyId)));
+  }
+
+  /**
+   * @param surveyId The ID of an existing survey.
+   * @return The responses to the survey.
+   */
+  public ResourceSequence<SurveyResponseResource> surveyResponses(final int surveyId) {
+    Preconditions.checkArgument(this.isSurvey(surveyId), "Unknown survey [" + surveyId + "].");
+    return new ResourceSequence<SurveyResponseResource>(this.responsesPerSurvey, this.startTimeMillis,
+        this.updateIntervalMillis) {
+      @Override
+      protected SurveyResponseResource create(int position, long lastUpdatedMillis) {
+        return SyntheticDataGenerator.this.createSurveyResponse(surveyId, position, lastUpdatedMillis);
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    /* @formatter:off */
+    return Objects.toStringHelper(this)
+      .add("config", this.config)
+      .toString();
+    /* @formatter:on */
+  }
+
+  private ChannelResource createChannel(int channelId, long lastUpdatedMillis) {
+    String topic = this.pick(TOPICS, channelId, 1);
+    return new ChannelResource(channelId, topic + " Channel " + channelId, "Webinars and videos about " + topic,
+        this.description(channelId), WEBSITE_BASE_URL + "/channel/" + channelId, this.pick(COMPANY_NAMES, channelId, 2),
+        topic, "professional", new Date(this.startTimeMillis), new Date(lastUpdatedMillis), ImmutableList.of(
+            this.link(LinkRelationType.webcasts, "/v1/channel/" + channelId + "/webcasts"),
+            this.link(LinkRelationType.surveys, "/v1/channel/" + channelId + "/surveys")));
+  }
+
+  private WebcastResource createWebcast(int channelId, int webcastIndex, long lastUpdatedMillis) {
+    int webcastId = (channelId - 1) * this.webcastsPerChannel + webcastIndex + 1;
+    String relativeUrl = "/v1/channel/" + channelId + "/webcast/" + webcastId;
+    boolean upcoming = webcastIndex == this.webcastsPerChannel - 1;
+    String firstName = this.pick(FIRST_NAMES, webcastId, 1);
+    String presenter = firstName + " " + this.pick(LAST_NAMES, webcastId, 2) + ", "
+        + this.pick(JOB_TITLES, webcastId, 3) + ", " + this.pick(COMPANY_NAMES, webcastId, 4);
+    List<String> categories =
+        ImmutableList.of(this.pick(CATEGORIES, webcastId, 5), this.pick(CATEGORIES, webcastId, 6));
+    Date lastUpdated = new Date(lastUpdatedMillis);
+    return new WebcastResource(webcastId, this.pick(TOPICS, webcastId, 7) + " - Part " + webcastId,
+        this.description(webcastId), presenter, 1800 + this.pick(webcastId, 8, 1800), lastUpdated,
+        this.pick(TOPICS, webcastId, 9), true, "public", "campaign-ref-" + webcastId,
+        WEBSITE_BASE_URL + "/webcast/" + channelId + "/" + webcastId, categories,
+        (upcoming ? WebcastStatus.UPCOMING : WebcastStatus.RECORDED).toString(), null,
+        new Date(this.startTimeMillis), lastUpdated, ImmutableList.of(
+            this.link(LinkRelationType.self, relativeUrl),
+            this.link(LinkRelationType.subscribers_webcast_activity, relativeUrl + "/subscribers_webcast_activity"),
+            this.link(LinkRelationType.webcast_registrations, relativeUrl + "/registrations"),
+            this.link(LinkRelationType.webcast_viewings, relativeUrl + "/viewings")));
+  }
+
+  private ChannelSubscriberResource createChannelSubscriber(int channelId, int subscriberIndex,
+      long lastUpdatedMillis) {
+    int subscriberId = (channelId - 1) * this.subscribersPerChannel + subscriberIndex + 1;
+    Date unsubscribed = this.pick(subscriberId, 1, 10) == 0 ? new Date(lastUpdatedMillis) : null;
+    return new ChannelSubscriberResource(subscriberId, new Date(lastUpdatedMillis), unsubscribed, null,
+        this.createUser(channelId, subscriberIndex), null);
+  }
+
+  private WebcastViewingResource createWebcastViewing(int channelId, int position, long lastUpdatedMillis) {
+    int viewingId = (channelId - 1) * this.webcastsPerChannel * this.viewingsPerWebcast + position + 1;
+    int webcastIndex = position / this.viewingsPerWebcast;
+    int webcastId = (channelId - 1) * this.webcastsPerChannel + webcastIndex + 1;
+    WebcastStatus webcastStatus = this.pick(viewingId, 1, 4) == 0 ? WebcastStatus.LIVE : WebcastStatus.RECORDED;
+    int subscriberIndex = this.pick(viewingId, 2, this.subscribersPerChannel);
+    return new WebcastViewingResource(viewingId, new WebcastResource(webcastId), webcastStatus.toString(),
+        this.pick(viewingId, 3, 3600), this.createUser(channelId, subscriberIndex),
+        new Embed(WEBSITE_BASE_URL + "/webcast/" + channelId + "/" + webcastId, null),
+        new Date(lastUpdatedMillis), new Date(lastUpdatedMillis), this.webcastAndSubscriberLinks(channelId, webcastId,
+            subscriberIndex));
+  }
+
+  private WebcastRegistrationResource createWebcastRegistration(int channelId, int position, long lastUpdatedMillis) {
+    int registrationId = (channelId - 1) * this.webcastsPerChannel * this.registrationsPerWebcast + position + 1;
+    int webcastIndex = position / this.registrationsPerWebcast;
+    int webcastId = (channelId - 1) * this.webcastsPerChannel + webcastIndex + 1;
+    int subscriberIndex = (position % this.registrationsPerWebcast) % this.subscribersPerChannel;
+    return new WebcastRegistrationResource(registrationId, new WebcastResource(webcastId),
+        this.createUser(channelId, subscriberIndex), null, new Date(lastUpdatedMillis), new Date(lastUpdatedMillis),
+        this.webcastAndSubscriberLinks(channelId, webcastId, subscriberIndex));
+  }
+
+  private SubscriberWebcastActivityResource createSubscriberWebcastActivity(int channelId, int position,
+      long lastUpdatedMillis) {
+    int activityId = (channelId - 1) * this.webcastsPerChannel * this.activitiesPerWebcast + position + 1;
+    int webcastIndex = position / this.activitiesPerWebcast;
+    int webcastId = (channelId - 1) * this.webcastsPerChannel + webcastIndex + 1;
+    int subscriberIndex = (position % this.activitiesPerWebcast) % this.subscribersPerChannel;
+    int liveViewings = this.pick(activityId, 1, 3);
+    int recordedViewings = this.pick(activityId, 2, 3);
+    int liveViewingDuration = liveViewings * this.pick(activityId, 3, 1800);
+    int recordedViewingDuration = recordedViewings * this.pick(activityId, 4, 1800);
+    return new SubscriberWebcastActivityResource(activityId, new WebcastResource(webcastId),
+        this.createUser(channelId, subscriberIndex), this.pick(activityId, 5, 2) == 0, liveViewings
+            + recordedViewings, liveViewingDuration + recordedViewingDuration, liveViewings, liveViewingDuration,
+        recordedViewings, recordedViewingDuration, null, new Date(lastUpdatedMillis), new Date(lastUpdatedMillis),
+        this.webcastAndSubscriberLinks(channelId, webcastId, subscriberIndex));
+  }
+
+  private SurveyResponseResource createSurveyResponse(int surveyId, int position, long lastUpdatedMillis) {
+    int responseId = (surveyId - 1) * this.responsesPerSurvey + position + 1;
+    Question projPlanned = new Question(1, "projPlanned", null, null, null);
+    projPlanned.setAnswers(ImmutableList.of(this.pick(responseId, 1, 2) == 0 ? "Yes" : "No"));
+    Question interests = new Question(2, "interests", null, null, null);
+    interests.setAnswers(ImmutableList.of(this.pick(INTERESTS, responseId, 2), this.pick(INTERESTS, responseId, 3)));
+    Question comments = new Question(3, "comments", null, null, null);
+    comments.setAnswers(ImmutableList.of(this.pick(SENTENCES, responseId, 4)));
+    // Survey N belongs to channel N
+    int subscriberIndex = position % this.subscribersPerChannel;
+    return new SurveyResponseResource(responseId, new SurveyResource(surveyId, true, null, null), this.createUser(
+        surveyId, subscriberIndex), ImmutableList.of(projPlanned, interests, comments), new Date(lastUpdatedMillis),
+        new Date(lastUpdatedMillis), ImmutableList.of(this.link(LinkRelationType.survey, "/v1/survey/" + surveyId),
+            this.subscriberLink(surveyId, subscriberIndex)));
+  }
+
+  private User createUser(int channelId, int subscriberIndex) {
+    // Users are identified by their position in the channel's subscribers, so the same user subscribes to each channel
+    int userId = subscriberIndex + 1;
+    String firstName = this.pick(FIRST_NAMES, userId, 1);
+    String lastName = this.pick(LAST_NAMES, userId, 2);
+    String[] countryTimeZone = COUNTRY_TIME_ZONES[this.pick(userId, 3, COUNTRY_TIME_ZONES.length)];
+    UserRealm realm = this.pick(userId, 4, 5) == 0 ? new UserRealm(this.pick(userId, 5, 10) + 1) : null;
+    return new User(userId, firstName.toLowerCase() + "." + userId + "@example.com", realm, realm != null ? "user-"
+        + userId : null, firstName, lastName, countryTimeZone[1], "020 7946 " + (1000 + this.pick(userId, 6, 9000)),
+        this.pick(JOB_TITLES, userId, 7), this.pick(LEVELS, userId, 8), this.pick(COMPANY_NAMES, userId, 9),
+        this.pick(COMPANY_SIZES, userId, 10), this.pick(INDUSTRIES, userId, 11), countryTimeZone[0], null);
+  }
+
+  private String description(int id) {
+    StringBuilder description = new StringBuilder();
+    for (int i = 0; i < SENTENCES.length; i++) {
+      if (i > 0) {
+        description.append(' ');
+      }
+      description.append(this.pick(SENTENCES, id, 100 + i));
+    }
+    return description.toString();
+  }
+
+  private List<Link> webcastAndSubscriberLinks(int channelId, int webcastId, int subscriberIndex) {
+    return ImmutableList.of(this.link(LinkRelationType.webcast, "/v1/channel/" + channelId + "/webcast/" + webcastId),
+        this.subscriberLink(channelId, subscriberIndex));
+  }
+
+  private Link subscriberLink(int channelId, int subscriberIndex) {
+    int subscriberId = (channelId - 1) * this.subscribersPerChannel + subscriberIndex + 1;
+    return this.link(LinkRelationType.channel_subscriber, "/v1/channel_subscriber/" + subscriberId);
+  }
+
+  private Link link(LinkRelationType relType, String relativeUrl) {
+    return new Link(LINK_BASE_URL + relativeUrl, LINK_REL_BASE_URL + relType.name());
+  }
+
+  private int webcastIndex(int webcastId) {
+    return (webcastId - 1) % this.webcastsPerChannel;
+  }
+
+  private long offsetStartTimeMillis(int offset) {
+    return this.startTimeMillis + offset * this.updateIntervalMillis;
+  }
+
+  private void checkChannel(int channelId) {
+    Preconditions.checkArgument(this.isChannel(channelId), "Unknown channel [" + channelId + "].");
+  }
+
+  private void checkWebcast(int channelId, int webcastId) {
+    Preconditions.checkArgument(this.isWebcast(channelId, webcastId), "Unknown webcast [" + webcastId
+        + "] in channel [" + channelId + "].");
+  }
+
+  private String pick(String[] values, long id, int field) {
+    return values[this.pick(id, field, values.length)];
+  }
+
+  /**
+   * Derives a pseudo-random value for a field of a resource from the seed, the resource's ID and the field, using the
+   * finalisation step of the MurmurHash3 hash function, so the same value is generated for a resource every time.
+   */
+  private int pick(long id, int field, int bound) {
+    long h = this.seed ^ (id * 0x9E3779B97F4A7C15L) ^ (field * 0xC2B2AE3D27D4EB4FL);
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return (int) ((h >>> 1) % bound);
+  }
+
+  private static int checkPositive(int value, String name) {
+    Preconditions.checkArgument(value > 0, name + " must be greater than zero.");
+    return value;
+  }
+
+  private static int checkNotNegative(int value, String name) {
+    Preconditions.checkArgument(value >= 0, name + " must not be negative.");
+    return value;
+  }
+
+  private static long checkIds(long count, String name) {
+    Preconditions.checkArgument(count <= Integer.MAX_VALUE, "No. of " + name + " [" + count
+        + "] exceeds the max no. which can be identified.");
+    return count;
+  }
+}
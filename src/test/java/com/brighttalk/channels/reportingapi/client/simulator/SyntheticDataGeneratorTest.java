@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.simulator;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+
+/**
+ * Unit tests for {@link SyntheticDataGenerator}.
+ */
+public class SyntheticDataGeneratorTest {
+
+  private SyntheticDataConfig config;
+  private SyntheticDataGenerator generator;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   */
+  @Before
+  public void setUp() {
+    this.config = new SyntheticDataConfig();
+    this.config.setChannels(3);
+    this.config.setWebcastsPerChannel(4);
+    this.config.setViewingsPerWebcast(5);
+    this.generator = new SyntheticDataGenerator(this.config);
+  }
+
+  /**
+   * Tests that generators with the same config generate the same resources, and that generators with a different seed
+   * generate different resources with the same IDs.
+   */
+  @Test
+  public final void testResourcesAreDeterministic() {
+    SyntheticDataGenerator sameGenerator = new SyntheticDataGenerator(this.config);
+    for (int position = 0; position < 20; position++) {
+      assertThat(sameGenerator.webcastViewingsForChannel(2).get(position),
+          is(this.generator.webcastViewingsForChannel(2).get(position)));
+    }
+    assertThat(sameGenerator.getWebcast(2, 6), is(this.generator.getWebcast(2, 6)));
+
+    this.config.setSeed(this.config.getSeed() + 1);
+    SyntheticDataGenerator otherGenerator = new SyntheticDataGenerator(this.config);
+    WebcastResource otherWebcast = otherGenerator.getWebcast(2, 6);
+    assertThat(otherWebcast.getId(), is(6));
+    assertThat(otherWebcast, not(this.generator.getWebcast(2, 6)));
+  }
+
+  /**
+   * Tests that the viewings of a channel are the concatenation of the viewings of each of its webcasts, in order of
+   * when they were last updated, with unique IDs across all channels.
+   */
+  @Test
+  public final void testWebcastViewings() {
+    Set<Integer> viewingIds = new HashSet<>();
+    for (int channelId = 1; channelId <= this.config.getChannels(); channelId++) {
+      ResourceSequence<WebcastViewingResource> channelViewings = this.generator.webcastViewingsForChannel(channelId);
+      assertThat(channelViewings.size(), is(20));
+      ResourceSequence<WebcastResource> webcasts = this.generator.webcasts(channelId);
+      int position = 0;
+      for (int webcastIndex = 0; webcastIndex < webcasts.size(); webcastIndex++) {
+        WebcastResource webcast = webcasts.get(webcastIndex);
+        ResourceSequence<WebcastViewingResource> webcastViewings =
+            this.generator.webcastViewingsForWebcast(channelId, webcast.getId());
+        for (int i = 0; i < webcastViewings.size(); i++, position++) {
+          WebcastViewingResource viewing = webcastViewings.get(i);
+          assertThat(viewing, is(channelViewings.get(position)));
+          assertThat(viewing.getWebcast().getId(), is(webcast.getId()));
+          assertThat(viewing.getLastUpdatedMillis(), is(channelViewings.getLastUpdatedMillis(position)));
+          assertThat(viewingIds.add(viewing.getId()), is(true));
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests {@link ResourceSequence#indexOfFirstUpdatedAfter(long)}.
+   */
+  @Test
+  public final void testIndexOfFirstUpdatedAfter() {
+    ResourceSequence<WebcastViewingResource> viewings = this.generator.webcastViewingsForChannel(1);
+    long startTimeMillis = this.config.getStartTimeMillis();
+
+    assertThat(viewings.indexOfFirstUpdatedAfter(startTimeMillis - 1), is(0));
+    assertThat(viewings.indexOfFirstUpdatedAfter(startTimeMillis), is(1));
+    assertThat(viewings.indexOfFirstUpdatedAfter(viewings.getLastUpdatedMillis(7)), is(8));
+    assertThat(viewings.indexOfFirstUpdatedAfter(viewings.getLastUpdatedMillis(7) + 1), is(8));
+    assertThat(viewings.indexOfFirstUpdatedAfter(viewings.getLastUpdatedMillis(19)), is(20));
+  }
+
+  /**
+   * Tests {@link SyntheticDataGenerator#isWebcast(int, int)}. A webcast should only exist in the channel it belongs
+   * to.
+   */
+  @Test
+  public final void testIsWebcast() {
+    assertThat(this.generator.isWebcast(1, 4), is(true));
+    assertThat(this.generator.isWebcast(2, 4), is(false));
+    assertThat(this.generator.isWebcast(2, 5), is(true));
+    assertThat(this.generator.isWebcast(3, 12), is(true));
+    assertThat(this.generator.isWebcast(3, 13), is(false));
+    assertThat(this.generator.isWebcast(4, 13), is(false));
+  }
+
+  /**
+   * Tests {@link SyntheticDataGenerator#SyntheticDataGenerator(SyntheticDataConfig)} in the case where the no. of
+   * resources of a type exceeds the max which can be identified by an integer ID.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public final void testConstructorWhenTooManyResources() {
+    this.config.setChannels(1000);
+    this.config.setWebcastsPerChannel(1000);
+    this.config.setViewingsPerWebcast(10000);
+    new SyntheticDataGenerator(this.config);
+  }
+}
@@ -218,6 +218,62 @@ public class ApiResponseErrorHandlerTest {
     }
   }  
   
+  /**
+   * Tests {@link ApiResponseErrorHandler#handleError} in the case where the error response body can only be read once,
+   * as is the case for a real HTTP response. The body should be both unmarshalled to an API error, and included in the
+   * thrown exception.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testHandleErrorWhenResponseBodyReadableOnce() throws Exception {
+    HttpHeaders httpHeaders = new HttpHeaders();
+    httpHeaders.setContentType(MediaType.APPLICATION_XML);
+    String apiErrorXml = "<?xml version='1.0' encoding='UTF-8'?><error><code>NotFound</code><message>Not found."
+        + "</message></error>";
+    ClientHttpResponse response = EasyMock.createNiceMock(ClientHttpResponse.class);
+    EasyMock.expect(response.getStatusCode()).andReturn(HttpStatus.NOT_FOUND).anyTimes();
+    EasyMock.expect(response.getRawStatusCode()).andReturn(HttpStatus.NOT_FOUND.value()).anyTimes();
+    EasyMock.expect(response.getHeaders()).andReturn(httpHeaders).anyTimes();
+    EasyMock.expect(response.getBody()).andReturn(new ByteArrayInputStream(apiErrorXml.getBytes())).once();
+    EasyMock.replay(response);
+
+    try {
+      this.errorHandler.handleError(response);
+      fail("Expected exception to be thrown for error response.");
+    } catch (ApiErrorResponseException e) {
+      ApiErrorResponseException expectedException = new ApiErrorResponseException(response.getRawStatusCode(),
+          null, httpHeaders, null, apiErrorXml.getBytes(), new ApiError("NotFound", "Not found."));
+      assertApiErrorResponseException(expectedException, e);
+    }
+  }
+
+  /**
+   * Tests {@link ApiResponseErrorHandler#handleError} in the case where the error response body exceeds the configured
+   * max size. The body included in the thrown exception should be truncated to the max size.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testHandleErrorWhenResponseBodyExceedsMaxSize() throws Exception {
+    this.errorHandler.setMaxResponseBodyBytes(16);
+    HttpHeaders httpHeaders = new HttpHeaders();
+    httpHeaders.setContentType(MediaType.TEXT_HTML);
+    String body = "<html><head>Error</head><body>Woz error</body>";
+    ClientHttpResponse response = this.createMockClientHttpResponse(HttpStatus.BAD_GATEWAY, httpHeaders, body);
+    EasyMock.replay(response);
+
+    try {
+      this.errorHandler.handleError(response);
+      fail("Expected exception to be thrown for error response.");
+    } catch (ApiErrorResponseException e) {
+      ApiError apiError = null;
+      ApiErrorResponseException expectedException = new ApiErrorResponseException(response.getRawStatusCode(),
+          null, httpHeaders, null, body.substring(0, 16).getBytes(), apiError);
+      assertApiErrorResponseException(expectedException, e);
+    }
+  }
+
   private void assertApiErrorResponseException(ApiErrorResponseException expected, ApiErrorResponseException actual) {
     assertThat(actual.getStatusCode(), is(expected.getStatusCode()));
     assertThat(actual.getStatusText(), is(expected.getStatusText()));
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.oxm.UnmarshallingFailureException;
+
+import com.brighttalk.channels.reportingapi.client.resource.ApiError;
+
+/**
+ * Unit tests for {@link PoolingJaxb2Marshaller}.
+ */
+public class PoolingJaxb2MarshallerTest {
+
+  private static final String API_ERROR_XML = "<error><code>NotFound</code><message>Not found.</message></error>";
+
+  private PoolingJaxb2Marshaller marshaller;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   */
+  @Before
+  public void setUp() {
+    this.marshaller = new PoolingJaxb2Marshaller();
+    this.marshaller.setClassesToBeBound(ApiError.class);
+  }
+
+  /**
+   * Tests {@link PoolingJaxb2Marshaller#unmarshal} in the case where multiple documents are unmarshalled in turn. The
+   * unmarshaller created for the first document should be reused for subsequent documents.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testUnmarshalReusesUnmarshaller() throws Exception {
+    this.marshaller.afterPropertiesSet();
+
+    for (int i = 0; i < 3; i++) {
+      ApiError apiError = (ApiError) this.marshaller.unmarshal(new StreamSource(new StringReader(API_ERROR_XML)));
+      assertThat(apiError.getCode(), is("NotFound"));
+    }
+
+    assertThat(this.marshaller.getIdleUnmarshallerCount(), is(1));
+  }
+
+  /**
+   * Tests {@link PoolingJaxb2Marshaller#afterPropertiesSet} in the case where the pool is configured to be warmed up
+   * with an initial no. of unmarshallers.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testAfterPropertiesSetWarmsUpPool() throws Exception {
+    this.marshaller.setInitialUnmarshallers(2);
+
+    this.marshaller.afterPropertiesSet();
+
+    assertThat(this.marshaller.getIdleUnmarshallerCount(), is(2));
+    this.marshaller.unmarshal(new StreamSource(new StringReader(API_ERROR_XML)));
+    assertThat(this.marshaller.getIdleUnmarshallerCount(), is(2));
+  }
+
+  /**
+   * Tests {@link PoolingJaxb2Marshaller#unmarshal} in the case where unmarshalling fails. The borrowed unmarshaller
+   * should be returned to the pool.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testUnmarshalWhenMalformedXml() throws Exception {
+    this.marshaller.afterPropertiesSet();
+    try {
+      this.marshaller.unmarshal(new StreamSource(new StringReader("<error>")));
+      fail("Expected UnmarshallingFailureException to be thrown.");
+    } catch (UnmarshallingFailureException e) {
+      assertThat(this.marshaller.getIdleUnmarshallerCount(), is(1));
+    }
+  }
+
+  /**
+   * Tests {@link PoolingJaxb2Marshaller#unmarshal} in the case where an {@link javax.xml.stream.XMLInputFactory} has
+   * been set, so documents supplied as a stream are parsed using StAX.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testUnmarshalUsingXmlInputFactory() throws Exception {
+    this.marshaller.setXmlInputFactory(XmlInputFactories.getDefault());
+    this.marshaller.afterPropertiesSet();
+
+    ApiError apiError = (ApiError) this.marshaller.unmarshal(new StreamSource(new ByteArrayInputStream(
+        API_ERROR_XML.getBytes(StandardCharsets.UTF_8))));
+
+    assertThat(apiError, is(new ApiError("NotFound", "Not found.")));
+    assertThat(this.marshaller.getIdleUnmarshallerCount(), is(1));
+  }
+}
@@ -19,6 +19,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -32,8 +35,10 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withUnauthorizedRequest;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -56,7 +61,10 @@ import org.springframework.web.util.UriTemplate;
 
 import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
 import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.ResourceHandler;
 import com.brighttalk.channels.reportingapi.client.common.ApiDateTimeFormatter;
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.common.ExponentialBackoffRetryPolicy;
 import com.brighttalk.channels.reportingapi.client.marshall.ChannelResourceXStreamConverter;
 import com.brighttalk.channels.reportingapi.client.marshall.ChannelSubscriberResourceXStreamConverter;
 import com.brighttalk.channels.reportingapi.client.marshall.ChannelSubscribersResourceXStreamConverter;
@@ -77,6 +85,9 @@ import com.brighttalk.channels.reportingapi.client.marshall.WebcastResourceXStre
 import com.brighttalk.channels.reportingapi.client.marshall.WebcastViewingResourceXStreamConverter;
 import com.brighttalk.channels.reportingapi.client.marshall.WebcastViewingsResourceXStreamConverter;
 import com.brighttalk.channels.reportingapi.client.marshall.WebcastsResourceXStreamConverter;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiCallPhase;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics.EndpointMetrics;
 import com.brighttalk.channels.reportingapi.client.resource.ApiError;
 import com.brighttalk.channels.reportingapi.client.resource.ChannelResource;
 import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
@@ -103,6 +114,7 @@ import com.brighttalk.channels.reportingapi.client.spring.AppConfig;
 import com.brighttalk.channels.reportingapi.client.spring.SpringApiClientImpl;
 import com.brighttalk.channels.reportingapi.client.support.LinkRelationType;
 import com.brighttalk.channels.reportingapi.client.support.Links;
+import com.google.common.collect.ImmutableMap;
 import com.thoughtworks.xstream.XStream;
 
 /**
@@ -153,6 +165,9 @@ public class SpringApiClientImplIntegrationTest {
    */
   private MockRestServiceServer mockReportingApiService;
 
+  /** Records the metrics of the API calls made by the API client in each test. */
+  private InMemoryApiClientMetrics metrics;
+
   /** Instance of {@link XStream} used to unmarshall (deserialise) canned API response payloads used by tests. */
   private XStream xstream;
 
@@ -162,6 +177,8 @@ public class SpringApiClientImplIntegrationTest {
   @Before
   public void setUp() throws Exception {
     this.mockReportingApiService = MockRestServiceServer.createServer(this.restTemplate);
+    this.metrics = new InMemoryApiClientMetrics();
+    this.apiClient.setMetrics(this.metrics);
     this.initXStream();
   }
 
@@ -383,6 +400,52 @@ public class SpringApiClientImplIntegrationTest {
     this.mockReportingApiService.verify();
   }
 
+  /**
+   * Tests {@link SpringApiClientImpl#getMyChannels} in the case where the API service returns an HTTP 503 Service
+   * Unavailable error, as a result of a transient error, and then succeeds. The API call should be retried.
+   */
+  @Test
+  public void getMyChannelsWhenServiceUnavailableThenSucceeds() {
+    String expectedRequestUrl = this.apiClient.getApiServiceBaseUri()
+        + ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE;
+
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withSuccess("<channels/>", MediaType.APPLICATION_XML));
+
+    ChannelsResource channelsResource = this.apiClient.getMyChannels(null);
+
+    this.mockReportingApiService.verify();
+    assertThat(channelsResource.getChannels(), hasSize(0));
+  }
+
+  /**
+   * Tests {@link SpringApiClientImpl#getMyChannels} in the case where the API service repeatedly returns an HTTP 503
+   * Service Unavailable error. The API call should be retried up to the configured max no. of attempts, and the last
+   * error then thrown.
+   */
+  @Test
+  public void getMyChannelsWhenServiceUnavailableForAllAttempts() {
+    String expectedRequestUrl = this.apiClient.getApiServiceBaseUri()
+        + ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE;
+    int maxAttempts = ((ExponentialBackoffRetryPolicy) this.apiClient.getRetryPolicy()).getMaxAttempts();
+
+    for (int i = 0; i < maxAttempts; i++) {
+      this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+          withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    try {
+      this.apiClient.getMyChannels(null);
+      fail("Expected exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e.getStatusCode(), is(HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    this.mockReportingApiService.verify();
+  }
+
   /**
    * Test {@link SpringApiClientImpl#getUserChannels(int, PageCriteria)} in the case where the identified user has zero
    * channels.
@@ -1506,6 +1569,183 @@ public class SpringApiClientImplIntegrationTest {
         + "</code><message>" + apiError.getMessage() + "</message></error>";
   }
 
+
+  /**
+   * Tests {@link SpringApiClientImpl#streamWebcastViewingsForWebcast} in the case where the response contains multiple
+   * viewings and a next page link. Each viewing should be handed to the handler, in order, and be identical to those
+   * returned by {@link SpringApiClientImpl#getWebcastViewingsForWebcast}, and the collection's links returned.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void streamWebcastViewingsForWebcastWhenMultipleViewingsAndNextPage() throws Exception {
+    int channelId = 1;
+    int webcastId = 2;
+    String expectedTemplateRequestUrl = this.apiClient.getApiServiceBaseUri()
+        + WebcastViewingsResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE;
+    String expectedRequestUrl = new UriTemplate(expectedTemplateRequestUrl).expand(channelId, webcastId).toString();
+
+    // Configure mock API service to respond to API call with a canned collection of API resources read from file
+    Resource responseBody = new ClassPathResource(
+        "SpringApiClientImplTest.getWebcastViewingsForWebcastWhenMultipleViewingsAndNextPage-response.xml",
+        this.getClass());
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withSuccess(responseBody, MediaType.APPLICATION_XML));
+
+    // Perform the test
+    final List<WebcastViewingResource> handledViewings = new ArrayList<>();
+    List<Link> links = this.apiClient.streamWebcastViewingsForWebcast(channelId, webcastId, null, null, null,
+        new ResourceHandler<WebcastViewingResource>() {
+          @Override
+          public void handle(WebcastViewingResource resource) {
+            handledViewings.add(resource);
+          }
+        });
+
+    this.mockReportingApiService.verify();
+    WebcastViewingsResource expectedWebcastViewingsResource =
+        (WebcastViewingsResource) this.xstream.fromXML(responseBody.getInputStream());
+    // Relies on overridden WebcastViewingResource.equals() to test for equality by value
+    assertThat(handledViewings, is(expectedWebcastViewingsResource.getWebcastViewings()));
+    // The webcast repeated in each viewing is unmarshalled to a single, shared (interned) instance
+    assertThat(handledViewings.get(1).getWebcast(), sameInstance(handledViewings.get(0).getWebcast()));
+    assertThat(links, hasSize(1));
+    assertThat(links.get(0), is(expectedWebcastViewingsResource.getLinks().get(0)));
+  }
+
+  /**
+   * Tests {@link SpringApiClientImpl#streamChannelSubscribers} in the case where the response contains multiple
+   * subscribers and a next page link.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void streamChannelSubscribersWhenMultipleCurrentAndPastSusbcribersWithNextPage() throws Exception {
+    int channelId = 1;
+    String expectedTemplateRequestUrl = this.apiClient.getApiServiceBaseUri()
+        + ChannelSubscribersResource.RELATIVE_URI_TEMPLATE;
+    String expectedRequestUrl = new UriTemplate(expectedTemplateRequestUrl).expand(channelId).toString();
+
+    // Configure mock API service to respond to API call with a canned collection of API resources read from file
+    Resource responseBody = new ClassPathResource(
+        "SpringApiClientImplTest.getChannelSubscribersWhenMultipleCurrentAndPastSusbcribersWithNextPage-response.xml",
+        this.getClass());
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withSuccess(responseBody, MediaType.APPLICATION_XML));
+
+    // Perform the test
+    final List<ChannelSubscriberResource> handledSubscribers = new ArrayList<>();
+    List<Link> links = this.apiClient.streamChannelSubscribers(channelId, null, null, null, null,
+        new ResourceHandler<ChannelSubscriberResource>() {
+          @Override
+          public void handle(ChannelSubscriberResource resource) {
+            handledSubscribers.add(resource);
+          }
+        });
+
+    this.mockReportingApiService.verify();
+    ChannelSubscribersResource expectedSubscribersResource =
+        (ChannelSubscribersResource) this.xstream.fromXML(responseBody.getInputStream());
+    // Relies on overridden ChannelSubscriberResource.equals() to test for equality by value
+    assertThat(handledSubscribers, is(expectedSubscribersResource.getChannelSubscribers()));
+    assertThat(links, hasSize(1));
+    assertThat(links.get(0), is(expectedSubscribersResource.getLinks().get(0)));
+  }
+
+  /**
+   * Tests that the metrics of an API call made by {@link SpringApiClientImpl#getWebcastViewingsForWebcast} which
+   * succeeds are recorded against its endpoint, including the size of the response and the no. of resources returned.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void getWebcastViewingsForWebcastRecordsMetrics() throws Exception {
+    int channelId = 1;
+    int webcastId = 2;
+    String expectedTemplateRequestUrl = this.apiClient.getApiServiceBaseUri()
+        + WebcastViewingsResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE;
+    String expectedRequestUrl = new UriTemplate(expectedTemplateRequestUrl).expand(channelId, webcastId).toString();
+    Resource responseBody = new ClassPathResource(
+        "SpringApiClientImplTest.getWebcastViewingsForWebcastWhenMultipleViewingsAndNextPage-response.xml",
+        this.getClass());
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withSuccess(responseBody, MediaType.APPLICATION_XML));
+
+    this.apiClient.getWebcastViewingsForWebcast(channelId, webcastId, null, null, null);
+
+    this.mockReportingApiService.verify();
+    EndpointMetrics endpointMetrics = this.metrics.getEndpointMetrics(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST);
+    assertThat(this.metrics.getEndpoints(), is(Collections.singleton(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST)));
+    assertThat(endpointMetrics.getRequestCount(), is(1L));
+    assertThat(endpointMetrics.getErrorCount(), is(0L));
+    for (ApiCallPhase phase : ApiCallPhase.values()) {
+      // The mock API service bypasses the HTTP client, so the connect phase isn't measured
+      assertThat(endpointMetrics.getLatencyMicros(phase).getCount(), is(phase == ApiCallPhase.CONNECT ? 0L : 1L));
+    }
+    assertThat(endpointMetrics.getResourcesPerPage().getMax(), is(2L));
+    assertThat(endpointMetrics.getResponseBytes().getCount(), is(1L));
+    assertThat(endpointMetrics.getResponseBytes().getMax(), greaterThan(0L));
+    assertThat(endpointMetrics.getResponseBytes().getMax(), lessThanOrEqualTo(responseBody.contentLength()));
+  }
+
+  /**
+   * Tests that the metrics of each attempt of an API call made by {@link SpringApiClientImpl#getMyChannels} which is
+   * retried are recorded, with the failed attempt counted as an error against its HTTP status code.
+   */
+  @Test
+  public void getMyChannelsWhenServiceUnavailableThenSucceedsRecordsMetrics() {
+    String expectedRequestUrl = this.apiClient.getApiServiceBaseUri()
+        + ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE;
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withSuccess("<channels/>", MediaType.APPLICATION_XML));
+
+    this.apiClient.getMyChannels(null);
+
+    this.mockReportingApiService.verify();
+    EndpointMetrics endpointMetrics = this.metrics.getEndpointMetrics(ApiEndpoint.GET_MY_CHANNELS);
+    assertThat(endpointMetrics.getRequestCount(), is(2L));
+    assertThat(endpointMetrics.getErrorCountsByStatus(),
+        is((Map<Integer, Long>) ImmutableMap.of(HttpStatus.SERVICE_UNAVAILABLE.value(), 1L)));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.TOTAL).getCount(), is(2L));
+    // Only the attempt which succeeded measures the phases of the call and its response
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.TIME_TO_FIRST_BYTE).getCount(), is(1L));
+    assertThat(endpointMetrics.getResourcesPerPage().getCount(), is(1L));
+    assertThat(endpointMetrics.getResourcesPerPage().getMax(), is(0L));
+  }
+
+  /**
+   * Tests that the metrics of an API call made by {@link SpringApiClientImpl#streamWebcastViewingsForWebcast} are
+   * recorded, with the no. of resources returned being the no. handed to the handler.
+   */
+  @Test
+  public void streamWebcastViewingsForWebcastRecordsMetrics() {
+    int channelId = 1;
+    int webcastId = 2;
+    String expectedTemplateRequestUrl = this.apiClient.getApiServiceBaseUri()
+        + WebcastViewingsResource.FOR_WEBCAST_RELATIVE_URI_TEMPLATE;
+    String expectedRequestUrl = new UriTemplate(expectedTemplateRequestUrl).expand(channelId, webcastId).toString();
+    Resource responseBody = new ClassPathResource(
+        "SpringApiClientImplTest.getWebcastViewingsForWebcastWhenMultipleViewingsAndNextPage-response.xml",
+        this.getClass());
+    this.mockReportingApiService.expect(method(HttpMethod.GET)).andExpect(requestTo(expectedRequestUrl)).andRespond(
+        withSuccess(responseBody, MediaType.APPLICATION_XML));
+
+    this.apiClient.streamWebcastViewingsForWebcast(channelId, webcastId, null, null, null,
+        new ResourceHandler<WebcastViewingResource>() {
+          @Override
+          public void handle(WebcastViewingResource resource) {
+          }
+        });
+
+    this.mockReportingApiService.verify();
+    EndpointMetrics endpointMetrics = this.metrics.getEndpointMetrics(ApiEndpoint.GET_WEBCAST_VIEWINGS_FOR_WEBCAST);
+    assertThat(endpointMetrics.getRequestCount(), is(1L));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.UNMARSHAL).getCount(), is(1L));
+    assertThat(endpointMetrics.getResourcesPerPage().getMax(), is(2L));
+  }
+
   /**
    * Configures the {@link XStream} instance the test uses to unamrshall (deserialise) canned API response payloads.
    */
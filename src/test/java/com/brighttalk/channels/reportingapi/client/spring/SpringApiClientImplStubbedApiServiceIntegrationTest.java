@@ -17,6 +17,7 @@ package com.brighttalk.channels.reportingapi.client.spring;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.Assert.*;
@@ -32,6 +33,11 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.web.client.RestTemplate;
 
+import com.brighttalk.channels.reportingapi.client.common.ApiEndpoint;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiCallPhase;
+import com.brighttalk.channels.reportingapi.client.metrics.ApiClientMetrics;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics;
+import com.brighttalk.channels.reportingapi.client.metrics.InMemoryApiClientMetrics.EndpointMetrics;
 import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
 import com.brighttalk.channels.reportingapi.client.spring.AppConfig;
 import com.brighttalk.channels.reportingapi.client.spring.SpringApiClientImpl;
@@ -146,6 +152,33 @@ public class SpringApiClientImplStubbedApiServiceIntegrationTest {
     WireMock.verify(getRequestedFor(urlEqualTo(expectedRequestUrl)).withHeader("Accept-Encoding", matching(".*gzip.*")));
   }
 
+  /**
+   * Tests that when an API call is made using the configured HTTP client, the time spent obtaining a connection is
+   * recorded as the {@link ApiCallPhase#CONNECT connect phase} of the call, separately from its time to first byte.
+   */
+  @Test
+  public void metricsRecordConnectPhase() {
+    String expectedRequestUrl = ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE;
+
+    WireMock.stubFor(get(urlEqualTo(expectedRequestUrl)).willReturn(
+        aResponse().withStatus(200).withHeader("Content-Type", MediaType.APPLICATION_XML.toString()).withBody(
+            "<channels/>")));
+
+    ApiClientMetrics originalMetrics = this.apiClient.getMetrics();
+    InMemoryApiClientMetrics metrics = new InMemoryApiClientMetrics();
+    this.apiClient.setMetrics(metrics);
+    try {
+      this.apiClient.getMyChannels(null);
+    } finally {
+      this.apiClient.setMetrics(originalMetrics);
+    }
+
+    EndpointMetrics endpointMetrics = metrics.getEndpointMetrics(ApiEndpoint.GET_MY_CHANNELS);
+    assertThat(endpointMetrics.getRequestCount(), is(1L));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.CONNECT).getCount(), is(1L));
+    assertThat(endpointMetrics.getLatencyMicros(ApiCallPhase.TIME_TO_FIRST_BYTE).getCount(), is(1L));
+  }
+
   /**
    * Creates a WireMockServer that listens on the configured host and port and initialises the corresponding property.
    */
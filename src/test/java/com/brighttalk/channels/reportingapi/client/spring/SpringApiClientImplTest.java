@@ -18,9 +18,17 @@ package com.brighttalk.channels.reportingapi.client.spring;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.brighttalk.channels.reportingapi.client.ConnectionRequestTimeoutException;
 import com.brighttalk.channels.reportingapi.client.spring.SpringApiClientImpl;
 
 /**
@@ -138,5 +146,29 @@ public class SpringApiClientImplTest {
       assertTrue("Unexepected exception message [" + e.toString() + "].",
           e.getMessage().matches(".*host name.*null.*"));
     }
-  }  
-}
\ No newline at end of file
+  }
+
+  /**
+   * Tests {@link SpringApiClientImpl#getMyChannels} in the case where the HTTP client times out waiting for a
+   * connection to become available from its connection pool. A {@link ConnectionRequestTimeoutException} should be
+   * thrown, so callers can distinguish a saturated client from other I/O errors.
+   */
+  @Test
+  public final void testGetMyChannelsWhenConnectionRequestTimeout() {
+    final ConnectionPoolTimeoutException poolTimeoutException =
+        new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+    RestTemplate restTemplate = new RestTemplate(new ClientHttpRequestFactory() {
+      @Override
+      public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        throw poolTimeoutException;
+      }
+    });
+    SpringApiClientImpl apiClient = new SpringApiClientImpl("api.test.brighttalk.net", restTemplate);
+    try {
+      apiClient.getMyChannels(null);
+      fail("Expected an exception to be thrown.");
+    } catch (ConnectionRequestTimeoutException e) {
+      assertThat(e.getCause().getCause(), is((Throwable) poolTimeoutException));
+    }
+  }
+}
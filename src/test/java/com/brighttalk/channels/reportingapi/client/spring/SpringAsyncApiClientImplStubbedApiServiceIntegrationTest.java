@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelsResource;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.Log4jNotifier;
+
+/**
+ * Integration tests for {@link SpringAsyncApiClientImpl}, which stub-out the API service (using WireMock), to test the
+ * class in combination with its configured non-blocking HTTP client.
+ * 
+ * @see SpringApiClientImplStubbedApiServiceIntegrationTest
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { AppConfig.class })
+public class SpringAsyncApiClientImplStubbedApiServiceIntegrationTest {
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  /** Instance of class under test, configured with production instance of AsyncRestTemplate */
+  @Autowired
+  private SpringAsyncApiClientImpl asyncApiClient;
+
+  // Enviroment specific API service props used by injected client for reuse when initialising the mock server
+  @Value("${apiService.hostName}")
+  private String apiServiceHostName;
+  @Value("${apiService.port}")
+  private int apiServicePort;
+
+  private WireMockServer wireMockServer;
+
+  /**
+   * @throws Exception If an unexpected exception occurs.
+   */
+  @Before
+  public void setUp() throws Exception {
+    if (this.wireMockServer == null) {
+      this.wireMockServer =
+          new WireMockServer(wireMockConfig().bindAddress(this.apiServiceHostName).port(this.apiServicePort).notifier(
+              new Log4jNotifier()));
+      WireMock.configureFor(this.apiServiceHostName, this.apiServicePort);
+    }
+    this.wireMockServer.start();
+  }
+
+  @After
+  public void teardown() {
+    this.wireMockServer.stop();
+  }
+
+  /**
+   * Tests {@link SpringAsyncApiClientImpl#getMyChannels} when the API user has zero channels. The returned future
+   * should be completed with the unmarshalled API resource, and the request should have been preemptively
+   * authenticated.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void getMyChannelsWhenZeroChannels() throws Exception {
+    String expectedRequestUrl = ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE;
+
+    WireMock.stubFor(get(urlEqualTo(expectedRequestUrl)).willReturn(
+        aResponse().withStatus(200).withHeader("Content-Type", MediaType.APPLICATION_XML.toString()).withBody(
+            "<channels/>")));
+
+    ChannelsResource channelsResource = this.asyncApiClient.getMyChannels(null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertThat(channelsResource, notNullValue());
+    assertThat(channelsResource.getChannels(), hasSize(0));
+    WireMock.verify(getRequestedFor(urlEqualTo(expectedRequestUrl)).withHeader("Authorization", matching("Basic.*")));
+  }
+
+  /**
+   * Tests {@link SpringAsyncApiClientImpl#getMyChannels} in the case where the API service returns an API error
+   * response. The returned future should fail with an {@link ApiErrorResponseException}, as thrown by the synchronous
+   * API client.
+   * 
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void getMyChannelsWhenApiErrorResponse() throws Exception {
+    String expectedRequestUrl = ChannelsResource.MY_CHANNELS_RELATIVE_URI_TEMPLATE;
+    String apiErrorCode = "InvalidPageSize";
+
+    WireMock.stubFor(get(urlEqualTo(expectedRequestUrl)).willReturn(
+        aResponse().withStatus(400).withHeader("Content-Type", MediaType.APPLICATION_XML.toString()).withBody(
+            "<?xml version='1.0' encoding='UTF-8'?><error><code>" + apiErrorCode + "</code></error>")));
+
+    try {
+      this.asyncApiClient.getMyChannels(null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      fail("Expected an exception to be thrown.");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(ApiErrorResponseException.class));
+      ApiErrorResponseException apiErrorResponseException = (ApiErrorResponseException) e.getCause();
+      assertThat(apiErrorResponseException.getStatusCode(), is(400));
+      assertThat(apiErrorResponseException.getApiError().getCode(), is(apiErrorCode));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.spring;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import javax.xml.stream.XMLInputFactory;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link XmlInputFactories}.
+ */
+public class XmlInputFactoriesTest {
+
+  /**
+   * Tests {@link XmlInputFactories#create(String)} in the case where no class of factory is specified. A factory
+   * using the JVM's default StAX implementation should be created, and configured.
+   */
+  @Test
+  public void testCreateDefault() {
+    XMLInputFactory factory = XmlInputFactories.create(null);
+
+    assertThat(factory.getClass(), is((Object) XMLInputFactory.newFactory().getClass()));
+    assertThat(factory.getProperty(XMLInputFactory.IS_COALESCING), is((Object) false));
+    assertThat(factory.getProperty(XMLInputFactory.SUPPORT_DTD), is((Object) false));
+    assertThat(factory.getProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES), is((Object) false));
+  }
+
+  /**
+   * Tests {@link XmlInputFactories#create(String)} in the case where a class of factory is specified.
+   */
+  @Test
+  public void testCreateNamedClass() {
+    String factoryClassName = XMLInputFactory.newFactory().getClass().getName();
+
+    XMLInputFactory factory = XmlInputFactories.create(factoryClassName);
+
+    assertThat(factory.getClass().getName(), is(factoryClassName));
+    assertThat(factory.getProperty(XMLInputFactory.SUPPORT_DTD), is((Object) false));
+  }
+
+  /**
+   * Tests {@link XmlInputFactories#create(String)} in the error case where the specified class doesn't exist.
+   */
+  @Test
+  public void testCreateWhenClassNotFound() {
+    try {
+      XmlInputFactories.create("com.example.NoSuchXmlInputFactory");
+      fail("Expected IllegalArgumentException to be thrown.");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getCause(), instanceOf(ClassNotFoundException.class));
+    }
+  }
+}
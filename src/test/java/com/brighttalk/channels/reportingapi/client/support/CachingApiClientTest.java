@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import static org.easymock.EasyMock.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.Question;
+import com.brighttalk.channels.reportingapi.client.resource.SurveyResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastsResource;
+import com.brighttalk.channels.reportingapi.client.support.CachingApiClient.ResourceType;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Unit tests for {@link CachingApiClient}.
+ */
+public class CachingApiClientTest {
+
+  private ApiClient apiClient;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   */
+  @Before
+  public void setUp() {
+    this.apiClient = createMock(ApiClient.class);
+  }
+
+  /**
+   * Tests {@link CachingApiClient#getSurvey} in the case where the same survey is requested more than once. Only the
+   * first request should result in an API call, and the hits and misses should be recorded.
+   */
+  @Test
+  public final void testGetSurveyWhenRequestedRepeatedly() {
+    SurveyResource survey1 = createSurvey(1);
+    SurveyResource survey2 = createSurvey(2);
+    expect(this.apiClient.getSurvey(1)).andReturn(survey1).once();
+    expect(this.apiClient.getSurvey(2)).andReturn(survey2).once();
+    replay(this.apiClient);
+    CachingApiClient cachingApiClient = new CachingApiClient(this.apiClient);
+
+    assertThat(cachingApiClient.getSurvey(1), is(survey1));
+    assertThat(cachingApiClient.getSurvey(2), is(survey2));
+    assertThat(cachingApiClient.getSurvey(1), is(survey1));
+    assertThat(cachingApiClient.getSurvey(1), is(survey1));
+
+    verify(this.apiClient);
+    CacheStats stats = cachingApiClient.getStats(ResourceType.SURVEY);
+    assertThat(stats.hitCount(), is(2L));
+    assertThat(stats.missCount(), is(2L));
+    assertThat(cachingApiClient.getSize(ResourceType.SURVEY), is(2L));
+    assertThat(cachingApiClient.getStats(ResourceType.WEBCAST).requestCount(), is(0L));
+  }
+
+  /**
+   * Tests {@link CachingApiClient#getWebcast} in the case where the API call fails. The error should be thrown to the
+   * caller, and not cached, so a subsequent request is retried.
+   */
+  @Test
+  public final void testGetWebcastWhenApiCallFails() {
+    ApiErrorResponseException apiError =
+        new ApiErrorResponseException(503, "Service Unavailable", null, null, new byte[0], null);
+    WebcastResource webcast = new WebcastResource(5);
+    expect(this.apiClient.getWebcast(1, 5)).andThrow(apiError).andReturn(webcast);
+    replay(this.apiClient);
+    CachingApiClient cachingApiClient = new CachingApiClient(this.apiClient);
+
+    try {
+      cachingApiClient.getWebcast(1, 5);
+      fail("Expected an exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e, is(apiError));
+    }
+    assertThat(cachingApiClient.getWebcast(1, 5), is(webcast));
+    assertThat(cachingApiClient.getWebcast(1, 5), is(webcast));
+
+    verify(this.apiClient);
+  }
+
+  /**
+   * Tests {@link CachingApiClient} in the case where each type of resource is configured with its own cache spec. A
+   * type of resource which isn't configured shouldn't be cached, and the least recently used resource should be
+   * evicted from a full cache.
+   */
+  @Test
+  public final void testCacheSpecsPerResourceType() {
+    expect(this.apiClient.getSurvey(1)).andReturn(createSurvey(1)).times(2);
+    expect(this.apiClient.getSurvey(2)).andReturn(createSurvey(2)).once();
+    expect(this.apiClient.getWebcast(1, 5)).andReturn(new WebcastResource(5)).times(2);
+    replay(this.apiClient);
+    CachingApiClient cachingApiClient = new CachingApiClient(this.apiClient, ImmutableMap.of(ResourceType.SURVEY,
+        CacheBuilderSpec.parse("maximumSize=1,expireAfterWrite=1h")));
+
+    cachingApiClient.getSurvey(1);
+    cachingApiClient.getSurvey(2);
+    cachingApiClient.getSurvey(1);
+    cachingApiClient.getWebcast(1, 5);
+    cachingApiClient.getWebcast(1, 5);
+
+    verify(this.apiClient);
+    assertThat(cachingApiClient.getStats(ResourceType.SURVEY).evictionCount(), is(2L));
+    assertThat(cachingApiClient.getStats(ResourceType.WEBCAST), nullValue());
+  }
+
+  /**
+   * Tests that {@link CachingApiClient} passes calls to the API methods for collections of resources which are not
+   * cached straight through to the decorated API client.
+   */
+  @Test
+  public final void testGetWebcastsForChannelIsNotCached() {
+    WebcastsResource webcasts = new WebcastsResource(Collections.<WebcastResource> emptyList(),
+        Collections.<Link> emptyList());
+    PageCriteria pageCriteria = new PageCriteria(10);
+    expect(this.apiClient.getWebcastsForChannel(eq(1), isNull(Date.class), same(pageCriteria))).andReturn(webcasts)
+        .times(2);
+    replay(this.apiClient);
+    CachingApiClient cachingApiClient = new CachingApiClient(this.apiClient);
+
+    assertThat(cachingApiClient.getWebcastsForChannel(1, null, pageCriteria), is(webcasts));
+    assertThat(cachingApiClient.getWebcastsForChannel(1, null, pageCriteria), is(webcasts));
+
+    verify(this.apiClient);
+  }
+
+  private static SurveyResource createSurvey(int id) {
+    return new SurveyResource(id, true, Collections.<Question> emptyList(), Collections.<Link> emptyList());
+  }
+}
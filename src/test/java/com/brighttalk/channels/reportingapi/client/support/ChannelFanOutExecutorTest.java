@@ -0,0 +1,173 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import static com.brighttalk.channels.reportingapi.client.support.ResourceFixtures.*;
+import static org.easymock.EasyMock.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unit tests for {@link ChannelFanOutExecutor}.
+ */
+public class ChannelFanOutExecutorTest {
+
+  private ApiClient apiClient;
+
+  private ExecutorService executor;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   */
+  @Before
+  public void setUp() {
+    this.apiClient = createMock(ApiClient.class);
+    this.executor = Executors.newFixedThreadPool(4);
+  }
+
+  /**
+   * Release test fixtures.
+   */
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  /**
+   * Tests {@link ChannelFanOutExecutor#execute} in the case where the resources of one of the channels can't be
+   * retrieved. The resources of the other channels should be handed to the handler, in order per channel, and the
+   * error should be returned for the failed channel.
+   */
+  @Test
+  public void testExecuteWhenOneChannelFails() {
+    ApiErrorResponseException apiError = new ApiErrorResponseException(404, "Not Found", null, null, new byte[0], null);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(1), isNull(Date.class), isNull(WebcastStatus.class),
+        anyObject(PageCriteria.class))).andReturn(
+        createViewingsPage(createViewing(11), createViewing(12), createViewing(13)));
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(2), isNull(Date.class), isNull(WebcastStatus.class),
+        anyObject(PageCriteria.class))).andThrow(apiError);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(3), isNull(Date.class), isNull(WebcastStatus.class),
+        anyObject(PageCriteria.class))).andReturn(createViewingsPage(createViewing(31)));
+    replay(this.apiClient);
+
+    final Map<Integer, List<Integer>> viewingIdsByChannel = new LinkedHashMap<>();
+    SortedMap<Integer, RuntimeException> failures = new ChannelFanOutExecutor(this.executor, 2).execute(
+        ImmutableList.of(1, 2, 3, 1), new ChannelPagerFactory<WebcastViewingsResource, WebcastViewingResource>() {
+          @Override
+          public ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource> createPager(int channelId) {
+            return ApiClientPagers.webcastViewingsForChannel(ChannelFanOutExecutorTest.this.apiClient, channelId,
+                null, null, null);
+          }
+        }, new ChannelResourceHandler<WebcastViewingResource>() {
+          @Override
+          public void handle(int channelId, WebcastViewingResource viewing) {
+            if (!viewingIdsByChannel.containsKey(channelId)) {
+              viewingIdsByChannel.put(channelId, new ArrayList<Integer>());
+            }
+            viewingIdsByChannel.get(channelId).add(viewing.getId());
+          }
+        });
+
+    verify(this.apiClient);
+    assertThat(viewingIdsByChannel.get(1), is((List<Integer>) ImmutableList.of(11, 12, 13)));
+    assertThat(viewingIdsByChannel.get(2), nullValue());
+    assertThat(viewingIdsByChannel.get(3), is((List<Integer>) ImmutableList.of(31)));
+    assertThat(failures.keySet(), is(Collections.singleton(2)));
+    assertThat(failures.get(2), is((RuntimeException) apiError));
+  }
+
+  /**
+   * Tests that {@link ChannelFanOutExecutor#execute} doesn't process more than the configured max no. of channels
+   * concurrently, even when the executor has more threads available.
+   */
+  @Test
+  public void testExecuteLimitsConcurrentChannels() {
+    final int maxConcurrentChannels = 2;
+    final AtomicInteger concurrentChannels = new AtomicInteger();
+    final AtomicInteger maxObservedConcurrentChannels = new AtomicInteger();
+    final AtomicInteger channelsProcessed = new AtomicInteger();
+
+    SortedMap<Integer, RuntimeException> failures = new ChannelFanOutExecutor(this.executor, maxConcurrentChannels)
+        .execute(ImmutableList.of(1, 2, 3, 4, 5, 6, 7, 8),
+            new ChannelPagerFactory<WebcastViewingsResource, WebcastViewingResource>() {
+              @Override
+              public ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource> createPager(
+                  final int channelId) {
+                return new ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource>(null) {
+                  @Override
+                  protected WebcastViewingsResource getPage(PageCriteria pageCriteria) {
+                    int concurrent = concurrentChannels.incrementAndGet();
+                    synchronized (maxObservedConcurrentChannels) {
+                      maxObservedConcurrentChannels.set(Math.max(maxObservedConcurrentChannels.get(), concurrent));
+                    }
+                    try {
+                      Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    } finally {
+                      concurrentChannels.decrementAndGet();
+                    }
+                    return createViewingsPage(createViewing(channelId));
+                  }
+
+                  @Override
+                  protected List<WebcastViewingResource> getResources(WebcastViewingsResource page) {
+                    return page.getWebcastViewings();
+                  }
+
+                  @Override
+                  protected List<Link> getLinks(WebcastViewingsResource page) {
+                    return page.getLinks();
+                  }
+                };
+              }
+            }, new ChannelResourceHandler<WebcastViewingResource>() {
+              @Override
+              public void handle(int channelId, WebcastViewingResource viewing) {
+                channelsProcessed.incrementAndGet();
+              }
+            });
+
+    assertThat(failures.isEmpty(), is(true));
+    assertThat(channelsProcessed.get(), is(8));
+    assertThat(maxObservedConcurrentChannels.get(), lessThanOrEqualTo(maxConcurrentChannels));
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import static com.brighttalk.channels.reportingapi.client.support.ResourceFixtures.*;
+import static org.easymock.EasyMock.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.ResourceHandler;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.Timestamps;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unit tests for {@link IncrementalSyncEngine} and {@link FileWatermarkStore}.
+ */
+public class IncrementalSyncEngineTest {
+
+  private static final int CHANNEL_ID = 1;
+
+  private static final long OVERLAP_MILLIS = 1000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ApiClient apiClient;
+
+  private File watermarkFile;
+
+  private IncrementalSyncEngine syncEngine;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   */
+  @Before
+  public void setUp() {
+    this.apiClient = createMock(ApiClient.class);
+    this.watermarkFile = new File(this.temporaryFolder.getRoot(), "watermarks.properties");
+    this.syncEngine = new IncrementalSyncEngine(this.apiClient, new FileWatermarkStore(this.watermarkFile));
+    this.syncEngine.setOverlapMillis(OVERLAP_MILLIS);
+  }
+
+  /**
+   * Tests {@link IncrementalSyncEngine#sync} in the case where the collection is synchronised for the first time and
+   * then again. The first sync should request all resources, and the second only those changed since the latest last
+   * updated date/time of the resources returned by the first sync, less the overlap period.
+   */
+  @Test
+  public final void testSyncRequestsResourcesChangedSinceWatermark() {
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(
+        createViewingsPage(createViewing(1, 3000), createViewing(2, 5000), createViewing(3, 4000)));
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), eq(new Date(5000 - OVERLAP_MILLIS)),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(
+        createViewingsPage(createViewing(4, 6000)));
+    replay(this.apiClient);
+
+    List<Integer> viewingIds = new ArrayList<>();
+    int firstSyncCount = this.syncEngine.sync(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, CHANNEL_ID,
+        collectIds(viewingIds));
+    assertThat(this.syncEngine.getWatermark(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, CHANNEL_ID), is(5000L));
+    int secondSyncCount = this.syncEngine.sync(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, CHANNEL_ID,
+        collectIds(viewingIds));
+
+    verify(this.apiClient);
+    assertThat(firstSyncCount, is(3));
+    assertThat(secondSyncCount, is(1));
+    assertThat(viewingIds, is((List<Integer>) ImmutableList.of(1, 2, 3, 4)));
+    assertThat(this.syncEngine.getWatermark(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, CHANNEL_ID), is(6000L));
+    // Watermarks should be durable, and kept per collection and channel
+    FileWatermarkStore reopenedStore = new FileWatermarkStore(this.watermarkFile);
+    assertThat(reopenedStore.getWatermark("webcastViewingsForChannel." + CHANNEL_ID), is(6000L));
+    assertThat(reopenedStore.getWatermark("webcastViewingsForChannel." + (CHANNEL_ID + 1)), is(Timestamps.NONE));
+    assertThat(reopenedStore.getWatermark("webcastsForChannel." + CHANNEL_ID), is(Timestamps.NONE));
+  }
+
+  /**
+   * Tests {@link IncrementalSyncEngine#sync} of the {@link SyncedCollection#CHANNEL_UNSUBSCRIBERS} in the case where
+   * none of the subscribers has unsubscribed. The watermark should still be advanced, to the latest last subscribed
+   * date/time, so the second sync only requests those subscribers who unsubscribed since then.
+   */
+  @Test
+  public final void testSyncChannelUnsubscribersWhenNoSubscriberHasUnsubscribed() {
+    expect(this.apiClient.getChannelSubscribers(eq(CHANNEL_ID), isNull(Boolean.class), isNull(Date.class),
+        isNull(Date.class), anyObject(PageCriteria.class))).andReturn(
+        createSubscribersPage(createSubscriber(1, 3000, null), createSubscriber(2, 5000, null)));
+    expect(this.apiClient.getChannelSubscribers(eq(CHANNEL_ID), isNull(Boolean.class), isNull(Date.class),
+        eq(new Date(5000 - OVERLAP_MILLIS)), anyObject(PageCriteria.class))).andReturn(
+        createSubscribersPage(createSubscriber(1, 3000, 7000L)));
+    replay(this.apiClient);
+
+    ResourceHandler<ChannelSubscriberResource> ignoreSubscribers = new ResourceHandler<ChannelSubscriberResource>() {
+      @Override
+      public void handle(ChannelSubscriberResource subscriber) {
+      }
+    };
+    int firstSyncCount = this.syncEngine.sync(SyncedCollection.CHANNEL_UNSUBSCRIBERS, CHANNEL_ID, ignoreSubscribers);
+    assertThat(this.syncEngine.getWatermark(SyncedCollection.CHANNEL_UNSUBSCRIBERS, CHANNEL_ID), is(5000L));
+    int secondSyncCount = this.syncEngine.sync(SyncedCollection.CHANNEL_UNSUBSCRIBERS, CHANNEL_ID, ignoreSubscribers);
+
+    verify(this.apiClient);
+    assertThat(firstSyncCount, is(2));
+    assertThat(secondSyncCount, is(1));
+    assertThat(this.syncEngine.getWatermark(SyncedCollection.CHANNEL_UNSUBSCRIBERS, CHANNEL_ID), is(7000L));
+  }
+
+  /**
+   * Tests {@link IncrementalSyncEngine#sync} in the case where the sync fails part way through the collection. The
+   * watermark should not be advanced, so the next sync requests the same resources again.
+   */
+  @Test
+  public final void testSyncWhenApiCallFails() {
+    Link nextPageLink = new Link("https://api.test.brighttalk.net/v1/channel/1/webcasts/viewings?cursor=1",
+        LinkRelationType.next.name());
+    ApiErrorResponseException apiError = new ApiErrorResponseException(503, "Service Unavailable", null, null,
+        new byte[0], null);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(
+        createViewingsPage(ImmutableList.of(createViewing(1, 3000)), nextPageLink))
+        .andThrow(apiError);
+    replay(this.apiClient);
+
+    List<Integer> viewingIds = new ArrayList<>();
+    try {
+      this.syncEngine.sync(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, CHANNEL_ID, collectIds(viewingIds));
+      fail("Expected exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e, is(apiError));
+    }
+
+    verify(this.apiClient);
+    assertThat(viewingIds, is((List<Integer>) ImmutableList.of(1)));
+    assertThat(this.syncEngine.getWatermark(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, CHANNEL_ID),
+        is(Timestamps.NONE));
+    assertThat(this.watermarkFile.exists(), is(false));
+  }
+
+  /**
+   * Tests {@link IncrementalSyncEngine#syncChannels} in the case where the resources of one of the channels can't be
+   * retrieved. Only the watermarks of the successfully synchronised channels should be advanced.
+   */
+  @Test
+  public final void testSyncChannelsWhenOneChannelFails() {
+    ApiErrorResponseException apiError = new ApiErrorResponseException(404, "Not Found", null, null, new byte[0], null);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(1), isNull(Date.class), isNull(WebcastStatus.class),
+        anyObject(PageCriteria.class))).andReturn(createViewingsPage(createViewing(11, 2000), createViewing(12, 1000)));
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(2), isNull(Date.class), isNull(WebcastStatus.class),
+        anyObject(PageCriteria.class))).andThrow(apiError);
+    replay(this.apiClient);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    final List<Integer> viewingIds = new ArrayList<>();
+    SortedMap<Integer, RuntimeException> failures;
+    try {
+      failures = this.syncEngine.syncChannels(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, ImmutableList.of(1, 2),
+          new ChannelFanOutExecutor(executor, 2), new ChannelResourceHandler<WebcastViewingResource>() {
+            @Override
+            public void handle(int channelId, WebcastViewingResource viewing) {
+              viewingIds.add(viewing.getId());
+            }
+          });
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(this.apiClient);
+    assertThat(viewingIds, is((List<Integer>) ImmutableList.of(11, 12)));
+    assertThat(failures.keySet(), is(Collections.singleton(2)));
+    assertThat(this.syncEngine.getWatermark(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, 1), is(2000L));
+    assertThat(this.syncEngine.getWatermark(SyncedCollection.WEBCAST_VIEWINGS_FOR_CHANNEL, 2), is(Timestamps.NONE));
+  }
+
+  /**
+   * Release test fixtures.
+   */
+  @After
+  public void tearDown() {
+    reset(this.apiClient);
+  }
+
+  private static ResourceHandler<WebcastViewingResource> collectIds(final List<Integer> viewingIds) {
+    return new ResourceHandler<WebcastViewingResource>() {
+      @Override
+      public void handle(WebcastViewingResource viewing) {
+        viewingIds.add(viewing.getId());
+      }
+    };
+  }
+}
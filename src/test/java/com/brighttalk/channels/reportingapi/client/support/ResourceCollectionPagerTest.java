@@ -0,0 +1,350 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import static com.brighttalk.channels.reportingapi.client.support.ResourceFixtures.*;
+import static org.easymock.EasyMock.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.brighttalk.channels.reportingapi.client.ApiClient;
+import com.brighttalk.channels.reportingapi.client.ApiErrorResponseException;
+import com.brighttalk.channels.reportingapi.client.PageCriteria;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastStatus;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unit tests for {@link ResourceCollectionPager}, using the pagers created by {@link ApiClientPagers}.
+ */
+public class ResourceCollectionPagerTest {
+
+  private static final int CHANNEL_ID = 1;
+  private static final int PAGE_SIZE = 2;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ApiClient apiClient;
+
+  private ExecutorService executor;
+
+  /**
+   * Set-up test fixtures used by all test methods.
+   */
+  @Before
+  public void setUp() {
+    this.apiClient = createMock(ApiClient.class);
+    this.executor = Executors.newSingleThreadExecutor();
+  }
+
+  /**
+   * Release test fixtures.
+   */
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  /**
+   * Tests iterating over the resources of a pager in the case where the collection spans multiple pages. All the
+   * resources should be returned in order, and each page should be requested using the next page link returned in the
+   * previous page.
+   */
+  @Test
+  public void testIteratorWhenMultiplePages() {
+    Link nextPageLink = createNextPageLink("5-1376595689");
+    WebcastViewingsResource page1 =
+        createViewingsPage(ImmutableList.of(createViewing(1), createViewing(2)), nextPageLink);
+    WebcastViewingsResource page2 = createViewingsPage(ImmutableList.of(createViewing(3)), null);
+    Capture<PageCriteria> pageCriteria = new Capture<>(CaptureType.ALL);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), capture(pageCriteria))).andReturn(page1).andReturn(page2);
+    replay(this.apiClient);
+
+    List<Integer> viewingIds = new ArrayList<>();
+    for (WebcastViewingResource viewing : ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null,
+        null, PAGE_SIZE)) {
+      viewingIds.add(viewing.getId());
+    }
+
+    verify(this.apiClient);
+    assertThat(viewingIds, is((List<Integer>) ImmutableList.of(1, 2, 3)));
+    assertThat(pageCriteria.getValues().get(0).getPageSize(), is(PAGE_SIZE));
+    assertThat(pageCriteria.getValues().get(0).getNextPageLink(), nullValue());
+    assertThat(pageCriteria.getValues().get(1).getPageSize(), is(PAGE_SIZE));
+    assertThat(pageCriteria.getValues().get(1).getNextPageCursor(), is("5-1376595689"));
+  }
+
+  /**
+   * Tests that a pager retrieves pages lazily - the next page is only requested once the caller has iterated over all
+   * the resources in the current page.
+   */
+  @Test
+  public void testIteratorRetrievesPagesLazily() {
+    WebcastViewingsResource page1 =
+        createViewingsPage(ImmutableList.of(createViewing(1), createViewing(2)), createNextPageLink("5-1376595689"));
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(page1);
+    replay(this.apiClient);
+
+    Iterator<WebcastViewingResource> iterator =
+        ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null, null, PAGE_SIZE).iterator();
+    assertThat(iterator.next().getId(), is(1));
+    assertThat(iterator.next().getId(), is(2));
+
+    // Only the first page should have been requested
+    verify(this.apiClient);
+  }
+
+  /**
+   * Tests iterating over the pages of a pager in the case where a page containing zero resources is returned with a
+   * next page link. The page should be treated as the last page.
+   */
+  @Test
+  public void testPagesWhenEmptyPageWithNextPageLink() {
+    WebcastViewingsResource page1 =
+        createViewingsPage(Collections.<WebcastViewingResource> emptyList(), createNextPageLink("5-1376595689"));
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(page1);
+    replay(this.apiClient);
+
+    int pageCount = 0;
+    for (@SuppressWarnings("unused")
+    WebcastViewingsResource page : ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null, null,
+        PAGE_SIZE).pages()) {
+      pageCount++;
+    }
+
+    verify(this.apiClient);
+    assertThat(pageCount, is(1));
+  }
+
+  /**
+   * Tests that an error reported by the API client on requesting a page is thrown to the caller iterating over the
+   * resources.
+   */
+  @Test
+  public void testIteratorWhenApiClientThrowsException() {
+    ApiErrorResponseException apiError =
+        new ApiErrorResponseException(503, "Service Unavailable", null, null, new byte[0], null);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andThrow(apiError);
+    replay(this.apiClient);
+
+    try {
+      ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null, null, PAGE_SIZE).iterator().hasNext();
+      fail("Expected an exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e, is(apiError));
+    }
+    verify(this.apiClient);
+  }
+
+  /**
+   * Tests iterating over the resources of a prefetching pager in the case where the collection spans multiple pages.
+   * All the resources should be returned in order.
+   */
+  @Test
+  public void testWithPrefetchIteratorWhenMultiplePages() {
+    WebcastViewingsResource page1 =
+        createViewingsPage(ImmutableList.of(createViewing(1), createViewing(2)), createNextPageLink("5-1376595689"));
+    WebcastViewingsResource page2 =
+        createViewingsPage(ImmutableList.of(createViewing(3), createViewing(4)), createNextPageLink("6-1376595690"));
+    WebcastViewingsResource page3 = createViewingsPage(ImmutableList.of(createViewing(5)), null);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(page1).andReturn(page2).andReturn(
+        page3);
+    replay(this.apiClient);
+
+    List<Integer> viewingIds = new ArrayList<>();
+    for (WebcastViewingResource viewing : ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null,
+        null, PAGE_SIZE).withPrefetch(this.executor, 1)) {
+      viewingIds.add(viewing.getId());
+    }
+
+    verify(this.apiClient);
+    assertThat(viewingIds, is((List<Integer>) ImmutableList.of(1, 2, 3, 4, 5)));
+  }
+
+  /**
+   * Tests that an error reported by the API client on prefetching a page is thrown to the caller, after the pages
+   * retrieved before the error have been returned.
+   */
+  @Test
+  public void testWithPrefetchIteratorWhenApiClientThrowsException() {
+    WebcastViewingsResource page1 =
+        createViewingsPage(ImmutableList.of(createViewing(1)), createNextPageLink("5-1376595689"));
+    ApiErrorResponseException apiError =
+        new ApiErrorResponseException(503, "Service Unavailable", null, null, new byte[0], null);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(page1).andThrow(apiError);
+    replay(this.apiClient);
+
+    Iterator<WebcastViewingResource> iterator =
+        ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null, null, PAGE_SIZE).withPrefetch(
+            this.executor, 2).iterator();
+    assertThat(iterator.next().getId(), is(1));
+    try {
+      iterator.hasNext();
+      fail("Expected an exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e, is(apiError));
+    }
+    verify(this.apiClient);
+  }
+
+  /**
+   * Tests iterating over the pages of a checkpointing pager in the case where a job fails part way through the
+   * collection and is then restarted. The restarted job should resume from the page following the last page processed,
+   * and the checkpoint file should be deleted once the last page has been processed.
+   */
+  @Test
+  public void testWithCheckpointsWhenRestartedAfterFailure() {
+    ApiErrorResponseException apiError =
+        new ApiErrorResponseException(503, "Service Unavailable", null, null, new byte[0], null);
+    WebcastViewingsResource page1 = createViewingsPage(ImmutableList.of(createViewing(1)), createNextPageLink("1-1"));
+    WebcastViewingsResource page2 = createViewingsPage(ImmutableList.of(createViewing(2)), createNextPageLink("2-1"));
+    WebcastViewingsResource page3 = createViewingsPage(ImmutableList.of(createViewing(3)), null);
+    Capture<PageCriteria> pageCriteria = new Capture<>(CaptureType.ALL);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), capture(pageCriteria))).andReturn(page1).andReturn(page2).andThrow(apiError)
+        .andReturn(page3);
+    replay(this.apiClient);
+    File file = new File(this.temporaryFolder.getRoot(), "checkpoint.properties");
+    PagingCheckpointFile checkpointFile = new PagingCheckpointFile(file, 2);
+
+    List<Integer> viewingIds = new ArrayList<>();
+    try {
+      for (WebcastViewingResource viewing : ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID,
+          null, null, PAGE_SIZE).withCheckpoints(checkpointFile)) {
+        viewingIds.add(viewing.getId());
+      }
+      fail("Expected an exception to be thrown.");
+    } catch (ApiErrorResponseException e) {
+      assertThat(e, is(apiError));
+    }
+    PagingCheckpoint checkpoint = checkpointFile.read();
+    assertThat(checkpoint.getPagesCompleted(), is(2L));
+    assertThat(checkpoint.getNextPageLink(), is(createNextPageLink("2-1")));
+
+    // Restart
+    for (WebcastViewingResource viewing : ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null,
+        null, PAGE_SIZE).withCheckpoints(new PagingCheckpointFile(file, 2))) {
+      viewingIds.add(viewing.getId());
+    }
+
+    verify(this.apiClient);
+    assertThat(viewingIds, is((List<Integer>) ImmutableList.of(1, 2, 3)));
+    assertThat(pageCriteria.getValues().get(3).getNextPageCursor(), is("2-1"));
+    assertThat(pageCriteria.getValues().get(3).getPageSize(), is(PAGE_SIZE));
+    assertThat(file.exists(), is(false));
+  }
+
+  /**
+   * Tests iterating over the pages of a checkpointing pager in the case where the sync interval is greater than one
+   * page. A checkpoint should still be written on completing every page, rather than only every sync interval no. of
+   * pages.
+   */
+  @Test
+  public void testWithCheckpointsWhenSyncIntervalGreaterThanOne() {
+    WebcastViewingsResource page1 = createViewingsPage(ImmutableList.of(createViewing(1)), createNextPageLink("1-1"));
+    WebcastViewingsResource page2 = createViewingsPage(ImmutableList.of(createViewing(2)), createNextPageLink("2-1"));
+    WebcastViewingsResource page3 = createViewingsPage(ImmutableList.of(createViewing(3)), null);
+    expect(this.apiClient.getWebcastViewingsForChannel(eq(CHANNEL_ID), isNull(Date.class),
+        isNull(WebcastStatus.class), anyObject(PageCriteria.class))).andReturn(page1).andReturn(page2)
+        .andReturn(page3);
+    replay(this.apiClient);
+    File file = new File(this.temporaryFolder.getRoot(), "checkpoint.properties");
+    PagingCheckpointFile checkpointFile = new PagingCheckpointFile(file, 2);
+
+    Iterator<WebcastViewingsResource> pages = ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID,
+        null, null, PAGE_SIZE).withCheckpoints(checkpointFile).pages().iterator();
+    assertThat(pages.next(), is(page1));
+    assertThat(file.exists(), is(false));
+    assertThat(pages.next(), is(page2));
+    assertThat(checkpointFile.read().getPagesCompleted(), is(1L));
+    assertThat(checkpointFile.read().getNextPageLink(), is(createNextPageLink("1-1")));
+    assertThat(pages.next(), is(page3));
+    assertThat(checkpointFile.read().getPagesCompleted(), is(2L));
+    assertThat(checkpointFile.read().getNextPageLink(), is(createNextPageLink("2-1")));
+    assertThat(pages.hasNext(), is(false));
+
+    verify(this.apiClient);
+    assertThat(file.exists(), is(false));
+  }
+
+  /**
+   * Tests {@link ResourceCollectionPager#withCheckpoints} in the case where the pager is a prefetching view. Combining
+   * checkpointing with prefetching isn't supported, so an exception should be thrown.
+   */
+  @Test
+  public void testWithCheckpointsWhenPrefetching() {
+    PagingCheckpointFile checkpointFile =
+        new PagingCheckpointFile(new File(this.temporaryFolder.getRoot(), "checkpoint.properties"));
+    ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource> pager =
+        ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null, null, PAGE_SIZE);
+    try {
+      pager.withPrefetch(this.executor, 1).withCheckpoints(checkpointFile);
+      fail("Expected an exception to be thrown.");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), is("Checkpointing isn't supported in combination with prefetching."));
+    }
+  }
+
+  /**
+   * Tests {@link ResourceCollectionPager#withPrefetch} in the case where the pager is a checkpointing view. Combining
+   * prefetching with checkpointing isn't supported, so an exception should be thrown.
+   */
+  @Test
+  public void testWithPrefetchWhenCheckpointing() {
+    PagingCheckpointFile checkpointFile =
+        new PagingCheckpointFile(new File(this.temporaryFolder.getRoot(), "checkpoint.properties"));
+    ResourceCollectionPager<WebcastViewingsResource, WebcastViewingResource> pager =
+        ApiClientPagers.webcastViewingsForChannel(this.apiClient, CHANNEL_ID, null, null, PAGE_SIZE);
+    try {
+      pager.withCheckpoints(checkpointFile).withPrefetch(this.executor, 1);
+      fail("Expected an exception to be thrown.");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), is("Prefetching isn't supported in combination with checkpointing."));
+    }
+  }
+
+  private static Link createNextPageLink(String cursor) {
+    return new Link("https://api.test.brighttalk.net/v1/channel/" + CHANNEL_ID + "/webcast_viewings?cursor=" + cursor
+        + "&pageSize=" + PAGE_SIZE, LinkRelationType.next.name());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brighttalk.channels.reportingapi.client.support;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscriberResource;
+import com.brighttalk.channels.reportingapi.client.resource.ChannelSubscribersResource;
+import com.brighttalk.channels.reportingapi.client.resource.Link;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingResource;
+import com.brighttalk.channels.reportingapi.client.resource.WebcastViewingsResource;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Factory methods for the API resources used as test fixtures by the tests of the classes in this package.
+ */
+final class ResourceFixtures {
+
+  private ResourceFixtures() {
+  }
+
+  /**
+   * @param viewings The webcast viewings in the page.
+   * @return A page of webcast viewings, which is the last page of its collection.
+   */
+  static WebcastViewingsResource createViewingsPage(WebcastViewingResource... viewings) {
+    return createViewingsPage(ImmutableList.copyOf(viewings), null);
+  }
+
+  /**
+   * @param viewings The webcast viewings in the page.
+   * @param nextPageLink The link to the next page of the collection, or {@code null} if it's the last page.
+   * @return A page of webcast viewings.
+   */
+  static WebcastViewingsResource createViewingsPage(List<WebcastViewingResource> viewings, Link nextPageLink) {
+    List<Link> links = nextPageLink != null ? ImmutableList.of(nextPageLink) : Collections.<Link> emptyList();
+    return new WebcastViewingsResource(viewings, links);
+  }
+
+  /**
+   * @param id The viewing's id.
+   * @return A webcast viewing with the given id, and no other properties set.
+   */
+  static WebcastViewingResource createViewing(int id) {
+    return new WebcastViewingResource(id, null, null, 0, null, null, null, null, null);
+  }
+
+  /**
+   * @param id The viewing's id.
+   * @param lastUpdatedMillis The time the viewing was last updated, in milliseconds since the epoch.
+   * @return A webcast viewing with the given id and last updated time.
+   */
+  static WebcastViewingResource createViewing(int id, long lastUpdatedMillis) {
+    return new WebcastViewingResource(id, null, null, 0, null, null, null, new Date(lastUpdatedMillis), null);
+  }
+
+  /**
+   * @param subscribers The channel subscribers in the page.
+   * @return A page of channel subscribers, which is the last page of its collection.
+   */
+  static ChannelSubscribersResource createSubscribersPage(ChannelSubscriberResource... subscribers) {
+    return new ChannelSubscribersResource(ImmutableList.copyOf(subscribers), Collections.<Link> emptyList());
+  }
+
+  /**
+   * @param id The subscriber's id.
+   * @param lastSubscribedMillis The time the subscriber last subscribed, in milliseconds since the epoch.
+   * @param unsubscribedMillis The time the subscriber unsubscribed, in milliseconds since the epoch, or {@code null}
+   * if they're still subscribed.
+   * @return A channel subscriber with the given id and subscription times.
+   */
+  static ChannelSubscriberResource createSubscriber(int id, long lastSubscribedMillis, Long unsubscribedMillis) {
+    return new ChannelSubscriberResource(id, new Date(lastSubscribedMillis), unsubscribedMillis != null ? new Date(
+        unsubscribedMillis) : null, null, null, null);
+  }
+}